@@ -228,8 +228,11 @@ object ExpressionConverters {
       case Upper => commandexpressions.UpperFunction(toCommandExpression(invocation.arguments.head))
       case TemporalContainsFunc => commandexpressions.TemporalContainsFunction(toCommandExpression(invocation.arguments.head), toCommandExpression(invocation.arguments(1)))
       case SnapshotValueFunc => commandexpressions.SnapshotValueFunction(toCommandExpression(invocation.arguments.head), toCommandExpression(invocation.arguments(1)))
-      case TemporalAggregationMinFunc => commandexpressions.TemporalAggregationMinFunction(
-        toCommandExpression(invocation.arguments.head), toCommandExpression(invocation.arguments(1)), toCommandExpression(invocation.arguments(2)))
+      case TemporalAggregationMinFunc | TemporalMinFunc => temporalAggregation(invocation, commandexpressions.TemporalMin)
+      case TemporalMaxFunc => temporalAggregation(invocation, commandexpressions.TemporalMax)
+      case TemporalSumFunc => temporalAggregation(invocation, commandexpressions.TemporalSum)
+      case TemporalAvgFunc => temporalAggregation(invocation, commandexpressions.TemporalAvg)
+      case TemporalCountFunc => temporalAggregation(invocation, commandexpressions.TemporalCount)
     }
 
   def toCommandExpression(expression: ast.Expression): CommandExpression = expression match {
@@ -319,6 +322,10 @@ object ExpressionConverters {
 
   private def identifier(e: ast.Identifier) = commands.expressions.Identifier(e.name)
 
+  private def temporalAggregation(invocation: ast.FunctionInvocation, aggregation: commandexpressions.TemporalAggregation) =
+    commandexpressions.TemporalAggregationFunction(
+      toCommandExpression(invocation.arguments.head), toCommandExpression(invocation.arguments(1)), toCommandExpression(invocation.arguments(2)), aggregation)
+
   private def inequalityExpression(original: ast.InequalityExpression): predicates.ComparablePredicate = original match {
     case e: ast.LessThan => predicates.LessThan(toCommandExpression(e.lhs), toCommandExpression(e.rhs))
     case e: ast.LessThanOrEqual => predicates.LessThanOrEqual(toCommandExpression(e.lhs), toCommandExpression(e.rhs))
@@ -42,6 +42,7 @@ object StatementConverters {
           case _          => innerQuery
         }
       case s: ast.CreateTemporalMinMaxIndex => commands.CreateTemporalMinMaxIndex( s.property.name, s.range.startT.time, s.range.endT.time)
+      case s: ast.CreateTemporalValueIndex => commands.CreateTemporalValueIndex(s.property.map(_.name), s.range.startT.time, s.range.endT.time)
       case s: ast.CreateIndex =>
         commands.CreateIndex(s.label.name, Seq(s.property.name))
       case s: ast.DropIndex =>
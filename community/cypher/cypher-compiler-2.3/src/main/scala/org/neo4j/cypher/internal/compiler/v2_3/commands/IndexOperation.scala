@@ -25,6 +25,10 @@ final case class CreateTemporalMinMaxIndex(propertyKeys: String, start:Int, end:
   override def setQueryText(t: String): CreateTemporalMinMaxIndex = copy(queryString = QueryString(t))
 }
 
+final case class CreateTemporalValueIndex(propertyKeys: Seq[String], start: Int, end: Int, queryString: QueryString = QueryString.empty) extends IndexOperation {
+  override def setQueryText(t: String): CreateTemporalValueIndex = copy(queryString = QueryString(t))
+}
+
 
 // TODO use label: LabelValue?
 final case class CreateIndex(label: String, propertyKeys: Seq[String], queryString: QueryString = QueryString.empty) extends IndexOperation {
@@ -1,15 +1,19 @@
 package org.neo4j.cypher.internal.compiler.v2_3.commands.expressions
 
+import org.act.temporalProperty.query.TimePointL
 import org.neo4j.cypher.internal.compiler.v2_3.ExecutionContext
 import org.neo4j.cypher.internal.compiler.v2_3.commands.predicates.TemporalContains
 import org.neo4j.cypher.internal.compiler.v2_3.pipes.QueryState
 import org.neo4j.cypher.internal.compiler.v2_3.spi.Operations
 import org.neo4j.cypher.internal.compiler.v2_3.symbols.SymbolTable
+import org.neo4j.cypher.internal.frontend.v2_3.CypherTypeException
 import org.neo4j.cypher.internal.frontend.v2_3.symbols.CypherType
 import org.neo4j.cypher.internal.frontend.v2_3.symbols.CTBoolean
 import org.neo4j.cypher.internal.frontend.v2_3.ast.{Parameter, TimeInterval, TimePoint, TimePointInit, TimePointNow, TimePointRegular, Expression => ASTExpression}
 import org.neo4j.cypher.internal.frontend.v2_3.symbols._
 import org.neo4j.graphdb.{Node, PropertyContainer, Relationship}
+import org.neo4j.kernel.impl.store.TemporalRollup
+import org.neo4j.temporal.{TemporalAggregate, TemporalRangeQuery, TimePoint => TemporalTimePoint}
 
 /**
   * Created by song on 2018-08-20.
@@ -98,47 +102,165 @@ case class TemporalContainsFunction(property: Expression, tVal: Expression) exte
 }
 
 
-case class TemporalAggregationMinFunction(property: Expression, tStart: Expression, tEnd:Expression) extends Expression{
-  override def rewrite(f: (Expression) => Expression): Expression = this
+/**
+  * Aggregation of a temporal property over the time window [tStart, tEnd], see [[TemporalAggregation]].
+  * Answered from an aggregation index when one covers the window, otherwise from the buckets of a rollup and range
+  * scans of the rest of the window, or from a single range scan.
+  */
+case class TemporalAggregationFunction(property: Expression, tStart: Expression, tEnd: Expression, aggregation: TemporalAggregation) extends Expression {
+  override def rewrite(f: (Expression) => Expression): Expression = f(copy(property.rewrite(f), tStart.rewrite(f), tEnd.rewrite(f)))
 
   override def arguments: Seq[Expression] = Seq(property, tStart, tEnd)
 
-  override def apply(ctx: ExecutionContext)(implicit state: QueryState): Any = {
-    (property, tStart, tEnd) match {
-      case (Property(mapExpr, propertyKey), start: ParameterExpression, end: ParameterExpression) =>
-        val s = state.getParam(start.parameterName)
-        val e = state.getParam(end.parameterName)
-        (mapExpr(ctx), s, e) match {
-          case (n: Node, start:Long, end:Long) =>{
-            val propId = propertyKey.getOrCreateId(state.query)
-            temporalPropertyValueMatch(state.query.nodeOps, n.getId, propId, start, end)
-          }
-          case (r: Relationship, start:Long, end:Long) => temporalPropertyValueMatch(state.query.relationshipOps, r.getId, propertyKey.getOrCreateId(state.query), start, end)
-        }
-    }
+  override def apply(ctx: ExecutionContext)(implicit state: QueryState): Any = property match {
+    case Property(mapExpr, propertyKey) =>
+      (mapExpr(ctx), tStart(ctx), tEnd(ctx)) match {
+        case (n: Node, start: Number, end: Number) =>
+          aggregate(state.query.nodeOps, n.getId, propertyKey.getOrCreateId(state.query), start.longValue(), end.longValue())
+        case (r: Relationship, start: Number, end: Number) =>
+          aggregate(state.query.relationshipOps, r.getId, propertyKey.getOrCreateId(state.query), start.longValue(), end.longValue())
+        case (null, _, _) => null
+        case (x, s, e) => throw new CypherTypeException(s"Expected a node or relationship and two time points, but got $x, $s and $e")
+      }
   }
 
-  def temporalPropertyValueMatch[T <: PropertyContainer](op: Operations[T], entityId: Long, propertyId: Int, start: Long, end: Long): Any = {
-    var min:Int = Int.MaxValue
-    for (t <- start.toInt to end.toInt){
-      val value = op.getTemporalProperty(entityId, propertyId, new org.neo4j.temporal.TimePoint(t))
-      value match {
-        case v: Int => if (min > v) min = v
-        case v: Long => if (min > v) min = v.toInt
-        case null => //do nothing if invalid (no value)
+  def aggregate[T <: PropertyContainer](op: Operations[T], entityId: Long, propertyId: Int, start: Long, end: Long): Any =
+    aggregation.byIndex(op, entityId, propertyId, new TemporalTimePoint(start), new TemporalTimePoint(end)).getOrElse {
+      val scan = op.getTemporalPropertyByRollup(entityId, propertyId, new TemporalTimePoint(start), new TemporalTimePoint(end), aggregation.rollup) match {
+        case Some(buckets) =>
+          // whole buckets come from the rollup, only the edges of the window are scanned
+          val head = scanRange(op, entityId, propertyId, start, buckets.start() - 1)
+          head.add(buckets.aggregate())
+          head.add(scanRange(op, entityId, propertyId, buckets.end() + 1, end).result)
+          head
+        case None =>
+          scanRange(op, entityId, propertyId, start, end)
       }
+      aggregation.fromScan(scan)
     }
-    if(min==Int.MaxValue) null
-    else min
+
+  private def scanRange[T <: PropertyContainer](op: Operations[T], entityId: Long, propertyId: Int, start: Long, end: Long): TemporalAggregationScan = {
+    val scan = new TemporalAggregationScan(start, end)
+    if (start <= end) {
+      scan.seed(op.getTemporalProperty(entityId, propertyId, new TemporalTimePoint(start)))
+      op.getTemporalPropertyRange(entityId, propertyId, new TemporalTimePoint(start), new TemporalTimePoint(end), scan)
+      scan.finish()
+    }
+    scan
   }
 
+  override protected def calculateType(symbols: SymbolTable): CypherType = aggregation.outputType
 
+  override def toString: String = s"${aggregation.name}(${property.toString()}, $tStart, $tEnd)"
 
-  override protected def calculateType(symbols: SymbolTable): CypherType = CTBoolean
+  override def symbolTableDependencies: Set[String] = arguments.flatMap(_.symbolTableDependencies).toSet
+}
 
-  override def toString: String = "SnapshotValueFunc("+property.toString()+")"
+/**
+  * Aggregations over a time window weight every value by the number of time points it is valid for,
+  * so tSum and tAvg give the same results as summing up the value at every time point of the window.
+  */
+sealed abstract class TemporalAggregation(val name: String, val outputType: CypherType) {
+  /**
+    * @return the result computed from an aggregation index, or None if no index covers the time window.
+    */
+  def byIndex[T <: PropertyContainer](op: Operations[T], entityId: Long, propertyId: Int, start: TemporalTimePoint, end: TemporalTimePoint): Option[Any] = None
 
-  override def symbolTableDependencies: Set[String] = Set()
+  // the rollup aggregate which answers this aggregation
+  def rollup: TemporalRollup.Aggregate
+
+  def fromScan(scan: TemporalAggregationScan): Any
+}
+
+case object TemporalMin extends TemporalAggregation("tMin", CTNumber) {
+  def rollup = TemporalRollup.Aggregate.MIN
+
+  override def byIndex[T <: PropertyContainer](op: Operations[T], entityId: Long, propertyId: Int, start: TemporalTimePoint, end: TemporalTimePoint) =
+    op.getTemporalPropertyMinMaxByIndex(entityId, propertyId, start, end).map(_._1)
+
+  def fromScan(scan: TemporalAggregationScan) = scan.min
+}
+
+case object TemporalMax extends TemporalAggregation("tMax", CTNumber) {
+  def rollup = TemporalRollup.Aggregate.MAX
+
+  override def byIndex[T <: PropertyContainer](op: Operations[T], entityId: Long, propertyId: Int, start: TemporalTimePoint, end: TemporalTimePoint) =
+    op.getTemporalPropertyMinMaxByIndex(entityId, propertyId, start, end).map(_._2)
+
+  def fromScan(scan: TemporalAggregationScan) = scan.max
+}
+
+// duration and min/max indexes do not keep sums, so tSum and tAvg are answered by a rollup or a range scan
+case object TemporalSum extends TemporalAggregation("tSum", CTNumber) {
+  def rollup = TemporalRollup.Aggregate.SUM
+
+  def fromScan(scan: TemporalAggregationScan) = scan.sum
+}
+
+case object TemporalAvg extends TemporalAggregation("tAvg", CTFloat) {
+  def rollup = TemporalRollup.Aggregate.AVG
+
+  def fromScan(scan: TemporalAggregationScan) = scan.avg
+}
+
+case object TemporalCount extends TemporalAggregation("tCount", CTInteger) {
+  def rollup = TemporalRollup.Aggregate.COUNT
+
+  // the durations of all value groups add up to the number of time points which have a value
+  override def byIndex[T <: PropertyContainer](op: Operations[T], entityId: Long, propertyId: Int, start: TemporalTimePoint, end: TemporalTimePoint) =
+    op.getTemporalPropertyDurationByIndex(entityId, propertyId, start, end)
+
+  def fromScan(scan: TemporalAggregationScan) = scan.count
+}
+
+/**
+  * Range scan call back which folds all aggregates in one pass over the entries of [start, end].
+  * Must be seeded with the value valid at start, entries at or before start are ignored.
+  */
+class TemporalAggregationScan(start: Long, end: Long) extends TemporalRangeQuery {
+  private val folded = new TemporalAggregate
+  private var current: Any = null
+  private var currentStart = start
+
+  def seed(value: Any): Unit = current = value
+
+  override def onNewEntry(entityId: Long, propertyId: Int, time: TimePointL, value: AnyRef): Unit = {
+    val t = time.`val`()
+    if (t > start && t <= end) {
+      close(t)
+      current = value
+      currentStart = t
+    }
+  }
+
+  def onReturn(): AnyRef = null
+
+  def finish(): Unit = {
+    close(end + 1)
+    current = null
+  }
+
+  /**
+    * Adds the aggregates of another window, like the whole buckets of a rollup.
+    */
+  def add(other: TemporalAggregate): Unit = folded.merge(other)
+
+  def result: TemporalAggregate = folded
+
+  private def close(until: Long): Unit = current match {
+    case v: Number => folded.add(v, until - currentStart)
+    case _ => // no value in this interval
+  }
+
+  def min: Any = folded.min()
+
+  def max: Any = folded.max()
+
+  def count: Long = folded.count()
+
+  def sum: Any = folded.sum()
+
+  def avg: Any = folded.avg()
 }
 
 
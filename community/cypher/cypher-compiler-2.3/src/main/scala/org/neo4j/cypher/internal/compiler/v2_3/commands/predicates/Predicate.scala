@@ -19,6 +19,7 @@
  */
 package org.neo4j.cypher.internal.compiler.v2_3.commands.predicates
 
+import org.act.temporalProperty.query.TimePointL
 import org.neo4j.cypher.internal.compiler.v2_3._
 import org.neo4j.cypher.internal.compiler.v2_3.commands.expressions.{Expression, Literal, TemporalValueLiteral}
 import org.neo4j.cypher.internal.compiler.v2_3.commands.values.KeyToken
@@ -31,6 +32,7 @@ import org.neo4j.cypher.internal.frontend.v2_3.CypherTypeException
 import org.neo4j.cypher.internal.frontend.v2_3.helpers.NonEmptyList
 import org.neo4j.cypher.internal.frontend.v2_3.symbols._
 import org.neo4j.graphdb._
+import org.neo4j.temporal.{TemporalRangeQuery, TimePoint}
 
 import scala.util.{Failure, Success, Try}
 
@@ -225,26 +227,68 @@ case class TemporalContains(lhs: Expression, rhs: Expression) extends Predicate{
     case (l, r) => throw new CypherTypeException(s"Expect temporal value type, but got $l and $r")
   }
 
-  def temporalPropertyValueMatch[T <: PropertyContainer](op: Operations[T], entityId: Long, propertyId: Int, temporalValue: Seq[(Int, Int, Any)]): Boolean = {
+  def temporalPropertyValueMatch[T <: PropertyContainer](op: Operations[T], entityId: Long, propertyId: Int, temporalValue: Seq[(Int, Int, Any)]): Boolean =
+    TemporalContains.rangeScanMatch(op, entityId, propertyId, temporalValue)
+
+  override def containsIsNull: Boolean = false
+
+  override def rewrite(f: (Expression) => Expression): Expression = f(copy(lhs.rewrite(f), rhs.rewrite(f)))
+
+  override def arguments: Seq[Expression] = Seq(lhs, rhs)
+
+  override def symbolTableDependencies: Set[String] = lhs.symbolTableDependencies ++ rhs.symbolTableDependencies
+}
+
+object TemporalContains {
+
+  /**
+    * Evaluates every interval of the temporal value with one point read at its start and one range scan over the
+    * temporal store, instead of one point read per time tick. Stops at the first interval which does not match.
+    */
+  def rangeScanMatch[T <: PropertyContainer](op: Operations[T], entityId: Long, propertyId: Int, temporalValue: Seq[(Int, Int, Any)]): Boolean =
+    temporalValue.forall {
+      case (startTime, endTime, valExpect) =>
+        startTime > endTime || {
+          val start = new TimePoint(startTime)
+          op.getTemporalProperty(entityId, propertyId, start) == valExpect && {
+            val matcher = new TemporalValueMatcher(valExpect)
+            op.getTemporalPropertyRange(entityId, propertyId, start, new TimePoint(endTime), matcher)
+            matcher.matched
+          }
+        }
+    }
+
+  /**
+    * The old evaluation strategy, one point read for every time tick of every interval. Kept as the reference the
+    * range scan evaluation is tested against.
+    */
+  def perTickMatch[T <: PropertyContainer](op: Operations[T], entityId: Long, propertyId: Int, temporalValue: Seq[(Int, Int, Any)]): Boolean = {
     for (i <- temporalValue){
       val startTime = i._1
       val endTime = i._2
       val valExpect = i._3
       for(time <- startTime to endTime){
-        val value = op.getTemporalProperty(entityId, propertyId, new org.neo4j.temporal.TimePoint(time.toInt))
+        val value = op.getTemporalProperty(entityId, propertyId, new TimePoint(time))
         if(value!=valExpect) return false
       }
     }
     true
   }
 
-  override def containsIsNull: Boolean = false
+  /**
+    * Range scan call back which remembers whether every entry it saw had the expected value.
+    * Entries after the first mismatch are only skipped, they are not decoded any more.
+    */
+  class TemporalValueMatcher(expected: Any) extends TemporalRangeQuery {
+    private var _matched = true
 
-  override def rewrite(f: (Expression) => Expression): Expression = f(copy(lhs.rewrite(f), rhs.rewrite(f)))
+    def matched: Boolean = _matched
 
-  override def arguments: Seq[Expression] = Seq(lhs, rhs)
+    override def onNewEntry(entityId: Long, propertyId: Int, time: TimePointL, value: AnyRef): Unit =
+      if (_matched && value != expected) _matched = false
 
-  override def symbolTableDependencies: Set[String] = lhs.symbolTableDependencies ++ rhs.symbolTableDependencies
+    def onReturn(): AnyRef = null
+  }
 }
 
 case class LiteralRegularExpression(lhsExpr: Expression, regexExpr: Literal)(implicit converter: String => String = identity) extends Predicate {
@@ -47,6 +47,10 @@ case class IndexOperationPipe(indexOp: IndexOperation)(implicit val monitor: Pip
         val propertyKeyId: Int = queryContext.getOrCreatePropertyKeyId(propertyKeys)
         queryContext.addTemporalIndexRule(propertyKeyId, from, to, 0)
       }
+      case CreateTemporalValueIndex(propertyKeys, from, to, _) =>
+        propertyKeys.foreach( queryContext.getOrCreatePropertyKeyId )
+        queryContext.createTemporalValueIndex(propertyKeys, from, to)
+
       case _ =>
         throw new UnsupportedOperationException("Unknown IndexOperation encountered")
     }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v2_3.pipes
+
+import org.neo4j.cypher.internal.compiler.v2_3._
+import org.neo4j.cypher.internal.compiler.v2_3.commands.expressions.Expression
+import org.neo4j.cypher.internal.compiler.v2_3.executionplan.{Effects, ReadsGivenNodeProperty, ReadsNodesWithLabels}
+import org.neo4j.cypher.internal.compiler.v2_3.planDescription.InternalPlanDescription.Arguments.{LabelName, TemporalValueIndex}
+import org.neo4j.cypher.internal.compiler.v2_3.planDescription.{NoChildren, PlanDescriptionImpl}
+import org.neo4j.cypher.internal.compiler.v2_3.symbols.SymbolTable
+import org.neo4j.cypher.internal.frontend.v2_3.ast.PropertyKeyToken
+import org.neo4j.cypher.internal.frontend.v2_3.symbols.CTNode
+import org.neo4j.graphdb.Node
+
+/*
+ * Produces the candidates of n.prop ~= valueExpr: the nodes with the value of the first interval of valueExpr at its
+ * start. Without a temporal value index covering that time, or for an empty interval, these are the nodes with the
+ * label. The predicate itself is still checked on top of this pipe.
+ */
+case class TemporalValueIndexSeekPipe(ident: String,
+                                      label: LazyLabel,
+                                      propertyKey: PropertyKeyToken,
+                                      valueExpr: Expression)
+                                     (val estimatedCardinality: Option[Double] = None)(implicit pipeMonitor: PipeMonitor)
+  extends Pipe with RonjaPipe {
+
+  protected def internalCreateResults(state: QueryState): Iterator[ExecutionContext] = {
+    //register as parent so that stats are associated with this pipe
+    state.decorator.registerParentPipe(this)
+
+    val baseContext = state.initialContext.getOrElse(ExecutionContext.empty)
+    val seek = valueExpr(baseContext)(state) match {
+      case Seq((start: Int, end: Int, value), _*) if start <= end =>
+        state.query.temporalValueIndexSeek(propertyKey.nameId.id, start, value)
+      case _ =>
+        // an empty interval holds for every node
+        None
+    }
+    val resultNodes = seek.getOrElse(labelScan(state))
+    resultNodes.map(node => baseContext.newWith1(ident, node))
+  }
+
+  private def labelScan(state: QueryState): Iterator[Node] = label.id(state.query) match {
+    case Some(labelId) => state.query.getNodesByLabel(labelId.id)
+    case None => Iterator.empty
+  }
+
+  def exists(predicate: Pipe => Boolean): Boolean = predicate(this)
+
+  def planDescriptionWithoutCardinality =
+    new PlanDescriptionImpl(this.id, "TemporalValueIndexSeek", NoChildren, Seq(LabelName(label.name), TemporalValueIndex(propertyKey.name)), identifiers)
+
+  def symbols = new SymbolTable(Map(ident -> CTNode))
+
+  override def monitor = pipeMonitor
+
+  def dup(sources: List[Pipe]): Pipe = {
+    require(sources.isEmpty)
+    this
+  }
+
+  def sources: Seq[Pipe] = Seq.empty
+
+  override def localEffects = Effects(ReadsNodesWithLabels(label.name), ReadsGivenNodeProperty(propertyKey.name))
+
+  def withEstimatedCardinality(estimated: Double) = copy()(Some(estimated))
+}
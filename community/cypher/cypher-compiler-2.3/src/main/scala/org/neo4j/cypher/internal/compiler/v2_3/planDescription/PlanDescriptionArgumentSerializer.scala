@@ -40,6 +40,7 @@ object PlanDescriptionArgumentSerializer {
       case Index(label, property) => s":$label($property)"
       case PrefixIndex(label, property, prefix) => s":$label($property STARTS WITH $prefix)"
       case InequalityIndex(label, property, bounds) => s":$label($property) ${bounds.mkString(", ")}"
+      case TemporalValueIndex(property) => s"TEMPORAL VALUE($property)"
       case LabelName(label) => s":$label"
       case KeyNames(keys) => keys.map(removeGeneratedNames).mkString(SEPARATOR)
       case KeyExpressions(expressions) => expressions.mkString(SEPARATOR)
@@ -97,6 +97,9 @@ class PipeExecutionPlanBuilder(clock: Clock, monitors: Monitors) {
         case NodeIndexScan(IdName(id), label, propertyKey, _) =>
           NodeIndexScanPipe(id, label, propertyKey)()
 
+        case TemporalValueIndexSeek(IdName(id), label, propertyKey, valueExpr, _) =>
+          TemporalValueIndexSeekPipe(id, label, propertyKey, buildExpression(valueExpr))()
+
         case Selection(predicates, left) =>
           FilterPipe(buildPipe(left), predicates.map(buildPredicate).reduce(_ andWith _))()
 
@@ -19,7 +19,7 @@
  */
 package org.neo4j.cypher.internal.compiler.v2_3.planner.logical
 
-import org.neo4j.cypher.internal.frontend.v2_3.ast.{HasLabels, Property}
+import org.neo4j.cypher.internal.frontend.v2_3.ast.{HasLabels, Property, TemporalContains}
 import org.neo4j.cypher.internal.compiler.v2_3.planner.logical.Metrics._
 import org.neo4j.cypher.internal.compiler.v2_3.planner.logical.plans._
 
@@ -49,6 +49,13 @@ object CardinalityCostModel extends CostModel {
     case _: Expand |
          _: VarExpand  => 2.5
 
+    // Filtering on temporal values reads the temporal property store
+    case Selection(predicates, _) if predicates.exists {
+      case _: TemporalContains => true
+      case _ => false
+    }
+    => SLOW_STORE
+
     // Filtering on labels and properties
     case Selection(predicates, _) if predicates.exists {
       case _: Property | _: HasLabels => true
@@ -79,7 +86,8 @@ object CardinalityCostModel extends CostModel {
          _: NodeByIdSeek |
          _: NodeUniqueIndexSeek |
          _: NodeIndexSeek |
-         _: NodeIndexScan
+         _: NodeIndexScan |
+         _: TemporalValueIndexSeek
     => SLOW_STORE
 
     case _
@@ -45,6 +45,9 @@ object LogicalPlan2PlanDescription extends ((LogicalPlan, Map[LogicalPlan, Id])
       case NodeUniqueIndexSeek(IdName(id), label, propKey, value, arguments) =>
         PlanDescriptionImpl(id = idMap(plan), "NodeUniqueIndexSeek", NoChildren, Seq(Index(label.name, propKey.name)), symbols)
 
+      case TemporalValueIndexSeek(IdName(id), label, propKey, value, arguments) =>
+        PlanDescriptionImpl(id = idMap(plan), "TemporalValueIndexSeek", NoChildren, Seq(LabelName(label.name), TemporalValueIndex(propKey.name)), symbols)
+
       case ProduceResult(_, inner) =>
         PlanDescriptionImpl(id = idMap(plan), "ProduceResults", SingleChild(apply(inner, idMap)), Seq(), symbols)
 
@@ -54,6 +54,9 @@ object QueryPlannerConfiguration {
       // MATCH n WHERE has(n.prop) RETURN n
       indexScanLeafPlanner,
 
+      // MATCH n WHERE n.prop ~= TV(...) RETURN n
+      temporalValueIndexSeekLeafPlanner,
+
       // MATCH (n:Person) RETURN n
       labelScanLeafPlanner,
 
@@ -91,6 +91,10 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
     case _: Equals =>
       GraphStatistics.DEFAULT_EQUALITY_SELECTIVITY
 
+    // WHERE x.prop ~= TV(...), like an equality at every time of the temporal value
+    case _: TemporalContains =>
+      GraphStatistics.DEFAULT_EQUALITY_SELECTIVITY
+
     // WHERE <expr> >= <expr>
     case _: GreaterThan | _: GreaterThanOrEqual | _: LessThan | _: LessThanOrEqual =>
       GraphStatistics.DEFAULT_RANGE_SELECTIVITY
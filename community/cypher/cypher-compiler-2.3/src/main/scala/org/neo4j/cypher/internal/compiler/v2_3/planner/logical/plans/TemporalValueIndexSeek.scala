@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v2_3.planner.logical.plans
+
+import org.neo4j.cypher.internal.compiler.v2_3.pipes.LazyLabel
+import org.neo4j.cypher.internal.frontend.v2_3.ast.{Expression, PropertyKeyToken, TemporalValueExpression}
+import org.neo4j.cypher.internal.compiler.v2_3.planner.{CardinalityEstimation, PlannerQuery}
+
+/*
+ * Finds the candidates of n.prop ~= valueExpr: the nodes whose temporal property has the value of the first interval
+ * of valueExpr at its start, or the nodes with the label when no temporal value index covers that time.
+ */
+case class TemporalValueIndexSeek(idName: IdName,
+                                  label: LazyLabel,
+                                  propertyKey: PropertyKeyToken,
+                                  valueExpr: TemporalValueExpression,
+                                  argumentIds: Set[IdName])
+                                 (val solved: PlannerQuery with CardinalityEstimation) extends LogicalLeafPlan {
+
+  def availableSymbols = argumentIds + idName
+
+  override def mapExpressions(f: (Set[IdName], Expression) => Expression): LogicalPlan =
+    copy(valueExpr = TemporalValueExpression(valueExpr.items.map {
+      case (interval, value) => (interval, f(argumentIds, value))
+    })(valueExpr.position))(solved)
+}
@@ -189,6 +189,20 @@ case class LogicalPlanProducer(cardinalityModel: CardinalityModel) extends Colle
     NodeIndexScan(idName, label, propertyKey, argumentIds)(solved)
   }
 
+  def planTemporalValueIndexSeek(idName: IdName,
+                                 label: LazyLabel,
+                                 propertyKey: ast.PropertyKeyToken,
+                                 valueExpr: TemporalValueExpression,
+                                 solvedPredicates: Seq[Expression] = Seq.empty,
+                                 argumentIds: Set[IdName])(implicit context: LogicalPlanningContext) = {
+    val solved = PlannerQuery(graph = QueryGraph.empty
+      .addPatternNodes(idName)
+      .addPredicates(solvedPredicates: _*)
+      .addArgumentIds(argumentIds.toSeq)
+    )
+    TemporalValueIndexSeek(idName, label, propertyKey, valueExpr, argumentIds)(solved)
+  }
+
   def planLegacyHintSeek(idName: IdName, hint: LegacyIndexHint, argumentIds: Set[IdName])
                         (implicit context: LogicalPlanningContext) = {
     val patternNode = hint match {
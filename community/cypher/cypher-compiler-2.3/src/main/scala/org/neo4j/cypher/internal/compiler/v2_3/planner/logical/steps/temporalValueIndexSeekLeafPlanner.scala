@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v2_3.planner.logical.steps
+
+import org.neo4j.cypher.internal.compiler.v2_3.pipes.LazyLabel
+import org.neo4j.cypher.internal.compiler.v2_3.planner.QueryGraph
+import org.neo4j.cypher.internal.compiler.v2_3.planner.logical.plans._
+import org.neo4j.cypher.internal.compiler.v2_3.planner.logical.{LeafPlanner, LogicalPlanningContext}
+import org.neo4j.cypher.internal.frontend.v2_3.ast._
+
+/*
+ * Temporal value indexes are not bound to a label, a seek finds the nodes with the value of the first interval of the
+ * temporal value at its start. That only narrows down the candidates, so the predicate is solved partially and still
+ * checked by a selection on top. The cost model decides between this and a label scan followed by the selection.
+ *
+ * Whether an index covers that time is only known at runtime, the start time usually being a parameter. The seek is
+ * therefore only planned for nodes with a label, and scans that label when no index covers the time. The label
+ * predicate is not solved by the seek and still checked by the selection on top.
+ */
+object temporalValueIndexSeekLeafPlanner extends LeafPlanner {
+  override def apply(qg: QueryGraph)(implicit context: LogicalPlanningContext): Seq[LogicalPlan] = {
+    implicit val semanticTable = context.semanticTable
+    val predicates: Seq[Expression] = qg.selections.flatPredicates
+    val arguments = qg.argumentIds.map(n => Identifier(n.name)(null))
+
+    predicates.collect {
+      // MATCH (n:Label) WHERE n.prop ~= TV(1~10: 5) RETURN n
+      case predicate@TemporalContains(property@Property(ident@Identifier(name), propertyKey),
+                                      value@TemporalValueExpression(Seq((interval, item), _*)))
+        if semanticTable.isNode(ident) && !arguments(ident) && propertyKey.id.isDefined &&
+           value.dependencies.forall(arguments) && context.planContext.hasTemporalValueIndex(propertyKey.name) =>
+        val atStart = TemporalValueExpression(Seq((TimeInterval(interval.startT, interval.startT)(interval.position), item)))(value.position)
+        val seekPredicate = TemporalContains(property, atStart)(predicate.position)
+        qg.selections.labelsOnNode(IdName(name)).toSeq.map { labelName =>
+          context.logicalPlanProducer.planTemporalValueIndexSeek(IdName(name), LazyLabel(labelName),
+            PropertyKeyToken(propertyKey, propertyKey.id.head), value, Seq(PartialPredicate(seekPredicate, predicate)),
+            qg.argumentIds)
+        }
+    }.flatten
+  }
+}
@@ -26,7 +26,8 @@ import org.neo4j.cypher.internal.compiler.v2_3.planDescription.InternalPlanDescr
 import org.neo4j.cypher.internal.compiler.v2_3.spi.{DelegatingOperations, DelegatingQueryContext, Operations, QueryContext}
 import org.neo4j.cypher.internal.frontend.v2_3.ProfilerStatisticsNotReadyException
 import org.neo4j.graphdb.{Node, PropertyContainer, Relationship}
-import org.neo4j.temporal.TimePoint
+import org.neo4j.kernel.impl.store.TemporalRollup
+import org.neo4j.temporal.{TemporalRangeQuery, TimePoint}
 
 import scala.collection.mutable
 
@@ -127,6 +128,14 @@ final class ProfilingQueryContext(val inner: QueryContext, val p: Pipe)
     override def setTemporalProperty(obj: Long, propertyKey: Int, timeStart: TimePoint, timeEnd: TimePoint, value: Any): Unit = singleDbHit(inner.setTemporalProperty(obj, propertyKey, timeStart, timeEnd, value))
 
     override def getTemporalProperty(obj: Long, propertyKey: Int, time: TimePoint): Any = singleDbHit(inner.getTemporalProperty(obj, propertyKey, time))
+
+    override def getTemporalPropertyRange(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint, callBack: TemporalRangeQuery): Any = singleDbHit(inner.getTemporalPropertyRange(obj, propertyKey, start, end, callBack))
+
+    override def getTemporalPropertyMinMaxByIndex(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint): Option[(Any, Any)] = singleDbHit(inner.getTemporalPropertyMinMaxByIndex(obj, propertyKey, start, end))
+
+    override def getTemporalPropertyDurationByIndex(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint): Option[Long] = singleDbHit(inner.getTemporalPropertyDurationByIndex(obj, propertyKey, start, end))
+
+    override def getTemporalPropertyByRollup(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint, aggregate: TemporalRollup.Aggregate): Option[TemporalRollup.Result] = singleDbHit(inner.getTemporalPropertyByRollup(obj, propertyKey, start, end, aggregate))
   }
 
   override def nodeOps: Operations[Node] = new ProfilerOperations(inner.nodeOps)
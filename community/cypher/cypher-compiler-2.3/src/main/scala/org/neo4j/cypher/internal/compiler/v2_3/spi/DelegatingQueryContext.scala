@@ -26,7 +26,8 @@ import org.neo4j.cypher.internal.compiler.v2_3.pipes.matching.PatternNode
 import org.neo4j.cypher.internal.compiler.v2_3.spi.SchemaTypes.IndexDescriptor
 import org.neo4j.cypher.internal.frontend.v2_3.SemanticDirection
 import org.neo4j.graphdb.{Node, Path, PropertyContainer, Relationship}
-import org.neo4j.temporal.TimePoint
+import org.neo4j.kernel.impl.store.TemporalRollup
+import org.neo4j.temporal.{TemporalRangeQuery, TimePoint}
 
 class DelegatingQueryContext(inner: QueryContext) extends QueryContext {
 
@@ -89,6 +90,9 @@ class DelegatingQueryContext(inner: QueryContext) extends QueryContext {
   override def addTemporalIndexRule(indexType: Int, propertyKeyId: Int, from: Int, to: Int): IdempotentResult[IndexDescriptor] =
     singleDbHit(inner.addTemporalIndexRule(indexType, propertyKeyId, from, to))
 
+  def createTemporalValueIndex(propertyKeys: Seq[String], from: Int, to: Int) =
+    singleDbHit(inner.createTemporalValueIndex(propertyKeys, from, to))
+
   def addIndexRule(labelId: Int, propertyKeyId: Int) = singleDbHit(inner.addIndexRule(labelId, propertyKeyId))
 
   def dropIndexRule(labelId: Int, propertyKeyId: Int) = singleDbHit(inner.dropIndexRule(labelId, propertyKeyId))
@@ -99,6 +103,9 @@ class DelegatingQueryContext(inner: QueryContext) extends QueryContext {
 
   def indexScan(index: IndexDescriptor): Iterator[Node] = manyDbHits(inner.indexScan(index))
 
+  def temporalValueIndexSeek(propertyKeyId: Int, time: Int, value: Any): Option[Iterator[Node]] =
+    inner.temporalValueIndexSeek(propertyKeyId, time, value).map(nodes => manyDbHits(nodes))
+
   def getNodesByLabel(id: Int): Iterator[Node] = manyDbHits(inner.getNodesByLabel(id))
 
   def upgrade(context: QueryContext): LockingQueryContext = inner.upgrade(context)
@@ -194,4 +201,12 @@ class DelegatingOperations[T <: PropertyContainer](protected val inner: Operatio
   override def setTemporalProperty(obj: Long, propertyKey: Int, timeStart: TimePoint, timeEnd: TimePoint, value: Any): Unit = singleDbHit(inner.setTemporalProperty(obj, propertyKey, timeStart, timeEnd, value))
 
   override def getTemporalProperty(obj: Long, propertyKey: Int, time: TimePoint): Any = singleDbHit(inner.getTemporalProperty(obj, propertyKey, time))
+
+  override def getTemporalPropertyRange(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint, callBack: TemporalRangeQuery): Any = singleDbHit(inner.getTemporalPropertyRange(obj, propertyKey, start, end, callBack))
+
+  override def getTemporalPropertyMinMaxByIndex(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint): Option[(Any, Any)] = singleDbHit(inner.getTemporalPropertyMinMaxByIndex(obj, propertyKey, start, end))
+
+  override def getTemporalPropertyDurationByIndex(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint): Option[Long] = singleDbHit(inner.getTemporalPropertyDurationByIndex(obj, propertyKey, start, end))
+
+  override def getTemporalPropertyByRollup(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint, aggregate: TemporalRollup.Aggregate): Option[TemporalRollup.Result] = singleDbHit(inner.getTemporalPropertyByRollup(obj, propertyKey, start, end, aggregate))
 }
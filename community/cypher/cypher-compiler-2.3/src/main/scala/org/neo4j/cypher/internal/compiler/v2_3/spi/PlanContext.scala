@@ -39,6 +39,8 @@ trait PlanContext extends TokenContext {
 
   def getUniqueIndexRule(labelName: String, propertyKey: String): Option[IndexDescriptor]
 
+  def hasTemporalValueIndex(propertyKey: String): Boolean
+
   def getUniquenessConstraint(labelName: String, propertyKey: String): Option[UniquenessConstraint]
 
   def checkNodeIndex(idxName: String)
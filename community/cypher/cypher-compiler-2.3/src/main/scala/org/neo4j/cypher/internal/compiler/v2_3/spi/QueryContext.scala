@@ -27,7 +27,8 @@ import org.neo4j.cypher.internal.compiler.v2_3.pipes.matching.PatternNode
 import org.neo4j.cypher.internal.compiler.v2_3.spi.SchemaTypes.{IndexDescriptor, NodePropertyExistenceConstraint, RelationshipPropertyExistenceConstraint, UniquenessConstraint}
 import org.neo4j.cypher.internal.frontend.v2_3.SemanticDirection
 import org.neo4j.graphdb.{Node, Path, PropertyContainer, Relationship}
-import org.neo4j.temporal.TimePoint
+import org.neo4j.kernel.impl.store.TemporalRollup
+import org.neo4j.temporal.{TemporalRangeQuery, TimePoint}
 
 /*
  * Developer note: This is an attempt at an internal graph database API, which defines a clean cut between
@@ -76,6 +77,8 @@ trait QueryContext extends TokenContext {
 
   def addTemporalIndexRule(indexType: Int, propertyKeyId: Int, from:Int, to:Int): IdempotentResult[IndexDescriptor]
 
+  def createTemporalValueIndex(propertyKeys: Seq[String], from: Int, to: Int)
+
   def addIndexRule(labelId: Int, propertyKeyId: Int): IdempotentResult[IndexDescriptor]
 
   def dropIndexRule(labelId: Int, propertyKeyId: Int)
@@ -92,6 +95,12 @@ trait QueryContext extends TokenContext {
 
   def indexScan(index: IndexDescriptor): Iterator[Node]
 
+  /**
+   * Nodes with the given value of the temporal property at the given time, from a temporal value index covering that
+   * time, or None when there is no such index.
+   */
+  def temporalValueIndexSeek(propertyKeyId: Int, time: Int, value: Any): Option[Iterator[Node]]
+
   def lockingExactUniqueIndexSearch(index: IndexDescriptor, value: Any): Option[Node]
 
   def getNodesByLabel(id: Int): Iterator[Node]
@@ -163,6 +172,17 @@ trait Operations[T <: PropertyContainer] {
 
   def getTemporalProperty(obj: Long, propertyKey: Int, time: TimePoint): Any
 
+  def getTemporalPropertyRange(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint, callBack: TemporalRangeQuery): Any
+
+  // None if no min/max aggregation index covers [start, end] of the property
+  def getTemporalPropertyMinMaxByIndex(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint): Option[(Any, Any)]
+
+  // None if no duration aggregation index covers [start, end] of the property
+  def getTemporalPropertyDurationByIndex(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint): Option[Long]
+
+  // None if no rollup of the property keeping the aggregate has whole buckets inside [start, end]
+  def getTemporalPropertyByRollup(obj: Long, propertyKey: Int, start: TimePoint, end: TimePoint, aggregate: TemporalRollup.Aggregate): Option[TemporalRollup.Result]
+
 //  def
 
   def removeProperty(obj: Long, propertyKeyId: Int)
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v2_3.commands.expressions
+
+import org.neo4j.cypher.internal.frontend.v2_3.test_helpers.CypherFunSuite
+import org.neo4j.temporal.TimePoint
+
+class TemporalAggregationScanTest extends CypherFunSuite {
+
+  test("should weight values by the number of time points they are valid for") {
+    // Given [0, 9] = 2, [10, 19] = 4
+    val scan = new TemporalAggregationScan(0, 19)
+    scan.seed(2L)
+    scan.onNewEntry(1, 1, new TimePoint(10), Long.box(4L))
+    scan.finish()
+
+    scan.count should equal(20)
+    scan.sum should equal(60L)
+    scan.avg should equal(3.0)
+    scan.min should equal(2L)
+    scan.max should equal(4L)
+  }
+
+  test("should skip time points without value") {
+    // Given [5, 9] = 1.5, [10, 14] invalid, [15, 19] = 0.5
+    val scan = new TemporalAggregationScan(5, 19)
+    scan.seed(1.5)
+    scan.onNewEntry(1, 1, new TimePoint(10), null)
+    scan.onNewEntry(1, 1, new TimePoint(15), Double.box(0.5))
+    scan.finish()
+
+    scan.count should equal(10)
+    scan.sum should equal(10.0)
+    scan.min should equal(0.5)
+    scan.max should equal(1.5)
+  }
+
+  test("should ignore entries outside of the window") {
+    val scan = new TemporalAggregationScan(10, 19)
+    scan.seed(3)
+    scan.onNewEntry(1, 1, new TimePoint(5), Int.box(100))
+    scan.onNewEntry(1, 1, new TimePoint(10), Int.box(100))
+    scan.onNewEntry(1, 1, new TimePoint(20), Int.box(100))
+    scan.finish()
+
+    scan.count should equal(10)
+    scan.sum should equal(30L)
+    scan.max should equal(3)
+  }
+
+  test("should return null for min, max and avg of an empty window") {
+    val scan = new TemporalAggregationScan(0, 9)
+    scan.seed(null)
+    scan.finish()
+
+    scan.count should equal(0)
+    scan.sum should equal(0L)
+    Option(scan.min) should equal(None)
+    Option(scan.max) should equal(None)
+    Option(scan.avg) should equal(None)
+  }
+}
@@ -121,6 +121,8 @@ trait LogicalPlanningTestSupport2 extends CypherTestSupport with AstConstruction
       def hasIndexRule(labelName: String): Boolean =
         config.indexes.exists(_._1 == labelName) || config.uniqueIndexes.exists(_._1 == labelName)
 
+      def hasTemporalValueIndex(propertyKey: String): Boolean = false
+
       def getOptPropertyKeyId(propertyKeyName: String) =
         semanticTable.resolvedPropertyKeyNames.get(propertyKeyName).map(_.id)
 
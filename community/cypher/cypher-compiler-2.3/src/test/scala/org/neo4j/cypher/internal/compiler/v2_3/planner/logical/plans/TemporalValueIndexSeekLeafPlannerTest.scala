@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v2_3.planner.logical.plans
+
+import org.mockito.Mockito._
+import org.neo4j.cypher.internal.compiler.v2_3.pipes.LazyLabel
+import org.neo4j.cypher.internal.compiler.v2_3.planner._
+import org.neo4j.cypher.internal.compiler.v2_3.planner.logical.steps.temporalValueIndexSeekLeafPlanner
+import org.neo4j.cypher.internal.frontend.v2_3.PropertyKeyId
+import org.neo4j.cypher.internal.frontend.v2_3.ast._
+import org.neo4j.cypher.internal.frontend.v2_3.test_helpers.CypherFunSuite
+
+class TemporalValueIndexSeekLeafPlannerTest extends CypherFunSuite with LogicalPlanningTestSupport {
+
+  val identifier: Identifier = Identifier("n")_
+  val property: Property = Property(identifier, PropertyKeyName("prop")_)_
+  val start: TimePoint = TimePointRegular(Parameter("start")_)_
+  val end: TimePoint = TimePointRegular(Parameter("end")_)_
+  val value: Expression = Parameter("value")_
+
+  // MATCH (n:Awesome) WHERE n.prop ~= TV({start}~{end}: {value})
+  val temporalValue = TemporalValueExpression(Seq((TimeInterval(start, end)(pos), value)))(pos)
+  val predicate: Expression = TemporalContains(property, temporalValue)(pos)
+  val labelPredicate: Expression = HasLabels(identifier, Seq(LabelName("Awesome")_))_
+
+  test("plans a seek when there is a temporal value index on the property") {
+    // given
+    implicit val context = newContext(indexed = true)
+
+    // when
+    val resultPlans = temporalValueIndexSeekLeafPlanner(queryGraph(predicate))
+
+    // then
+    resultPlans should equal(
+      Seq(TemporalValueIndexSeek(IdName("n"), LazyLabel("Awesome"), PropertyKeyToken("prop", PropertyKeyId(0)), temporalValue, Set.empty)(solved))
+    )
+  }
+
+  test("only solves the predicate partially, the selection on top still checks it") {
+    // given
+    implicit val context = newContext(indexed = true)
+
+    // when
+    val resultPlans = temporalValueIndexSeekLeafPlanner(queryGraph(predicate))
+
+    // then
+    val atStart = TemporalValueExpression(Seq((TimeInterval(start, start)(pos), value)))(pos)
+    resultPlans.map(_.solved.graph.selections.predicates.map(_.expr)) should equal(
+      Seq(Set(PartialPredicate(TemporalContains(property, atStart)(pos), predicate)))
+    )
+  }
+
+  test("does not plan a seek when the node has no label to scan when no index covers the time") {
+    // given MATCH n WHERE n.prop ~= TV({start}~{end}: {value})
+    implicit val context = newContext(indexed = true)
+
+    // when
+    val resultPlans = temporalValueIndexSeekLeafPlanner(QueryGraph(
+      selections = Selections(Set(Predicate(Set(IdName("n")), predicate))),
+      patternNodes = Set(IdName("n"))
+    ))
+
+    // then
+    resultPlans shouldBe empty
+  }
+
+  test("does not plan a seek when there is no temporal value index on the property") {
+    // given
+    implicit val context = newContext(indexed = false)
+
+    // when
+    val resultPlans = temporalValueIndexSeekLeafPlanner(queryGraph(predicate))
+
+    // then
+    resultPlans shouldBe empty
+  }
+
+  test("does not plan a seek when the temporal value depends on an unbound identifier") {
+    // given MATCH n, x WHERE n.prop ~= TV({start}~{end}: x)
+    implicit val context = newContext(indexed = true)
+    val x: Expression = Identifier("x")_
+    val dependent = TemporalContains(property, TemporalValueExpression(Seq((TimeInterval(start, end)(pos), x)))(pos))(pos)
+
+    // when
+    val resultPlans = temporalValueIndexSeekLeafPlanner(queryGraph(dependent))
+
+    // then
+    resultPlans shouldBe empty
+  }
+
+  private def queryGraph(predicate: Expression) = QueryGraph(
+    selections = Selections(Set(Predicate(Set(IdName("n")), predicate), Predicate(Set(IdName("n")), labelPredicate))),
+    patternNodes = Set(IdName("n"))
+  )
+
+  private def newContext(indexed: Boolean) = {
+    val planContext = newMockedPlanContext
+    when(planContext.hasTemporalValueIndex("prop")).thenReturn(indexed)
+    val context = newMockedLogicalPlanningContext(planContext = planContext)
+    when(context.semanticTable.isNode(identifier)).thenReturn(true)
+    context.semanticTable.resolvedPropertyKeyNames.put("prop", PropertyKeyId(0))
+    context
+  }
+}
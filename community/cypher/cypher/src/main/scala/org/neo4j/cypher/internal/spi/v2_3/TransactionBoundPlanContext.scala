@@ -55,6 +55,9 @@ class TransactionBoundPlanContext(initialStatement: Statement, val gdb: GraphDat
     onlineIndexDescriptors.nonEmpty
   }
 
+  def hasTemporalValueIndex(propertyKey: String): Boolean =
+    getOptPropertyKeyId(propertyKey).exists(id => gdb.asInstanceOf[GraphDatabaseAPI].temporalIndex().nodeHasValueIndex(id))
+
   def getUniqueIndexRule(labelName: String, propertyKey: String): Option[IndexDescriptor] = evalOrNone {
     val labelId = statement.readOperations().labelGetForName(labelName)
     val propertyKeyId = statement.readOperations().propertyKeyGetForName(propertyKey)
@@ -21,6 +21,9 @@ package org.neo4j.cypher.internal.spi.v2_3
 
 import java.net.URL
 
+import org.act.temporalProperty.index.IndexType
+import org.act.temporalProperty.query.aggr.AggregationIndexQueryResult
+
 import org.neo4j.collection.primitive.PrimitiveLongIterator
 import org.neo4j.collection.primitive.base.Empty.EMPTY_PRIMITIVE_LONG_COLLECTION
 import org.neo4j.cypher.InternalException
@@ -49,8 +52,9 @@ import org.neo4j.kernel.api.index.{InternalIndexState, IndexDescriptor => Kernel
 import org.neo4j.kernel.api.{exceptions, _}
 import org.neo4j.kernel.impl.api.KernelStatement
 import org.neo4j.kernel.impl.core.{NodeManager, ThreadToStatementContextBridge}
+import org.neo4j.kernel.impl.store.TemporalRollup
 import org.neo4j.kernel.security.URLAccessValidationError
-import org.neo4j.temporal.{TemporalPropertyReadOperation, TemporalPropertyWriteOperation, TimePoint}
+import org.neo4j.temporal.{TemporalPropertyReadOperation, TemporalPropertyWriteOperation, TemporalRangeQuery, TimePoint}
 import org.neo4j.tooling.GlobalGraphOperations
 
 import scala.collection.JavaConverters._
@@ -293,6 +297,16 @@ final class TransactionBoundQueryContext(graph: GraphDatabaseAPI,
   def indexScan(index: IndexDescriptor) =
     JavaConversionSupport.mapToScalaENFXSafe(statement.readOperations().nodesGetFromIndexScan(index))(nodeOps.getById)
 
+  def temporalValueIndexSeek(propertyKeyId: Int, time: Int, value: Any): Option[Iterator[Node]] = {
+    val at = new TimePoint(time)
+    if (graph.temporalIndex().nodeHasValueIndex(propertyKeyId, at, at)) {
+      val matchingNodes = graph.temporalIndex().nodeQueryValueIndex(at, at)
+        .propertyValRange(getPropertyKeyName(propertyKeyId), value, value).entities()
+      Some(JavaConversionSupport.mapToScalaENFXSafe(matchingNodes)(nodeOps.getById))
+    } else
+      None
+  }
+
   def lockingExactUniqueIndexSearch(index: IndexDescriptor, value: Any): Option[Node] = {
     val nodeId: Long = statement.readOperations().nodeGetFromUniqueIndexSeek(index, value)
     if (StatementConstants.NO_SUCH_NODE == nodeId) None else Some(nodeOps.getById(nodeId))
@@ -369,6 +383,40 @@ final class TransactionBoundQueryContext(graph: GraphDatabaseAPI,
       case _: org.neo4j.kernel.api.exceptions.EntityNotFoundException => //ignore
     }
 
+    def getTemporalPropertyRange(id: Long, propertyKeyId: Int, start: TimePoint, end: TimePoint, callBack: TemporalRangeQuery): Any = try {
+      val op = new TemporalPropertyReadOperation(id, propertyKeyId, start, end, callBack)
+      statement.readOperations().nodeGetTemporalProperty( op )
+    } catch {
+      case _: org.neo4j.kernel.api.exceptions.EntityNotFoundException => //ignore
+    }
+
+    def getTemporalPropertyMinMaxByIndex(id: Long, propertyKeyId: Int, start: TimePoint, end: TimePoint): Option[(Any, Any)] =
+      aggregationIndexQuery(id, propertyKeyId, start, end, IndexType.AGGR_MIN_MAX).map { result =>
+        val minMax = graph.temporalIndex().nodeMinMax(propertyKeyId, result)
+        (minMax(0), minMax(1))
+      }
+
+    def getTemporalPropertyDurationByIndex(id: Long, propertyKeyId: Int, start: TimePoint, end: TimePoint): Option[Long] =
+      aggregationIndexQuery(id, propertyKeyId, start, end, IndexType.AGGR_DURATION).map(graph.temporalIndex().totalDuration)
+
+    // rollups are derived from committed values only, so they cannot answer for a transaction with changes
+    def getTemporalPropertyByRollup(id: Long, propertyKeyId: Int, start: TimePoint, end: TimePoint, aggregate: TemporalRollup.Aggregate): Option[TemporalRollup.Result] =
+      if (kernelStatement.hasTxStateWithChanges) None
+      else Option(graph.temporalIndex().nodeAggregateByRollup(id, propertyKeyId, start, end, aggregate))
+
+    private def aggregationIndexQuery(id: Long, propertyKeyId: Int, start: TimePoint, end: TimePoint, indexType: IndexType): Option[AggregationIndexQueryResult] = {
+      val indexId = graph.temporalIndex().nodeFindAggrIndex(propertyKeyId, start, end, indexType)
+      if (indexId < 0) None
+      else try {
+        statement.readOperations().nodeGetTemporalProperty(new TemporalPropertyReadOperation(id, propertyKeyId, start, end, indexId)) match {
+          case result: AggregationIndexQueryResult => Some(result)
+          case _ => None
+        }
+      } catch {
+        case _: org.neo4j.kernel.api.exceptions.EntityNotFoundException => None
+      }
+    }
+
     def getById(id: Long) = try {
       graph.getNodeById(id)
     } catch {
@@ -440,6 +488,40 @@ final class TransactionBoundQueryContext(graph: GraphDatabaseAPI,
       case _: org.neo4j.kernel.api.exceptions.EntityNotFoundException => //ignore
     }
 
+    def getTemporalPropertyRange(id: Long, propertyKeyId: Int, start: TimePoint, end: TimePoint, callBack: TemporalRangeQuery): Any = try {
+      val op = new TemporalPropertyReadOperation(id, propertyKeyId, start, end, callBack)
+      statement.readOperations().relationshipGetTemporalProperty( op )
+    } catch {
+      case _: org.neo4j.kernel.api.exceptions.EntityNotFoundException => //ignore
+    }
+
+    def getTemporalPropertyMinMaxByIndex(id: Long, propertyKeyId: Int, start: TimePoint, end: TimePoint): Option[(Any, Any)] =
+      aggregationIndexQuery(id, propertyKeyId, start, end, IndexType.AGGR_MIN_MAX).map { result =>
+        val minMax = graph.temporalIndex().relMinMax(propertyKeyId, result)
+        (minMax(0), minMax(1))
+      }
+
+    def getTemporalPropertyDurationByIndex(id: Long, propertyKeyId: Int, start: TimePoint, end: TimePoint): Option[Long] =
+      aggregationIndexQuery(id, propertyKeyId, start, end, IndexType.AGGR_DURATION).map(graph.temporalIndex().totalDuration)
+
+    // rollups are derived from committed values only, so they cannot answer for a transaction with changes
+    def getTemporalPropertyByRollup(id: Long, propertyKeyId: Int, start: TimePoint, end: TimePoint, aggregate: TemporalRollup.Aggregate): Option[TemporalRollup.Result] =
+      if (kernelStatement.hasTxStateWithChanges) None
+      else Option(graph.temporalIndex().relAggregateByRollup(id, propertyKeyId, start, end, aggregate))
+
+    private def aggregationIndexQuery(id: Long, propertyKeyId: Int, start: TimePoint, end: TimePoint, indexType: IndexType): Option[AggregationIndexQueryResult] = {
+      val indexId = graph.temporalIndex().relFindAggrIndex(propertyKeyId, start, end, indexType)
+      if (indexId < 0) None
+      else try {
+        statement.readOperations().relationshipGetTemporalProperty(new TemporalPropertyReadOperation(id, propertyKeyId, start, end, indexId)) match {
+          case result: AggregationIndexQueryResult => Some(result)
+          case _ => None
+        }
+      } catch {
+        case _: org.neo4j.kernel.api.exceptions.EntityNotFoundException => None
+      }
+    }
+
     def getById(id: Long) = try {
       graph.getRelationshipById(id)
     } catch {
@@ -498,6 +580,9 @@ final class TransactionBoundQueryContext(graph: GraphDatabaseAPI,
       IdempotentResult(indexDescriptor, wasCreated = false)
   }
 
+  def createTemporalValueIndex(propertyKeys: Seq[String], from: Int, to: Int): Unit =
+    graph.temporalIndex().nodeCreateValueIndex(new TimePoint(from), new TimePoint(to), propertyKeys: _*)
+
   def addIndexRule(labelId: Int, propertyKeyId: Int): IdempotentResult[IndexDescriptor] = try {
     IdempotentResult(statement.schemaWriteOperations().indexCreate(labelId, propertyKeyId))
   } catch {
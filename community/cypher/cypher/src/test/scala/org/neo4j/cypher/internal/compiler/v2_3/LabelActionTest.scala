@@ -195,4 +195,8 @@ class SnitchingQueryContext extends QueryContext {
   override def detachDeleteNode(node: Node): Int = ???
 
   override def addTemporalIndexRule(indexType: Int, propertyKeyId: Int, from: Int, to: Int): IdempotentResult[IndexDescriptor] = ???
+
+  override def createTemporalValueIndex(propertyKeys: Seq[String], from: Int, to: Int) = ???
+
+  override def temporalValueIndexSeek(propertyKeyId: Int, time: Int, value: Any): Option[Iterator[Node]] = ???
 }
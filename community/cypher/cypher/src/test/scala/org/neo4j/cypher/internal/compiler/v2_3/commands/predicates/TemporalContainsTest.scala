@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v2_3.commands.predicates
+
+import java.io.File
+import java.nio.file.Files
+
+import org.neo4j.cypher.internal.frontend.v2_3.test_helpers.CypherFunSuite
+import org.neo4j.cypher.internal.spi.v2_3.TransactionBoundQueryContext
+import org.neo4j.cypher.internal.spi.v2_3.TransactionBoundQueryContext.IndexSearchMonitor
+import org.neo4j.graphdb.{GraphDatabaseService, Node, Transaction}
+import org.neo4j.graphdb.factory.GraphDatabaseFactory
+import org.neo4j.kernel.GraphDatabaseAPI
+import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge
+import org.neo4j.temporal.TimePoint
+
+/**
+ * The range scan evaluation of TemporalContains has to match exactly what the per tick evaluation matches.
+ */
+class TemporalContainsTest extends CypherFunSuite {
+
+  private val PROPERTY = "travel_time"
+  private val TICKS = 600
+  private val INTERVAL = 60
+  private val CHANGED_TIME = 150
+
+  private var graph: GraphDatabaseService = null
+  private var nodeId: Long = 0
+
+  override protected def initTest() {
+    super.initTest()
+    val path = Files.createTempDirectory("tcontains").toFile.getAbsolutePath
+    graph = new GraphDatabaseFactory().newEmbeddedDatabase(new File(path))
+    nodeId = setUpDb(graph)
+  }
+
+  override protected def stopTest() {
+    try {
+      graph.shutdown()
+    } finally {
+      super.stopTest()
+    }
+  }
+
+  test("both strategies match the value as written") {
+    val temporalValue = (0 until TICKS by INTERVAL).map(t => (t, t + INTERVAL - 1, expectedAt(t)))
+
+    assertBothMatch(temporalValue, expected = true)
+  }
+
+  test("both strategies reject a value changed inside one interval") {
+    val temporalValue = (0 until TICKS by INTERVAL).map(t => (t, t + INTERVAL - 1, (t / INTERVAL).toLong))
+
+    assertBothMatch(temporalValue, expected = false)
+  }
+
+  test("both strategies reject a wrong value at the start of an interval") {
+    val temporalValue = Seq((INTERVAL, 2 * INTERVAL - 1, 42L))
+
+    assertBothMatch(temporalValue, expected = false)
+  }
+
+  test("both strategies accept an empty interval") {
+    assertBothMatch(Seq((INTERVAL, INTERVAL - 1, 42L)), expected = true)
+  }
+
+  private def expectedAt(time: Int): Any =
+    if (time <= CHANGED_TIME && CHANGED_TIME < time + INTERVAL) -1L else (time / INTERVAL).toLong
+
+  private def assertBothMatch(temporalValue: Seq[(Int, Int, Any)], expected: Boolean) {
+    graph.withTx { tx =>
+      val queryContext = new TransactionBoundQueryContext(graph.asInstanceOf[GraphDatabaseAPI], tx, true, graph.statement)(mock[IndexSearchMonitor])
+      val propertyId = queryContext.getPropertyKeyId(PROPERTY)
+
+      TemporalContains.perTickMatch[Node](queryContext.nodeOps, nodeId, propertyId, temporalValue) should equal(expected)
+      TemporalContains.rangeScanMatch[Node](queryContext.nodeOps, nodeId, propertyId, temporalValue) should equal(expected)
+    }
+  }
+
+  private def setUpDb(graph: GraphDatabaseService): Long =
+    graph.withTx { _ =>
+      val node = graph.createNode()
+      for (t <- 0 until TICKS by INTERVAL) {
+        node.setTemporalProperty(PROPERTY, new TimePoint(t), new TimePoint(t + INTERVAL - 1), Long.box(t / INTERVAL))
+      }
+      // one tick in the middle of an interval has another value
+      node.setTemporalProperty(PROPERTY, new TimePoint(CHANGED_TIME), new TimePoint(CHANGED_TIME), Long.box(-1L))
+      node.getId
+    }
+
+  implicit class RichGraph(graph: GraphDatabaseService) {
+    def statement = graph.asInstanceOf[GraphDatabaseAPI].getDependencyResolver.resolveDependency(classOf[ThreadToStatementContextBridge]).get()
+
+    def withTx[T](f: Transaction => T): T = {
+      val tx = graph.beginTx()
+      try {
+        val result = f(tx)
+        tx.success()
+        result
+      } finally {
+        tx.close()
+      }
+    }
+  }
+}
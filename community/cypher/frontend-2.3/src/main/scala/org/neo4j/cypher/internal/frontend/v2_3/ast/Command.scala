@@ -39,7 +39,13 @@ case class CreateTemporalMinMaxIndex(property: PropertyKeyName, range: TimeInter
 }
 
 case class CreateTemporalValueIndex(property: Seq[PropertyKeyName], range: TimeInterval)(val position: InputPosition) extends Command with SemanticChecking{
-  override def semanticCheck: SemanticCheck = Seq()
+  // the time of a regular time point is only set by its semantic check
+  override def semanticCheck: SemanticCheck =
+    range.startT.semanticCheck(Expression.SemanticContext.Simple) chain
+      range.endT.semanticCheck(Expression.SemanticContext.Simple) ifOkChain
+      when(range.startT.time > range.endT.time) {
+        SemanticError("start time of a temporal index must not be after its end time", range.position)
+      }
 }
 
 trait PropertyConstraintCommand extends Command with SemanticChecking {
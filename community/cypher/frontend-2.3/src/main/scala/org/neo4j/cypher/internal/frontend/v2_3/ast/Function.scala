@@ -98,7 +98,12 @@ object Function {
     functions.TemporalContainsFunc,
     functions.TemporalProjectionFunc,
     functions.SnapshotValueFunc,
-    functions.TemporalAggregationMinFunc
+    functions.TemporalAggregationMinFunc,
+    functions.TemporalMinFunc,
+    functions.TemporalMaxFunc,
+    functions.TemporalSumFunc,
+    functions.TemporalAvgFunc,
+    functions.TemporalCountFunc
   )
 
   val lookup: Map[String, Function] = knownFunctions.map { f => (f.name.toLowerCase, f) }.toMap
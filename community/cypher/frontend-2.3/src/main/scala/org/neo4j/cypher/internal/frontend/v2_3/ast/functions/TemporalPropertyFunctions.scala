@@ -35,14 +35,16 @@ case object SnapshotValueFunc extends Function with SimpleTypedFunction  {
 }
 
 
-case object TemporalAggregationMinFunc extends Function{
-  override def name: String = "tAggrMin"
+/**
+  * Aggregations of a temporal property over a time window, e.g. tMin(n.travel_time, {start}, {end}).
+  */
+abstract class TemporalAggregationFunc(override val name: String, outputType: CypherType) extends Function {
 
   // modified from org.neo4j.cypher.internal.frontend.v2_3.ast.functions.Exist class.
   override def semanticCheck(ctx: SemanticContext, invocation: FunctionInvocation): SemanticCheck = {
     checkArgs(invocation, 3) ifOkChain {
       val tmp = invocation.arguments // same as invocation.args, but former is a list :: later is a Vector.
-      tmp.head.expectType(CTAny.covariant) chain invocation.specifyType(CTTValue) chain {
+      tmp.head.expectType(CTAny.covariant) chain invocation.specifyType(outputType) chain {
         (tmp.head, tmp(1), tmp(2)) match {
           case (_: Property, s:SignedDecimalIntegerLiteral, e:SignedDecimalIntegerLiteral) =>
             if(0 < s.value)
@@ -55,4 +57,16 @@ case object TemporalAggregationMinFunc extends Function{
       }
     }
   }
-}
\ No newline at end of file
+}
+
+case object TemporalAggregationMinFunc extends TemporalAggregationFunc("tAggrMin", CTTValue)
+
+case object TemporalMinFunc extends TemporalAggregationFunc("tMin", CTNumber)
+
+case object TemporalMaxFunc extends TemporalAggregationFunc("tMax", CTNumber)
+
+case object TemporalSumFunc extends TemporalAggregationFunc("tSum", CTNumber)
+
+case object TemporalAvgFunc extends TemporalAggregationFunc("tAvg", CTFloat)
+
+case object TemporalCountFunc extends TemporalAggregationFunc("tCount", CTInteger)
@@ -37,6 +37,7 @@ trait Command extends Parser
       | DropRelationshipPropertyExistenceConstraint
       | DropIndex
       | CreateTemporalIndex
+      | CreateTemporalValueIndex
   )
 
   def CreateTemporalIndex: Rule1[ast.CreateTemporalMinMaxIndex] = rule {
@@ -45,6 +46,12 @@ trait Command extends Parser
     ) ~~>> ((pName, timeRange) => ast.CreateTemporalMinMaxIndex(pName, timeRange))
   }
 
+  def CreateTemporalValueIndex: Rule1[ast.CreateTemporalValueIndex] = rule {
+    group(
+      keyword("CREATE TEMPORAL VALUE INDEX ON") ~~ "(" ~~ oneOrMore(PropertyKeyName, separator = CommaSep) ~~ ")" ~~ "DURING" ~~ TimeIntervalLiteral
+    ) ~~>> ((pNames, timeRange) => ast.CreateTemporalValueIndex(pNames, timeRange))
+  }
+
 
   def CreateIndex: Rule1[ast.CreateIndex] = rule {
     group(keyword("CREATE INDEX ON") ~~ NodeLabel ~~ "(" ~~ PropertyKeyName ~~ ")") ~~>> (ast.CreateIndex(_, _))
@@ -23,6 +23,7 @@ import org.neo4j.graphalgo.impl.util.DoubleEvaluator;
 import org.neo4j.graphalgo.impl.util.DoubleEvaluatorWithDefault;
 import org.neo4j.graphalgo.impl.util.GeoEstimateEvaluator;
 import org.neo4j.graphalgo.impl.util.IntegerEvaluator;
+import org.neo4j.graphalgo.impl.util.TemporalPropertyCostEvaluator;
 
 /**
  * Factory for common evaluators used by some graph algos, f.ex
@@ -46,6 +47,19 @@ public abstract class CommonEvaluators
     {
         return new IntegerEvaluator( relationshipCostPropertyKey );
     }
+
+    /**
+     * Relationships without a value at the time they're entered aren't traversed.
+     */
+    public static TemporalCostEvaluator temporalCostEvaluator( String relationshipCostPropertyKey )
+    {
+        return new TemporalPropertyCostEvaluator( relationshipCostPropertyKey, -1 );
+    }
+
+    public static TemporalCostEvaluator temporalCostEvaluator( String relationshipCostPropertyKey, double defaultCost )
+    {
+        return new TemporalPropertyCostEvaluator( relationshipCostPropertyKey, defaultCost );
+    }
     
     public static EstimateEvaluator<Double> geoEstimateEvaluator(
             String latitudePropertyKey, String longitudePropertyKey )
@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.impl.path.Dijkstra;
 import org.neo4j.graphalgo.impl.path.DijkstraBidirectional;
 import org.neo4j.graphalgo.impl.path.ExactDepthPathFinder;
 import org.neo4j.graphalgo.impl.path.ShortestPath;
+import org.neo4j.graphalgo.impl.path.TimeDependentAStar;
 import org.neo4j.graphalgo.impl.util.DoubleEvaluator;
 import org.neo4j.graphalgo.impl.util.PathInterestFactory;
 import org.neo4j.graphdb.Node;
@@ -277,6 +278,53 @@ public abstract class GraphAlgoFactory
         return new AStar( expander, lengthEvaluator, estimateEvaluator );
     }
 
+    /**
+     * Returns a {@link PathFinder} which uses the A* algorithm to find the
+     * earliest arrival path between two nodes when departing at
+     * {@code departureTime}. The cost of each relationship is returned from
+     * {@code costEvaluator} for the time the relationship is entered, f.ex.
+     * read from a temporal property, and the weight of the returned path is
+     * the travel time. Waiting at a node is assumed never to lead to an
+     * earlier arrival.
+     *
+     * @param expander the {@link PathExpander} to use for expanding
+     * {@link Relationship}s for each {@link Path}.
+     * @param costEvaluator evaluator that returns the travel time of each
+     * relationship the algorithm traverses, given the time it's entered.
+     * @param estimateEvaluator evaluator that returns an (optimistic)
+     * estimation of the travel time from the current node (in the traversal)
+     * to the end node.
+     * @param departureTime the time the start node is left.
+     * @return an algorithm which finds the earliest arrival path between two
+     * nodes using the A* algorithm.
+     */
+    public static PathFinder<WeightedPath> timeDependentAStar( PathExpander expander,
+            TemporalCostEvaluator costEvaluator, EstimateEvaluator<Double> estimateEvaluator, long departureTime )
+    {
+        return new TimeDependentAStar( expander, costEvaluator, estimateEvaluator, departureTime );
+    }
+
+    /**
+     * Returns a {@link PathFinder} which uses the Dijkstra algorithm to find
+     * the earliest arrival path between two nodes when departing at
+     * {@code departureTime}. See
+     * {@link #timeDependentAStar(PathExpander, TemporalCostEvaluator, EstimateEvaluator, long)}
+     * for documentation.
+     *
+     * @param expander the {@link PathExpander} to use for expanding
+     * {@link Relationship}s for each {@link Path}.
+     * @param costEvaluator evaluator that returns the travel time of each
+     * relationship the algorithm traverses, given the time it's entered.
+     * @param departureTime the time the start node is left.
+     * @return an algorithm which finds the earliest arrival path between two
+     * nodes using the Dijkstra algorithm.
+     */
+    public static PathFinder<WeightedPath> timeDependentDijkstra( PathExpander expander,
+            TemporalCostEvaluator costEvaluator, long departureTime )
+    {
+        return new TimeDependentAStar( expander, costEvaluator, departureTime );
+    }
+
     /**
      * Returns a {@link PathFinder} which uses the Dijkstra algorithm to find
      * the cheapest path between two nodes. The definition of "cheap" is the
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo;
+
+import org.neo4j.graphdb.Relationship;
+
+/**
+ * Cost evaluator for time-dependent shortest paths, where the cost of a
+ * relationship depends on when it's entered, f.ex. the travel time of a road
+ * at the moment a car reaches it. Costs are durations in the unit of the time
+ * points, so the other node of a relationship is reached at the time it was
+ * entered plus its cost.
+ * <p>
+ * The costs of all relationships leaving a node are asked for at once, since
+ * they're all entered at the time that node is reached. This lets an
+ * implementation read them in one batch instead of one temporal property read
+ * per relationship.
+ */
+public interface TemporalCostEvaluator
+{
+    /**
+     * Looks up the costs of the relationships leaving a node.
+     *
+     * @param relationships the relationships, only the first {@code count} are used.
+     * @param count the number of relationships to get the costs for.
+     * @param time the time the node is reached at, which is when all these
+     *            relationships are entered.
+     * @param costs receives the cost of {@code relationships[i]} at
+     *            {@code costs[i]}. A negative cost means that the relationship
+     *            can't be traversed at {@code time}.
+     */
+    void getCosts( Relationship[] relationships, int count, long time, double[] costs );
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.path;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+import org.neo4j.collection.primitive.Primitive;
+import org.neo4j.collection.primitive.PrimitiveLongObjectMap;
+import org.neo4j.graphalgo.EstimateEvaluator;
+import org.neo4j.graphalgo.PathFinder;
+import org.neo4j.graphalgo.TemporalCostEvaluator;
+import org.neo4j.graphalgo.WeightedPath;
+import org.neo4j.graphalgo.impl.util.DoubleLongPriorityQueue;
+import org.neo4j.graphalgo.impl.util.PathImpl;
+import org.neo4j.graphalgo.impl.util.WeightedPathImpl;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Path;
+import org.neo4j.graphdb.PathExpander;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.traversal.BranchState;
+import org.neo4j.graphdb.traversal.TraversalMetadata;
+
+import static org.neo4j.helpers.collection.Iterables.option;
+
+/**
+ * Finds the earliest arrival path from a departure time, where the cost of a
+ * relationship is read at the time it's entered, see {@link TemporalCostEvaluator}.
+ * The weight of the returned path is the travel time, i.e. arrival minus
+ * departure time.
+ * <p>
+ * This is A* if given an {@link EstimateEvaluator}, which must never
+ * overestimate the remaining travel time, otherwise Dijkstra. Like their
+ * static counterparts a node is settled the first time it's popped, which is
+ * only correct if leaving later never means arriving earlier (the FIFO
+ * property), as holds for travel times of roads without waiting.
+ * <p>
+ * The costs of all relationships of the node being expanded are asked for in
+ * one call to the evaluator, and nodes are kept in a primitive priority queue
+ * and map instead of boxed ones.
+ */
+public class TimeDependentAStar implements PathFinder<WeightedPath>
+{
+    private final PathExpander<?> expander;
+    private final TemporalCostEvaluator costEvaluator;
+    private final EstimateEvaluator<Double> estimateEvaluator;
+    private final long departureTime;
+    private Metadata lastMetadata;
+
+    /**
+     * Dijkstra, i.e. without estimating the remaining travel time.
+     */
+    public TimeDependentAStar( PathExpander<?> expander, TemporalCostEvaluator costEvaluator, long departureTime )
+    {
+        this( expander, costEvaluator, null, departureTime );
+    }
+
+    public TimeDependentAStar( PathExpander<?> expander, TemporalCostEvaluator costEvaluator,
+            EstimateEvaluator<Double> estimateEvaluator, long departureTime )
+    {
+        this.expander = expander;
+        this.costEvaluator = costEvaluator;
+        this.estimateEvaluator = estimateEvaluator;
+        this.departureTime = departureTime;
+    }
+
+    @Override
+    public WeightedPath findSinglePath( Node start, Node end )
+    {
+        lastMetadata = new Metadata();
+        Search search = new Search( start, end );
+        Visit reached = search.run();
+        if ( reached == null )
+        {
+            return null;
+        }
+
+        final Path path;
+        if ( start.getId() == end.getId() )
+        {
+            path = PathImpl.singular( start );
+        }
+        else
+        {
+            GraphDatabaseService graphDb = end.getGraphDatabase();
+            LinkedList<Relationship> rels = new LinkedList<>();
+            Node node = end;
+            long relId = reached.cameFromRelationship;
+            while ( relId != -1 )
+            {
+                Relationship rel = graphDb.getRelationshipById( relId );
+                rels.addFirst( rel );
+                node = rel.getOtherNode( node );
+                relId = search.visits.get( node.getId() ).cameFromRelationship;
+            }
+            PathImpl.Builder builder = new PathImpl.Builder( start );
+            for ( Relationship rel : rels )
+            {
+                builder = builder.push( rel );
+            }
+            path = builder.build();
+        }
+        lastMetadata.paths++;
+        return new WeightedPathImpl( reached.travelTime, path );
+    }
+
+    @Override
+    public Iterable<WeightedPath> findAllPaths( Node start, Node end )
+    {
+        return option( findSinglePath( start, end ) );
+    }
+
+    @Override
+    public TraversalMetadata metadata()
+    {
+        return lastMetadata;
+    }
+
+    private static class Visit
+    {
+        private double travelTime; // from departure until this node is reached
+        private final double estimate; // of the remaining travel time to the end node
+        private long cameFromRelationship;
+        private boolean settled;
+
+        Visit( long cameFromRelationship, double travelTime, double estimate )
+        {
+            this.cameFromRelationship = cameFromRelationship;
+            this.travelTime = travelTime;
+            this.estimate = estimate;
+        }
+    }
+
+    /**
+     * Implements {@link Path} only to be handed to the expander, which just
+     * needs the start node and the node being expanded.
+     */
+    private class Search implements Path
+    {
+        private final Node start;
+        private final Node end;
+        private final PrimitiveLongObjectMap<Visit> visits = Primitive.longObjectMap();
+        private final DoubleLongPriorityQueue queue = new DoubleLongPriorityQueue();
+        private Relationship[] relationships = new Relationship[16];
+        private double[] costs = new double[relationships.length];
+        private Node current;
+
+        Search( Node start, Node end )
+        {
+            this.start = start;
+            this.end = end;
+        }
+
+        Visit run()
+        {
+            Visit first = new Visit( -1, 0, estimate( start ) );
+            visits.put( start.getId(), first );
+            queue.push( first.estimate, start.getId() );
+            GraphDatabaseService graphDb = start.getGraphDatabase();
+            while ( !queue.isEmpty() )
+            {
+                long nodeId = queue.pop();
+                Visit visit = visits.get( nodeId );
+                if ( visit.settled )
+                {
+                    // Outdated entry, the node was pushed again when a faster way to it was found
+                    continue;
+                }
+                visit.settled = true;
+                if ( nodeId == end.getId() )
+                {
+                    return visit;
+                }
+                current = nodeId == start.getId() ? start : graphDb.getNodeById( nodeId );
+                expand( visit );
+            }
+            return null;
+        }
+
+        @SuppressWarnings( "unchecked" )
+        private void expand( Visit visit )
+        {
+            int count = 0;
+            for ( Relationship rel : expander.expand( this, BranchState.NO_STATE ) )
+            {
+                lastMetadata.rels++;
+                if ( count == relationships.length )
+                {
+                    relationships = Arrays.copyOf( relationships, count * 2 );
+                    costs = new double[relationships.length];
+                }
+                relationships[count++] = rel;
+            }
+            if ( count == 0 )
+            {
+                return;
+            }
+
+            costEvaluator.getCosts( relationships, count, departureTime + (long) visit.travelTime, costs );
+            for ( int i = 0; i < count; i++ )
+            {
+                if ( costs[i] < 0 )
+                {
+                    continue;
+                }
+                Relationship rel = relationships[i];
+                Node other = rel.getOtherNode( current );
+                Visit otherVisit = visits.get( other.getId() );
+                double travelTime = visit.travelTime + costs[i];
+                if ( otherVisit == null )
+                {
+                    otherVisit = new Visit( rel.getId(), travelTime, estimate( other ) );
+                    visits.put( other.getId(), otherVisit );
+                }
+                else if ( otherVisit.settled || travelTime >= otherVisit.travelTime )
+                {
+                    continue;
+                }
+                else
+                {
+                    otherVisit.cameFromRelationship = rel.getId();
+                    otherVisit.travelTime = travelTime;
+                }
+                queue.push( travelTime + otherVisit.estimate, other.getId() );
+            }
+            Arrays.fill( relationships, 0, count, null );
+        }
+
+        private double estimate( Node node )
+        {
+            return estimateEvaluator == null ? 0 : estimateEvaluator.getCost( node, end );
+        }
+
+        @Override
+        public Node startNode()
+        {
+            return start;
+        }
+
+        @Override
+        public Node endNode()
+        {
+            return current;
+        }
+
+        @Override
+        public Relationship lastRelationship()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterable<Relationship> relationships()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterable<Relationship> reverseRelationships()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterable<Node> nodes()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterable<Node> reverseNodes()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int length()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterator<PropertyContainer> iterator()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class Metadata implements TraversalMetadata
+    {
+        private int rels;
+        private int paths;
+
+        @Override
+        public int getNumberOfPathsReturned()
+        {
+            return paths;
+        }
+
+        @Override
+        public int getNumberOfRelationshipsTraversed()
+        {
+            return rels;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min heap of long values ordered by a double priority, kept in two primitive arrays so that pushing
+ * and popping doesn't allocate or box. There's no way to lower the priority of a value already in the heap,
+ * instead it's pushed again and the caller skips the outdated entry when it comes up.
+ */
+public class DoubleLongPriorityQueue
+{
+    private double[] priorities;
+    private long[] values;
+    private int size;
+
+    public DoubleLongPriorityQueue()
+    {
+        this( 64 );
+    }
+
+    public DoubleLongPriorityQueue( int initialCapacity )
+    {
+        priorities = new double[Math.max( initialCapacity, 1 )];
+        values = new long[priorities.length];
+    }
+
+    public void push( double priority, long value )
+    {
+        if ( size == values.length )
+        {
+            priorities = Arrays.copyOf( priorities, size * 2 );
+            values = Arrays.copyOf( values, size * 2 );
+        }
+        int i = size++;
+        while ( i > 0 )
+        {
+            int parent = (i - 1) >>> 1;
+            if ( priorities[parent] <= priority )
+            {
+                break;
+            }
+            priorities[i] = priorities[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        priorities[i] = priority;
+        values[i] = value;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return the lowest priority in the heap.
+     */
+    public double peekPriority()
+    {
+        assertNotEmpty();
+        return priorities[0];
+    }
+
+    /**
+     * Removes the value with the lowest priority.
+     *
+     * @return the removed value.
+     */
+    public long pop()
+    {
+        assertNotEmpty();
+        long top = values[0];
+        size--;
+        double priority = priorities[size];
+        long value = values[size];
+        int i = 0;
+        int half = size >>> 1;
+        while ( i < half )
+        {
+            int child = 2 * i + 1;
+            if ( child + 1 < size && priorities[child + 1] < priorities[child] )
+            {
+                child++;
+            }
+            if ( priority <= priorities[child] )
+            {
+                break;
+            }
+            priorities[i] = priorities[child];
+            values[i] = values[child];
+            i = child;
+        }
+        priorities[i] = priority;
+        values[i] = value;
+        return top;
+    }
+
+    private void assertNotEmpty()
+    {
+        if ( size == 0 )
+        {
+            throw new NoSuchElementException();
+        }
+    }
+}
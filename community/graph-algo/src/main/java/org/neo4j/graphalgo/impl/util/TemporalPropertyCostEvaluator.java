@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.util;
+
+import org.neo4j.graphalgo.TemporalCostEvaluator;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.temporal.TemporalPointValues;
+import org.neo4j.temporal.TimePoint;
+
+/**
+ * Uses the value of a temporal property at the time a relationship is entered
+ * as its cost. The values of all given relationships are read in one call to
+ * {@link org.neo4j.temporal.TemporalIndexManager#relGetTemporalPropertyPoints(long[], String, TimePoint)}.
+ */
+public class TemporalPropertyCostEvaluator implements TemporalCostEvaluator
+{
+    private final String costPropertyName;
+    private final double defaultCost;
+
+    /**
+     * @param defaultCost cost of relationships without a value at the time
+     *            they're entered, negative to not traverse them.
+     */
+    public TemporalPropertyCostEvaluator( String costPropertyName, double defaultCost )
+    {
+        this.costPropertyName = costPropertyName;
+        this.defaultCost = defaultCost;
+    }
+
+    @Override
+    public void getCosts( Relationship[] relationships, int count, long time, double[] costs )
+    {
+        if ( count == 0 )
+        {
+            return;
+        }
+        long[] ids = new long[count];
+        for ( int i = 0; i < count; i++ )
+        {
+            ids[i] = relationships[i].getId();
+        }
+        TemporalPointValues values = relationships[0].getGraphDatabase().temporalIndex()
+                .relGetTemporalPropertyPoints( ids, costPropertyName, new TimePoint( time ) );
+        for ( int i = 0; i < count; i++ )
+        {
+            costs[i] = values.hasValue( i ) ? values.doubleValue( i ) : defaultCost;
+        }
+    }
+}
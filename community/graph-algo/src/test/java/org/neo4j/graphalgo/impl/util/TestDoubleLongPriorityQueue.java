@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestDoubleLongPriorityQueue
+{
+    @Test
+    public void shouldPopValuesInOrderOfPriority()
+    {
+        // GIVEN
+        DoubleLongPriorityQueue queue = new DoubleLongPriorityQueue( 2 );
+        queue.push( 5d, 0 );
+        queue.push( 4d, 1 );
+        queue.push( 3d, 1 );
+        queue.push( 7d, 2 );
+
+        // THEN
+        assertEquals( 4, queue.size() );
+        assertEquals( 3d, queue.peekPriority(), 0d );
+        assertEquals( 1, queue.pop() );
+        assertEquals( 1, queue.pop() );
+        assertEquals( 0, queue.pop() );
+        assertEquals( 2, queue.pop() );
+        assertTrue( queue.isEmpty() );
+    }
+
+    @Test
+    public void shouldSortRandomPriorities()
+    {
+        // GIVEN
+        Random random = new Random( 42 );
+        DoubleLongPriorityQueue queue = new DoubleLongPriorityQueue();
+        double[] priorities = new double[1000];
+        for ( int i = 0; i < priorities.length; i++ )
+        {
+            priorities[i] = random.nextDouble();
+            queue.push( priorities[i], i );
+        }
+
+        // WHEN
+        Arrays.sort( priorities );
+
+        // THEN
+        for ( double priority : priorities )
+        {
+            assertEquals( priority, queue.peekPriority(), 0d );
+            queue.pop();
+        }
+        assertTrue( queue.isEmpty() );
+    }
+
+    @Test( expected = NoSuchElementException.class )
+    public void shouldThrowOnPopFromEmptyQueue()
+    {
+        new DoubleLongPriorityQueue().pop();
+    }
+}
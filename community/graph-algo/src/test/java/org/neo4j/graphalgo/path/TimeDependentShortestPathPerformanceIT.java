@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.path;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Random;
+
+import org.neo4j.graphalgo.EstimateEvaluator;
+import org.neo4j.graphalgo.PathFinder;
+import org.neo4j.graphalgo.TemporalCostEvaluator;
+import org.neo4j.graphalgo.WeightedPath;
+import org.neo4j.graphdb.DynamicRelationshipType;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.factory.GraphDatabaseFactory;
+import org.neo4j.temporal.TimePoint;
+import org.neo4j.test.TargetDirectory;
+
+import static java.lang.System.currentTimeMillis;
+import static org.neo4j.graphalgo.CommonEvaluators.temporalCostEvaluator;
+import static org.neo4j.graphalgo.GraphAlgoFactory.timeDependentAStar;
+import static org.neo4j.graphalgo.GraphAlgoFactory.timeDependentDijkstra;
+import static org.neo4j.graphdb.Direction.OUTGOING;
+import static org.neo4j.graphdb.PathExpanders.forDirection;
+
+/**
+ * Time-dependent Dijkstra and A* on a synthetic road grid, where every road has a travel time per hour of a day
+ * that's higher in the rush hours. Compares batched temporal reads against reading every relationship on its own.
+ */
+@Ignore( "Not a test, just nice to have" )
+public class TimeDependentShortestPathPerformanceIT
+{
+    private static final String TRAVEL_TIME = "travel_time";
+    private static final RelationshipType ROAD = DynamicRelationshipType.withName( "ROAD" );
+    private static final int SIDE = 200;
+    private static final long HOUR = 3600;
+    private static final double MIN_TRAVEL_TIME = 30;
+
+    private File directory;
+
+    @Rule
+    public TargetDirectory.TestDirectory testDirectory = TargetDirectory.testDirForTest( getClass() );
+
+    @Before
+    public void setup()
+    {
+        directory = testDirectory.directory( "graph-db" );
+    }
+
+    @Test
+    public void somePerformanceTesting() throws Exception
+    {
+        // GIVEN
+        GraphDatabaseService db = new GraphDatabaseFactory().newEmbeddedDatabase( directory.getAbsolutePath() );
+        generateGrid( db, new Random( 1234 ) );
+
+        // WHEN
+        EstimateEvaluator<Double> estimate = new EstimateEvaluator<Double>()
+        {
+            @Override
+            public Double getCost( Node node, Node goal )
+            {
+                int dx = Math.abs( (Integer) node.getProperty( "x" ) - (Integer) goal.getProperty( "x" ) );
+                int dy = Math.abs( (Integer) node.getProperty( "y" ) - (Integer) goal.getProperty( "y" ) );
+                return (dx + dy) * MIN_TRAVEL_TIME;
+            }
+        };
+        TemporalCostEvaluator batched = temporalCostEvaluator( TRAVEL_TIME );
+        TemporalCostEvaluator oneByOne = new TemporalCostEvaluator()
+        {
+            @Override
+            public void getCosts( Relationship[] relationships, int count, long time, double[] costs )
+            {
+                for ( int i = 0; i < count; i++ )
+                {
+                    Object value = relationships[i].getTemporalProperty( TRAVEL_TIME, new TimePoint( time ) );
+                    costs[i] = value == null ? -1 : ((Number) value).doubleValue();
+                }
+            }
+        };
+        Random random = new Random( 5678 );
+        long[][] points = new long[10][];
+        for ( int i = 0; i < points.length; i++ )
+        {
+            points[i] = new long[]{random.nextInt( SIDE * SIDE ), random.nextInt( SIDE * SIDE ),
+                    random.nextInt( 24 ) * HOUR};
+        }
+        for ( int i = 0; i < 5; i++ )
+        {
+            System.out.println( "----- " + i );
+            for ( long[] p : points )
+            {
+                try ( Transaction tx = db.beginTx() )
+                {
+                    Node start = db.getNodeById( p[0] );
+                    Node end = db.getNodeById( p[1] );
+                    run( "dijkstra, one by one", timeDependentDijkstra( forDirection( OUTGOING ), oneByOne, p[2] ),
+                            start, end );
+                    run( "dijkstra, batched", timeDependentDijkstra( forDirection( OUTGOING ), batched, p[2] ),
+                            start, end );
+                    run( "a*, batched", timeDependentAStar( forDirection( OUTGOING ), batched, estimate, p[2] ),
+                            start, end );
+                    tx.success();
+                }
+            }
+        }
+
+        // THEN
+        db.shutdown();
+    }
+
+    private static void run( String name, PathFinder<WeightedPath> algo, Node start, Node end )
+    {
+        long time = currentTimeMillis();
+        WeightedPath path = algo.findSinglePath( start, end );
+        time = currentTimeMillis() - time;
+        System.out.println( name + " time: " + time + ", len:" + path.length() + ", weight:" + path.weight() +
+                ", rels:" + algo.metadata().getNumberOfRelationshipsTraversed() );
+    }
+
+    /**
+     * Nodes are created in row order, so node x + y * SIDE is at (x, y). Neighbours are connected by a road in
+     * each direction, with a travel time for each hour of the day.
+     */
+    private static void generateGrid( GraphDatabaseService db, Random random )
+    {
+        long[] times = new long[24];
+        for ( int hour = 0; hour < times.length; hour++ )
+        {
+            times[hour] = hour * HOUR;
+        }
+        Node[] previousRow = new Node[SIDE];
+        for ( int y = 0; y < SIDE; y++ )
+        {
+            try ( Transaction tx = db.beginTx() )
+            {
+                Node left = null;
+                for ( int x = 0; x < SIDE; x++ )
+                {
+                    Node node = db.createNode();
+                    node.setProperty( "x", x );
+                    node.setProperty( "y", y );
+                    if ( left != null )
+                    {
+                        roads( left, node, times, random );
+                    }
+                    if ( previousRow[x] != null )
+                    {
+                        roads( previousRow[x], node, times, random );
+                    }
+                    previousRow[x] = node;
+                    left = node;
+                }
+                tx.success();
+            }
+        }
+    }
+
+    private static void roads( Node a, Node b, long[] times, Random random )
+    {
+        a.createRelationshipTo( b, ROAD ).setTemporalPropertySeries( TRAVEL_TIME, times, travelTimes( times, random ) );
+        b.createRelationshipTo( a, ROAD ).setTemporalPropertySeries( TRAVEL_TIME, times, travelTimes( times, random ) );
+    }
+
+    private static double[] travelTimes( long[] times, Random random )
+    {
+        double base = MIN_TRAVEL_TIME + random.nextInt( 60 );
+        double[] travelTimes = new double[times.length];
+        for ( int hour = 0; hour < times.length; hour++ )
+        {
+            boolean rushHour = (hour >= 7 && hour <= 9) || (hour >= 16 && hour <= 18);
+            travelTimes[hour] = rushHour ? base * (1 + random.nextDouble() * 2) : base;
+        }
+        return travelTimes;
+    }
+}
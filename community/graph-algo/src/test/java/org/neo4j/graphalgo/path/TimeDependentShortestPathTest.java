@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.path;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.graphalgo.EstimateEvaluator;
+import org.neo4j.graphalgo.PathFinder;
+import org.neo4j.graphalgo.TemporalCostEvaluator;
+import org.neo4j.graphalgo.WeightedPath;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PathExpander;
+import org.neo4j.graphdb.Relationship;
+
+import common.Neo4jAlgoTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.neo4j.graphalgo.CommonEvaluators.temporalCostEvaluator;
+import static org.neo4j.graphalgo.GraphAlgoFactory.timeDependentAStar;
+import static org.neo4j.graphalgo.GraphAlgoFactory.timeDependentDijkstra;
+import static org.neo4j.graphdb.Direction.OUTGOING;
+import static org.neo4j.graphdb.PathExpanders.forDirection;
+
+public class TimeDependentShortestPathTest extends Neo4jAlgoTestCase
+{
+    private static final String TRAVEL_TIME = "travel_time";
+    private final PathExpander<?> expander = forDirection( OUTGOING );
+
+    @Test
+    public void shouldReadTravelTimesAtArrivalTime()
+    {
+        // GIVEN
+        // b -> d is jammed during [5, 50), which is when b is reached when departing at 0
+        road( "a", "b", new long[]{0}, 10 );
+        road( "b", "d", new long[]{0, 5, 50}, 1, 100, 1 );
+        road( "a", "c", new long[]{0}, 20 );
+        road( "c", "d", new long[]{0}, 20 );
+        commit();
+
+        for ( long departure : new long[]{0, 40} )
+        {
+            for ( PathFinder<WeightedPath> finder : finders( temporalCostEvaluator( TRAVEL_TIME ), departure ) )
+            {
+                // WHEN
+                WeightedPath path = finder.findSinglePath( graph.getNode( "a" ), graph.getNode( "d" ) );
+
+                // THEN
+                if ( departure == 0 )
+                {
+                    assertPathDef( path, "a", "c", "d" );
+                    assertEquals( 40d, path.weight(), 0d );
+                }
+                else
+                {
+                    assertPathDef( path, "a", "b", "d" );
+                    assertEquals( 11d, path.weight(), 0d );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotTraverseRelationshipsWithoutTravelTimeUnlessGivenADefault()
+    {
+        // GIVEN
+        // a -> b only has a travel time from 100
+        road( "a", "b", new long[]{100}, 5 );
+        commit();
+        Node a = graph.getNode( "a" );
+        Node b = graph.getNode( "b" );
+
+        // THEN
+        for ( PathFinder<WeightedPath> finder : finders( temporalCostEvaluator( TRAVEL_TIME ), 0 ) )
+        {
+            assertNull( finder.findSinglePath( a, b ) );
+        }
+        for ( PathFinder<WeightedPath> finder : finders( temporalCostEvaluator( TRAVEL_TIME ), 100 ) )
+        {
+            assertEquals( 5d, finder.findSinglePath( a, b ).weight(), 0d );
+        }
+        for ( PathFinder<WeightedPath> finder : finders( temporalCostEvaluator( TRAVEL_TIME, 3 ), 0 ) )
+        {
+            assertEquals( 3d, finder.findSinglePath( a, b ).weight(), 0d );
+        }
+    }
+
+    @Test
+    public void shouldAskForTheCostsOfAllRelationshipsOfANodeAtOnce()
+    {
+        // GIVEN
+        road( "a", "b", new long[]{0}, 1 );
+        road( "a", "c", new long[]{0}, 2 );
+        road( "a", "d", new long[]{0}, 3 );
+        road( "b", "e", new long[]{0}, 10 );
+        commit();
+        final List<Integer> counts = new ArrayList<>();
+        final List<Long> times = new ArrayList<>();
+        final TemporalCostEvaluator evaluator = temporalCostEvaluator( TRAVEL_TIME );
+        TemporalCostEvaluator counting = new TemporalCostEvaluator()
+        {
+            @Override
+            public void getCosts( Relationship[] relationships, int count, long time, double[] costs )
+            {
+                counts.add( count );
+                times.add( time );
+                evaluator.getCosts( relationships, count, time, costs );
+            }
+        };
+
+        // WHEN
+        WeightedPath path = timeDependentDijkstra( expander, counting, 7 )
+                .findSinglePath( graph.getNode( "a" ), graph.getNode( "e" ) );
+
+        // THEN
+        assertPathDef( path, "a", "b", "e" );
+        assertEquals( 11d, path.weight(), 0d );
+        assertEquals( 3, (int) counts.get( 0 ) );
+        assertEquals( 7L, (long) times.get( 0 ) );
+        assertEquals( 1, (int) counts.get( 1 ) );
+        assertEquals( 8L, (long) times.get( 1 ) );
+    }
+
+    @Test
+    public void pathToSelfReturnsZero()
+    {
+        // GIVEN
+        Node start = graph.makeNode( "start" );
+        commit();
+
+        for ( PathFinder<WeightedPath> finder : finders( temporalCostEvaluator( TRAVEL_TIME ), 0 ) )
+        {
+            // WHEN
+            WeightedPath path = finder.findSinglePath( start, start );
+
+            // THEN
+            assertNotNull( path );
+            assertEquals( 0, path.length() );
+            assertEquals( 0d, path.weight(), 0d );
+        }
+    }
+
+    private List<PathFinder<WeightedPath>> finders( TemporalCostEvaluator evaluator, long departure )
+    {
+        // Never overestimates, every road in these tests takes at least one time unit
+        EstimateEvaluator<Double> estimate = new EstimateEvaluator<Double>()
+        {
+            @Override
+            public Double getCost( Node node, Node goal )
+            {
+                return node.equals( goal ) ? 0d : 1d;
+            }
+        };
+        List<PathFinder<WeightedPath>> finders = new ArrayList<>();
+        finders.add( timeDependentDijkstra( expander, evaluator, departure ) );
+        finders.add( timeDependentAStar( expander, evaluator, estimate, departure ) );
+        return finders;
+    }
+
+    private void road( String from, String to, long[] times, double... travelTimes )
+    {
+        graph.makeEdge( from, to ).setTemporalPropertySeries( TRAVEL_TIME, times, travelTimes );
+    }
+
+    private void commit()
+    {
+        tx.success();
+        tx.close();
+        tx = graphDb.beginTx();
+    }
+}
@@ -64,6 +64,7 @@ import org.neo4j.unsafe.impl.batchimport.input.Input;
 import org.neo4j.unsafe.impl.batchimport.input.InputException;
 import org.neo4j.unsafe.impl.batchimport.input.InputNode;
 import org.neo4j.unsafe.impl.batchimport.input.InputRelationship;
+import org.neo4j.unsafe.impl.batchimport.input.InputTemporalProperty;
 import org.neo4j.unsafe.impl.batchimport.input.MissingRelationshipDataException;
 import org.neo4j.unsafe.impl.batchimport.input.csv.Configuration;
 import org.neo4j.unsafe.impl.batchimport.input.csv.CsvInput;
@@ -82,12 +83,14 @@ import static org.neo4j.unsafe.impl.batchimport.Configuration.BAD_FILE_NAME;
 import static org.neo4j.unsafe.impl.batchimport.input.Collectors.badCollector;
 import static org.neo4j.unsafe.impl.batchimport.input.Collectors.collect;
 import static org.neo4j.unsafe.impl.batchimport.input.InputEntityDecorators.NO_NODE_DECORATOR;
+import static org.neo4j.unsafe.impl.batchimport.input.InputEntityDecorators.NO_TEMPORAL_PROPERTY_DECORATOR;
 import static org.neo4j.unsafe.impl.batchimport.input.InputEntityDecorators.additiveLabels;
 import static org.neo4j.unsafe.impl.batchimport.input.InputEntityDecorators.defaultRelationshipType;
 import static org.neo4j.unsafe.impl.batchimport.input.csv.Configuration.COMMAS;
 import static org.neo4j.unsafe.impl.batchimport.input.csv.DataFactories.data;
 import static org.neo4j.unsafe.impl.batchimport.input.csv.DataFactories.defaultFormatNodeFileHeader;
 import static org.neo4j.unsafe.impl.batchimport.input.csv.DataFactories.defaultFormatRelationshipFileHeader;
+import static org.neo4j.unsafe.impl.batchimport.input.csv.DataFactories.defaultFormatTemporalPropertyFileHeader;
 
 /**
  * User-facing command line tool around a {@link BatchImporter}.
@@ -118,6 +121,17 @@ public class ImportTool
                         + "where each data source has its own header. "
                         + "Note that file groups must be enclosed in quotation marks.",
                         true ),
+        TEMPORAL_PROPERTY_DATA( "temporal-properties", null,
+                "\"<file1>" + MULTI_FILE_DELIMITER + "<file2>" + MULTI_FILE_DELIMITER + "...\"",
+                "Temporal property CSV header and data for nodes. Every row holds values of its property columns "
+                        + "for the node with the given :ID, from :START_TIME to the optional :END_TIME. "
+                        + "Multiple files will be logically seen as one big file "
+                        + "from the perspective of the importer. "
+                        + "The first line must contain the header. "
+                        + "Multiple data sources like these can be specified in one import, "
+                        + "where each data source has its own header. "
+                        + "Note that file groups must be enclosed in quotation marks.",
+                        true ),
         DELIMITER( "delimiter", null,
                 "<delimiter-character>",
                 "Delimiter character, or 'TAB', between values in CSV data. The default option is `" + COMMAS.delimiter() + "`." ),
@@ -311,7 +325,7 @@ public class ImportTool
 
         FileSystemAbstraction fs = new DefaultFileSystemAbstraction();
         File storeDir;
-        Collection<Option<File[]>> nodesFiles, relationshipsFiles;
+        Collection<Option<File[]>> nodesFiles, relationshipsFiles, temporalPropertiesFiles;
         boolean enableStacktrace;
         Number processors = null;
         Input input = null;
@@ -331,6 +345,7 @@ public class ImportTool
             badOutput = new BufferedOutputStream( fs.openAsOutputStream( badFile, false ) );
             nodesFiles = INPUT_FILES_EXTRACTOR.apply( args, Options.NODE_DATA.key() );
             relationshipsFiles = INPUT_FILES_EXTRACTOR.apply( args, Options.RELATIONSHIP_DATA.key() );
+            temporalPropertiesFiles = INPUT_FILES_EXTRACTOR.apply( args, Options.TEMPORAL_PROPERTY_DATA.key() );
             validateInputFiles( nodesFiles, relationshipsFiles );
             enableStacktrace = args.getBoolean( Options.STACKTRACE.key(), Boolean.FALSE, Boolean.TRUE );
             processors = args.getNumber( Options.PROCESSORS.key(), null );
@@ -351,6 +366,8 @@ public class ImportTool
 
             input = new CsvInput( nodeData( inputEncoding, nodesFiles ), defaultFormatNodeFileHeader(),
                     relationshipData( inputEncoding, relationshipsFiles ), defaultFormatRelationshipFileHeader(),
+                    temporalPropertyData( inputEncoding, temporalPropertiesFiles ),
+                    defaultFormatTemporalPropertyFileHeader(),
                     idType, csvConfiguration( args, defaultSettingsSuitableForTests ), badCollector );
             dbConfig = loadDbConfig( args.interpretOption( Options.DATABASE_CONFIG.key(), Converters.<File>optional(),
                     Converters.toFile(), Validators.REGEX_FILE_EXISTS ) );
@@ -602,6 +619,19 @@ public class ImportTool
         };
     }
 
+    private static Iterable<DataFactory<InputTemporalProperty>>
+            temporalPropertyData( final Charset encoding, Collection<Option<File[]>> temporalPropertiesFiles )
+    {
+        return new IterableWrapper<DataFactory<InputTemporalProperty>,Option<File[]>>( temporalPropertiesFiles )
+        {
+            @Override
+            protected DataFactory<InputTemporalProperty> underlyingObjectToObject( Option<File[]> group )
+            {
+                return data( NO_TEMPORAL_PROPERTY_DECORATOR, encoding, group.value() );
+            }
+        };
+    }
+
     private static Iterable<DataFactory<InputNode>> nodeData( final Charset encoding,
             Collection<Option<File[]>> nodesFiles )
     {
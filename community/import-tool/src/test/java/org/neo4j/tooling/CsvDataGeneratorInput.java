@@ -31,6 +31,8 @@ import org.neo4j.unsafe.impl.batchimport.input.Groups;
 import org.neo4j.unsafe.impl.batchimport.input.Input;
 import org.neo4j.unsafe.impl.batchimport.input.InputNode;
 import org.neo4j.unsafe.impl.batchimport.input.InputRelationship;
+import org.neo4j.unsafe.impl.batchimport.input.InputTemporalProperty;
+import org.neo4j.unsafe.impl.batchimport.input.Inputs;
 import org.neo4j.unsafe.impl.batchimport.input.csv.Configuration;
 import org.neo4j.unsafe.impl.batchimport.input.csv.Deserialization;
 import org.neo4j.unsafe.impl.batchimport.input.csv.Header;
@@ -110,6 +112,12 @@ public class CsvDataGeneratorInput extends CsvDataGenerator<InputNode,InputRelat
         };
     }
 
+    @Override
+    public InputIterable<InputTemporalProperty> temporalProperties()
+    {
+        return Inputs.empty();
+    }
+
     @Override
     public IdMapper idMapper()
     {
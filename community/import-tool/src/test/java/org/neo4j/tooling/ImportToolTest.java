@@ -58,6 +58,7 @@ import org.neo4j.kernel.impl.util.Validator;
 import org.neo4j.kernel.impl.util.Validators;
 import org.neo4j.test.EmbeddedDatabaseRule;
 import org.neo4j.test.RandomRule;
+import org.neo4j.temporal.TimePoint;
 import org.neo4j.test.SuppressOutput;
 import org.neo4j.unsafe.impl.batchimport.cache.idmapping.string.DuplicateInputIdException;
 import org.neo4j.unsafe.impl.batchimport.input.InputException;
@@ -737,6 +738,37 @@ public class ImportToolTest
         }
     }
 
+    @Test
+    public void shouldMarkImportedTemporalPropertiesOnTheirNodes() throws Exception
+    {
+        // GIVEN
+        File nodes = data( "id:ID", "a", "b" );
+        File temporalProperties = data( ":ID,:START_TIME,:END_TIME,speed:int",
+                "a,0,9,5",
+                "a,10,,20" );
+
+        // WHEN
+        importTool(
+                "--into", dbRule.getStoreDirAbsolutePath(),
+                "--nodes", nodes.getAbsolutePath(),
+                "--temporal-properties", temporalProperties.getAbsolutePath() );
+
+        // THEN
+        GraphDatabaseService db = dbRule.getGraphDatabaseService();
+        try ( Transaction tx = db.beginTx() )
+        {
+            Iterable<Node> allNodes = at( db ).getAllNodes();
+            Node a = single( filter( nodeFilter( "a" ), allNodes.iterator() ) );
+            Node b = single( filter( nodeFilter( "b" ), allNodes.iterator() ) );
+            assertTrue( a.hasProperty( "speed" ) );
+            assertEquals( asSet( "id", "speed" ), asSet( a.getPropertyKeys() ) );
+            assertEquals( 5, a.getTemporalProperty( "speed", new TimePoint( 5 ) ) );
+            assertEquals( 20, a.getTemporalProperty( "speed", new TimePoint( 15 ) ) );
+            assertFalse( b.hasProperty( "speed" ) );
+            tx.success();
+        }
+    }
+
     @Test
     public void shouldImportGroupsOfOverlappingIds() throws Exception
     {
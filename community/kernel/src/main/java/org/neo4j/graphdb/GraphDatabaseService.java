@@ -29,6 +29,7 @@ import org.neo4j.graphdb.traversal.BidirectionalTraversalDescription;
 import org.neo4j.graphdb.traversal.TraversalDescription;
 import org.neo4j.kernel.EmbeddedGraphDatabase;
 import org.neo4j.temporal.TemporalIndexManager;
+import org.neo4j.temporal.TimePoint;
 import org.neo4j.tooling.GlobalGraphOperations;
 
 /**
@@ -337,6 +338,16 @@ public interface GraphDatabaseService
 
     TemporalIndexManager temporalIndex();
 
+    /**
+     * Returns a read only view of the graph as of {@code time}, in which properties of nodes and relationships
+     * have the values they had at that time. Traversals and graph algorithms started from nodes of the snapshot
+     * see the whole graph as of that time, see {@link GraphSnapshot}.
+     *
+     * @param time the point in time to read the graph at.
+     * @return a snapshot of the graph at {@code time}, usable within the current transaction.
+     */
+    GraphSnapshot snapshotAt( TimePoint time );
+
 //    ResourceIterator<Relationship> findRelationshipsByTemporalProperty(String key, int time, Object value);
 
 
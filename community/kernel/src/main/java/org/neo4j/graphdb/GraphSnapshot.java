@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphdb;
+
+import org.neo4j.temporal.TimePoint;
+
+/**
+ * A read only view of the graph as of one point in time, see {@link GraphDatabaseService#snapshotAt(TimePoint)}.
+ * <p>
+ * Nodes and relationships of a snapshot answer {@link PropertyContainer#getProperty(String)} and the other
+ * property reads with the value of temporal properties at {@link #time()}; static properties are returned as they
+ * are. Every node and relationship reached from them, by following relationships or traversing, belongs to the same
+ * snapshot, so traversals and graph algorithms started from a snapshot node see the graph as of that time. Property
+ * values of all nodes and relationships returned by one relationship expansion are read together, the first time
+ * one of them is asked for a property.
+ * <p>
+ * All write operations throw {@link UnsupportedOperationException}. A snapshot can only be used inside a transaction,
+ * like any other node or relationship.
+ */
+public interface GraphSnapshot
+{
+    /**
+     * @return the point in time this snapshot shows.
+     */
+    TimePoint time();
+
+    Node getNodeById( long id );
+
+    Relationship getRelationshipById( long id );
+
+    /**
+     * @return {@code node} as seen by this snapshot.
+     */
+    Node snapshotOf( Node node );
+
+    /**
+     * @return {@code relationship} as seen by this snapshot.
+     */
+    Relationship snapshotOf( Relationship relationship );
+
+    GraphDatabaseService getGraphDatabase();
+}
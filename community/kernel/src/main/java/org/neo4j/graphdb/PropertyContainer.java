@@ -162,5 +162,43 @@ public interface PropertyContainer
 
     void setTemporalProperty(String key, TimePoint start, TimePoint end, Object value);
 
+    /**
+     * Appends a time series to temporal property {@code key} in one operation. Value {@code i} is valid from
+     * {@code times[i]} until the next time point, the last value is valid until now. This is the same as calling
+     * {@link #setTemporalProperty(String, TimePoint, Object)} for every point in order, but much cheaper for long series.
+     *
+     * @param key the temporal property key
+     * @param times strictly increasing time points, one per value
+     * @param values the values
+     * @throws IllegalArgumentException if {@code times} and {@code values} differ in length or {@code times} is not
+     * strictly increasing
+     */
+    void setTemporalPropertySeries( String key, long[] times, int[] values );
+
+    /**
+     * @see #setTemporalPropertySeries(String, long[], int[])
+     */
+    void setTemporalPropertySeries( String key, long[] times, long[] values );
+
+    /**
+     * @see #setTemporalPropertySeries(String, long[], int[])
+     */
+    void setTemporalPropertySeries( String key, long[] times, float[] values );
+
+    /**
+     * @see #setTemporalPropertySeries(String, long[], int[])
+     */
+    void setTemporalPropertySeries( String key, long[] times, double[] values );
+
+    /**
+     * Removes all values of temporal property {@code key}, see {@link #removeTemporalProperty(String, TimePoint, TimePoint)}.
+     */
     void removeTemporalProperty(String key);
+
+    /**
+     * Removes the values of temporal property {@code key} from {@code start} to {@code end}, both inclusive. The
+     * range is written as a single deletion interval, however many values it covers, and reads inside it find no
+     * value. Values before {@code start} and after {@code end} are kept.
+     */
+    void removeTemporalProperty( String key, TimePoint start, TimePoint end );
 }
@@ -262,6 +262,52 @@ public abstract class GraphDatabaseSettings
             setting("index_sampling_buffer_size", BYTES, "64m",
                     min( /* 1m */ 1048576l ), max( (long) Integer.MAX_VALUE ) );
 
+    @Description("Memory to use for caching the current value of recently written temporal properties, so reads of " +
+                 "current values do not have to go to the temporal property store. Half of it is used for nodes and " +
+                 "half for relationships. `0` disables the cache.")
+    public static final Setting<Long> temporal_latest_value_cache_memory =
+            setting( "dbms.temporal.latest_value_cache.memory", BYTES, "0", min( 0L ) );
+
+    @Description("Memory the memtables of the temporal property stores of a database may use together before they are " +
+                 "written to disk in the background. `0` leaves flushing to the temporal property stores alone.")
+    public static final Setting<Long> temporal_memtable_memory =
+            setting( "dbms.temporal.memtable.memory", BYTES, "0", min( 0L ) );
+
+    @Description("How often the temporal property stores are flushed in the background, one store at a time and " +
+                 "only if they have been written to, so that check points find little left to flush. `0` disables " +
+                 "background flushing, leaving all of it to check points.")
+    public static final Setting<Long> temporal_flush_interval =
+            setting( "dbms.temporal.flush.interval", DURATION, "10s" );
+
+    @Description("Number of threads applying temporal property writes during recovery and when a slave applies " +
+                 "transactions pulled from the master. Writes are partitioned by entity, so writes to the same " +
+                 "entity keep their order. `1` applies them in the thread applying the transactions.")
+    public static final Setting<Integer> temporal_apply_threads =
+            setting( "dbms.temporal.apply.threads", INTEGER, "4", min( 1 ) );
+
+    @Description("Number of temporal indexes populated at the same time. Temporal indexes are populated in the " +
+                 "background, queries scan the temporal property values until the index is online.")
+    public static final Setting<Integer> temporal_index_population_threads =
+            setting( "dbms.temporal.index_population.threads", INTEGER, "2", min( 1 ) );
+
+    @Description("How far back from the latest time point written to a temporal property its values are kept, in the " +
+                 "unit of the time points, e.g. `7776000` for 90 days of time points in seconds. Older values are " +
+                 "removed in the background. `0` keeps all values. Overridden per property key by " +
+                 "`dbms.temporal.retention.per_key`.")
+    public static final Setting<Long> temporal_retention =
+            setting( "dbms.temporal.retention", LONG, "0", min( 0L ) );
+
+    @Description("Retention of single temporal property keys, see `dbms.temporal.retention`, as a comma separated " +
+                 "list of `key=time points`, e.g. `speed=7776000,travel_time=0`.")
+    public static final Setting<String> temporal_retention_per_key =
+            setting( "dbms.temporal.retention.per_key", STRING, NO_DEFAULT,
+                    illegalValueMessage( "must be a comma separated list of key=time points",
+                            matches( "\\s*[^=,]+=\\s*\\d+\\s*(,\\s*[^=,]+=\\s*\\d+\\s*)*" ) ) );
+
+    @Description("How often temporal property values past their retention are removed.")
+    public static final Setting<Long> temporal_retention_check_interval =
+            setting( "dbms.temporal.retention.check_interval", DURATION, "1h" );
+
     @Description("Percentage of index updates of total index size required before sampling of a given index is triggered")
     public static final Setting<Integer> index_sampling_update_percentage =
             setting("index_sampling_update_percentage", INTEGER, "5", min( 0 ) );
@@ -32,6 +32,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 
 import org.neo4j.function.Factory;
+import org.neo4j.function.LongSupplier;
 import org.neo4j.function.Supplier;
 import org.neo4j.graphdb.DependencyResolver;
 import org.neo4j.graphdb.ResourceIterator;
@@ -122,6 +123,7 @@ import org.neo4j.kernel.impl.transaction.log.PhysicalLogicalTransactionStore;
 import org.neo4j.kernel.impl.transaction.log.ReadableLogChannel;
 import org.neo4j.kernel.impl.transaction.log.ReadableVersionableLogChannel;
 import org.neo4j.kernel.impl.transaction.log.TransactionAppender;
+import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
 import org.neo4j.kernel.impl.transaction.log.TransactionMetadataCache;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointScheduler;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointThreshold;
@@ -131,6 +133,7 @@ import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointerImpl;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CountCommittedTransactionThreshold;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.SimpleTriggerInfo;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.TimeCheckPointThreshold;
+import org.neo4j.kernel.impl.transaction.log.checkpoint.TemporalStoreFlushScheduler;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntry;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryStart;
@@ -170,6 +173,7 @@ import org.neo4j.kernel.recovery.Recovery;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.logging.Logger;
+import org.neo4j.temporal.PartitionedTemporalPropertyApplier;
 import org.neo4j.unsafe.batchinsert.LabelScanWriter;
 import org.neo4j.unsafe.impl.internal.dragons.FeatureToggles;
 
@@ -551,8 +555,12 @@ public class NeoStoreDataSource implements NeoStoresSupplier, Lifecycle, IndexPr
                     propertyKeyTokenHolder, labelTokens, relationshipTypeTokens,
                     indexingModule.indexingService(), cacheModule.schemaCache(), cacheModule.procedureCache() );
 
-            temporalStoreModule = TemporalPropertyStoreAdapter.getInstance(config, storeDir);
-            life.add(temporalStoreModule);
+            temporalStoreModule = dependencies.satisfyDependency(
+                    new TemporalPropertyStoreAdapter( config, storeDir, new TemporalMemTableBudget(), scheduler,
+                            lastClosedTransactionId( neoStoreModule.neoStores().getMetaDataStore() ),
+                            monitors.newMonitor( TemporalIndexPopulator.Monitor.class ), logProvider ) );
+            life.add( temporalStoreModule );
+            indexingModule.indexingService().setTemporalPropertyStore( temporalStoreModule );
 
             TransactionLogModule transactionLogModule =
                     buildTransactionLogs( storeDir, config, logProvider, scheduler, indexingModule.labelScanStore(),
@@ -573,6 +581,10 @@ public class NeoStoreDataSource implements NeoStoresSupplier, Lifecycle, IndexPr
                     cacheModule.updateableSchemaState(), indexingModule.labelScanStore(),
                     indexingModule.schemaIndexProviderMap(), cacheModule.procedureCache() );
 
+            life.add( dependencies.satisfyDependency( new TemporalRetention( temporalStoreModule,
+                    kernelModule.kernelAPI(), propertyKeyTokenHolder, config, scheduler,
+                    monitors.newMonitor( TemporalRetention.Monitor.class ), logProvider ) ) );
+
             if ( safeIdBuffering )
             {
                 // Now that we've instantiated the component which can keep track of transaction boundaries
@@ -588,7 +600,6 @@ public class NeoStoreDataSource implements NeoStoresSupplier, Lifecycle, IndexPr
             this.cacheModule = cacheModule;
             this.indexingModule = indexingModule;
             this.storeLayerModule = storeLayerModule;
-//            this.temporalStoreModule = temporalStoreModule;
             this.transactionLogModule = transactionLogModule;
             this.kernelModule = kernelModule;
 
@@ -925,6 +936,8 @@ public class NeoStoreDataSource implements NeoStoresSupplier, Lifecycle, IndexPr
 
         life.add( checkPointer );
         life.add( checkPointScheduler );
+        life.add( new TemporalStoreFlushScheduler( temporalStoreModule, metaDataStore, scheduler,
+                config.get( GraphDatabaseSettings.temporal_flush_interval ), logProvider ) );
 
         return new TransactionLogModule()
         {
@@ -1019,7 +1032,9 @@ public class NeoStoreDataSource implements NeoStoresSupplier, Lifecycle, IndexPr
         final TransactionRepresentationStoreApplier storeRecoverer =
                 new TransactionRepresentationStoreApplier( indexingService, labelScanWriters, neoStores, cacheAccess,
                         lockService, legacyIndexApplierLookup, indexConfigStore, kernelHealth, IdOrderingQueue.BYPASS,
-                        temporalStoreModule);
+                        temporalStoreModule ).withPartitionedTemporalApplier(
+                        PartitionedTemporalPropertyApplier.forPartitions( temporalStoreModule,
+                                config.get( GraphDatabaseSettings.temporal_apply_threads ) ) );
 
         LogEntryReader<ReadableLogChannel> logEntryReader = new VersionAwareLogEntryReader<>();
 
@@ -1103,7 +1118,7 @@ public class NeoStoreDataSource implements NeoStoresSupplier, Lifecycle, IndexPr
         kernel.registerTransactionHook( transactionEventHandlers );
 
         final NeoStoreFileListing fileListing = new NeoStoreFileListing( storeDir, labelScanStore, indexingService,
-                legacyIndexProviderLookup );
+                legacyIndexProviderLookup, temporalStoreModule );
 
         return new KernelModule()
         {
@@ -1252,6 +1267,18 @@ public class NeoStoreDataSource implements NeoStoresSupplier, Lifecycle, IndexPr
         }
     }
 
+    private static LongSupplier lastClosedTransactionId( final TransactionIdStore transactionIdStore )
+    {
+        return new LongSupplier()
+        {
+            @Override
+            public long getAsLong()
+            {
+                return transactionIdStore.getLastClosedTransactionId();
+            }
+        };
+    }
+
     @Override
     public void shutdown()
     { // We do our own internal life management:
@@ -1315,6 +1342,11 @@ public class NeoStoreDataSource implements NeoStoresSupplier, Lifecycle, IndexPr
         return storeLayerModule.storeLayer();
     }
 
+    public TemporalPropertyStoreAdapter getTemporalPropertyStore()
+    {
+        return temporalStoreModule;
+    }
+
     public DependencyResolver getDependencyResolver()
     {
         return dependencies;
@@ -32,8 +32,12 @@ import org.neo4j.kernel.api.index.IndexDescriptor;
 import org.neo4j.kernel.impl.api.RelationshipVisitor;
 import org.neo4j.kernel.impl.api.store.RelationshipIterator;
 import org.neo4j.temporal.IntervalEntry;
+import org.neo4j.temporal.TemporalIndexCursor;
 import org.neo4j.temporal.TemporalIndexManager;
+import org.neo4j.temporal.TemporalPointValues;
 import org.neo4j.temporal.TemporalPropertyReadOperation;
+import org.neo4j.temporal.TemporalRangeCursor;
+import org.neo4j.temporal.TimePoint;
 
 interface DataRead
 {
@@ -166,5 +170,61 @@ interface DataRead
 
     Object relationshipGetTemporalProperty(TemporalPropertyReadOperation query) throws EntityNotFoundException, PropertyNotFoundException;
 
+    /**
+     * @return true if the node exists and has a temporal property with the given key.
+     */
+    boolean nodeHasTemporalProperty( long nodeId, int propertyKeyId );
+
+    /**
+     * @return true if the relationship exists and has a temporal property with the given key.
+     */
+    boolean relationshipHasTemporalProperty( long relId, int propertyKeyId );
+
+    /**
+     * Point read of one temporal property on many nodes at once.
+     *
+     * @return values in the order of {@code nodeIds}, without a value for nodes that do not exist or have no value at
+     * {@code time}.
+     */
+    TemporalPointValues nodeGetTemporalPropertyPoints( long[] nodeIds, int propertyKeyId, TimePoint time );
+
+    /**
+     * Point read of one temporal property on many relationships at once.
+     *
+     * @return values in the order of {@code relIds}, without a value for relationships that do not exist or have no
+     * value at {@code time}.
+     */
+    TemporalPointValues relationshipGetTemporalPropertyPoints( long[] relIds, int propertyKeyId, TimePoint time );
+
+    /**
+     * Range read of a temporal property of a node into a reusable cursor, see {@link TemporalRangeCursor}.
+     *
+     * The cursor scans the store while it is read, read it before this statement is closed.
+     *
+     * @return {@code cursor}, empty if the node has no temporal property with the given key.
+     */
+    TemporalRangeCursor nodeGetTemporalPropertyRange( long nodeId, int propertyKeyId, TimePoint start, TimePoint end,
+            TemporalRangeCursor cursor ) throws EntityNotFoundException;
+
+    /**
+     * Range read of a temporal property of a relationship into a reusable cursor, see {@link TemporalRangeCursor}.
+     *
+     * The cursor scans the store while it is read, read it before this statement is closed.
+     *
+     * @return {@code cursor}, empty if the relationship has no temporal property with the given key.
+     */
+    TemporalRangeCursor relationshipGetTemporalPropertyRange( long relId, int propertyKeyId, TimePoint start, TimePoint end,
+            TemporalRangeCursor cursor ) throws EntityNotFoundException;
+
     List<IntervalEntry> getTemporalPropertyByValueIndex( TemporalIndexManager.PropertyValueIntervalBuilder builder ) throws PropertyNotFoundException;
+
+    /**
+     * Value index query whose rows are produced as the cursor moves, see {@link TemporalIndexCursor}.
+     */
+    TemporalIndexCursor getTemporalPropertyByValueIndexCursor( TemporalIndexManager.PropertyValueIntervalBuilder builder ) throws PropertyNotFoundException;
+
+    /**
+     * @return the entities which have a value index match, each once.
+     */
+    PrimitiveLongIterator getEntitiesByTemporalValueIndex( TemporalIndexManager.PropertyValueIntervalBuilder builder ) throws PropertyNotFoundException;
 }
@@ -25,6 +25,7 @@ import org.neo4j.kernel.api.exceptions.RelationshipTypeIdNotFoundKernelException
 import org.neo4j.kernel.api.exceptions.schema.ConstraintValidationKernelException;
 import org.neo4j.kernel.api.properties.DefinedProperty;
 import org.neo4j.kernel.api.properties.Property;
+import org.neo4j.temporal.TemporalPropertySeriesWriteOperation;
 import org.neo4j.temporal.TemporalPropertyWriteOperation;
 
 interface DataWrite
@@ -81,6 +82,12 @@ interface DataWrite
      */
     void nodeSetTemporalProperty(TemporalPropertyWriteOperation operation) throws EntityNotFoundException, ConstraintValidationKernelException;
     void relationshipSetTemporalProperty(TemporalPropertyWriteOperation operation) throws EntityNotFoundException, ConstraintValidationKernelException;
+
+    /**
+     * Sets a whole series of values of one temporal property, see {@link TemporalPropertySeriesWriteOperation}.
+     */
+    void nodeSetTemporalPropertySeries( TemporalPropertySeriesWriteOperation operation ) throws EntityNotFoundException, ConstraintValidationKernelException;
+    void relationshipSetTemporalPropertySeries( TemporalPropertySeriesWriteOperation operation ) throws EntityNotFoundException, ConstraintValidationKernelException;
 //    void nodeSetTemporalProperty( TemporalPropertyKey tpKey, Object value ) throws EntityNotFoundException, PropertyNotFoundException;
 //    void nodeRemoveTemporalProperty( long nodeId, int propertyKeyId ) throws EntityNotFoundException, PropertyNotFoundException;
 //    void relationshipSetTemporalProperty( TemporalPropertyKey tpKey, Object value ) throws EntityNotFoundException, PropertyNotFoundException;
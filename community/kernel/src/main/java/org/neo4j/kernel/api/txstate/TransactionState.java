@@ -33,6 +33,7 @@ import org.neo4j.kernel.api.properties.DefinedProperty;
 import org.neo4j.kernel.api.properties.Property;
 import org.neo4j.kernel.api.properties.TemporalProperty;
 import org.neo4j.temporal.TemporalIndexDescriptor;
+import org.neo4j.temporal.TemporalPropertySeriesWriteOperation;
 import org.neo4j.temporal.TemporalPropertyWriteOperation;
 
 /**
@@ -48,6 +49,8 @@ public interface TransactionState extends ReadableTxState
     // write/mutate temporal property
     void nodeDoSetTemporalProperty( TemporalPropertyWriteOperation op );
     void relationshipDoSetTemporalProperty( TemporalPropertyWriteOperation op );
+    void nodeDoSetTemporalPropertySeries( TemporalPropertySeriesWriteOperation op );
+    void relationshipDoSetTemporalPropertySeries( TemporalPropertySeriesWriteOperation op );
 
     void nodeTemporalPropertyIndexAdd( TemporalIndexDescriptor indexDescriptor );
 //    void nodeDoCreateTemporalPropertyRecord( long nodeId, TemporalProperty temporalProperty );
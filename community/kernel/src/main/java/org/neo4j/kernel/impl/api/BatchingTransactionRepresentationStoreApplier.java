@@ -31,6 +31,7 @@ import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
 import org.neo4j.kernel.impl.util.IdOrderingQueue;
+import org.neo4j.temporal.PartitionedTemporalPropertyApplier;
 
 /**
  * {@link TransactionRepresentationStoreApplier} that builds services made for batching transactions.
@@ -41,20 +42,20 @@ public class BatchingTransactionRepresentationStoreApplier extends TransactionRe
 {
     private final RecoveryLabelScanWriterProvider labelScanWriterProvider;
     private final RecoveryLegacyIndexApplierLookup legacyIndexApplierLookup;
-    private final TemporalPropertyStoreAdapter temporalPropStore;
     private KernelHealth health;
 
     public BatchingTransactionRepresentationStoreApplier( IndexingService indexingService,
             LabelScanStore labelScanStore, NeoStores neoStore, CacheAccessBackDoor cacheAccess,
             LockService lockService, LegacyIndexApplierLookup legacyIndexProviderLookup,
             IndexConfigStore indexConfigStore, KernelHealth kernelHealth, IdOrderingQueue legacyIndexTransactionOrdering,
-            TemporalPropertyStoreAdapter temporalPropertyStore)
+            TemporalPropertyStoreAdapter temporalPropertyStore, int temporalApplyThreads )
     {
         this( indexingService, new RecoveryLabelScanWriterProvider( labelScanStore, 1000 ),
                 neoStore, cacheAccess, lockService,
                 new RecoveryLegacyIndexApplierLookup( legacyIndexProviderLookup, 1000 ),
                 indexConfigStore, kernelHealth, legacyIndexTransactionOrdering,
-                temporalPropertyStore);
+                temporalPropertyStore,
+                PartitionedTemporalPropertyApplier.forPartitions( temporalPropertyStore, temporalApplyThreads ) );
         this.health = kernelHealth;
     }
 
@@ -68,13 +69,13 @@ public class BatchingTransactionRepresentationStoreApplier extends TransactionRe
             IndexConfigStore indexConfigStore,
             KernelHealth kernelHealth,
             IdOrderingQueue legacyIndexTransactionOrdering,
-            TemporalPropertyStoreAdapter temporalPropertyStore)
+            TemporalPropertyStoreAdapter temporalPropertyStore,
+            PartitionedTemporalPropertyApplier temporalApplier )
     {
         super( indexingService, labelScanWriterProvider, neoStore, cacheAccess, lockService, legacyIndexApplierLookup,
-                indexConfigStore, kernelHealth, legacyIndexTransactionOrdering, temporalPropertyStore );
+                indexConfigStore, kernelHealth, legacyIndexTransactionOrdering, temporalPropertyStore, temporalApplier );
         this.labelScanWriterProvider = labelScanWriterProvider;
         this.legacyIndexApplierLookup = legacyIndexApplierLookup;
-        this.temporalPropStore = temporalPropertyStore;
     }
 
     public void closeBatch() throws IOException
@@ -84,7 +85,7 @@ public class BatchingTransactionRepresentationStoreApplier extends TransactionRe
             labelScanWriterProvider.close();
             legacyIndexApplierLookup.close();
             indexingService.flushAll();
-//Fixme TGraph            temporalPropStore.();
+            awaitTemporalUpdates();
         }
         catch ( Throwable ex )
         {
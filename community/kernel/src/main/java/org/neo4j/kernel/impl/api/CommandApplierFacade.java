@@ -150,6 +150,20 @@ public class CommandApplierFacade implements CommandHandler, Visitor<Command,IOE
         return result;
     }
 
+    @Override
+    public boolean visitTemporalPropertyBatchCommand( Command.TemporalPropertyBatchCommand command ) throws IOException
+    {
+        boolean result = false;
+        for ( CommandHandler handler : handlers )
+        {
+            if ( handler.visitTemporalPropertyBatchCommand( command ) )
+            {
+                result = true;
+            }
+        }
+        return result;
+    }
+
     @Override
     public boolean visitNodeCommand( NodeCommand command ) throws IOException
     {
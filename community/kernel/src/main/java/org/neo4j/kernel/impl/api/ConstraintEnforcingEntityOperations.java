@@ -20,7 +20,6 @@
 package org.neo4j.kernel.impl.api;
 
 import java.util.Iterator;
-import java.util.List;
 
 import org.act.temporalProperty.query.range.TimeRangeQuery;
 import org.neo4j.collection.primitive.PrimitiveIntIterator;
@@ -66,10 +65,14 @@ import org.neo4j.kernel.impl.api.operations.SchemaWriteOperations;
 import org.neo4j.kernel.impl.api.store.StoreStatement;
 import org.neo4j.kernel.impl.constraints.ConstraintSemantics;
 import org.neo4j.kernel.impl.locking.Locks;
-import org.neo4j.temporal.IntervalEntry;
+import org.neo4j.temporal.TemporalIndexCursor;
 import org.neo4j.temporal.TemporalIndexManager;
+import org.neo4j.temporal.TemporalPointValues;
 import org.neo4j.temporal.TemporalPropertyReadOperation;
+import org.neo4j.temporal.TemporalPropertySeriesWriteOperation;
 import org.neo4j.temporal.TemporalPropertyWriteOperation;
+import org.neo4j.temporal.TemporalRangeCursor;
+import org.neo4j.temporal.TimePoint;
 
 import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_NODE;
 import static org.neo4j.kernel.impl.locking.ResourceTypes.INDEX_ENTRY;
@@ -221,6 +224,18 @@ public class ConstraintEnforcingEntityOperations implements EntityOperations, Sc
         entityWriteOperations.relationshipSetTemporalProperty(statement, operation);
     }
 
+    @Override
+    public void nodeSetTemporalPropertySeries( KernelStatement statement, TemporalPropertySeriesWriteOperation operation ) throws EntityNotFoundException, ConstraintValidationKernelException
+    {
+        entityWriteOperations.nodeSetTemporalPropertySeries( statement, operation );
+    }
+
+    @Override
+    public void relationshipSetTemporalPropertySeries( KernelStatement statement, TemporalPropertySeriesWriteOperation operation ) throws EntityNotFoundException, ConstraintValidationKernelException
+    {
+        entityWriteOperations.relationshipSetTemporalPropertySeries( statement, operation );
+    }
+
 
     @Override
     public long relationshipCreate( KernelStatement statement,
@@ -280,7 +295,7 @@ public class ConstraintEnforcingEntityOperations implements EntityOperations, Sc
     }
 
     @Override
-    public List<IntervalEntry> getTemporalPropertyByIndex( KernelStatement statement, TemporalIndexManager.PropertyValueIntervalBuilder builder )
+    public TemporalIndexCursor getTemporalPropertyByIndex( KernelStatement statement, TemporalIndexManager.PropertyValueIntervalBuilder builder )
     {
         return entityReadOperations.getTemporalPropertyByIndex( statement, builder );
     }
@@ -297,6 +312,44 @@ public class ConstraintEnforcingEntityOperations implements EntityOperations, Sc
         return entityReadOperations.relationshipGetTemporalProperty(statement, query);
     }
 
+    @Override
+    public boolean nodeHasTemporalProperty( KernelStatement statement, long nodeId, int propertyKeyId )
+    {
+        return entityReadOperations.nodeHasTemporalProperty( statement, nodeId, propertyKeyId );
+    }
+
+    @Override
+    public boolean relationshipHasTemporalProperty( KernelStatement statement, long relId, int propertyKeyId )
+    {
+        return entityReadOperations.relationshipHasTemporalProperty( statement, relId, propertyKeyId );
+    }
+
+    @Override
+    public TemporalPointValues nodeGetTemporalPropertyPoints( KernelStatement statement, long[] nodeIds, int propertyKeyId, TimePoint time )
+    {
+        return entityReadOperations.nodeGetTemporalPropertyPoints( statement, nodeIds, propertyKeyId, time );
+    }
+
+    @Override
+    public TemporalPointValues relationshipGetTemporalPropertyPoints( KernelStatement statement, long[] relIds, int propertyKeyId, TimePoint time )
+    {
+        return entityReadOperations.relationshipGetTemporalPropertyPoints( statement, relIds, propertyKeyId, time );
+    }
+
+    @Override
+    public TemporalRangeCursor nodeGetTemporalPropertyRange( KernelStatement statement, long nodeId, int propertyKeyId, TimePoint start,
+            TimePoint end, TemporalRangeCursor cursor ) throws EntityNotFoundException
+    {
+        return entityReadOperations.nodeGetTemporalPropertyRange( statement, nodeId, propertyKeyId, start, end, cursor );
+    }
+
+    @Override
+    public TemporalRangeCursor relationshipGetTemporalPropertyRange( KernelStatement statement, long relId, int propertyKeyId, TimePoint start,
+            TimePoint end, TemporalRangeCursor cursor ) throws EntityNotFoundException
+    {
+        return entityReadOperations.relationshipGetTemporalPropertyRange( statement, relId, propertyKeyId, start, end, cursor );
+    }
+
     @Override
     public PrimitiveLongIterator nodesGetForLabel( KernelStatement state, int labelId )
     {
@@ -21,8 +21,6 @@ package org.neo4j.kernel.impl.api;
 
 import org.act.temporalProperty.query.range.TimeRangeQuery;
 
-import java.util.List;
-
 import org.neo4j.collection.primitive.PrimitiveIntIterator;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.cursor.Cursor;
@@ -42,10 +40,14 @@ import org.neo4j.kernel.impl.api.operations.EntityReadOperations;
 import org.neo4j.kernel.impl.api.operations.EntityWriteOperations;
 import org.neo4j.kernel.impl.api.store.RelationshipIterator;
 import org.neo4j.kernel.impl.api.store.StoreStatement;
-import org.neo4j.temporal.IntervalEntry;
+import org.neo4j.temporal.TemporalIndexCursor;
 import org.neo4j.temporal.TemporalIndexManager;
+import org.neo4j.temporal.TemporalPointValues;
 import org.neo4j.temporal.TemporalPropertyReadOperation;
+import org.neo4j.temporal.TemporalPropertySeriesWriteOperation;
 import org.neo4j.temporal.TemporalPropertyWriteOperation;
+import org.neo4j.temporal.TemporalRangeCursor;
+import org.neo4j.temporal.TimePoint;
 
 public class GuardingStatementOperations implements
         EntityWriteOperations,
@@ -66,7 +68,7 @@ public class GuardingStatementOperations implements
     }
 
     @Override
-    public List<IntervalEntry> getTemporalPropertyByIndex( KernelStatement statement, TemporalIndexManager.PropertyValueIntervalBuilder builder )
+    public TemporalIndexCursor getTemporalPropertyByIndex( KernelStatement statement, TemporalIndexManager.PropertyValueIntervalBuilder builder )
     {
         guard.check();
         return entityReadDelegate.getTemporalPropertyByIndex( statement, builder );
@@ -86,6 +88,50 @@ public class GuardingStatementOperations implements
         return entityReadDelegate.relationshipGetTemporalProperty(statement, query);
     }
 
+    @Override
+    public boolean nodeHasTemporalProperty( KernelStatement statement, long nodeId, int propertyKeyId )
+    {
+        guard.check();
+        return entityReadDelegate.nodeHasTemporalProperty( statement, nodeId, propertyKeyId );
+    }
+
+    @Override
+    public boolean relationshipHasTemporalProperty( KernelStatement statement, long relId, int propertyKeyId )
+    {
+        guard.check();
+        return entityReadDelegate.relationshipHasTemporalProperty( statement, relId, propertyKeyId );
+    }
+
+    @Override
+    public TemporalPointValues nodeGetTemporalPropertyPoints( KernelStatement statement, long[] nodeIds, int propertyKeyId, TimePoint time )
+    {
+        guard.check();
+        return entityReadDelegate.nodeGetTemporalPropertyPoints( statement, nodeIds, propertyKeyId, time );
+    }
+
+    @Override
+    public TemporalPointValues relationshipGetTemporalPropertyPoints( KernelStatement statement, long[] relIds, int propertyKeyId, TimePoint time )
+    {
+        guard.check();
+        return entityReadDelegate.relationshipGetTemporalPropertyPoints( statement, relIds, propertyKeyId, time );
+    }
+
+    @Override
+    public TemporalRangeCursor nodeGetTemporalPropertyRange( KernelStatement statement, long nodeId, int propertyKeyId, TimePoint start,
+            TimePoint end, TemporalRangeCursor cursor ) throws EntityNotFoundException
+    {
+        guard.check();
+        return entityReadDelegate.nodeGetTemporalPropertyRange( statement, nodeId, propertyKeyId, start, end, cursor );
+    }
+
+    @Override
+    public TemporalRangeCursor relationshipGetTemporalPropertyRange( KernelStatement statement, long relId, int propertyKeyId, TimePoint start,
+            TimePoint end, TemporalRangeCursor cursor ) throws EntityNotFoundException
+    {
+        guard.check();
+        return entityReadDelegate.relationshipGetTemporalPropertyRange( statement, relId, propertyKeyId, start, end, cursor );
+    }
+
     @Override
     public void nodeSetTemporalProperty(KernelStatement statement, TemporalPropertyWriteOperation operation) throws EntityNotFoundException, ConstraintValidationKernelException
     {
@@ -100,6 +146,20 @@ public class GuardingStatementOperations implements
         entityWriteDelegate.relationshipSetTemporalProperty(statement, operation);
     }
 
+    @Override
+    public void nodeSetTemporalPropertySeries( KernelStatement statement, TemporalPropertySeriesWriteOperation operation ) throws EntityNotFoundException, ConstraintValidationKernelException
+    {
+        guard.check();
+        entityWriteDelegate.nodeSetTemporalPropertySeries( statement, operation );
+    }
+
+    @Override
+    public void relationshipSetTemporalPropertySeries( KernelStatement statement, TemporalPropertySeriesWriteOperation operation ) throws EntityNotFoundException, ConstraintValidationKernelException
+    {
+        guard.check();
+        entityWriteDelegate.relationshipSetTemporalPropertySeries( statement, operation );
+    }
+
     @Override
     public long relationshipCreate( KernelStatement statement,
             int relationshipTypeId,
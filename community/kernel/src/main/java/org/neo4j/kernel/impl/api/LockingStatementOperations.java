@@ -26,6 +26,7 @@ import java.util.Iterator;
 import org.neo4j.function.Consumer;
 import org.neo4j.function.Function;
 import org.neo4j.graphdb.TGraphNoImplementationException;
+import org.neo4j.graphdb.TransientTransactionFailureException;
 import org.neo4j.kernel.api.Statement;
 import org.neo4j.kernel.api.constraints.NodePropertyConstraint;
 import org.neo4j.kernel.api.constraints.NodePropertyExistenceConstraint;
@@ -58,9 +59,11 @@ import org.neo4j.kernel.impl.api.operations.LockOperations;
 import org.neo4j.kernel.impl.api.operations.SchemaReadOperations;
 import org.neo4j.kernel.impl.api.operations.SchemaStateOperations;
 import org.neo4j.kernel.impl.api.operations.SchemaWriteOperations;
+import org.neo4j.kernel.impl.api.state.PropertyContainerState;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.locking.ResourceTypes;
 import org.neo4j.kernel.impl.store.SchemaStorage;
+import org.neo4j.temporal.TemporalPropertySeriesWriteOperation;
 import org.neo4j.temporal.TemporalPropertyWriteOperation;
 
 import static java.lang.Math.max;
@@ -312,23 +315,96 @@ public class LockingStatementOperations implements
     @Override
     public void nodeSetTemporalProperty(KernelStatement statement, TemporalPropertyWriteOperation operation) throws EntityNotFoundException, ConstraintValidationKernelException
     {
-        //FIXME: TGraph lock naive version!
-//        acquireShared(statement, NODE, operation.getEntityId());
-//        statement.locks().optimistic().acquireTemporalPropExclusive(NODE_TEMPORAL_PROP, nodeId, propertyKeyId, time);
-        acquireExclusive( statement, NODE, operation.getEntityId() );
+        acquireTemporalPropertyLock( statement, NODE, NODE_TEMPORAL_PROP, operation.getEntityId(), operation.getProId() );
         entityWriteDelegate.nodeSetTemporalProperty(statement, operation);
     }
 
     @Override
     public void relationshipSetTemporalProperty(KernelStatement statement, TemporalPropertyWriteOperation operation) throws EntityNotFoundException, ConstraintValidationKernelException
     {
-        //FIXME: TGraph lock naive version!
-//        acquireShared(statement, RELATIONSHIP, operation.getEntityId());
-//        statement.locks().optimistic().acquireTemporalPropExclusive(REL_TEMPORAL_PROP, );
-        acquireExclusive( statement, RELATIONSHIP, operation.getEntityId() );
+        acquireTemporalPropertyLock( statement, RELATIONSHIP, REL_TEMPORAL_PROP, operation.getEntityId(), operation.getProId() );
         entityWriteDelegate.relationshipSetTemporalProperty(statement, operation);
     }
 
+    @Override
+    public void nodeSetTemporalPropertySeries( KernelStatement statement, TemporalPropertySeriesWriteOperation operation ) throws EntityNotFoundException, ConstraintValidationKernelException
+    {
+        acquireTemporalPropertyLock( statement, NODE, NODE_TEMPORAL_PROP, operation.getEntityId(), operation.getProId() );
+        entityWriteDelegate.nodeSetTemporalPropertySeries( statement, operation );
+    }
+
+    @Override
+    public void relationshipSetTemporalPropertySeries( KernelStatement statement, TemporalPropertySeriesWriteOperation operation ) throws EntityNotFoundException, ConstraintValidationKernelException
+    {
+        acquireTemporalPropertyLock( statement, RELATIONSHIP, REL_TEMPORAL_PROP, operation.getEntityId(), operation.getProId() );
+        entityWriteDelegate.relationshipSetTemporalPropertySeries( statement, operation );
+    }
+
+    /**
+     * Temporal values are written to the temporal property store, so writers only need to exclude each other per
+     * (entity, property). The entity itself is locked shared to keep it from being deleted, except when the temporal
+     * property does not exist yet: then its meta data is added to the property chain of the entity, which requires
+     * the same exclusive lock as any other static property change.
+     * <p>
+     * Which entity lock to take is decided once, and locks are never released before the transaction ends. If this
+     * transaction changed the static property already, it holds the exclusive lock. A temporal property removed by
+     * another transaction while this one waited for the shared lock can not be created again under it, the
+     * transaction fails with a transient failure and can be retried.
+     */
+    private void acquireTemporalPropertyLock( KernelStatement statement, ResourceTypes entityType, ResourceTypes propertyType,
+            long entityId, int propertyKeyId )
+    {
+        Locks.Client locks = statement.locks().pessimistic();
+        boolean shared = false;
+        if ( !propertyChangedInTransaction( statement, entityType, entityId, propertyKeyId ) )
+        {
+            shared = hasTemporalProperty( statement, entityType, entityId, propertyKeyId );
+            if ( shared )
+            {
+                locks.acquireShared( entityType, entityId );
+            }
+            else
+            {
+                locks.acquireExclusive( entityType, entityId );
+            }
+        }
+        locks.acquireExclusive( propertyType, temporalPropertyResourceId( entityId, propertyKeyId ) );
+        statement.assertOpen();
+        if ( shared && !hasTemporalProperty( statement, entityType, entityId, propertyKeyId ) )
+        {
+            throw new TransientTransactionFailureException( "Temporal property " + propertyKeyId + " of " +
+                    entityType + " " + entityId + " was removed concurrently, retry the transaction" );
+        }
+    }
+
+    private static boolean propertyChangedInTransaction( KernelStatement statement, ResourceTypes entityType,
+            long entityId, int propertyKeyId )
+    {
+        PropertyContainerState state = entityType == NODE ? statement.txState().getNodeState( entityId )
+                                                          : statement.txState().getRelationshipState( entityId );
+        for ( Iterator<DefinedProperty> properties = state.addedAndChangedProperties(); properties.hasNext(); )
+        {
+            if ( properties.next().propertyKeyId() == propertyKeyId )
+            {
+                return true;
+            }
+        }
+        for ( Iterator<Integer> removed = state.removedProperties(); removed.hasNext(); )
+        {
+            if ( removed.next() == propertyKeyId )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasTemporalProperty( KernelStatement statement, ResourceTypes entityType, long entityId, int propertyKeyId )
+    {
+        return entityType == NODE ? entityReadDelegate.nodeHasTemporalProperty( statement, entityId, propertyKeyId )
+                                  : entityReadDelegate.relationshipHasTemporalProperty( statement, entityId, propertyKeyId );
+    }
+
     @Override
     public long relationshipCreate( KernelStatement state,
             int relationshipTypeId,
@@ -582,53 +658,6 @@ public class LockingStatementOperations implements
         state.assertOpen();
     }
 
-    @Override
-    public void acquireTemporalExclusive(KernelStatement state, Locks.ResourceType resourceType, long resourceId, int propertyKeyId, int time)
-    {
-        if(resourceType.equals( ResourceTypes.NODE ) )
-        {
-            state.locks().optimistic().acquireShared(ResourceTypes.NODE, resourceId);
-        }else
-        {
-            state.locks().optimistic().acquireShared(ResourceTypes.RELATIONSHIP, resourceId);
-        }
-//        state.locks().optimistic().acquireTemporalPropExclusive( resourceType, resourceId, propertyKeyId, time );
-
-    }
-
-    @Override
-    public void acquireTemporalShared(KernelStatement state, Locks.ResourceType resourceType, long resourceId, int propertyKeyId, int start, int end)
-    {
-        if(resourceType.equals( ResourceTypes.NODE ) )
-        {
-            state.locks().optimistic().acquireShared(ResourceTypes.NODE, resourceId);
-        }else
-        {
-            state.locks().optimistic().acquireShared(ResourceTypes.RELATIONSHIP, resourceId);
-        }
-//        state.locks().optimistic().acquireTemporalPropShared( resourceType, resourceId, propertyKeyId, start, end );
-    }
-
-    @Override
-    public void releaseTemporalExclusive(KernelStatement statement, Locks.ResourceType type, long id, int propertyKeyId, int time)
-    {
-        statement.locks().pessimistic().releaseTemporalPropExclusive( type, id, propertyKeyId, time );
-        if(type.equals( ResourceTypes.NODE_TEMPORAL_PROP ) )
-            statement.locks().pessimistic().releaseShared( ResourceTypes.NODE, id );
-        else
-            statement.locks().pessimistic().releaseShared( ResourceTypes.RELATIONSHIP, id );
-    }
-
-    @Override
-    public void releaseTemporalShared(KernelStatement statement, Locks.ResourceType type, long id, int propertyKeyId, int start, int end)
-    {
-        statement.locks().pessimistic().releaseTemporalPropShared( type, id, propertyKeyId, start, end );
-        if(type.equals( ResourceTypes.NODE_TEMPORAL_PROP ) )
-            statement.locks().pessimistic().releaseShared( ResourceTypes.NODE, id );
-        else
-            statement.locks().pessimistic().releaseShared( ResourceTypes.RELATIONSHIP, id );
-    }
-
     // === TODO Below is unnecessary delegate methods
     @Override
     public String indexGetFailure( Statement state, IndexDescriptor descriptor )
@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.impl.api;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -84,9 +85,15 @@ import org.neo4j.kernel.impl.api.store.RelationshipIterator;
 import org.neo4j.kernel.impl.core.Token;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.temporal.IntervalEntry;
+import org.neo4j.temporal.TemporalIndexCursor;
+import org.neo4j.temporal.TemporalIndexEntityIterator;
 import org.neo4j.temporal.TemporalIndexManager;
+import org.neo4j.temporal.TemporalPointValues;
 import org.neo4j.temporal.TemporalPropertyReadOperation;
+import org.neo4j.temporal.TemporalPropertySeriesWriteOperation;
 import org.neo4j.temporal.TemporalPropertyWriteOperation;
+import org.neo4j.temporal.TemporalRangeCursor;
+import org.neo4j.temporal.TimePoint;
 
 import static org.neo4j.helpers.collection.Iterables.map;
 
@@ -488,19 +495,31 @@ public class OperationsFacade implements ReadOperations, DataWriteOperations, Sc
         {
             return null;
         }
-        try ( Cursor<NodeItem> node = dataRead().nodeCursorById( statement, query.getEntityId() ) )
-        {
-            Object neo4jProVal = node.get().getProperty( query.getProId() ); // seems we do not need this and open cursor is also unnecessary. maybe we should write like below (the relationship)?
-            return dataRead().nodeGetTemporalProperty(statement, query);
-        }
-        finally
+        return dataRead().nodeGetTemporalProperty(statement, query);
+    }
+
+    @Override
+    public List<IntervalEntry> getTemporalPropertyByValueIndex( TemporalIndexManager.PropertyValueIntervalBuilder builder ) throws PropertyNotFoundException
+    {
+        List<IntervalEntry> result = new ArrayList<>();
+        try ( TemporalIndexCursor cursor = getTemporalPropertyByValueIndexCursor( builder ) )
         {
-            statement.assertOpen();
+            int propertyCount = builder.getPropertyValues().size();
+            while ( cursor.next() )
+            {
+                Object[] val = new Object[propertyCount];
+                for ( int i = 0; i < propertyCount; i++ )
+                {
+                    val[i] = cursor.value( i );
+                }
+                result.add( new IntervalEntry( new TimePoint( cursor.start() ), new TimePoint( cursor.end() ), cursor.entityId(), val ) );
+            }
         }
+        return result;
     }
 
     @Override
-    public List<IntervalEntry> getTemporalPropertyByValueIndex( TemporalIndexManager.PropertyValueIntervalBuilder builder ) throws PropertyNotFoundException
+    public TemporalIndexCursor getTemporalPropertyByValueIndexCursor( TemporalIndexManager.PropertyValueIntervalBuilder builder ) throws PropertyNotFoundException
     {
         statement.assertOpen();
         for(Integer proId : builder.getPropertyValues().keySet())
@@ -513,6 +532,12 @@ public class OperationsFacade implements ReadOperations, DataWriteOperations, Sc
         return dataRead().getTemporalPropertyByIndex(statement, builder);
     }
 
+    @Override
+    public PrimitiveLongIterator getEntitiesByTemporalValueIndex( TemporalIndexManager.PropertyValueIntervalBuilder builder ) throws PropertyNotFoundException
+    {
+        return new TemporalIndexEntityIterator( getTemporalPropertyByValueIndexCursor( builder ) );
+    }
+
     @Override
     public Object relationshipGetTemporalProperty(TemporalPropertyReadOperation query) throws EntityNotFoundException, PropertyNotFoundException
     {
@@ -524,6 +549,70 @@ public class OperationsFacade implements ReadOperations, DataWriteOperations, Sc
         return dataRead().relationshipGetTemporalProperty(statement, query);
     }
 
+    @Override
+    public boolean nodeHasTemporalProperty( long nodeId, int propertyKeyId )
+    {
+        statement.assertOpen();
+        return propertyKeyId != StatementConstants.NO_SUCH_PROPERTY_KEY &&
+               dataRead().nodeHasTemporalProperty( statement, nodeId, propertyKeyId );
+    }
+
+    @Override
+    public boolean relationshipHasTemporalProperty( long relId, int propertyKeyId )
+    {
+        statement.assertOpen();
+        return propertyKeyId != StatementConstants.NO_SUCH_PROPERTY_KEY &&
+               dataRead().relationshipHasTemporalProperty( statement, relId, propertyKeyId );
+    }
+
+    @Override
+    public TemporalPointValues nodeGetTemporalPropertyPoints( long[] nodeIds, int propertyKeyId, TimePoint time )
+    {
+        statement.assertOpen();
+        if ( propertyKeyId == StatementConstants.NO_SUCH_PROPERTY_KEY )
+        {
+            return new TemporalPointValues( nodeIds.length, null );
+        }
+        return dataRead().nodeGetTemporalPropertyPoints( statement, nodeIds, propertyKeyId, time );
+    }
+
+    @Override
+    public TemporalPointValues relationshipGetTemporalPropertyPoints( long[] relIds, int propertyKeyId, TimePoint time )
+    {
+        statement.assertOpen();
+        if ( propertyKeyId == StatementConstants.NO_SUCH_PROPERTY_KEY )
+        {
+            return new TemporalPointValues( relIds.length, null );
+        }
+        return dataRead().relationshipGetTemporalPropertyPoints( statement, relIds, propertyKeyId, time );
+    }
+
+    @Override
+    public TemporalRangeCursor nodeGetTemporalPropertyRange( long nodeId, int propertyKeyId, TimePoint start, TimePoint end,
+            TemporalRangeCursor cursor ) throws EntityNotFoundException
+    {
+        statement.assertOpen();
+        if ( propertyKeyId == StatementConstants.NO_SUCH_PROPERTY_KEY )
+        {
+            cursor.init( start.val(), end.val() );
+            return cursor;
+        }
+        return dataRead().nodeGetTemporalPropertyRange( statement, nodeId, propertyKeyId, start, end, cursor );
+    }
+
+    @Override
+    public TemporalRangeCursor relationshipGetTemporalPropertyRange( long relId, int propertyKeyId, TimePoint start, TimePoint end,
+            TemporalRangeCursor cursor ) throws EntityNotFoundException
+    {
+        statement.assertOpen();
+        if ( propertyKeyId == StatementConstants.NO_SUCH_PROPERTY_KEY )
+        {
+            cursor.init( start.val(), end.val() );
+            return cursor;
+        }
+        return dataRead().relationshipGetTemporalPropertyRange( statement, relId, propertyKeyId, start, end, cursor );
+    }
+
     // </DataRead>
 
     // <DataReadCursors>
@@ -1027,6 +1116,20 @@ public class OperationsFacade implements ReadOperations, DataWriteOperations, Sc
         dataWrite().relationshipSetTemporalProperty(statement, op);
     }
 
+    @Override
+    public void nodeSetTemporalPropertySeries( TemporalPropertySeriesWriteOperation op ) throws EntityNotFoundException, ConstraintValidationKernelException
+    {
+        statement.assertOpen();
+        dataWrite().nodeSetTemporalPropertySeries( statement, op );
+    }
+
+    @Override
+    public void relationshipSetTemporalPropertySeries( TemporalPropertySeriesWriteOperation op ) throws EntityNotFoundException, ConstraintValidationKernelException
+    {
+        statement.assertOpen();
+        dataWrite().relationshipSetTemporalPropertySeries( statement, op );
+    }
+
 //    @Override
 //    public void nodeRemoveTemporalProperty(long nodeId, int propertyKeyId) throws EntityNotFoundException, PropertyNotFoundException {
 //        statement.assertOpen();
@@ -19,10 +19,8 @@
  */
 package org.neo4j.kernel.impl.api;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 
 import org.act.temporalProperty.TemporalPropertyStore;
@@ -59,6 +57,7 @@ import org.neo4j.kernel.api.constraints.PropertyConstraint;
 import org.neo4j.kernel.api.constraints.RelationshipPropertyConstraint;
 import org.neo4j.kernel.api.constraints.RelationshipPropertyExistenceConstraint;
 import org.neo4j.kernel.api.constraints.UniquenessConstraint;
+import org.neo4j.kernel.api.cursor.EntityItem;
 import org.neo4j.kernel.api.cursor.LabelItem;
 import org.neo4j.kernel.api.cursor.NodeItem;
 import org.neo4j.kernel.api.cursor.PropertyItem;
@@ -106,12 +105,19 @@ import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
 import org.neo4j.kernel.impl.util.Cursors;
 import org.neo4j.kernel.impl.util.PrimitiveLongResourceIterator;
 import org.neo4j.kernel.impl.util.diffsets.ReadableDiffSets;
-import org.neo4j.temporal.IntervalEntry;
 import org.neo4j.temporal.TGraphUserInputException;
+import org.neo4j.temporal.TemporalIndexCursor;
 import org.neo4j.temporal.TemporalIndexDescriptor;
+import org.neo4j.temporal.TemporalIndexEntryCursor;
 import org.neo4j.temporal.TemporalIndexManager;
+import org.neo4j.temporal.TemporalIndexPopulation;
+import org.neo4j.temporal.TemporalPointValues;
 import org.neo4j.temporal.TemporalPropertyReadOperation;
+import org.neo4j.temporal.TemporalPropertySeriesWriteOperation;
 import org.neo4j.temporal.TemporalPropertyWriteOperation;
+import org.neo4j.temporal.TemporalRangeCursor;
+import org.neo4j.temporal.TemporalValueIndexScan;
+import org.neo4j.temporal.TimePoint;
 
 import static org.act.temporalProperty.util.TemporalPropertyValueConvertor.CLASS_NAME_LENGTH_SEPERATOR;
 import static org.act.temporalProperty.util.TemporalPropertyValueConvertor.TemporalPropertyMarker;
@@ -331,7 +337,15 @@ public class StateHandlingStatementOperations
         legacyPropertyTrackers.nodeDelete( nodeId );
         try ( Cursor<NodeItem> cursor = nodeCursorById( state, nodeId ) )
         {
-            state.txState().nodeDoDelete( cursor.get().id() );
+            NodeItem node = cursor.get();
+            try ( Cursor<PropertyItem> properties = node.properties() )
+            {
+                while ( properties.next() )
+                {
+                    nodeRemoveTemporalValues( state, node.id(), properties.get().propertyKeyId(), properties.get().value() );
+                }
+            }
+            state.txState().nodeDoDelete( node.id() );
         }
     }
 
@@ -343,35 +357,60 @@ public class StateHandlingStatementOperations
     }
 
     @Override
-    public List<IntervalEntry> getTemporalPropertyByIndex( KernelStatement statement, TemporalIndexManager.PropertyValueIntervalBuilder builder )
+    public TemporalIndexCursor getTemporalPropertyByIndex( KernelStatement statement, final TemporalIndexManager.PropertyValueIntervalBuilder builder )
     {
-        IndexQueryRegion queryRegion = build2query( builder );
-        List<IndexEntry> result;
-        if ( builder.isNode() )
+        // fails on unknown properties before anything is read
+        build2query( builder, builder.getStart(), builder.getEnd() );
+        if ( valueIndexPopulating( builder ) )
         {
-            result = temporalPropertyStore.nodeStore().getEntries( queryRegion, statement.txState().getNodeTemporalProperties() );
+            return scanTemporalPropertyValues( statement, builder );
         }
-        else
+        final TemporalPropertyStore store = builder.isNode() ? temporalPropertyStore.nodeStore() : temporalPropertyStore.relStore();
+        final MemTable changes = builder.isNode() ? statement.txState().getNodeTemporalProperties()
+                                                  : statement.txState().getRelationshipTemporalProperties();
+        return new TemporalIndexEntryCursor( new TemporalIndexEntryCursor.Query()
         {
-            result = temporalPropertyStore.relStore().getEntries( queryRegion, statement.txState().getRelationshipTemporalProperties() );
-        }
-        List<IntervalEntry> r = new ArrayList<>();
-        for ( IndexEntry i : result )
+            @Override
+            public Iterable<IndexEntry> entries( TimePoint start, TimePoint end )
+            {
+                return store.getEntries( build2query( builder, start, end ), changes );
+            }
+        }, builder.getStart(), builder.getEnd() );
+    }
+
+    private boolean valueIndexPopulating( TemporalIndexManager.PropertyValueIntervalBuilder builder )
+    {
+        TemporalPropertyStore store = builder.isNode() ? temporalPropertyStore.nodeStore() : temporalPropertyStore.relStore();
+        for ( int proId : builder.getPropertyValues().keySet() )
         {
-            int propertyCount = queryRegion.getPropertyValueIntervals().size();
-            Object[] val = new Object[propertyCount];
-            for ( int j = 0; j < propertyCount; j++ )
+            if ( temporalPropertyStore.isPopulatingIndex( store, proId, TemporalIndexPopulation.Kind.VALUE ) )
             {
-                val[j] = i.getValue( j );
+                return true;
             }
-            r.add( new IntervalEntry( i.getStart(), i.getEnd(), i.getEntityId(), val ) );
         }
-        return r;
+        return false;
     }
 
-    private IndexQueryRegion build2query( TemporalIndexManager.PropertyValueIntervalBuilder builder )
+    /**
+     * Answers a value index query without the index, while it is still being populated.
+     */
+    private TemporalIndexCursor scanTemporalPropertyValues( KernelStatement statement, TemporalIndexManager.PropertyValueIntervalBuilder builder )
     {
-        IndexQueryRegion condition = new IndexQueryRegion( builder.getStart(), builder.getEnd() );
+        if ( builder.isNode() )
+        {
+            return new TemporalValueIndexScan( temporalPropertyStore, temporalPropertyStore.nodeStore(), builder,
+                    nodesGetAll( statement ), statement.txState().getNodeTemporalProperties() );
+        }
+        else
+        {
+            return new TemporalValueIndexScan( temporalPropertyStore, temporalPropertyStore.relStore(), builder,
+                    relationshipsGetAll( statement ), statement.txState().getRelationshipTemporalProperties() );
+        }
+    }
+
+    private IndexQueryRegion build2query( TemporalIndexManager.PropertyValueIntervalBuilder builder, TimePoint start, TimePoint end )
+    {
+        IndexQueryRegion condition = new IndexQueryRegion( start, end );
         for ( Map.Entry<Integer,Triple<String,Object,Object>> entry : builder.getPropertyValues().entrySet() )
         {
             int proId = entry.getKey();
@@ -409,69 +448,33 @@ public class StateHandlingStatementOperations
 
     private ValueContentType tpType( int proId, boolean isNode )
     {
-        return isNode ? temporalPropertyStore.nodeStore().getPropertyValueType( proId ) : temporalPropertyStore.relStore().getPropertyValueType( proId );
+        return isNode ? temporalPropertyStore.getPropertyType( temporalPropertyStore.nodeStore(), proId ) :
+               temporalPropertyStore.getPropertyType( temporalPropertyStore.relStore(), proId );
     }
 
     @Override
     public Object nodeGetTemporalProperty( KernelStatement statement, TemporalPropertyReadOperation query ) throws EntityNotFoundException
     {
-        // query static property first.
+        if ( query.isPointQuery() )
+        {
+            Object value = temporalPointFromStore( statement, temporalPropertyStore.nodeStore(), query.getEntityId(),
+                    query.getProId(), query.getStart() );
+            if ( value != null )
+            {
+                return value;
+            }
+        }
         try ( Cursor<NodeItem> cursor = nodeCursorById( statement, query.getEntityId() ) )
         {
-            NodeItem node = cursor.get();
-            try ( Cursor<PropertyItem> properties = node.property( query.getProId() ) )
+            TemporalPropertyStore store = temporalPropertyStore.nodeStore();
+            MemTable txState = statement.hasTxStateWithChanges() ? statement.txState().getNodeTemporalProperties() : null;
+            if ( query.isPointQuery() )
             {
-                if ( properties.next() )
-                {
-                    // return static property value if not a temporal property.
-                    Object staticPro = properties.get().value();
-                    ValueContentType valueType;
-                    try
-                    {
-                        valueType = decodeTemporalPropertyMeta( staticPro );
-                    }
-                    catch ( TPSRuntimeException ignore )
-                    {
-                        return staticPro;
-                    }
-                    TemporalPropertyStore store = temporalPropertyStore.nodeStore();
-                    if ( statement.hasTxStateWithChanges() )
-                    {
-                        MemTable txState = statement.txState().getNodeTemporalProperties();
-                        if ( txState != null && !txState.isEmpty() ) // has in txState
-                        {
-                            if ( query.isPointQuery() )
-                            {
-                                return tpQueryPointWithCache( query, txState, store, valueType );
-                            }
-                            else if ( query.isRangeQuery() )
-                            {
-                                return tpQueryRangeWithCache( query, txState, store, valueType );
-                            }
-                            else
-                            {
-                                return tpQueryIndexWithCache( query, txState, store, valueType );
-                            }
-                        }
-                    }
-                    // not in TxState, then get from store
-                    if ( query.isPointQuery() )
-                    {
-                        return tpQueryPoint( query, store, valueType );
-                    }
-                    else if ( query.isRangeQuery() )
-                    {
-                        return tpQueryRange( query, store, valueType );
-                    }
-                    else
-                    {
-                        return tpQueryIndex( query, store, valueType );
-                    }
-                }
-                else
-                {
-                    return null; //Cannot get value from neo4j store
-                }
+                return temporalPointValue( cursor.get(), query.getEntityId(), query.getProId(), query.getStart(), txState, store );
+            }
+            try ( Cursor<PropertyItem> properties = cursor.get().property( query.getProId() ) )
+            {
+                return temporalPropertyValue( properties, query, txState, store );
             }
         }
     }
@@ -479,136 +482,413 @@ public class StateHandlingStatementOperations
     @Override
     public Object relationshipGetTemporalProperty( KernelStatement statement, TemporalPropertyReadOperation query ) throws EntityNotFoundException
     {
+        if ( query.isPointQuery() )
+        {
+            Object value = temporalPointFromStore( statement, temporalPropertyStore.relStore(), query.getEntityId(),
+                    query.getProId(), query.getStart() );
+            if ( value != null )
+            {
+                return value;
+            }
+        }
         try ( Cursor<RelationshipItem> cursor = relationshipCursorById( statement, query.getEntityId() ) )
         {
-            RelationshipItem rel = cursor.get();
-            try ( Cursor<PropertyItem> properties = rel.property( query.getProId() ) )
+            TemporalPropertyStore store = temporalPropertyStore.relStore();
+            MemTable txState = statement.hasTxStateWithChanges() ? statement.txState().getRelationshipTemporalProperties() : null;
+            if ( query.isPointQuery() )
+            {
+                return temporalPointValue( cursor.get(), query.getEntityId(), query.getProId(), query.getStart(), txState, store );
+            }
+            try ( Cursor<PropertyItem> properties = cursor.get().property( query.getProId() ) )
+            {
+                return temporalPropertyValue( properties, query, txState, store );
+            }
+        }
+    }
+
+    @Override
+    public TemporalRangeCursor nodeGetTemporalPropertyRange( KernelStatement statement, long nodeId, int propertyKeyId,
+            TimePoint start, TimePoint end, TemporalRangeCursor cursor ) throws EntityNotFoundException
+    {
+        try ( Cursor<NodeItem> node = nodeCursorById( statement, nodeId ) )
+        {
+            MemTable txState = statement.hasTxStateWithChanges() ? statement.txState().getNodeTemporalProperties() : null;
+            return temporalRange( node.get(), nodeId, propertyKeyId, start, end, txState, temporalPropertyStore.nodeStore(), cursor );
+        }
+    }
+
+    @Override
+    public TemporalRangeCursor relationshipGetTemporalPropertyRange( KernelStatement statement, long relId, int propertyKeyId,
+            TimePoint start, TimePoint end, TemporalRangeCursor cursor ) throws EntityNotFoundException
+    {
+        try ( Cursor<RelationshipItem> relationship = relationshipCursorById( statement, relId ) )
+        {
+            MemTable txState = statement.hasTxStateWithChanges() ? statement.txState().getRelationshipTemporalProperties() : null;
+            return temporalRange( relationship.get(), relId, propertyKeyId, start, end, txState, temporalPropertyStore.relStore(), cursor );
+        }
+    }
+
+    /**
+     * Seeds {@code cursor} with the value valid at {@code start}, the entries in (start, end] are scanned while the
+     * cursor is read. The cursor stays empty if the key does not hold a temporal property. Outside of transactions
+     * with changes the value type comes from the type registry, see {@link #temporalPointFromStore}, a static value
+     * under the key has no values in the temporal store and leaves the cursor empty just the same.
+     */
+    private TemporalRangeCursor temporalRange( EntityItem entity, final long entityId, final int proId, TimePoint start,
+            final TimePoint end, MemTable txState, final TemporalPropertyStore store, TemporalRangeCursor cursor )
+    {
+        cursor.init( start.val(), end.val() );
+        ValueContentType valueType = txState == null ? temporalPropertyStore.getPropertyType( store, proId ) : null;
+        if ( valueType == null )
+        {
+            try ( Cursor<PropertyItem> properties = entity.property( proId ) )
             {
-                if ( properties.next() )
+                if ( !properties.next() || (valueType = decodeTemporalPropertyMeta( properties.get().value() )) == null )
                 {
-                    // return static property value if not a temporal property.
-                    Object staticPro = properties.get().value();
-                    ValueContentType valueType;
-                    try
-                    {
-                        valueType = decodeTemporalPropertyMeta( staticPro );
-                    }
-                    catch ( TPSRuntimeException ignore )
-                    {
-                        return staticPro;
-                    }
-                    TemporalPropertyStore store = temporalPropertyStore.relStore();
-                    if ( statement.hasTxStateWithChanges() )
-                    {
-                        MemTable txState = statement.txState().getRelationshipTemporalProperties();
-                        if ( txState != null && !txState.isEmpty() ) // has in txState
-                        {
-                            if ( query.isPointQuery() )
-                            {
-                                return tpQueryPointWithCache( query, txState, store, valueType );
-                            }
-                            else if ( query.isRangeQuery() )
-                            {
-                                return tpQueryRangeWithCache( query, txState, store, valueType );
-                            }
-                            else
-                            {
-                                return tpQueryIndexWithCache( query, txState, store, valueType );
-                            }
-                        }
-                    }
-                    // not in TxState, then get from store
-                    if ( query.isPointQuery() )
-                    {
-                        return tpQueryPoint( query, store, valueType );
-                    }
-                    else if ( query.isRangeQuery() )
-                    {
-                        return tpQueryRange( query, store, valueType );
-                    }
-                    else
-                    {
-                        return tpQueryIndex( query, store, valueType );
-                    }
+                    return cursor;
                 }
-                else
+            }
+        }
+        final MemTable oneEntityData = txState != null && !txState.isEmpty() ? txState : null; // has in txState
+        Slice seed = tpQueryPointSlice( entityId, proId, start, txState, store );
+        cursor.seed( valueType, seed, new TemporalRangeCursor.Source()
+        {
+            @Override
+            public void scan( long from, long to, TemporalRangeCursor target )
+            {
+                TimePoint windowEnd = to == end.val() ? end : new TimePoint( to );
+                temporalPropertyStore.getRange( store, entityId, proId, new TimePoint( from ), windowEnd, target,
+                        oneEntityData );
+            }
+        } );
+        return cursor;
+    }
+
+    @Override
+    public TemporalPointValues nodeGetTemporalPropertyPoints( KernelStatement statement, long[] nodeIds, int propertyKeyId,
+            TimePoint time )
+    {
+        return temporalPoints( statement, nodeIds, propertyKeyId, time, true );
+    }
+
+    @Override
+    public TemporalPointValues relationshipGetTemporalPropertyPoints( KernelStatement statement, long[] relIds,
+            int propertyKeyId, TimePoint time )
+    {
+        return temporalPoints( statement, relIds, propertyKeyId, time, false );
+    }
+
+    /**
+     * Point reads of one key on many entities. The value type comes from the type registry once for all of them.
+     * Outside of transactions with changes the values are read straight from the store, see
+     * {@link #temporalPointFromStore}, and only entities without a value in the store are loaded for the static
+     * property to decide. Entities are read in id order, the result is in the order of {@code ids}.
+     */
+    private TemporalPointValues temporalPoints( KernelStatement statement, long[] ids, int proId, TimePoint time,
+            boolean nodes )
+    {
+        TemporalPropertyStore store = nodes ? temporalPropertyStore.nodeStore() : temporalPropertyStore.relStore();
+        MemTable txState = null;
+        if ( statement.hasTxStateWithChanges() )
+        {
+            txState = nodes ? statement.txState().getNodeTemporalProperties()
+                            : statement.txState().getRelationshipTemporalProperties();
+        }
+        ValueContentType columnType = temporalPropertyStore.getPropertyType( store, proId );
+        long[] sortedIds = sortedDistinct( ids );
+        TemporalPointValues values = new TemporalPointValues( sortedIds.length, columnType );
+        for ( int row = 0; row < sortedIds.length; row++ )
+        {
+            if ( txState == null && columnType != null )
+            {
+                Slice value = temporalPropertyStore.getPoint( store, sortedIds[row], proId, time );
+                if ( value != null )
+                {
+                    values.set( row, value );
+                    continue;
+                }
+            }
+            try ( Cursor<? extends EntityItem> cursor = nodes ? nodeCursor( statement, sortedIds[row] )
+                                                              : relationshipCursor( statement, sortedIds[row] ) )
+            {
+                if ( cursor.next() )
                 {
-                    return null; //Cannot get value from neo4j store
+                    temporalPointValue( cursor.get(), sortedIds[row], proId, time, txState, store, values, row );
                 }
             }
         }
+        return values.inOrderOf( ids, sortedIds );
     }
 
-    private Object tpQueryPointWithCache( TemporalPropertyReadOperation query, MemTable txState, TemporalPropertyStore store, ValueContentType valueType )
+    private static long[] sortedDistinct( long[] ids )
     {
-        try
+        long[] sorted = Arrays.copyOf( ids, ids.length );
+        Arrays.sort( sorted );
+        int distinct = 0;
+        for ( int i = 0; i < sorted.length; i++ )
         {
-            Slice value = txState.get( new InternalKey( query.getProId(), query.getEntityId(), query.getStart(), ValueType.VALUE ) );
-            if ( value == null )
+            if ( i == 0 || sorted[i] != sorted[i - 1] )
             {
-                return null;
+                sorted[distinct++] = sorted[i];
             }
-            else
+        }
+        return distinct == sorted.length ? sorted : Arrays.copyOf( sorted, distinct );
+    }
+
+    @Override
+    public boolean nodeHasTemporalProperty( KernelStatement statement, long nodeId, int propertyKeyId )
+    {
+        if ( !statement.hasTxStateWithChanges() &&
+             !temporalPropertyStore.isTemporalPropertyKey( temporalPropertyStore.nodeStore(), propertyKeyId ) )
+        {
+            return false; // never used as a temporal property, no need to load the node.
+        }
+        try ( Cursor<NodeItem> cursor = nodeCursor( statement, nodeId ) )
+        {
+            if ( !cursor.next() )
+            {
+                return false;
+            }
+            try ( Cursor<PropertyItem> properties = cursor.get().property( propertyKeyId ) )
             {
-                return fromSlice( valueType, value );
+                return properties.next() && decodeTemporalPropertyMeta( properties.get().value() ) != null;
             }
         }
-        catch ( ValueUnknownException e )
+    }
+
+    @Override
+    public boolean relationshipHasTemporalProperty( KernelStatement statement, long relId, int propertyKeyId )
+    {
+        if ( !statement.hasTxStateWithChanges() &&
+             !temporalPropertyStore.isTemporalPropertyKey( temporalPropertyStore.relStore(), propertyKeyId ) )
         {
-            return tpQueryPoint( query, store, valueType );
+            return false;
+        }
+        try ( Cursor<RelationshipItem> cursor = relationshipCursor( statement, relId ) )
+        {
+            if ( !cursor.next() )
+            {
+                return false;
+            }
+            try ( Cursor<PropertyItem> properties = cursor.get().property( propertyKeyId ) )
+            {
+                return properties.next() && decodeTemporalPropertyMeta( properties.get().value() ) != null;
+            }
         }
     }
 
-    private Object tpQueryRangeWithCache( TemporalPropertyReadOperation query, MemTable txState, TemporalPropertyStore store, ValueContentType valueType )
+    /**
+     * Point read straight from the temporal store, without loading the entity or its static property. The type
+     * registry knows the value type of every key holding temporal values, and a key holds values of one type only.
+     * Removing or replacing a temporal property, or deleting its entity, removes all of its values in the same
+     * transaction, so a value found in the store is the value of a temporal property of an existing entity.
+     * Transactions with changes may have done just that without it being in the store yet, they read the static
+     * property first.
+     *
+     * @return the value, or null if there is none in the store and the static property has to decide.
+     */
+    private Object temporalPointFromStore( KernelStatement statement, TemporalPropertyStore store, long entityId,
+            int proId, TimePoint time )
     {
-        return temporalPropertyStore.getRange( store, query, txState );
+        if ( statement.hasTxStateWithChanges() )
+        {
+            return null;
+        }
+        ValueContentType valueType = temporalPropertyStore.getPropertyType( store, proId );
+        if ( valueType == null )
+        {
+            return null;
+        }
+        Slice value = temporalPropertyStore.getPoint( store, entityId, proId, time );
+        return value == null ? null : fromSlice( valueType, value );
     }
 
-    private Object tpQueryIndexWithCache( TemporalPropertyReadOperation query, MemTable txState, TemporalPropertyStore store, ValueContentType valueType )
+    /**
+     * Point read of a temporal property, the static property as changed by this transaction decides whether the key
+     * holds a temporal property on this entity.
+     *
+     * @return the static property value if it is not a temporal property, the temporal value otherwise.
+     */
+    private Object temporalPointValue( EntityItem entity, long entityId, int proId, TimePoint time, MemTable txState,
+            TemporalPropertyStore store )
     {
-        return temporalPropertyStore.getAggrIndex( store, query, txState );
+        try ( Cursor<PropertyItem> properties = entity.property( proId ) )
+        {
+            if ( !properties.next() )
+            {
+                return null; //Cannot get value from neo4j store
+            }
+            Object staticPro = properties.get().value();
+            ValueContentType valueType = decodeTemporalPropertyMeta( staticPro );
+            if ( valueType == null )
+            {
+                return staticPro;
+            }
+            return tpQueryPoint( entityId, proId, time, txState, store, valueType );
+        }
     }
 
-    private Object tpQueryPoint( TemporalPropertyReadOperation query, TemporalPropertyStore store, ValueContentType valueType )
+    /**
+     * {@link #temporalPointValue(EntityItem, long, int, TimePoint, MemTable, TemporalPropertyStore)} into row
+     * {@code row} of {@code values}, unboxed if the value has the type of the column.
+     */
+    private void temporalPointValue( EntityItem entity, long entityId, int proId, TimePoint time, MemTable txState,
+            TemporalPropertyStore store, TemporalPointValues values, int row )
     {
-        Slice value = temporalPropertyStore.getPoint( store, query );
-        if ( value != null )
+        try ( Cursor<PropertyItem> properties = entity.property( proId ) )
         {
-            return fromSlice( valueType, value );
+            if ( !properties.next() )
+            {
+                return;
+            }
+            Object staticPro = properties.get().value();
+            ValueContentType valueType = decodeTemporalPropertyMeta( staticPro );
+            if ( valueType == null )
+            {
+                values.set( row, staticPro );
+                return;
+            }
+            Slice value = tpQueryPointSlice( entityId, proId, time, txState, store );
+            if ( value == null )
+            {
+                return;
+            }
+            if ( valueType == values.valueType() )
+            {
+                values.set( row, value );
+            }
+            else
+            {
+                values.set( row, fromSlice( valueType, value ) );
+            }
+        }
+    }
+
+    /**
+     * @return the static property value if it is not a temporal property, the result of the range or index query otherwise.
+     */
+    private Object temporalPropertyValue( Cursor<PropertyItem> properties, TemporalPropertyReadOperation query, MemTable txState,
+            TemporalPropertyStore store )
+    {
+        if ( !properties.next() )
+        {
+            return null; //Cannot get value from neo4j store
+        }
+        Object staticPro = properties.get().value();
+        ValueContentType valueType = decodeTemporalPropertyMeta( staticPro );
+        if ( valueType == null )
+        {
+            return staticPro;
+        }
+        MemTable oneEntityData = txState != null && !txState.isEmpty() ? txState : null; // has in txState
+        if ( query.isRangeQuery() )
+        {
+            return temporalPropertyStore.getRange( store, query, oneEntityData );
         }
         else
         {
-            return null;
+            return temporalPropertyStore.getAggrIndex( store, query, oneEntityData );
+        }
+    }
+
+    private Object tpQueryPoint( long entityId, int proId, TimePoint time, MemTable txState, TemporalPropertyStore store,
+            ValueContentType valueType )
+    {
+        Slice value = tpQueryPointSlice( entityId, proId, time, txState, store );
+        return value == null ? null : fromSlice( valueType, value );
+    }
+
+    private Slice tpQueryPointSlice( long entityId, int proId, TimePoint time, MemTable txState, TemporalPropertyStore store )
+    {
+        if ( txState != null && !txState.isEmpty() ) // has in txState
+        {
+            try
+            {
+                return txState.get( new InternalKey( proId, entityId, time, ValueType.VALUE ) );
+            }
+            catch ( ValueUnknownException e )
+            {
+                // not changed in this transaction, get from store
+            }
         }
+        return temporalPropertyStore.getPoint( store, entityId, proId, time );
     }
 
-    private Object tpQueryRange( TemporalPropertyReadOperation query, TemporalPropertyStore store, ValueContentType valueType )
+    /**
+     * Removes all values of a temporal property whose static marker goes away, because the property is removed or
+     * replaced or the entity is deleted. Otherwise the values would come back when the key is made a temporal
+     * property again, or when the entity id is reused.
+     */
+    private void nodeRemoveTemporalValues( KernelStatement state, long nodeId, int propertyKeyId, Object staticValue )
     {
-        return temporalPropertyStore.getRange( store, query, null );
+        if ( decodeTemporalPropertyMeta( staticValue ) != null )
+        {
+            state.txState().nodeDoSetTemporalProperty( removeAllTemporalValues( nodeId, propertyKeyId ) );
+        }
     }
 
-    private Object tpQueryIndex( TemporalPropertyReadOperation query, TemporalPropertyStore store, ValueContentType valueType )
+    private void relationshipRemoveTemporalValues( KernelStatement state, long relId, int propertyKeyId, Object staticValue )
     {
-        return temporalPropertyStore.getAggrIndex( store, query, null );
+        if ( decodeTemporalPropertyMeta( staticValue ) != null )
+        {
+            state.txState().relationshipDoSetTemporalProperty( removeAllTemporalValues( relId, propertyKeyId ) );
+        }
     }
 
-    private String buildTemporalPropertyMeta( ValueContentType valueType )
+    private static TemporalPropertyWriteOperation removeAllTemporalValues( long entityId, int propertyKeyId )
+    {
+        TemporalPropertyWriteOperation op =
+                new TemporalPropertyWriteOperation( entityId, propertyKeyId, TimePoint.INIT, TimePoint.NOW, null );
+        op.setValueSlice( new Slice( 0 ) );
+        return op;
+    }
+
+    public static String buildTemporalPropertyMeta( ValueContentType valueType )
     {
         return valueType.getId() + CLASS_NAME_LENGTH_SEPERATOR + TemporalPropertyMarker;
     }
 
-    private ValueContentType decodeTemporalPropertyMeta( Object meta )
+    /**
+     * Parses the static property value marking a temporal property, see {@link #buildTemporalPropertyMeta(ValueContentType)}.
+     * Called on every temporal read, so this avoids regular expressions and exceptions.
+     *
+     * @return the value type of the temporal property, or null if {@code meta} does not mark a temporal property.
+     */
+    public static ValueContentType decodeTemporalPropertyMeta( Object meta )
     {
-        if ( meta == null || !(meta instanceof String) )
+        if ( !(meta instanceof String) )
         {
-            throw new TPSRuntimeException( "not a temporal property!" );
+            return null;
+        }
+        String str = (String) meta;
+        int sep = str.indexOf( CLASS_NAME_LENGTH_SEPERATOR );
+        int markerStart = sep + CLASS_NAME_LENGTH_SEPERATOR.length();
+        if ( sep <= 0 || str.length() - markerStart != TemporalPropertyMarker.length() ||
+             !str.regionMatches( true, markerStart, TemporalPropertyMarker, 0, TemporalPropertyMarker.length() ) )
+        {
+            return null;
         }
-        String[] arr = ((String) meta).split( CLASS_NAME_LENGTH_SEPERATOR );
-        if ( arr.length != 2 || !arr[1].toUpperCase().equals( TemporalPropertyMarker ) )
+        int typeId = 0;
+        for ( int i = 0; i < sep; i++ )
+        {
+            char c = str.charAt( i );
+            if ( c < '0' || c > '9' )
+            {
+                return null;
+            }
+            typeId = typeId * 10 + (c - '0');
+        }
+        return ValueContentType.decode( typeId );
+    }
+
+    private ValueContentType requireTemporalPropertyMeta( Object meta )
+    {
+        ValueContentType valueType = decodeTemporalPropertyMeta( meta );
+        if ( valueType == null )
         {
             throw new TPSRuntimeException( "not a temporal property!" );
         }
-        return ValueContentType.decode( Integer.parseInt( arr[0] ) );
+        return valueType;
     }
 
     @Override
@@ -621,6 +901,11 @@ public class StateHandlingStatementOperations
             {
                 if ( !properties.next() ) // create new property
                 {
+                    if ( !op.getInternalKey().getValueType().isValue() )
+                    {
+                        return; // nothing to remove
+                    }
+                    checkTemporalPropertyKeyType( op.getProId(), op.getInternalKey().getValueType().toValueContentType(), true );
                     String propertyMetaString = buildTemporalPropertyMeta( op.getInternalKey().getValueType().toValueContentType() );
                     DefinedProperty property = Property.property( op.getProId(), propertyMetaString );
                     legacyPropertyTrackers.nodeAddStoreProperty( node.id(), property );
@@ -630,13 +915,14 @@ public class StateHandlingStatementOperations
                 else if ( op.getInternalKey().getValueType().isValue() ) //check exist property value type
                 {
                     Object staticPro = properties.get().value();
-                    ValueContentType valueType = decodeTemporalPropertyMeta( staticPro );
+                    ValueContentType valueType = requireTemporalPropertyMeta( staticPro );
                     if ( !op.getInternalKey().getValueType().toValueContentType().equals( valueType ) )
                     {
                         throw new TPSRuntimeException( "value type error: property type {} but try to set {} value!",
                                                        valueType,
                                                        op.getInternalKey().getValueType().toValueContentType() );
                     }
+                    checkTemporalPropertyKeyType( op.getProId(), valueType, true );
                 }
                 //                else
                 //                {
@@ -666,6 +952,11 @@ public class StateHandlingStatementOperations
             {
                 if ( !properties.next() )
                 {
+                    if ( !op.getInternalKey().getValueType().isValue() )
+                    {
+                        return; // nothing to remove
+                    }
+                    checkTemporalPropertyKeyType( op.getProId(), op.getInternalKey().getValueType().toValueContentType(), false );
                     String propertyMetaString = buildTemporalPropertyMeta( op.getInternalKey().getValueType().toValueContentType() );
                     DefinedProperty property = Property.property( op.getProId(), propertyMetaString );
                     legacyPropertyTrackers.relationshipAddStoreProperty( relationship.id(), property );
@@ -675,13 +966,14 @@ public class StateHandlingStatementOperations
                 else if ( op.getInternalKey().getValueType().isValue() ) //check exist property value type
                 {
                     Object staticPro = properties.get().value();
-                    ValueContentType valueType = decodeTemporalPropertyMeta( staticPro );
+                    ValueContentType valueType = requireTemporalPropertyMeta( staticPro );
                     if ( !op.getInternalKey().getValueType().toValueContentType().equals( valueType ) )
                     {
                         throw new TPSRuntimeException( "value type error: property type {} but try to set {} value!",
                                                        valueType,
                                                        op.getInternalKey().getValueType().toValueContentType() );
                     }
+                    checkTemporalPropertyKeyType( op.getProId(), valueType, false );
                 }
                 //                else
                 //                {
@@ -701,6 +993,80 @@ public class StateHandlingStatementOperations
         }
     }
 
+    @Override
+    public void nodeSetTemporalPropertySeries( KernelStatement statement, TemporalPropertySeriesWriteOperation op ) throws EntityNotFoundException
+    {
+        try ( Cursor<NodeItem> cursor = nodeCursorById( statement, op.getEntityId() ) )
+        {
+            NodeItem node = cursor.get();
+            try ( Cursor<PropertyItem> properties = node.property( op.getProId() ) )
+            {
+                if ( !properties.next() )
+                {
+                    checkTemporalPropertyKeyType( op.getProId(), op.getValueContentType(), true );
+                    DefinedProperty property = Property.property( op.getProId(), buildTemporalPropertyMeta( op.getValueContentType() ) );
+                    legacyPropertyTrackers.nodeAddStoreProperty( node.id(), property );
+                    Property existingProperty = Property.noProperty( op.getProId(), EntityType.NODE, node.id() );
+                    statement.txState().nodeDoReplaceProperty( op.getEntityId(), existingProperty, property );
+                }
+                else
+                {
+                    checkTemporalPropertyType( properties.get().value(), op.getValueContentType() );
+                    checkTemporalPropertyKeyType( op.getProId(), op.getValueContentType(), true );
+                }
+                statement.txState().nodeDoSetTemporalPropertySeries( op );
+            }
+        }
+    }
+
+    @Override
+    public void relationshipSetTemporalPropertySeries( KernelStatement statement, TemporalPropertySeriesWriteOperation op ) throws EntityNotFoundException
+    {
+        try ( Cursor<RelationshipItem> cursor = relationshipCursorById( statement, op.getEntityId() ) )
+        {
+            RelationshipItem relationship = cursor.get();
+            try ( Cursor<PropertyItem> properties = relationship.property( op.getProId() ) )
+            {
+                if ( !properties.next() )
+                {
+                    checkTemporalPropertyKeyType( op.getProId(), op.getValueContentType(), false );
+                    DefinedProperty property = Property.property( op.getProId(), buildTemporalPropertyMeta( op.getValueContentType() ) );
+                    legacyPropertyTrackers.relationshipAddStoreProperty( relationship.id(), property );
+                    Property existingProperty = Property.noProperty( op.getProId(), EntityType.RELATIONSHIP, relationship.id() );
+                    statement.txState().relationshipDoReplaceProperty( op.getEntityId(), existingProperty, property );
+                }
+                else
+                {
+                    checkTemporalPropertyType( properties.get().value(), op.getValueContentType() );
+                    checkTemporalPropertyKeyType( op.getProId(), op.getValueContentType(), false );
+                }
+                statement.txState().relationshipDoSetTemporalPropertySeries( op );
+            }
+        }
+    }
+
+    /**
+     * A key holds temporal values of one type only, so that reads can decode them with the type registry alone, see
+     * {@link #temporalPointFromStore}. Once the last temporal property of the key is removed it may take another type.
+     */
+    private void checkTemporalPropertyKeyType( int proId, ValueContentType toSet, boolean isNode )
+    {
+        ValueContentType keyType = tpType( proId, isNode );
+        if ( keyType != null && keyType != toSet )
+        {
+            throw new TPSRuntimeException( "value type error: property type {} but try to set {} value!", keyType, toSet );
+        }
+    }
+
+    private void checkTemporalPropertyType( Object meta, ValueContentType toSet )
+    {
+        ValueContentType valueType = requireTemporalPropertyMeta( meta );
+        if ( !toSet.equals( valueType ) )
+        {
+            throw new TPSRuntimeException( "value type error: property type {} but try to set {} value!", valueType, toSet );
+        }
+    }
+
     //    @Override
     //    public void relationshipInvalidTemporalProperty(KernelStatement statement, long relId, int propertyKeyId, int time) throws EntityNotFoundException, PropertyNotFoundException
     //    {
@@ -805,6 +1171,14 @@ public class StateHandlingStatementOperations
 
             // once we've removed legacy tx state.
             legacyPropertyTrackers.relationshipDelete( relationship.id() );
+            try ( Cursor<PropertyItem> properties = relationship.properties() )
+            {
+                while ( properties.next() )
+                {
+                    relationshipRemoveTemporalValues( state, relationship.id(), properties.get().propertyKeyId(),
+                            properties.get().value() );
+                }
+            }
             final TransactionState txState = state.txState();
             if ( txState.relationshipIsAddedInThisTx( relationship.id() ) )
             {
@@ -1330,6 +1704,10 @@ public class StateHandlingStatementOperations
                 {
                     existingProperty = Property.property( properties.get().propertyKeyId(), properties.get().value() );
                     legacyPropertyTrackers.nodeChangeStoreProperty( node.id(), (DefinedProperty) existingProperty, property );
+                    if ( !((DefinedProperty) existingProperty).valueEquals( property.value() ) )
+                    {
+                        nodeRemoveTemporalValues( state, node.id(), property.propertyKeyId(), properties.get().value() );
+                    }
                 }
             }
 
@@ -1366,6 +1744,11 @@ public class StateHandlingStatementOperations
                 {
                     existingProperty = Property.property( properties.get().propertyKeyId(), properties.get().value() );
                     legacyPropertyTrackers.relationshipChangeStoreProperty( relationship.id(), (DefinedProperty) existingProperty, property );
+                    if ( !((DefinedProperty) existingProperty).valueEquals( property.value() ) )
+                    {
+                        relationshipRemoveTemporalValues( state, relationship.id(), property.propertyKeyId(),
+                                properties.get().value() );
+                    }
                 }
             }
 
@@ -1404,6 +1787,7 @@ public class StateHandlingStatementOperations
 
                     legacyPropertyTrackers.nodeRemoveStoreProperty( node.id(), (DefinedProperty) existingProperty );
                     state.txState().nodeDoRemoveProperty( node.id(), (DefinedProperty) existingProperty );
+                    nodeRemoveTemporalValues( state, node.id(), propertyKeyId, properties.get().value() );
 
                     indexesUpdateProperty( state, node.id(), labelIds, propertyKeyId, (DefinedProperty) existingProperty, null );
                 }
@@ -1431,6 +1815,7 @@ public class StateHandlingStatementOperations
 
                     legacyPropertyTrackers.relationshipRemoveStoreProperty( relationship.id(), (DefinedProperty) existingProperty );
                     state.txState().relationshipDoRemoveProperty( relationship.id(), (DefinedProperty) existingProperty );
+                    relationshipRemoveTemporalValues( state, relationship.id(), propertyKeyId, properties.get().value() );
                 }
             }
             return existingProperty;
@@ -40,6 +40,7 @@ import org.neo4j.kernel.impl.transaction.command.IndexTransactionApplier;
 import org.neo4j.kernel.impl.transaction.command.NeoStoreTransactionApplier;
 import org.neo4j.kernel.impl.util.IdOrderingQueue;
 import org.neo4j.kernel.impl.util.function.Optional;
+import org.neo4j.temporal.PartitionedTemporalPropertyApplier;
 import org.neo4j.temporal.TemporalPropertyStoreHandler;
 import org.neo4j.unsafe.batchinsert.LabelScanWriter;
 
@@ -61,6 +62,7 @@ public class TransactionRepresentationStoreApplier
     private final IdOrderingQueue legacyIndexTransactionOrdering;
 
     private final TemporalPropertyStoreAdapter temporalPropStore;
+    private final PartitionedTemporalPropertyApplier temporalApplier;
 
     private final WorkSync<Provider<LabelScanWriter>,IndexTransactionApplier.LabelUpdateWork> labelScanStoreSync;
 
@@ -70,6 +72,17 @@ public class TransactionRepresentationStoreApplier
             legacyIndexProviderLookup,
             IndexConfigStore indexConfigStore, KernelHealth health, IdOrderingQueue legacyIndexTransactionOrdering,
             TemporalPropertyStoreAdapter temporalPropertyStore)
+    {
+        this( indexingService, labelScanWriters, neoStores, cacheAccess, lockService, legacyIndexProviderLookup,
+                indexConfigStore, health, legacyIndexTransactionOrdering, temporalPropertyStore, null );
+    }
+
+    protected TransactionRepresentationStoreApplier(
+            IndexingService indexingService, Provider<LabelScanWriter> labelScanWriters, NeoStores neoStores,
+            CacheAccessBackDoor cacheAccess, LockService lockService, LegacyIndexApplierLookup
+            legacyIndexProviderLookup,
+            IndexConfigStore indexConfigStore, KernelHealth health, IdOrderingQueue legacyIndexTransactionOrdering,
+            TemporalPropertyStoreAdapter temporalPropertyStore, PartitionedTemporalPropertyApplier temporalApplier )
     {
         this.indexingService = indexingService;
         this.labelScanWriters = labelScanWriters;
@@ -82,6 +95,7 @@ public class TransactionRepresentationStoreApplier
         this.legacyIndexTransactionOrdering = legacyIndexTransactionOrdering;
         labelScanStoreSync = new WorkSync<>( labelScanWriters );
         this.temporalPropStore = temporalPropertyStore;
+        this.temporalApplier = temporalApplier;
     }
 
     public void apply( TransactionRepresentation representation, ValidatedIndexUpdates indexUpdates, LockGroup locks,
@@ -111,7 +125,8 @@ public class TransactionRepresentationStoreApplier
         CommandHandler countsStoreApplier = getCountsStoreApplier( transactionId, mode );
 
         // Dynamic Property store application
-        TemporalPropertyStoreHandler temporalProHandler = new TemporalPropertyStoreHandler( this.temporalPropStore );
+        TemporalPropertyStoreHandler temporalProHandler = new TemporalPropertyStoreHandler( this.temporalPropStore, transactionId,
+                mode == TransactionApplicationMode.RECOVERY, temporalApplier );
 
 
         // Perform the application
@@ -142,6 +157,30 @@ public class TransactionRepresentationStoreApplier
             IdOrderingQueue legacyIndexTransactionOrdering )
     {
         return new TransactionRepresentationStoreApplier( indexingService, labelScanWriters, neoStores, cacheAccess,
-                lockService, legacyIndexProviderLookup, indexConfigStore, health, legacyIndexTransactionOrdering, temporalPropStore );
+                lockService, legacyIndexProviderLookup, indexConfigStore, health, legacyIndexTransactionOrdering,
+                temporalPropStore, temporalApplier );
+    }
+
+    /**
+     * @return an applier which hands temporal property writes to {@code temporalApplier}, which then must be
+     * waited for with {@link #awaitTemporalUpdates()} before the applied transactions are considered closed.
+     */
+    public TransactionRepresentationStoreApplier withPartitionedTemporalApplier(
+            PartitionedTemporalPropertyApplier temporalApplier )
+    {
+        return new TransactionRepresentationStoreApplier( indexingService, labelScanWriters, neoStores, cacheAccess,
+                lockService, legacyIndexProviderLookup, indexConfigStore, health, legacyIndexTransactionOrdering,
+                temporalPropStore, temporalApplier );
+    }
+
+    /**
+     * Waits for temporal property writes of applied transactions which are still being applied in parallel.
+     */
+    public void awaitTemporalUpdates() throws IOException
+    {
+        if ( temporalApplier != null )
+        {
+            temporalApplier.awaitApplied();
+        }
     }
 }
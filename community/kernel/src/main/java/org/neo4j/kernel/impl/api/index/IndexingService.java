@@ -57,6 +57,7 @@ import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
 import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingController;
 import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingControllerFactory;
 import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingMode;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
 import org.neo4j.kernel.impl.store.UnderlyingStorageException;
 import org.neo4j.kernel.impl.store.record.IndexRule;
 import org.neo4j.kernel.impl.util.JobScheduler;
@@ -100,6 +101,7 @@ public class IndexingService extends LifecycleAdapter implements PrimitiveLongVi
     private final TokenNameLookup tokenNameLookup;
     private final Monitor monitor;
     private final PrimitiveLongSet recoveredNodeIds = Primitive.longSet( 20 );
+    private volatile TemporalPropertyStoreAdapter temporalStore;
 
     enum State
     {
@@ -348,9 +350,24 @@ public class IndexingService extends LifecycleAdapter implements PrimitiveLongVi
             awaitOnline( proxy );
         }
 
+        // Temporal indexes left populating are rebuilt in the background too, nothing waits for them
+        if ( temporalStore != null )
+        {
+            temporalStore.startIndexPopulation();
+        }
+
         state = State.RUNNING;
     }
 
+    /**
+     * Gives temporal indexes of {@code temporalStore} the life cycle of schema indexes: their populations are
+     * started once recovery has completed and stopped with the schema indexes.
+     */
+    public void setTemporalPropertyStore( TemporalPropertyStoreAdapter temporalStore )
+    {
+        this.temporalStore = temporalStore;
+    }
+
     /**
      * Polls the {@link IndexProxy#getState() state of the index} and waits for it to be either
      * {@link InternalIndexState#ONLINE}, in which case the wait is over, or {@link InternalIndexState#FAILED},
@@ -378,6 +395,10 @@ public class IndexingService extends LifecycleAdapter implements PrimitiveLongVi
     public void stop()
     {
         state = State.STOPPED;
+        if ( temporalStore != null )
+        {
+            temporalStore.stopIndexPopulation();
+        }
         samplingController.stop();
         closeAllIndexes();
     }
@@ -19,8 +19,6 @@
  */
 package org.neo4j.kernel.impl.api.operations;
 
-import java.util.List;
-
 import org.neo4j.collection.primitive.PrimitiveIntIterator;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.cursor.Cursor;
@@ -35,15 +33,26 @@ import org.neo4j.kernel.api.txstate.TxStateHolder;
 import org.neo4j.kernel.impl.api.KernelStatement;
 import org.neo4j.kernel.impl.api.RelationshipVisitor;
 import org.neo4j.kernel.impl.api.store.StoreStatement;
-import org.neo4j.temporal.IntervalEntry;
+import org.neo4j.temporal.TemporalIndexCursor;
 import org.neo4j.temporal.TemporalIndexManager;
+import org.neo4j.temporal.TemporalPointValues;
 import org.neo4j.temporal.TemporalPropertyReadOperation;
+import org.neo4j.temporal.TemporalRangeCursor;
+import org.neo4j.temporal.TimePoint;
 
 public interface EntityReadOperations
 {
-    List<IntervalEntry> getTemporalPropertyByIndex( KernelStatement statement, TemporalIndexManager.PropertyValueIntervalBuilder builder );
+    TemporalIndexCursor getTemporalPropertyByIndex( KernelStatement statement, TemporalIndexManager.PropertyValueIntervalBuilder builder );
     Object nodeGetTemporalProperty( KernelStatement statement, TemporalPropertyReadOperation query) throws PropertyNotFoundException, EntityNotFoundException;
     Object relationshipGetTemporalProperty( KernelStatement statement, TemporalPropertyReadOperation query ) throws PropertyNotFoundException, EntityNotFoundException;
+    boolean nodeHasTemporalProperty( KernelStatement statement, long nodeId, int propertyKeyId );
+    boolean relationshipHasTemporalProperty( KernelStatement statement, long relId, int propertyKeyId );
+    TemporalPointValues nodeGetTemporalPropertyPoints( KernelStatement statement, long[] nodeIds, int propertyKeyId, TimePoint time );
+    TemporalPointValues relationshipGetTemporalPropertyPoints( KernelStatement statement, long[] relIds, int propertyKeyId, TimePoint time );
+    TemporalRangeCursor nodeGetTemporalPropertyRange( KernelStatement statement, long nodeId, int propertyKeyId, TimePoint start,
+            TimePoint end, TemporalRangeCursor cursor ) throws EntityNotFoundException;
+    TemporalRangeCursor relationshipGetTemporalPropertyRange( KernelStatement statement, long relId, int propertyKeyId, TimePoint start,
+            TimePoint end, TemporalRangeCursor cursor ) throws EntityNotFoundException;
 
     /**
      * @param labelId the label id of the label that returned nodes are guaranteed to have
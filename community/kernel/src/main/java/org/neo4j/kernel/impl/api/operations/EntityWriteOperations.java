@@ -25,12 +25,15 @@ import org.neo4j.kernel.api.exceptions.schema.ConstraintValidationKernelExceptio
 import org.neo4j.kernel.api.properties.DefinedProperty;
 import org.neo4j.kernel.api.properties.Property;
 import org.neo4j.kernel.impl.api.KernelStatement;
+import org.neo4j.temporal.TemporalPropertySeriesWriteOperation;
 import org.neo4j.temporal.TemporalPropertyWriteOperation;
 
 public interface EntityWriteOperations
 {
     void nodeSetTemporalProperty(KernelStatement statement, TemporalPropertyWriteOperation op) throws ConstraintValidationKernelException, EntityNotFoundException;
     void relationshipSetTemporalProperty(KernelStatement statement, TemporalPropertyWriteOperation op) throws ConstraintValidationKernelException, EntityNotFoundException;
+    void nodeSetTemporalPropertySeries( KernelStatement statement, TemporalPropertySeriesWriteOperation op ) throws ConstraintValidationKernelException, EntityNotFoundException;
+    void relationshipSetTemporalPropertySeries( KernelStatement statement, TemporalPropertySeriesWriteOperation op ) throws ConstraintValidationKernelException, EntityNotFoundException;
 //    void nodeCreateTemporalProperty(KernelStatement statement, long nodeId, int propertyKeyId, int time, int maxValueLength, Object value) throws EntityNotFoundException;
 //
 //    void nodeSetTemporalProperty( KernelStatement statement, long nodeId, int propertyKeyId, int time, Object value ) throws EntityNotFoundException, PropertyNotFoundException;
@@ -81,6 +81,7 @@ import org.neo4j.kernel.impl.util.diffsets.ReadableRelationshipDiffSets;
 import org.neo4j.kernel.impl.util.diffsets.RelationshipDiffSets;
 import org.neo4j.temporal.TemporalIndexDescriptor;
 import org.neo4j.temporal.TemporalPropertyReadOperation;
+import org.neo4j.temporal.TemporalPropertySeriesWriteOperation;
 import org.neo4j.temporal.TemporalPropertyWriteOperation;
 
 import static org.neo4j.collection.primitive.PrimitiveLongCollections.toPrimitiveIterator;
@@ -311,6 +312,38 @@ public final class TxState implements TransactionState, RelationshipVisitor.Home
         dataChanged();
     }
 
+    @Override
+    public void nodeDoSetTemporalPropertySeries( TemporalPropertySeriesWriteOperation op )
+    {
+        if ( nodeTemporalProperties == null )
+        {
+            nodeTemporalProperties = new MemTable();
+        }
+        addSeries( nodeTemporalProperties, op );
+        dataChanged();
+    }
+
+    @Override
+    public void relationshipDoSetTemporalPropertySeries( TemporalPropertySeriesWriteOperation op )
+    {
+        if ( relTemporalProperties == null )
+        {
+            relTemporalProperties = new MemTable();
+        }
+        addSeries( relTemporalProperties, op );
+        dataChanged();
+    }
+
+    private static void addSeries( MemTable table, TemporalPropertySeriesWriteOperation op )
+    {
+        int last = op.size() - 1;
+        for ( int i = 0; i < last; i++ )
+        {
+            table.addInterval( op.getStartKey( i ), op.getEnd( i ), op.getValueSlice( i ) );
+        }
+        table.addToNow( op.getStartKey( last ), op.getValueSlice( last ) );
+    }
+
     // these are only for nodes, edges are not supported to index.
     private Map<Integer,TemporalValue<Boolean>> minMaxTemporalIndexes = null;
 
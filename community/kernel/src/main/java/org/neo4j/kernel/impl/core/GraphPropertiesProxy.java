@@ -273,11 +273,36 @@ public class GraphPropertiesProxy implements GraphProperties
         throw new UnsupportedOperationException(new TGraphNoImplementationException());
     }
 
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, int[] values ) {
+        throw new UnsupportedOperationException(new TGraphNoImplementationException());
+    }
+
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, long[] values ) {
+        throw new UnsupportedOperationException(new TGraphNoImplementationException());
+    }
+
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, float[] values ) {
+        throw new UnsupportedOperationException(new TGraphNoImplementationException());
+    }
+
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, double[] values ) {
+        throw new UnsupportedOperationException(new TGraphNoImplementationException());
+    }
+
     @Override
     public void removeTemporalProperty(String key) {
         throw new UnsupportedOperationException(new TGraphNoImplementationException());
     }
 
+    @Override
+    public void removeTemporalProperty( String key, TimePoint start, TimePoint end ) {
+        throw new UnsupportedOperationException(new TGraphNoImplementationException());
+    }
+
     @Override
     public boolean equals( Object o )
     {
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.GraphSnapshot;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.kernel.api.ReadOperations;
+import org.neo4j.kernel.api.Statement;
+import org.neo4j.kernel.api.StatementConstants;
+import org.neo4j.temporal.TemporalPointValues;
+import org.neo4j.temporal.TimePoint;
+
+public class GraphSnapshotImpl implements GraphSnapshot
+{
+    /**
+     * Relationship expansions are read in batches of this size. Property values of a batch are read together.
+     */
+    static final int FRONTIER_SIZE = 256;
+
+    private final GraphDatabaseService graphDb;
+    private final ThreadToStatementContextBridge statementContext;
+    private final TimePoint time;
+
+    public GraphSnapshotImpl( GraphDatabaseService graphDb, ThreadToStatementContextBridge statementContext, TimePoint time )
+    {
+        this.graphDb = graphDb;
+        this.statementContext = statementContext;
+        this.time = time;
+    }
+
+    @Override
+    public TimePoint time()
+    {
+        return time;
+    }
+
+    @Override
+    public Node getNodeById( long id )
+    {
+        return snapshotOf( graphDb.getNodeById( id ) );
+    }
+
+    @Override
+    public Relationship getRelationshipById( long id )
+    {
+        return snapshotOf( graphDb.getRelationshipById( id ) );
+    }
+
+    @Override
+    public Node snapshotOf( Node node )
+    {
+        if ( node instanceof SnapshotNode && ((SnapshotNode) node).snapshot() == this )
+        {
+            return node;
+        }
+        Frontier frontier = new Frontier( true, 1 );
+        return new SnapshotNode( this, node, frontier, frontier.add( node.getId() ) );
+    }
+
+    @Override
+    public Relationship snapshotOf( Relationship relationship )
+    {
+        if ( relationship instanceof SnapshotRelationship && ((SnapshotRelationship) relationship).snapshot() == this )
+        {
+            return relationship;
+        }
+        Frontier frontier = new Frontier( false, 1 );
+        return new SnapshotRelationship( this, relationship, frontier, frontier.add( relationship.getId() ), null, null );
+    }
+
+    @Override
+    public GraphDatabaseService getGraphDatabase()
+    {
+        return graphDb;
+    }
+
+    /**
+     * Wraps the relationships of {@code from} in batches of {@link #FRONTIER_SIZE}, the relationships of a batch
+     * share one frontier and so do the nodes at their other ends.
+     */
+    Iterable<Relationship> expand( final SnapshotNode from, final Iterable<Relationship> relationships )
+    {
+        return new Iterable<Relationship>()
+        {
+            @Override
+            public Iterator<Relationship> iterator()
+            {
+                return new FrontierIterator( from, relationships.iterator() );
+            }
+        };
+    }
+
+    Relationship expandSingle( SnapshotNode from, Relationship relationship )
+    {
+        if ( relationship == null )
+        {
+            return null;
+        }
+        Frontier relationships = new Frontier( false, 1 );
+        Frontier nodes = new Frontier( true, 1 );
+        Node other = relationship.getOtherNode( from.actual() );
+        return new SnapshotRelationship( this, relationship, relationships, relationships.add( relationship.getId() ),
+                from, new SnapshotNode( this, other, nodes, nodes.add( other.getId() ) ) );
+    }
+
+    private TemporalPointValues read( boolean nodes, long[] ids, String key )
+    {
+        try ( Statement statement = statementContext.get() )
+        {
+            ReadOperations read = statement.readOperations();
+            int propertyKeyId = read.propertyKeyGetForName( key );
+            if ( propertyKeyId == StatementConstants.NO_SUCH_PROPERTY_KEY )
+            {
+                return new TemporalPointValues( ids.length, null );
+            }
+            return nodes ? read.nodeGetTemporalPropertyPoints( ids, propertyKeyId, time )
+                         : read.relationshipGetTemporalPropertyPoints( ids, propertyKeyId, time );
+        }
+    }
+
+    /**
+     * Entities which had been reached together, their property values are read together per key.
+     */
+    final class Frontier
+    {
+        private final boolean nodes;
+        private final long[] ids;
+        private int size;
+        private final Map<String,TemporalPointValues> values = new HashMap<>( 4 );
+
+        Frontier( boolean nodes, int capacity )
+        {
+            this.nodes = nodes;
+            this.ids = new long[capacity];
+        }
+
+        int add( long id )
+        {
+            ids[size] = id;
+            return size++;
+        }
+
+        /**
+         * @return the value of property {@code key} of the entity at {@code index}, null if it has none.
+         */
+        Object value( String key, int index )
+        {
+            TemporalPointValues read = values.get( key );
+            if ( read == null )
+            {
+                read = read( nodes, size == ids.length ? ids : Arrays.copyOf( ids, size ), key );
+                values.put( key, read );
+            }
+            return read.value( index );
+        }
+    }
+
+    private class FrontierIterator implements Iterator<Relationship>
+    {
+        private final SnapshotNode from;
+        private final Iterator<Relationship> source;
+        private final Relationship[] batch = new Relationship[FRONTIER_SIZE];
+        private int size;
+        private int position;
+
+        FrontierIterator( SnapshotNode from, Iterator<Relationship> source )
+        {
+            this.from = from;
+            this.source = source;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if ( position < size )
+            {
+                return true;
+            }
+            fill();
+            return size > 0;
+        }
+
+        @Override
+        public Relationship next()
+        {
+            if ( !hasNext() )
+            {
+                throw new NoSuchElementException();
+            }
+            Relationship next = batch[position];
+            batch[position++] = null;
+            return next;
+        }
+
+        private void fill()
+        {
+            size = 0;
+            position = 0;
+            if ( !source.hasNext() )
+            {
+                return;
+            }
+            Frontier relationships = new Frontier( false, FRONTIER_SIZE );
+            Frontier nodes = new Frontier( true, FRONTIER_SIZE );
+            while ( size < FRONTIER_SIZE && source.hasNext() )
+            {
+                Relationship relationship = source.next();
+                Node other = relationship.getOtherNode( from.actual() );
+                SnapshotNode otherNode = other.getId() == from.getId()
+                                         ? from
+                                         : new SnapshotNode( GraphSnapshotImpl.this, other, nodes, nodes.add( other.getId() ) );
+                batch[size++] = new SnapshotRelationship( GraphSnapshotImpl.this, relationship, relationships,
+                        relationships.add( relationship.getId() ), from, otherNode );
+            }
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
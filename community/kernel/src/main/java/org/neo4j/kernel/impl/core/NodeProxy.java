@@ -64,6 +64,7 @@ import org.neo4j.kernel.api.properties.Property;
 import org.neo4j.kernel.impl.api.operations.KeyReadOperations;
 import org.neo4j.kernel.impl.traversal.OldTraverserWrapper;
 import org.neo4j.temporal.TemporalPropertyReadOperation;
+import org.neo4j.temporal.TemporalPropertySeriesWriteOperation;
 import org.neo4j.temporal.TemporalPropertyWriteOperation;
 
 import org.act.temporalProperty.exception.TPSNHException;
@@ -581,15 +582,80 @@ public class NodeProxy extends PropertyContainerProxy implements Node
         }
     }
 
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, int[] values )
+    {
+        setTemporalPropertySeries( key, times, (Object) values );
+    }
+
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, long[] values )
+    {
+        setTemporalPropertySeries( key, times, (Object) values );
+    }
+
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, float[] values )
+    {
+        setTemporalPropertySeries( key, times, (Object) values );
+    }
+
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, double[] values )
+    {
+        setTemporalPropertySeries( key, times, (Object) values );
+    }
+
+    private void setTemporalPropertySeries( String key, long[] times, Object values )
+    {
+        try ( Statement statement = actions.statement() )
+        {
+            int propertyKeyId = statement.tokenWriteOperations().propertyKeyGetOrCreateForName( key );
+            try
+            {
+                TemporalPropertySeriesWriteOperation op = TemporalPropertySeriesWriteOperation.of( nodeId, propertyKeyId, times, values );
+                statement.dataWriteOperations().nodeSetTemporalPropertySeries( op );
+            }
+            catch ( ConstraintValidationKernelException e )
+            {
+                throw new ConstraintViolationException( e.getUserMessage( new StatementTokenNameLookup( statement.readOperations() ) ), e );
+            }
+            catch ( IllegalArgumentException e )
+            {
+                // Trying to set an illegal value is a critical error - fail this transaction
+                actions.failTransaction();
+                throw e;
+            }
+        }
+        catch ( EntityNotFoundException e )
+        {
+            throw new NotFoundException( e );
+        }
+        catch ( IllegalTokenNameException e )
+        {
+            throw new IllegalArgumentException( format( "Invalid property key '%s'.", key ), e );
+        }
+        catch ( InvalidTransactionTypeKernelException e )
+        {
+            throw new ConstraintViolationException( e.getMessage(), e );
+        }
+    }
+
     @Override
     public void removeTemporalProperty( String key )
+    {
+        removeTemporalProperty( key, TimePoint.INIT, TimePoint.NOW );
+    }
+
+    @Override
+    public void removeTemporalProperty( String key, TimePoint start, TimePoint end )
     {
         try ( Statement statement = actions.statement() )
         {
             int propertyKeyId = statement.tokenWriteOperations().propertyKeyGetOrCreateForName( key );
             try
             {
-                TemporalPropertyWriteOperation tpOp = new TemporalPropertyWriteOperation( nodeId, propertyKeyId, TimePoint.INIT, TimePoint.NOW, null );
+                TemporalPropertyWriteOperation tpOp = new TemporalPropertyWriteOperation( nodeId, propertyKeyId, start, end, null );
                 statement.dataWriteOperations().nodeSetTemporalProperty( tpOp );
             }
             catch ( ConstraintValidationKernelException e )
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.core;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.ReturnableEvaluator;
+import org.neo4j.graphdb.StopEvaluator;
+import org.neo4j.graphdb.Traverser;
+import org.neo4j.graphdb.Traverser.Order;
+import org.neo4j.kernel.impl.traversal.OldTraverserWrapper;
+
+/**
+ * A node as seen by a {@link GraphSnapshotImpl}. Relationships reached from it belong to the same snapshot.
+ */
+class SnapshotNode extends SnapshotPropertyContainer implements Node
+{
+    private final Node node;
+
+    SnapshotNode( GraphSnapshotImpl snapshot, Node node, GraphSnapshotImpl.Frontier frontier, int index )
+    {
+        super( snapshot, frontier, index );
+        this.node = node;
+    }
+
+    @Override
+    Node actual()
+    {
+        return node;
+    }
+
+    @Override
+    public long getId()
+    {
+        return node.getId();
+    }
+
+    @Override
+    public void delete()
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public Iterable<Relationship> getRelationships()
+    {
+        return snapshot.expand( this, node.getRelationships() );
+    }
+
+    @Override
+    public Iterable<Relationship> getRelationships( RelationshipType... types )
+    {
+        return snapshot.expand( this, node.getRelationships( types ) );
+    }
+
+    @Override
+    public Iterable<Relationship> getRelationships( Direction direction, RelationshipType... types )
+    {
+        return snapshot.expand( this, node.getRelationships( direction, types ) );
+    }
+
+    @Override
+    public Iterable<Relationship> getRelationships( Direction dir )
+    {
+        return snapshot.expand( this, node.getRelationships( dir ) );
+    }
+
+    @Override
+    public Iterable<Relationship> getRelationships( RelationshipType type, Direction dir )
+    {
+        return snapshot.expand( this, node.getRelationships( type, dir ) );
+    }
+
+    @Override
+    public boolean hasRelationship()
+    {
+        return node.hasRelationship();
+    }
+
+    @Override
+    public boolean hasRelationship( RelationshipType... types )
+    {
+        return node.hasRelationship( types );
+    }
+
+    @Override
+    public boolean hasRelationship( Direction direction, RelationshipType... types )
+    {
+        return node.hasRelationship( direction, types );
+    }
+
+    @Override
+    public boolean hasRelationship( Direction dir )
+    {
+        return node.hasRelationship( dir );
+    }
+
+    @Override
+    public boolean hasRelationship( RelationshipType type, Direction dir )
+    {
+        return node.hasRelationship( type, dir );
+    }
+
+    @Override
+    public Relationship getSingleRelationship( RelationshipType type, Direction dir )
+    {
+        return snapshot.expandSingle( this, node.getSingleRelationship( type, dir ) );
+    }
+
+    @Override
+    public Relationship createRelationshipTo( Node otherNode, RelationshipType type )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public Iterable<RelationshipType> getRelationshipTypes()
+    {
+        return node.getRelationshipTypes();
+    }
+
+    @Override
+    public int getDegree()
+    {
+        return node.getDegree();
+    }
+
+    @Override
+    public int getDegree( RelationshipType type )
+    {
+        return node.getDegree( type );
+    }
+
+    @Override
+    public int getDegree( Direction direction )
+    {
+        return node.getDegree( direction );
+    }
+
+    @Override
+    public int getDegree( RelationshipType type, Direction direction )
+    {
+        return node.getDegree( type, direction );
+    }
+
+    @Override
+    public Traverser traverse( Order traversalOrder, StopEvaluator stopEvaluator, ReturnableEvaluator returnableEvaluator,
+            RelationshipType relationshipType, Direction direction )
+    {
+        return OldTraverserWrapper.traverse( this, traversalOrder, stopEvaluator, returnableEvaluator, relationshipType, direction );
+    }
+
+    @Override
+    public Traverser traverse( Order traversalOrder, StopEvaluator stopEvaluator, ReturnableEvaluator returnableEvaluator,
+            RelationshipType firstRelationshipType, Direction firstDirection, RelationshipType secondRelationshipType,
+            Direction secondDirection )
+    {
+        return OldTraverserWrapper.traverse( this, traversalOrder, stopEvaluator, returnableEvaluator, firstRelationshipType,
+                firstDirection, secondRelationshipType, secondDirection );
+    }
+
+    @Override
+    public Traverser traverse( Order traversalOrder, StopEvaluator stopEvaluator, ReturnableEvaluator returnableEvaluator,
+            Object... relationshipTypesAndDirections )
+    {
+        return OldTraverserWrapper.traverse( this, traversalOrder, stopEvaluator, returnableEvaluator, relationshipTypesAndDirections );
+    }
+
+    @Override
+    public void addLabel( Label label )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeLabel( Label label )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean hasLabel( Label label )
+    {
+        return node.hasLabel( label );
+    }
+
+    @Override
+    public Iterable<Label> getLabels()
+    {
+        return node.getLabels();
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        return o instanceof Node && getId() == ((Node) o).getId();
+    }
+
+    @Override
+    public int hashCode()
+    {
+        long id = getId();
+        return (int) ((id >>> 32) ^ id);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Node[" + getId() + "]@" + snapshot.time().val();
+    }
+}
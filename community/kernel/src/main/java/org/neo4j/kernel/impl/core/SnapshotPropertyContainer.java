@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.act.temporalProperty.query.aggr.AggregationIndexQueryResult;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.temporal.TemporalRangeQuery;
+import org.neo4j.temporal.TimePoint;
+
+/**
+ * Property reads of a node or relationship of a {@link GraphSnapshotImpl}, answered by the frontier it was reached
+ * with. Temporal reads go to the underlying entity, writes are not supported.
+ */
+abstract class SnapshotPropertyContainer implements PropertyContainer
+{
+    protected final GraphSnapshotImpl snapshot;
+    private final GraphSnapshotImpl.Frontier frontier;
+    private final int index;
+
+    SnapshotPropertyContainer( GraphSnapshotImpl snapshot, GraphSnapshotImpl.Frontier frontier, int index )
+    {
+        this.snapshot = snapshot;
+        this.frontier = frontier;
+        this.index = index;
+    }
+
+    abstract PropertyContainer actual();
+
+    GraphSnapshotImpl snapshot()
+    {
+        return snapshot;
+    }
+
+    @Override
+    public GraphDatabaseService getGraphDatabase()
+    {
+        return snapshot.getGraphDatabase();
+    }
+
+    @Override
+    public boolean hasProperty( String key )
+    {
+        return key != null && frontier.value( key, index ) != null;
+    }
+
+    @Override
+    public Object getProperty( String key )
+    {
+        if ( key == null )
+        {
+            throw new IllegalArgumentException( "(null) property key is not allowed" );
+        }
+        Object value = frontier.value( key, index );
+        if ( value == null )
+        {
+            throw new NotFoundException( String.format( "No such property, '%s' at time %d.", key, snapshot.time().val() ) );
+        }
+        return value;
+    }
+
+    @Override
+    public Object getProperty( String key, Object defaultValue )
+    {
+        if ( key == null )
+        {
+            throw new IllegalArgumentException( "(null) property key is not allowed" );
+        }
+        Object value = frontier.value( key, index );
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public Iterable<String> getPropertyKeys()
+    {
+        List<String> keys = new ArrayList<>();
+        for ( String key : actual().getPropertyKeys() )
+        {
+            if ( frontier.value( key, index ) != null )
+            {
+                keys.add( key );
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public Map<String,Object> getProperties( String... keys )
+    {
+        Map<String,Object> properties = new HashMap<>();
+        for ( String key : keys )
+        {
+            Object value = frontier.value( key, index );
+            if ( value != null )
+            {
+                properties.put( key, value );
+            }
+        }
+        return properties;
+    }
+
+    @Override
+    public Map<String,Object> getAllProperties()
+    {
+        Map<String,Object> properties = new HashMap<>();
+        for ( String key : actual().getPropertyKeys() )
+        {
+            Object value = frontier.value( key, index );
+            if ( value != null )
+            {
+                properties.put( key, value );
+            }
+        }
+        return properties;
+    }
+
+    @Override
+    public Object getTemporalProperty( String key, TimePoint time )
+    {
+        return actual().getTemporalProperty( key, time );
+    }
+
+    @Override
+    public Object getTemporalProperty( String key, TimePoint startTime, TimePoint endTime, TemporalRangeQuery callBack )
+    {
+        return actual().getTemporalProperty( key, startTime, endTime, callBack );
+    }
+
+    @Override
+    public AggregationIndexQueryResult getTemporalPropertyWithIndex( String key, TimePoint start, TimePoint end, long indexId )
+    {
+        return actual().getTemporalPropertyWithIndex( key, start, end, indexId );
+    }
+
+    @Override
+    public void setProperty( String key, Object value )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public Object removeProperty( String key )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void setTemporalProperty( String key, TimePoint time, Object value )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void setTemporalProperty( String key, TimePoint start, TimePoint end, Object value )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, int[] values )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, long[] values )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, float[] values )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void setTemporalPropertySeries( String key, long[] times, double[] values )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeTemporalProperty( String key )
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeTemporalProperty( String key, TimePoint start, TimePoint end )
+    {
+        throw readOnly();
+    }
+
+    static UnsupportedOperationException readOnly()
+    {
+        return new UnsupportedOperationException( "Graph snapshots are read only" );
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.core;
+
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+
+/**
+ * A relationship as seen by a {@link GraphSnapshotImpl}. When it was reached by expanding a node, its nodes are
+ * that node and the node at the other end, which shares its frontier with the other nodes of the same expansion.
+ */
+class SnapshotRelationship extends SnapshotPropertyContainer implements Relationship
+{
+    private final Relationship relationship;
+    private final SnapshotNode from;
+    private final SnapshotNode other;
+
+    SnapshotRelationship( GraphSnapshotImpl snapshot, Relationship relationship, GraphSnapshotImpl.Frontier frontier,
+            int index, SnapshotNode from, SnapshotNode other )
+    {
+        super( snapshot, frontier, index );
+        this.relationship = relationship;
+        this.from = from;
+        this.other = other;
+    }
+
+    @Override
+    Relationship actual()
+    {
+        return relationship;
+    }
+
+    @Override
+    public long getId()
+    {
+        return relationship.getId();
+    }
+
+    @Override
+    public void delete()
+    {
+        throw readOnly();
+    }
+
+    @Override
+    public Node getStartNode()
+    {
+        return node( relationship.getStartNode() );
+    }
+
+    @Override
+    public Node getEndNode()
+    {
+        return node( relationship.getEndNode() );
+    }
+
+    @Override
+    public Node getOtherNode( Node node )
+    {
+        return node( relationship.getOtherNode( node ) );
+    }
+
+    @Override
+    public Node[] getNodes()
+    {
+        return new Node[]{getStartNode(), getEndNode()};
+    }
+
+    @Override
+    public RelationshipType getType()
+    {
+        return relationship.getType();
+    }
+
+    @Override
+    public boolean isType( RelationshipType type )
+    {
+        return relationship.isType( type );
+    }
+
+    private Node node( Node node )
+    {
+        if ( node == null )
+        {
+            throw new NotFoundException( "Node of " + this + " not found" );
+        }
+        if ( from != null && node.getId() == from.getId() )
+        {
+            return from;
+        }
+        if ( other != null && node.getId() == other.getId() )
+        {
+            return other;
+        }
+        return snapshot.snapshotOf( node );
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        return o instanceof Relationship && getId() == ((Relationship) o).getId();
+    }
+
+    @Override
+    public int hashCode()
+    {
+        long id = getId();
+        return (int) ((id >>> 32) ^ id);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Relationship[" + getId() + "]@" + snapshot.time().val();
+    }
+}
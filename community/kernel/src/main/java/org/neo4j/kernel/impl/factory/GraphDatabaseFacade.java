@@ -30,6 +30,7 @@ import org.neo4j.function.LongFunction;
 import org.neo4j.function.Supplier;
 import org.neo4j.graphdb.ConstraintViolationException;
 import org.neo4j.graphdb.DependencyResolver;
+import org.neo4j.graphdb.GraphSnapshot;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.MultipleFoundException;
 import org.neo4j.graphdb.Node;
@@ -54,6 +55,7 @@ import org.neo4j.kernel.AvailabilityGuard;
 import org.neo4j.kernel.GraphDatabaseAPI;
 import org.neo4j.kernel.IdType;
 import org.neo4j.kernel.KernelEventHandlers;
+import org.neo4j.kernel.NeoStoreDataSource;
 import org.neo4j.kernel.PlaceboTransaction;
 import org.neo4j.kernel.TopLevelTransaction;
 import org.neo4j.kernel.TransactionEventHandlers;
@@ -72,12 +74,14 @@ import org.neo4j.kernel.api.index.IndexDescriptor;
 import org.neo4j.kernel.api.index.InternalIndexState;
 import org.neo4j.kernel.api.properties.Property;
 import org.neo4j.kernel.impl.api.operations.KeyReadOperations;
+import org.neo4j.kernel.impl.core.GraphSnapshotImpl;
 import org.neo4j.kernel.impl.core.NodeManager;
 import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
 import org.neo4j.kernel.impl.query.QueryEngineProvider;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
 import org.neo4j.kernel.impl.query.QueryExecutionKernelException;
 import org.neo4j.kernel.impl.store.StoreId;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
 import org.neo4j.kernel.impl.traversal.BidirectionalTraversalDescriptionImpl;
 import org.neo4j.kernel.impl.traversal.MonoDirectionalTraversalDescription;
 import org.neo4j.kernel.lifecycle.LifeSupport;
@@ -85,6 +89,7 @@ import org.neo4j.kernel.lifecycle.LifecycleException;
 import org.neo4j.kernel.security.URLAccessValidationError;
 import org.neo4j.logging.Log;
 import org.neo4j.temporal.TemporalIndexManager;
+import org.neo4j.temporal.TimePoint;
 import org.neo4j.tooling.GlobalGraphOperations;
 
 import static java.lang.String.format;
@@ -124,6 +129,7 @@ public class GraphDatabaseFacade
     private long transactionStartTimeout;
     private DependencyResolver dependencies;
     private Supplier<StoreId> storeId;
+    private TemporalIndexManager temporalIndexManager;
     protected File storeDir;
 
     public PlatformModule platformModule;
@@ -162,6 +168,16 @@ public class GraphDatabaseFacade
         this.dependencies = platformModule.dependencies;
         this.storeId = dataSourceModule.storeId;
         this.storeDir = platformModule.storeDir;
+        final NeoStoreDataSource neoStoreDataSource = dataSourceModule.neoStoreDataSource;
+        this.temporalIndexManager = new TemporalIndexManager( threadToTransactionBridge,
+                new Supplier<TemporalPropertyStoreAdapter>()
+                {
+                    @Override
+                    public TemporalPropertyStoreAdapter get()
+                    {
+                        return neoStoreDataSource.getTemporalPropertyStore();
+                    }
+                } );
 
         initialized = true;
     }
@@ -542,7 +558,13 @@ public class GraphDatabaseFacade
 
     @Override
     public TemporalIndexManager temporalIndex() {
-        return TemporalIndexManager.getInstance(threadToTransactionBridge);
+        return temporalIndexManager;
+    }
+
+    @Override
+    public GraphSnapshot snapshotAt( TimePoint time )
+    {
+        return new GraphSnapshotImpl( this, threadToTransactionBridge, time );
     }
 
 //    @Override
@@ -77,14 +77,6 @@ public interface Locks extends Lifecycle
 
     interface Client extends AutoCloseable
     {
-        void acquireTemporalPropShared( ResourceType resourceType, long entityId, int propertyKeyId, int start, int end ) throws AcquireLockTimeoutException;
-
-        void acquireTemporalPropExclusive( ResourceType resourceType, long entityId, int propertyKeyId, int time ) throws AcquireLockTimeoutException;
-
-        void releaseTemporalPropShared( ResourceType resourceType, long entityId, int propertyKeyId, int start, int end ) throws AcquireLockTimeoutException;
-
-        void releaseTemporalPropExclusive( ResourceType resourceType, long entityId, int propertyKeyId, int time ) throws AcquireLockTimeoutException;
-
         /**
          * Can be grabbed when there are no locks or only share locks on a resource. If the lock cannot be acquired,
          * behavior is specified by the {@link WaitStrategy} for the given {@link ResourceType}.
@@ -47,7 +47,10 @@ public enum ResourceTypes implements Locks.ResourceType
      */
     PROCEDURE   (6, LockWaitStrategies.INCREMENTAL_BACKOFF),
 
-
+    /**
+     * Temporal property locks are taken per (entity, property key), see {@link #temporalPropertyResourceId(long, int)},
+     * so that writers of different temporal properties of the same entity do not block each other.
+     */
     NODE_TEMPORAL_PROP(7, LockWaitStrategies.INCREMENTAL_BACKOFF),
     REL_TEMPORAL_PROP(8, LockWaitStrategies.INCREMENTAL_BACKOFF)
     ;
@@ -111,6 +114,14 @@ public enum ResourceTypes implements Locks.ResourceType
         // concern.
     }
 
+    /**
+     * Entity ids fit in 40 bits and property key ids in 24 bits, so this is unique for all ids the store supports.
+     */
+    public static long temporalPropertyResourceId( long entityId, int propertyKeyId )
+    {
+        return entityId << 24 | (propertyKeyId & 0xFFFFFF);
+    }
+
     public static long procedureResourceId( ProcedureName procedureName )
     {
         return procedureName.name().hashCode();
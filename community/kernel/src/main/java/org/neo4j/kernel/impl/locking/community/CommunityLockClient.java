@@ -59,111 +59,6 @@ public class CommunityLockClient implements Locks.Client
         this.manager = manager;
     }
 
-    @Override
-    public void acquireTemporalPropShared(Locks.ResourceType resourceType, long entityId, int propertyKeyId, int start, int end) throws AcquireLockTimeoutException {
-        stateHolder.incrementActiveClients( this );
-        try
-        {
-            LockResourceId id =  new LockResourceId.TemporalProp( entityId, propertyKeyId );
-            Map<LockResourceId, LockResource> localLocks = localShared( resourceType );
-            LockResource resource = localLocks.get( id );
-            if( resource != null )
-            {
-                resource.acquireReference();
-            }else
-            {
-                resource = new LockResource(resourceType, id);
-                if ( manager.getTemporalPropReadLock(resource, lockTransaction, start, end) )
-                {
-                    localLocks.put(id, resource);
-                }
-                else
-                {
-                    throw new LockClientStoppedException( this );
-                }
-            }
-        }
-        finally
-        {
-            stateHolder.decrementActiveClients();
-        }
-    }
-
-    @Override
-    public void acquireTemporalPropExclusive(Locks.ResourceType resourceType, long entityId, int propertyKeyId, int time) throws AcquireLockTimeoutException {
-        stateHolder.incrementActiveClients( this );
-        try
-        {
-            LockResourceId id =  new LockResourceId.TemporalProp( entityId, propertyKeyId );
-            Map<LockResourceId, LockResource> localLocks = localShared( resourceType );
-            LockResource resource = localLocks.get( id );
-            if( resource != null )
-            {
-                resource.acquireReference();
-            }else
-            {
-                resource = new LockResource(resourceType, id);
-                if ( manager.getTemporalPropWriteLock(resource, lockTransaction, time) )
-                {
-                    localLocks.put(id, resource);
-                }
-                else
-                {
-                    throw new LockClientStoppedException( this );
-                }
-            }
-        }
-        finally
-        {
-            stateHolder.decrementActiveClients();
-        }
-    }
-
-    @Override
-    public void releaseTemporalPropShared(Locks.ResourceType resourceType, long entityId, int propertyKeyId, int start, int end) throws AcquireLockTimeoutException {
-        stateHolder.incrementActiveClients( this );
-        try
-        {
-            LockResourceId.TemporalProp resId = new LockResourceId.TemporalProp(entityId, propertyKeyId);
-            Map<LockResourceId, LockResource> localLocks = localShared( resourceType );
-            LockResource resource = localLocks.get( resId );
-            if ( resource.releaseReference() != 0 )
-            {
-                return;
-            }
-
-            localLocks.remove( resId );
-
-            manager.releaseTemporalPropReadLock( new LockResource( resourceType, resId ), lockTransaction, start, end );
-        }
-        finally
-        {
-            stateHolder.decrementActiveClients();
-        }
-    }
-
-    @Override
-    public void releaseTemporalPropExclusive(Locks.ResourceType resourceType, long entityId, int propertyKeyId, int time) throws AcquireLockTimeoutException {
-        stateHolder.incrementActiveClients( this );
-        try
-        {
-            LockResourceId.TemporalProp resId = new LockResourceId.TemporalProp(entityId,propertyKeyId);
-            Map<LockResourceId, LockResource> localLocks = localExclusive( resourceType );
-            LockResource resource = localLocks.get( resId );
-            if ( resource.releaseReference() != 0 )
-            {
-                return;
-            }
-            localLocks.remove( resId );
-
-            manager.releaseTemporalPropWriteLock( new LockResource( resourceType, resId ), lockTransaction, time);
-        }
-        finally
-        {
-            stateHolder.decrementActiveClients();
-        }
-    }
-
     @Override
     public void acquireShared( Locks.ResourceType resourceType, long... resourceIds )
     {
@@ -431,23 +326,11 @@ public class CommunityLockClient implements Locks.Client
         @Override
         public boolean visited( int key, Map<LockResourceId, LockResource> value ) throws RuntimeException
         {
-            if( key == ResourceTypes.NODE_TEMPORAL_PROP.typeId() ||
-                    key == ResourceTypes.REL_TEMPORAL_PROP.typeId())
+            for(Map.Entry<LockResourceId,LockResource> entry : value.entrySet() )
             {
-                for(Map.Entry<LockResourceId,LockResource> entry : value.entrySet() )
-                {
-                    manager.releaseAllTemporalPropReadLock( entry.getValue(), lockTransaction );
-                }
-                return false;
-            }
-            else
-            {
-                for(Map.Entry<LockResourceId,LockResource> entry : value.entrySet() )
-                {
-                    manager.releaseReadLock( entry.getValue(), lockTransaction );
-                }
-                return false;
+                manager.releaseReadLock( entry.getValue(), lockTransaction );
             }
+            return false;
         }
     };
 
@@ -457,23 +340,11 @@ public class CommunityLockClient implements Locks.Client
         @Override
         public boolean visited( int key, Map<LockResourceId, LockResource> value ) throws RuntimeException
         {
-            if( key == ResourceTypes.NODE_TEMPORAL_PROP.typeId() ||
-                    key == ResourceTypes.REL_TEMPORAL_PROP.typeId())
-            {
-                for(Map.Entry<LockResourceId,LockResource> entry : value.entrySet() )
-                {
-                    manager.releaseAllTemporalPropWriteLock( entry.getValue(), lockTransaction );
-                }
-                return false;
-            }
-            else
+            for(Map.Entry<LockResourceId,LockResource> entry : value.entrySet() )
             {
-                for(Map.Entry<LockResourceId,LockResource> entry : value.entrySet() )
-                {
-                    manager.releaseWriteLock( entry.getValue(), lockTransaction );
-                }
-                return false;
+                manager.releaseWriteLock( entry.getValue(), lockTransaction );
             }
+            return false;
         }
     };
 
@@ -25,7 +25,6 @@ import java.util.Map;
 import org.neo4j.function.Consumer;
 import org.neo4j.helpers.collection.Visitor;
 import org.neo4j.kernel.DeadlockDetectedException;
-import org.neo4j.kernel.impl.locking.ResourceTypes;
 import org.neo4j.kernel.impl.transaction.IllegalResourceException;
 import org.neo4j.logging.Logger;
 
@@ -168,14 +167,7 @@ public class LockManagerImpl
     // visible for testing
     protected RWLock createLock( Object resource )
     {
-        LockResource re = (LockResource)resource;
-        if( re.type().equals( ResourceTypes.NODE_TEMPORAL_PROP) )
-        {
-            return new TemporalRWLock(resource, ragManager);
-        }else
-        {
-            return new Neo4jRWLock(resource, ragManager);
-        }
+        return new Neo4jRWLock( resource, ragManager );
     }
 
     private RWLock getRWLockForReleasing( Object resource, Object tx, int readCountPrerequisite,
@@ -209,34 +201,4 @@ public class LockManagerImpl
             return lock;
         }
     }
-
-    public void releaseTemporalPropWriteLock(LockResource resource, LockTransaction lockTransaction, int time)
-    {
-        getRWLockForReleasing( resource, lockTransaction, 0, 1, true ).releaseTemporalWriteLock( lockTransaction, time );
-    }
-
-    public void releaseTemporalPropReadLock(LockResource resource, LockTransaction lockTransaction, int start, int end)
-    {
-        getRWLockForReleasing( resource, lockTransaction, 1, 0, true ).releaseTemporalReadLock( lockTransaction, start, end );
-    }
-
-    public boolean getTemporalPropWriteLock(LockResource resource, LockTransaction tx, int time)
-    {
-        return unusedResourceGuard(resource, tx, getRWLockForAcquiring( resource, tx ).acquireTemporalWriteLock( tx , time) );
-    }
-
-    public boolean getTemporalPropReadLock(LockResource resource, LockTransaction tx, int start, int end)
-    {
-        return unusedResourceGuard( resource, tx, getRWLockForAcquiring( resource, tx ).acquireTemporalReadLock( tx, start, end ) );
-    }
-
-    public void releaseAllTemporalPropReadLock(LockResource value, LockTransaction lockTransaction)
-    {
-
-    }
-
-    public void releaseAllTemporalPropWriteLock(LockResource value, LockTransaction lockTransaction)
-    {
-
-    }
 }
@@ -62,16 +62,6 @@ import static org.neo4j.kernel.impl.locking.LockType.WRITE;
  */
 class RWLock
 {
-    public void releaseTemporalReadLock(Object tx){}
-    public void releaseTemporalWriteLock( Object tx ){}
-    public void releaseTemporalReadLock(Object tx, int start, int end){}
-    public void releaseTemporalWriteLock(Object tx, int time){}
-    public boolean tryAcquireTemporalReadLock(Object tx, int start, int end){return false;}
-    public boolean tryAcquireTemporalWriteLock(Object tx, int time){return false;}
-    public boolean acquireTemporalWriteLock(Object tx, int time){return false;}
-    public boolean acquireTemporalReadLock(Object tx, int start, int end){return false;}
-
-
     public Object resource()
     {
         return null;
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
+
+/**
+ * Keeps track of what of one temporal property store is durable: the id of the last transaction whose changes have
+ * all been flushed, kept in a file next to the store, and whether anything has been written since the last flush.
+ * <p>
+ * The transaction id to record is read by the caller before flushing, from the last closed transaction, so every
+ * transaction up to it has been applied to the store already.
+ */
+class TemporalFlushState
+{
+    static final String FILE_NAME = "last_flushed_tx";
+    static final long UNKNOWN = -1;
+
+    private final File file;
+    private final TemporalPropertySummary summary;
+    private final AtomicLong changes = new AtomicLong();
+    private long flushedChanges;
+    private volatile long lastFlushedTransactionId = UNKNOWN;
+
+    TemporalFlushState( File storeDir, TemporalPropertySummary summary )
+    {
+        this.file = new File( storeDir, FILE_NAME );
+        this.summary = summary;
+    }
+
+    void load() throws IOException
+    {
+        changes.set( 0 );
+        flushedChanges = 0;
+        lastFlushedTransactionId = UNKNOWN;
+        if ( file.exists() )
+        {
+            try ( DataInputStream in = new DataInputStream( new FileInputStream( file ) ) )
+            {
+                lastFlushedTransactionId = in.readLong();
+            }
+        }
+    }
+
+    void changed()
+    {
+        changes.incrementAndGet();
+    }
+
+    boolean isDirty()
+    {
+        return changes.get() != flushedChanges;
+    }
+
+    long lastFlushedTransactionId()
+    {
+        return lastFlushedTransactionId;
+    }
+
+    /**
+     * Called on start for a store which existed before. Stores of versions which did not record flushes have no
+     * file, for those the first transaction is recorded: the store is there, and recovery applies all transactions
+     * after the first one to it again.
+     */
+    synchronized void existing() throws IOException
+    {
+        if ( lastFlushedTransactionId == UNKNOWN )
+        {
+            record( TransactionIdStore.BASE_TX_ID );
+        }
+    }
+
+    /**
+     * Flushes {@code store} if it has been written to since the last flush, and its summary, and records
+     * {@code upToTransactionId} as durable.
+     *
+     * @return true if the store had to be flushed.
+     */
+    synchronized boolean flush( TemporalPropertyStore store, long upToTransactionId ) throws IOException
+    {
+        long changesBefore = changes.get();
+        boolean dirty = changesBefore != flushedChanges;
+        if ( dirty )
+        {
+            store.flushMemTable2Disk();
+            store.flushMetaInfo2Disk();
+            flushedChanges = changesBefore;
+        }
+        summary.flush();
+        if ( upToTransactionId > lastFlushedTransactionId )
+        {
+            record( upToTransactionId );
+        }
+        return dirty;
+    }
+
+    private void record( long transactionId ) throws IOException
+    {
+        File temp = new File( file.getPath() + ".tmp" );
+        try ( FileOutputStream out = new FileOutputStream( temp ) )
+        {
+            out.getChannel().write( (ByteBuffer) ByteBuffer.allocate( 8 ).putLong( transactionId ).flip() );
+            out.getFD().sync();
+        }
+        Files.move( temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+        lastFlushedTransactionId = transactionId;
+    }
+}
@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.index.IndexType;
+import org.act.temporalProperty.index.value.IndexMetaData;
+import org.act.temporalProperty.query.aggr.ValueGroupingMap;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.neo4j.kernel.api.index.InternalIndexState;
+import org.neo4j.logging.Log;
+import org.neo4j.temporal.TemporalIndexPopulation;
+import org.neo4j.temporal.TimePoint;
+
+/**
+ * Populates the temporal indexes of one temporal property store in the background, the way
+ * {@link org.neo4j.kernel.impl.api.index.IndexPopulationJob} does for schema indexes. Asking for an index returns
+ * right away with a {@link TemporalIndexPopulation} to follow its state, the store builds it on a population thread.
+ * <p>
+ * Populations and their states are kept in a file next to the store, so they survive restarts: an index still
+ * populating when the database stopped is populated again once {@link #start()} is called, unless the store turns
+ * out to have finished it. The value groups of a duration index are kept in a file of their own until it is online,
+ * so its population resumes as well.
+ * <p>
+ * Like schema index populations, populations are started by
+ * {@link org.neo4j.kernel.impl.api.index.IndexingService} after recovery, and stopped by it. Populations asked for
+ * before that wait for {@link #start()}.
+ * <p>
+ * The store builds an index over all entities in one call, so populations are parallel to each other rather than
+ * split by entity range.
+ */
+public class TemporalIndexPopulator
+{
+    public interface Monitor
+    {
+        void populationStarted( TemporalIndexPopulation population );
+
+        void populationCompleted( TemporalIndexPopulation population );
+    }
+
+    public static final Monitor NO_MONITOR = new Monitor()
+    {
+        @Override
+        public void populationStarted( TemporalIndexPopulation population )
+        {
+        }
+
+        @Override
+        public void populationCompleted( TemporalIndexPopulation population )
+        {
+        }
+    };
+
+    static final String FILE_NAME = "index_populations";
+    static final String VALUE_GROUP_FILE_PREFIX = "index_population_groups.";
+
+    private static final byte TIME_REGULAR = 0;
+    private static final byte TIME_INIT = 1;
+    private static final byte TIME_NOW = 2;
+
+    private final TemporalPropertyStoreAdapter adapter;
+    private final TemporalPropertyStore store;
+    private final File file;
+    private final Executor executor;
+    private final Monitor monitor;
+    private final Log log;
+    private final List<TemporalIndexPopulation> populations = new ArrayList<>();
+    private long nextId;
+    private boolean started;
+    private volatile boolean stopped;
+
+    TemporalIndexPopulator( TemporalPropertyStoreAdapter adapter, TemporalPropertyStore store, File storeDir,
+            Executor executor, Monitor monitor, Log log )
+    {
+        this.adapter = adapter;
+        this.store = store;
+        this.file = new File( storeDir, FILE_NAME );
+        this.executor = executor;
+        this.monitor = monitor;
+        this.log = log;
+    }
+
+    /**
+     * Reads the populations of earlier runs, those which had not come online are populated again by {@link #start()}.
+     */
+    synchronized void load() throws IOException
+    {
+        populations.clear();
+        nextId = 0;
+        started = false;
+        stopped = false;
+        if ( !file.exists() )
+        {
+            return;
+        }
+        List<TemporalIndexPopulation> unfinished = new ArrayList<>();
+        try ( DataInputStream in = new DataInputStream( new FileInputStream( file ) ) )
+        {
+            int count = in.readInt();
+            for ( int i = 0; i < count; i++ )
+            {
+                long id = in.readLong();
+                TemporalIndexPopulation.Kind kind = TemporalIndexPopulation.Kind.valueOf( in.readUTF() );
+                int propertyCount = in.readInt();
+                List<Integer> propertyIds = new ArrayList<>( propertyCount );
+                for ( int p = 0; p < propertyCount; p++ )
+                {
+                    propertyIds.add( in.readInt() );
+                }
+                TimePoint start = readTime( in );
+                TimePoint end = readTime( in );
+                int every = in.readInt();
+                int timeUnit = in.readInt();
+                String aggregationType = in.readUTF();
+                InternalIndexState state = InternalIndexState.valueOf( in.readUTF() );
+                in.readLong(); // index id, checked against the store below
+                String failure = in.readUTF();
+
+                ValueGroupingMap valueGroup =
+                        state == InternalIndexState.POPULATING && kind == TemporalIndexPopulation.Kind.DURATION
+                        ? readValueGroup( id ) : null;
+                TemporalIndexPopulation population = new TemporalIndexPopulation( id, kind, propertyIds, start, end,
+                        every, timeUnit, aggregationType.isEmpty() ? null : IndexType.valueOf( aggregationType ),
+                        valueGroup );
+                if ( state == InternalIndexState.FAILED )
+                {
+                    population.failed( failure );
+                    deleteValueGroup( population );
+                }
+                else
+                {
+                    unfinished.add( population );
+                }
+                populations.add( population );
+                nextId = Math.max( nextId, id + 1 );
+            }
+        }
+        for ( TemporalIndexPopulation population : unfinished )
+        {
+            long indexId = existingIndex( population );
+            if ( indexId >= 0 )
+            {
+                population.online( indexId );
+                deleteValueGroup( population );
+            }
+            else if ( population.getKind() == TemporalIndexPopulation.Kind.DURATION &&
+                      population.getValueGroup() == null )
+            {
+                // asked for before value groups were kept
+                population.failed( "Population was interrupted by a restart, duration indexes have to be created again" );
+            }
+        }
+        write();
+    }
+
+    /**
+     * Populates the indexes which are populating, and from now on those asked for.
+     */
+    synchronized void start()
+    {
+        started = true;
+        for ( TemporalIndexPopulation population : populations )
+        {
+            if ( population.getState() == InternalIndexState.POPULATING )
+            {
+                log.info( "Resuming population of temporal " + population );
+                schedule( population );
+            }
+        }
+    }
+
+    /**
+     * Asks for an index. Asking again for an index which is populating or online returns its population.
+     */
+    synchronized TemporalIndexPopulation populate( TemporalIndexPopulation.Kind kind, List<Integer> propertyIds,
+            TimePoint start, TimePoint end, int every, int timeUnit, IndexType aggregationType,
+            ValueGroupingMap valueGroup ) throws IOException
+    {
+        TemporalIndexPopulation population = new TemporalIndexPopulation( nextId, kind, propertyIds, start, end,
+                every, timeUnit, aggregationType, valueGroup );
+        for ( TemporalIndexPopulation existing : populations )
+        {
+            if ( existing.sameIndexAs( population ) && existing.getState() != InternalIndexState.FAILED )
+            {
+                return existing;
+            }
+        }
+        nextId++;
+        populations.add( population );
+        long indexId = existingIndex( population );
+        if ( indexId >= 0 )
+        {
+            population.online( indexId );
+        }
+        else
+        {
+            if ( valueGroup != null )
+            {
+                try
+                {
+                    writeValueGroup( population );
+                }
+                catch ( NotSerializableException e )
+                {
+                    log.warn( "Value groups of temporal " + population + " cannot be kept, its population will " +
+                              "fail if interrupted by a restart", e );
+                }
+            }
+            if ( started )
+            {
+                schedule( population );
+            }
+        }
+        write();
+        return population;
+    }
+
+    synchronized List<TemporalIndexPopulation> populations()
+    {
+        return new ArrayList<>( populations );
+    }
+
+    /**
+     * @return true if an index of {@code kind} on {@code propertyId} is being populated, until it is online queries
+     * must not use indexes on the property.
+     */
+    synchronized boolean isPopulating( int propertyId, TemporalIndexPopulation.Kind kind )
+    {
+        for ( TemporalIndexPopulation population : populations )
+        {
+            if ( population.getState() == InternalIndexState.POPULATING && population.getKind() == kind &&
+                 population.getPropertyIds().contains( propertyId ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Populations not started yet are left for the next start, see {@link #load()}.
+     */
+    synchronized void stop()
+    {
+        stopped = true;
+    }
+
+    private void schedule( final TemporalIndexPopulation population )
+    {
+        executor.execute( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                if ( !stopped )
+                {
+                    populate( population );
+                }
+            }
+        } );
+    }
+
+    private void populate( TemporalIndexPopulation population )
+    {
+        population.started();
+        monitor.populationStarted( population );
+        try
+        {
+            population.online( build( population ) );
+            log.info( "Temporal " + population + " populated in " + population.getPopulationMillis() + " ms" );
+        }
+        catch ( Throwable e )
+        {
+            population.failed( e.toString() );
+            log.error( "Failed to populate temporal " + population, e );
+        }
+        synchronized ( this )
+        {
+            try
+            {
+                write();
+                deleteValueGroup( population );
+            }
+            catch ( IOException e )
+            {
+                log.warn( "Failed to record state of temporal " + population, e );
+            }
+        }
+        monitor.populationCompleted( population );
+    }
+
+    private long build( TemporalIndexPopulation population )
+    {
+        List<Integer> propertyIds = population.getPropertyIds();
+        long indexId;
+        switch ( population.getKind() )
+        {
+        case VALUE:
+            indexId = store.createValueIndex( population.getStart(), population.getEnd(), propertyIds );
+            break;
+        case DURATION:
+            indexId = store.createAggrDurationIndex( propertyIds.get( 0 ), population.getStart(), population.getEnd(),
+                    population.getValueGroup(), population.getEvery(), population.getTimeUnit() );
+            break;
+        case MIN_MAX:
+            indexId = store.createAggrMinMaxIndex( propertyIds.get( 0 ), population.getStart(), population.getEnd(),
+                    population.getEvery(), population.getTimeUnit(), population.getAggregationType() );
+            break;
+        default:
+            throw new IllegalStateException( "Unknown temporal index kind " + population.getKind() );
+        }
+        adapter.indexChanged( store );
+        return indexId;
+    }
+
+    /**
+     * @return id of an index in the store matching {@code population}, or -1 if there is none.
+     */
+    private long existingIndex( TemporalIndexPopulation population )
+    {
+        for ( IndexMetaData meta : store.listIndex() )
+        {
+            if ( matches( meta.getType(), population ) && meta.getPropertyIdList().equals( population.getPropertyIds() ) &&
+                 meta.getTimeStart().compareTo( population.getStart() ) == 0 &&
+                 meta.getTimeEnd().compareTo( population.getEnd() ) == 0 )
+            {
+                return meta.getId();
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches( IndexType type, TemporalIndexPopulation population )
+    {
+        switch ( population.getKind() )
+        {
+        case DURATION:
+            return type == IndexType.AGGR_DURATION;
+        case MIN_MAX:
+            return type == population.getAggregationType();
+        default:
+            return type != IndexType.AGGR_DURATION && type != IndexType.AGGR_MIN_MAX;
+        }
+    }
+
+    private File valueGroupFile( long populationId )
+    {
+        return new File( file.getParentFile(), VALUE_GROUP_FILE_PREFIX + populationId );
+    }
+
+    private void writeValueGroup( TemporalIndexPopulation population ) throws IOException
+    {
+        File groupFile = valueGroupFile( population.getId() );
+        File temp = new File( groupFile.getPath() + ".tmp" );
+        try ( FileOutputStream fileOut = new FileOutputStream( temp );
+              ObjectOutputStream out = new ObjectOutputStream( fileOut ) )
+        {
+            out.writeObject( population.getValueGroup() );
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        catch ( IOException e )
+        {
+            Files.deleteIfExists( temp.toPath() );
+            throw e;
+        }
+        Files.move( temp.toPath(), groupFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE );
+    }
+
+    /**
+     * @return the value groups kept for population {@code populationId}, or null if there are none.
+     */
+    private ValueGroupingMap readValueGroup( long populationId ) throws IOException
+    {
+        File groupFile = valueGroupFile( populationId );
+        if ( !groupFile.exists() )
+        {
+            return null;
+        }
+        try ( ObjectInputStream in = new ObjectInputStream( new FileInputStream( groupFile ) ) )
+        {
+            return (ValueGroupingMap) in.readObject();
+        }
+        catch ( ClassNotFoundException e )
+        {
+            throw new IOException( "Unable to read value groups of temporal index population " + populationId, e );
+        }
+    }
+
+    private void deleteValueGroup( TemporalIndexPopulation population ) throws IOException
+    {
+        if ( population.getKind() == TemporalIndexPopulation.Kind.DURATION )
+        {
+            Files.deleteIfExists( valueGroupFile( population.getId() ).toPath() );
+        }
+    }
+
+    private void write() throws IOException
+    {
+        File temp = new File( file.getPath() + ".tmp" );
+        try ( FileOutputStream fileOut = new FileOutputStream( temp );
+              DataOutputStream out = new DataOutputStream( fileOut ) )
+        {
+            out.writeInt( populations.size() );
+            for ( TemporalIndexPopulation population : populations )
+            {
+                out.writeLong( population.getId() );
+                out.writeUTF( population.getKind().name() );
+                out.writeInt( population.getPropertyIds().size() );
+                for ( int propertyId : population.getPropertyIds() )
+                {
+                    out.writeInt( propertyId );
+                }
+                writeTime( out, population.getStart() );
+                writeTime( out, population.getEnd() );
+                out.writeInt( population.getEvery() );
+                out.writeInt( population.getTimeUnit() );
+                out.writeUTF( population.getAggregationType() == null ? "" : population.getAggregationType().name() );
+                out.writeUTF( population.getState().name() );
+                out.writeLong( population.getIndexId() );
+                out.writeUTF( population.getFailure() == null ? "" : population.getFailure() );
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        Files.move( temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+    }
+
+    private static void writeTime( DataOutputStream out, TimePoint time ) throws IOException
+    {
+        if ( time.isInit() )
+        {
+            out.writeByte( TIME_INIT );
+        }
+        else if ( time.isNow() )
+        {
+            out.writeByte( TIME_NOW );
+        }
+        else
+        {
+            out.writeByte( TIME_REGULAR );
+            out.writeLong( time.val() );
+        }
+    }
+
+    private static TimePoint readTime( DataInputStream in ) throws IOException
+    {
+        switch ( in.readByte() )
+        {
+        case TIME_INIT:
+            return TimePoint.INIT;
+        case TIME_NOW:
+            return TimePoint.NOW;
+        default:
+            return new TimePoint( in.readLong() );
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.query.TimePointL;
+import org.act.temporalProperty.util.Slice;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.temporal.TimePoint;
+
+/**
+ * Remembers the last interval, the one lasting until now, of temporal properties which have been written since
+ * startup, so point reads of current values do not have to go through the temporal store.
+ * <p>
+ * Only written values are cached: a point read can not tell where the interval it hit starts, so it can not fill
+ * the cache. Writes are applied in commit order under the lock of their (entity, property), so the cache is
+ * updated in the same order as the store.
+ * <p>
+ * Memory use is estimated per entry. When the budget is exceeded arbitrary entries are evicted until a quarter
+ * of the budget is free again, which keeps eviction rare and reads free of bookkeeping.
+ */
+public class TemporalLatestValueCache
+{
+    private static final int ENTRY_OVERHEAD = 112;
+
+    private final long maxBytes;
+    private final ConcurrentHashMap<Long,Latest> entries = new ConcurrentHashMap<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxBytes the memory budget, 0 disables the cache.
+     */
+    public TemporalLatestValueCache( long maxBytes )
+    {
+        this.maxBytes = maxBytes;
+    }
+
+    public boolean isEnabled()
+    {
+        return maxBytes > 0;
+    }
+
+    /**
+     * @return the value of the property at {@code time} if {@code time} lies in the cached last interval,
+     * null if it has to be read from the store.
+     */
+    public Slice get( long entityId, int propertyId, TimePointL time )
+    {
+        if ( !isEnabled() )
+        {
+            return null;
+        }
+        long key = key( entityId, propertyId );
+        Latest latest = key < 0 ? null : entries.get( key );
+        if ( latest != null && time.compareTo( latest.start ) >= 0 )
+        {
+            hits.incrementAndGet();
+            return latest.value;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Applies a write of {@code value} to the interval from {@code start} to {@code end}.
+     */
+    public void update( InternalKey start, TimePointL end, Slice value )
+    {
+        long key = isEnabled() ? key( start.getEntityId(), start.getPropertyId() ) : -1;
+        if ( key < 0 )
+        {
+            return;
+        }
+        if ( end.isNow() )
+        {
+            if ( start.getValueType().isValue() )
+            {
+                Latest latest = new Latest( start.getStartTime(), new Slice( value.getBytes() ) );
+                Latest previous = entries.put( key, latest );
+                usedBytes.addAndGet( latest.size() - (previous == null ? 0 : previous.size()) );
+                evictIfNeeded();
+            }
+            else
+            {
+                remove( key );
+            }
+        }
+        else
+        {
+            Latest latest = entries.get( key );
+            if ( latest != null && end.compareTo( latest.start ) >= 0 )
+            {
+                // the beginning of the last interval has been overwritten, its value is still valid after end
+                if ( !entries.replace( key, latest, new Latest( new TimePoint( end.val() + 1 ), latest.value ) ) )
+                {
+                    remove( key );
+                }
+            }
+        }
+    }
+
+    public void clear()
+    {
+        entries.clear();
+        usedBytes.set( 0 );
+    }
+
+    public long hits()
+    {
+        return hits.get();
+    }
+
+    public long misses()
+    {
+        return misses.get();
+    }
+
+    public int size()
+    {
+        return entries.size();
+    }
+
+    private void remove( long key )
+    {
+        Latest previous = entries.remove( key );
+        if ( previous != null )
+        {
+            usedBytes.addAndGet( -previous.size() );
+        }
+    }
+
+    private void evictIfNeeded()
+    {
+        if ( usedBytes.get() <= maxBytes || !evicting.compareAndSet( false, true ) )
+        {
+            return;
+        }
+        try
+        {
+            long target = maxBytes - maxBytes / 4;
+            Iterator<Long> keys = entries.keySet().iterator();
+            while ( usedBytes.get() > target && keys.hasNext() )
+            {
+                remove( keys.next() );
+            }
+        }
+        finally
+        {
+            evicting.set( false );
+        }
+    }
+
+    /**
+     * Entity ids below 2^39 and property key ids below 2^24, which covers the id ranges of this store format, fit
+     * into one long together. Other ids are not cached.
+     */
+    private static long key( long entityId, int propertyId )
+    {
+        if ( entityId < 0 || entityId >= 1L << 39 || propertyId < 0 || propertyId >= 1 << 24 )
+        {
+            return -1;
+        }
+        return entityId << 24 | propertyId;
+    }
+
+    private static class Latest
+    {
+        private final TimePointL start;
+        private final Slice value;
+
+        Latest( TimePointL start, Slice value )
+        {
+            this.start = start;
+            this.value = value;
+        }
+
+        long size()
+        {
+            return ENTRY_OVERHEAD + value.length();
+        }
+    }
+}
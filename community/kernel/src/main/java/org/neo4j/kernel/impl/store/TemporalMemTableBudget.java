@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory budget for the memtables of the temporal property store of one database, it is created by the
+ * {@link org.neo4j.kernel.NeoStoreDataSource} and never shared with another database.
+ * <p>
+ * The {@link TemporalPropertyStoreAdapter} registers as its {@link Member} and charges the estimated size of the
+ * values it writes. When that exceeds the limit the member is asked to flush. The budget is soft: the member only
+ * requests the flush, it reports {@link Member#flushed()} once its memtables are on disk, and writers go on meanwhile.
+ */
+public class TemporalMemTableBudget
+{
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private volatile Member member;
+
+    /**
+     * @param limit memory the memtables may use, 0 for no limit.
+     * @param flush requests a flush of the memtables of the member, called by the writing thread which exceeds the
+     * budget so it must not block.
+     * @throws IllegalStateException if another member is registered.
+     */
+    public synchronized Member register( long limit, Runnable flush )
+    {
+        if ( member != null )
+        {
+            throw new IllegalStateException( "The memtable budget has a member already" );
+        }
+        member = new Member( limit, flush );
+        return member;
+    }
+
+    public long used()
+    {
+        return used.get();
+    }
+
+    /**
+     * @return the limit of the registered member, 0 if there is none or it has no limit.
+     */
+    public long limit()
+    {
+        Member current = member;
+        return current == null ? 0 : current.limit;
+    }
+
+    private void flushIfNeeded( Member current )
+    {
+        if ( current.limit == 0 || used.get() <= current.limit || !flushing.compareAndSet( false, true ) )
+        {
+            return;
+        }
+        try
+        {
+            current.flush.run();
+        }
+        finally
+        {
+            flushing.set( false );
+        }
+    }
+
+    public class Member
+    {
+        private final long limit;
+        private final Runnable flush;
+
+        private Member( long limit, Runnable flush )
+        {
+            this.limit = limit;
+            this.flush = flush;
+        }
+
+        /**
+         * Accounts {@code bytes} more memory used by the memtables, requesting a flush if the budget is exceeded by
+         * that.
+         */
+        public void charge( long bytes )
+        {
+            used.addAndGet( bytes );
+            flushIfNeeded( this );
+        }
+
+        /**
+         * The memtables have been written to disk.
+         */
+        public void flushed()
+        {
+            used.set( 0 );
+        }
+
+        public long used()
+        {
+            return used.get();
+        }
+
+        public void unregister()
+        {
+            synchronized ( TemporalMemTableBudget.this )
+            {
+                if ( member == this )
+                {
+                    member = null;
+                    flushed();
+                }
+            }
+        }
+    }
+}
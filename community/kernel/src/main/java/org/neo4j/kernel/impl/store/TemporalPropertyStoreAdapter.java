@@ -2,72 +2,230 @@ package org.neo4j.kernel.impl.store;
 
 import org.act.temporalProperty.TemporalPropertyStore;
 import org.act.temporalProperty.TemporalPropertyStoreFactory;
+import org.act.temporalProperty.impl.InternalKey;
 import org.act.temporalProperty.impl.MemTable;
 import org.act.temporalProperty.index.IndexType;
+import org.act.temporalProperty.index.value.IndexMetaData;
+import org.act.temporalProperty.meta.ValueContentType;
+import org.act.temporalProperty.query.aggr.AggregationIndexQueryResult;
+import org.act.temporalProperty.query.aggr.ValueGroupingMap;
 import org.act.temporalProperty.query.TimeIntervalKey;
 import org.act.temporalProperty.query.TimePointL;
+import org.act.temporalProperty.query.range.TimeRangeQuery;
 import org.act.temporalProperty.util.Slice;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
 
+import org.neo4j.function.LongSupplier;
+import org.neo4j.graphdb.Resource;
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.helpers.NamedThreadFactory;
+import org.neo4j.io.fs.FileUtils;
 import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.util.JobScheduler;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.temporal.TemporalIndexPopulation;
 import org.neo4j.temporal.TemporalPropertyReadOperation;
+import org.neo4j.temporal.TimePoint;
+
+import static org.act.temporalProperty.util.TemporalPropertyValueConvertor.fromSlice;
+import static org.neo4j.helpers.collection.IteratorUtil.resourceIterator;
+import static org.neo4j.kernel.impl.util.JobScheduler.Groups.temporalStoreFlush;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Created by song on 17-7-7.
  */
 public class TemporalPropertyStoreAdapter extends LifecycleAdapter
 {
+    /**
+     * Directory in the database directory holding the links of the store files listed by
+     * {@link #snapshotStoreFiles()}, one subdirectory per snapshot.
+     */
+    public static final String SNAPSHOTS_DIRECTORY_NAME = "temporal.snapshots";
+
     private File dbDir;
+    private File nodeDir;
+    private File relDir;
     private Config config;
     private TemporalPropertyStore nodeStore;
     private TemporalPropertyStore relStore;
+    private final TemporalPropertyTypes nodeTypes = new TemporalPropertyTypes();
+    private final TemporalPropertyTypes relTypes = new TemporalPropertyTypes();
+    private TemporalLatestValueCache nodeLatest = new TemporalLatestValueCache( 0 );
+    private TemporalLatestValueCache relLatest = new TemporalLatestValueCache( 0 );
+    private TemporalPropertySummary nodeSummary;
+    private TemporalPropertySummary relSummary;
+    private TemporalRetentionCutoffs nodeRetentionCutoffs;
+    private TemporalRetentionCutoffs relRetentionCutoffs;
 
-    private static TemporalPropertyStoreAdapter instance;
+    private static final int AGGR_MIN = 0;
+    private static final int AGGR_MAX = 1;
 
-    public static synchronized TemporalPropertyStoreAdapter getInstance( Config configs, File dbDir )
-    {
-        if ( null == instance )
-        {
-            instance = new TemporalPropertyStoreAdapter( configs, dbDir );
-        }
-        return instance;
-    }
+    /**
+     * Estimated memtable memory of one written interval besides its value: the keys of its start and end and the
+     * skip list node holding them.
+     */
+    static final int MEMTABLE_ENTRY_OVERHEAD = 64;
 
-    public static synchronized TemporalPropertyStoreAdapter getInstance()
+    private final TemporalMemTableBudget memTableBudget;
+    private TemporalMemTableBudget.Member memTableUsage;
+    private final JobScheduler scheduler;
+    private final LongSupplier lastClosedTransactionId;
+    // set while a flush requested by the memtable budget is scheduled or running, and while shut down
+    private final AtomicBoolean budgetFlushPending = new AtomicBoolean();
+    private TemporalFlushState nodeFlush;
+    private TemporalFlushState relFlush;
+    private TemporalRollups nodeRollups;
+    private TemporalRollups relRollups;
+    private final TemporalIndexPopulator.Monitor populationMonitor;
+    private final Log log;
+    private ExecutorService populationExecutor;
+    // flushes hold the read lock, a snapshot of the store files for copying holds the write lock while linking them
+    private final ReadWriteLock storeFilesLock = new ReentrantReadWriteLock();
+    private final AtomicLong snapshots = new AtomicLong();
+    private TemporalIndexPopulator nodePopulator;
+    private TemporalIndexPopulator relPopulator;
+
+    public TemporalPropertyStoreAdapter( Config configs, File dbDir, TemporalMemTableBudget memTableBudget,
+            JobScheduler scheduler, LongSupplier lastClosedTransactionId )
     {
-        if ( null == instance )
-        {
-            throw new IllegalStateException( "temporal property storage not initialized!" );
-        }
-        else
-        {
-            return instance;
-        }
+        this( configs, dbDir, memTableBudget, scheduler, lastClosedTransactionId, TemporalIndexPopulator.NO_MONITOR,
+                NullLogProvider.getInstance() );
     }
 
-    private TemporalPropertyStoreAdapter( Config configs, File dbDir )
+    /**
+     * @param memTableBudget the memtable budget of this database.
+     * @param scheduler runs the flushes the memtable budget asks for.
+     * @param lastClosedTransactionId recorded by those flushes as durable, like a check point does.
+     */
+    public TemporalPropertyStoreAdapter( Config configs, File dbDir, TemporalMemTableBudget memTableBudget,
+            JobScheduler scheduler, LongSupplier lastClosedTransactionId,
+            TemporalIndexPopulator.Monitor populationMonitor, LogProvider logProvider )
     {
         this.dbDir = dbDir;
         this.config = configs;
+        this.memTableBudget = memTableBudget;
+        this.scheduler = scheduler;
+        this.lastClosedTransactionId = lastClosedTransactionId;
+        this.populationMonitor = populationMonitor;
+        this.log = logProvider.getLog( getClass() );
     }
 
     @Override
     public void init() throws Throwable
     {
-        this.nodeStore = TemporalPropertyStoreFactory.newPropertyStore( resolveStoreDir( "temporal.node.properties" ) );
-        this.relStore = TemporalPropertyStoreFactory.newPropertyStore( resolveStoreDir( "temporal.relationship.properties" ) );
+        this.nodeTypes.clear();
+        this.relTypes.clear();
+        // links left behind by a copy interrupted by a crash
+        FileUtils.deleteRecursively( new File( dbDir, SNAPSHOTS_DIRECTORY_NAME ) );
+        long latestValueMemory = config.get( GraphDatabaseSettings.temporal_latest_value_cache_memory );
+        this.nodeLatest = new TemporalLatestValueCache( latestValueMemory / 2 );
+        this.relLatest = new TemporalLatestValueCache( latestValueMemory / 2 );
+        boolean newNodeStore = !new File( dbDir.getAbsolutePath(), "temporal.node.properties" ).exists();
+        boolean newRelStore = !new File( dbDir.getAbsolutePath(), "temporal.relationship.properties" ).exists();
+        this.nodeDir = resolveStoreDir( "temporal.node.properties" );
+        this.relDir = resolveStoreDir( "temporal.relationship.properties" );
+        // only retention needs the entities having values after a restart, the sets are large
+        boolean retention = TemporalRetention.isConfigured( config );
+        this.nodeSummary = new TemporalPropertySummary( nodeDir, retention );
+        this.relSummary = new TemporalPropertySummary( relDir, retention );
+        this.nodeSummary.load();
+        this.relSummary.load();
+        this.nodeRetentionCutoffs = new TemporalRetentionCutoffs( nodeDir );
+        this.relRetentionCutoffs = new TemporalRetentionCutoffs( relDir );
+        this.nodeRetentionCutoffs.load();
+        this.relRetentionCutoffs.load();
+        if ( newNodeStore )
+        {
+            // nothing to rebuild the summary of a store created just now from
+            this.nodeSummary.rebuilt();
+        }
+        if ( newRelStore )
+        {
+            this.relSummary.rebuilt();
+        }
+        this.nodeFlush = new TemporalFlushState( nodeDir, nodeSummary );
+        this.relFlush = new TemporalFlushState( relDir, relSummary );
+        this.nodeFlush.load();
+        this.relFlush.load();
+        if ( !newNodeStore )
+        {
+            this.nodeFlush.existing();
+        }
+        if ( !newRelStore )
+        {
+            this.relFlush.existing();
+        }
+        this.nodeRollups = new TemporalRollups( nodeDir, TemporalPropertyStoreFactory.newPropertyStore( resolveStoreDir(
+                "temporal.node.properties" + File.separator + TemporalRollups.SERIES_DIRECTORY_NAME ) ) );
+        this.relRollups = new TemporalRollups( relDir, TemporalPropertyStoreFactory.newPropertyStore( resolveStoreDir(
+                "temporal.relationship.properties" + File.separator + TemporalRollups.SERIES_DIRECTORY_NAME ) ) );
+        this.nodeRollups.load();
+        this.relRollups.load();
+        this.nodeStore = TemporalPropertyStoreFactory.newPropertyStore( nodeDir );
+        this.relStore = TemporalPropertyStoreFactory.newPropertyStore( relDir );
+        this.populationExecutor = Executors.newFixedThreadPool(
+                config.get( GraphDatabaseSettings.temporal_index_population_threads ),
+                new NamedThreadFactory( "TemporalIndexPopulation" ) );
+        this.nodePopulator = new TemporalIndexPopulator( this, nodeStore, nodeDir, populationExecutor,
+                populationMonitor, log );
+        this.relPopulator = new TemporalIndexPopulator( this, relStore, relDir, populationExecutor,
+                populationMonitor, log );
+        this.nodePopulator.load();
+        this.relPopulator.load();
+        this.memTableUsage = memTableBudget.register( config.get( GraphDatabaseSettings.temporal_memtable_memory ),
+                new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        requestBudgetFlush();
+                    }
+                } );
+        this.budgetFlushPending.set( false );
     }
 
     @Override
     public void shutdown() throws Throwable
     {
+        // the stores cannot stop an index build half way, so wait for those running
+        this.nodePopulator.stop();
+        this.relPopulator.stop();
+        this.populationExecutor.shutdown();
+        while ( !this.populationExecutor.awaitTermination( 10, TimeUnit.SECONDS ) )
+        {
+            log.info( "Waiting for temporal index population to finish before shutting down" );
+        }
+        // wait for a running budget flush and keep new ones from being scheduled
+        while ( !this.budgetFlushPending.compareAndSet( false, true ) )
+        {
+            Thread.sleep( 10 );
+        }
+        this.memTableUsage.unregister();
         this.nodeStore.shutDown();
         this.relStore.shutDown();
+        this.nodeRollups.shutdown();
+        this.relRollups.shutdown();
     }
 
     private File resolveStoreDir( String folder ) throws IOException
@@ -84,7 +242,7 @@ public class TemporalPropertyStoreAdapter extends LifecycleAdapter
         {
             if ( !dir.mkdirs() )
             {
-                throw new IOException( "create temporal.node.properties dir failed." );
+                throw new IOException( "create " + folder + " dir failed." );
             }
         }
         return dir;
@@ -102,7 +260,13 @@ public class TemporalPropertyStoreAdapter extends LifecycleAdapter
 
     public Slice getPoint( TemporalPropertyStore store, TemporalPropertyReadOperation query )
     {
-        return store.getPointValue( query.getEntityId(), query.getProId(), query.getStart() );
+        return getPoint( store, query.getEntityId(), query.getProId(), query.getStart() );
+    }
+
+    public Slice getPoint( TemporalPropertyStore store, long entityId, int proId, TimePointL time )
+    {
+        Slice latest = latestOf( store ).get( entityId, proId, time );
+        return latest != null ? latest : store.getPointValue( entityId, proId, time );
     }
 
     public Object getRange( TemporalPropertyStore store, TemporalPropertyReadOperation query, MemTable oneEntityData )
@@ -110,35 +274,640 @@ public class TemporalPropertyStoreAdapter extends LifecycleAdapter
         return store.getRangeValue( query.getEntityId(), query.getProId(), query.getStart(), query.getEnd(), query.callBack(), oneEntityData );
     }
 
+    public void getRange( TemporalPropertyStore store, long entityId, int proId, TimePointL start, TimePointL end,
+            TimeRangeQuery callBack, MemTable oneEntityData )
+    {
+        store.getRangeValue( entityId, proId, start, end, callBack, oneEntityData );
+    }
+
     public Object getAggrIndex( TemporalPropertyStore store, TemporalPropertyReadOperation query, MemTable oneEntityData )
     {
         return store.getByIndex( query.getIndexId(), query.getEntityId(), query.getProId(), query.getStart(), query.getEnd(), oneEntityData );
     }
 
+    /**
+     * Writes one interval, see {@link #setValues(TemporalPropertyStore, List)}.
+     */
     public void setValue( TemporalPropertyStore store, TimeIntervalKey intervalKey, Slice value )
     {
-        store.setProperty( intervalKey, value );
+        setValues( store, Collections.singletonList( new TimeIntervalValueEntry( intervalKey, value ) ) );
     }
 
-    public void createAggrMinMaxIndex(TemporalPropertyStore store, int propertyId, TimePointL start, TimePointL end )
+    /**
+     * Writes a batch of intervals in the given order. Callers sort batches by entity and property, which keeps
+     * consecutive inserts close together in the memtable, and makes runs of writes to the same property of the same
+     * entity: the summary, the value types and the flush state are updated once per run and once per batch instead
+     * of once per interval, and the memtable budget is charged once per batch. The latest value cache is lock free
+     * and updated per interval, as intervals of a run may overwrite each other.
+     * <p>
+     * Batches of different callers are written concurrently, the store is not locked for a batch. Writes to one
+     * entity are ordered by the caller instead: committing transactions hold the entity locks while applying, and
+     * the {@link org.neo4j.temporal.PartitionedTemporalPropertyApplier} applies all writes of an entity in one
+     * partition.
+     */
+    public void setValues( TemporalPropertyStore store, List<TimeIntervalValueEntry> entries )
     {
-        store.createAggrMinMaxIndex( propertyId, start, end, 100, Calendar.MINUTE, IndexType.AGGR_MIN_MAX );
+        if ( entries.isEmpty() )
+        {
+            return;
+        }
+        TemporalLatestValueCache latest = latestOf( store );
+        long size = 0;
+        int runStart = 0;
+        for ( int i = 0; i < entries.size(); i++ )
+        {
+            TimeIntervalValueEntry entry = entries.get( i );
+            store.setProperty( entry.getKey(), entry.getValue() );
+            latest.update( entry.getKey().getStartKey(), entry.getKey().end(), entry.getValue() );
+            size += MEMTABLE_ENTRY_OVERHEAD + entry.getValue().length();
+            if ( i + 1 == entries.size() || !sameProperty( entry, entries.get( i + 1 ) ) )
+            {
+                written( store, entries.subList( runStart, i + 1 ) );
+                runStart = i + 1;
+            }
+        }
+        flushStateOf( store ).changed();
+        memTableUsage.charge( size );
+    }
+
+    private static boolean sameProperty( TimeIntervalValueEntry one, TimeIntervalValueEntry other )
+    {
+        InternalKey oneKey = one.getKey().getStartKey();
+        InternalKey otherKey = other.getKey().getStartKey();
+        return oneKey.getEntityId() == otherKey.getEntityId() && oneKey.getPropertyId() == otherKey.getPropertyId();
     }
 
-    public void flushAll()
+    /**
+     * Accounts a run of writes to one property of one entity, which are in the store.
+     */
+    private void written( TemporalPropertyStore store, List<TimeIntervalValueEntry> run )
     {
-        if ( this.relStore != null )
+        TemporalPropertySummary summary = summaryOf( store );
+        summary.written( run );
+        int propertyId = run.get( 0 ).getKey().getStartKey().getPropertyId();
+        boolean removedAll = false;
+        for ( TimeIntervalValueEntry write : run )
         {
-            this.relStore.flushMemTable2Disk();
-            this.relStore.flushMetaInfo2Disk();
+            InternalKey key = write.getKey().getStartKey();
+            if ( key.getValueType().isValue() )
+            {
+                // lock free unless the type of the property is new
+                typesOf( store ).put( propertyId, key.getValueType().toValueContentType() );
+                removedAll = false;
+            }
+            else if ( key.getStartTime().isInit() && write.getKey().end().isNow() )
+            {
+                removedAll = true;
+            }
         }
-        if ( this.nodeStore != null )
+        if ( removedAll && hasNoValues( summary, propertyId ) )
         {
-            this.nodeStore.flushMemTable2Disk();
-            this.nodeStore.flushMetaInfo2Disk();
+            // the last temporal property of the key has been removed, it may be used with another type from now on
+            typesOf( store ).remove( propertyId );
+        }
+    }
+
+    private static boolean hasNoValues( TemporalPropertySummary summary, int propertyId )
+    {
+        return summary.isComplete() && !summary.hasEntities( propertyId );
+    }
+
+    TemporalPropertySummary summaryOf( TemporalPropertyStore store )
+    {
+        return store == relStore ? relSummary : nodeSummary;
+    }
+
+    /**
+     * Latest start time of a value written to each temporal property of {@code store}, see
+     * {@link TemporalPropertySummary#latestTimes()}.
+     */
+    TemporalPropertyTimes latestTimesOf( TemporalPropertyStore store )
+    {
+        return summaryOf( store ).latestTimes();
+    }
+
+    TemporalRetentionCutoffs retentionCutoffsOf( TemporalPropertyStore store )
+    {
+        return store == relStore ? relRetentionCutoffs : nodeRetentionCutoffs;
+    }
+
+    /**
+     * Time up to which values of each temporal property of {@code store} have been removed from some entity, by
+     * retention or by removing a range starting at the beginning of time, see
+     * {@link TemporalPropertySummary#removedUpTo()}.
+     */
+    TemporalPropertyTimes expiredOf( TemporalPropertyStore store )
+    {
+        return summaryOf( store ).removedUpTo();
+    }
+
+    /**
+     * Value type of temporal property {@code propertyId} in {@code store}, answered from memory once the
+     * property has been seen, so reads need not load the static property record holding the same information. It is
+     * kept up to date by the commands applied to the store, see {@link TemporalPropertyTypes}.
+     *
+     * @return the value type, or null if no entity has values of {@code propertyId}, as far as the summary of the
+     * store knows, or they have values of different types.
+     */
+    public ValueContentType getPropertyType( TemporalPropertyStore store, int propertyId )
+    {
+        TemporalPropertyTypes types = typesOf( store );
+        ValueContentType type = types.get( propertyId );
+        if ( type == null && !types.isMixed( propertyId ) && !hasNoValues( summaryOf( store ), propertyId ) )
+        {
+            type = store.getPropertyValueType( propertyId );
+            types.put( propertyId, type );
+        }
+        return type;
+    }
+
+    /**
+     * @return true if {@code propertyId} has been used as a temporal property of {@code store}, its entities may
+     * still have temporal properties of it without values.
+     */
+    public boolean isTemporalPropertyKey( TemporalPropertyStore store, int propertyId )
+    {
+        return getPropertyType( store, propertyId ) != null || typesOf( store ).isMixed( propertyId ) ||
+               store.getPropertyValueType( propertyId ) != null;
+    }
+
+    private TemporalPropertyTypes typesOf( TemporalPropertyStore store )
+    {
+        return store == relStore ? relTypes : nodeTypes;
+    }
+
+    /**
+     * The cache of current values of {@code store}, exposed for its hit and miss counters.
+     */
+    public TemporalLatestValueCache latestOf( TemporalPropertyStore store )
+    {
+        return store == relStore ? relLatest : nodeLatest;
+    }
+
+    /**
+     * Asks for a min/max index on {@code propertyId}, populated in the background, see {@link #populateIndex}.
+     */
+    public TemporalIndexPopulation createAggrMinMaxIndex( TemporalPropertyStore store, int propertyId, TimePointL start,
+            TimePointL end ) throws IOException
+    {
+        return populateIndex( store, TemporalIndexPopulation.Kind.MIN_MAX, Collections.singletonList( propertyId ),
+                timePoint( start ), timePoint( end ), 100, Calendar.MINUTE, IndexType.AGGR_MIN_MAX, null );
+    }
+
+    private static TimePoint timePoint( TimePointL time )
+    {
+        if ( time instanceof TimePoint )
+        {
+            return (TimePoint) time;
+        }
+        return time.isInit() ? TimePoint.INIT : time.isNow() ? TimePoint.NOW : new TimePoint( time.val() );
+    }
+
+    /**
+     * Asks for a temporal index of {@code store}. It is populated in the background, until it is online queries do
+     * not use indexes on its properties. Asking for an index which exists or is being populated returns that.
+     */
+    public TemporalIndexPopulation populateIndex( TemporalPropertyStore store, TemporalIndexPopulation.Kind kind,
+            List<Integer> propertyIds, TimePoint start, TimePoint end, int every, int timeUnit,
+            IndexType aggregationType, ValueGroupingMap valueGroup ) throws IOException
+    {
+        return populatorOf( store ).populate( kind, propertyIds, start, end, every, timeUnit, aggregationType,
+                valueGroup );
+    }
+
+    public List<TemporalIndexPopulation> indexPopulations( TemporalPropertyStore store )
+    {
+        return populatorOf( store ).populations();
+    }
+
+    /**
+     * Populates the temporal indexes left populating by the last run, and from now on those asked for. Called by
+     * {@link org.neo4j.kernel.impl.api.index.IndexingService} once recovery has completed.
+     */
+    public void startIndexPopulation()
+    {
+        nodePopulator.start();
+        relPopulator.start();
+    }
+
+    /**
+     * Keeps populations not started yet for the next start, those running are awaited by {@link #shutdown()}.
+     */
+    public void stopIndexPopulation()
+    {
+        nodePopulator.stop();
+        relPopulator.stop();
+    }
+
+    /**
+     * @return true if an index of {@code kind} on {@code propertyId} is being populated.
+     */
+    public boolean isPopulatingIndex( TemporalPropertyStore store, int propertyId, TemporalIndexPopulation.Kind kind )
+    {
+        return populatorOf( store ).isPopulating( propertyId, kind );
+    }
+
+    /**
+     * Called when an index of {@code store} has been built, its meta data has to be flushed.
+     */
+    void indexChanged( TemporalPropertyStore store )
+    {
+        flushStateOf( store ).changed();
+    }
+
+    private TemporalIndexPopulator populatorOf( TemporalPropertyStore store )
+    {
+        return store == relStore ? relPopulator : nodePopulator;
+    }
+
+    /**
+     * Find an aggregation index of the given type on {@code propertyId} whose time range covers [start, end].
+     * Only index meta data is inspected, so this is cheap enough to do for every aggregation query.
+     *
+     * @return the index id, or -1 if no such index exists, an index on the property is being populated, or
+     * [start, end] reaches into values removed by retention.
+     */
+    public long findAggrIndex( TemporalPropertyStore store, int propertyId, TimePointL start, TimePointL end, IndexType type )
+    {
+        TemporalIndexPopulation.Kind kind = type == IndexType.AGGR_DURATION ? TemporalIndexPopulation.Kind.DURATION
+                                                                             : TemporalIndexPopulation.Kind.MIN_MAX;
+        if ( isPopulatingIndex( store, propertyId, kind ) )
+        {
+            // the store may list an index before it is complete
+            return -1;
+        }
+        if ( start.val() <= expiredOf( store ).get( propertyId ) )
+        {
+            // aggregation indexes are not rebuilt by retention, only a scan leaves out the removed values
+            return -1;
+        }
+        for ( IndexMetaData meta : store.listIndex() )
+        {
+            if ( meta.getType() == type && meta.getPropertyIdList().contains( propertyId ) &&
+                 meta.getTimeStart().compareTo( start ) <= 0 && end.compareTo( meta.getTimeEnd() ) <= 0 )
+            {
+                return meta.getId();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find an online value index on {@code propertyId} alone whose time range covers [start, end]. Any time range
+     * will do when start and end are null.
+     *
+     * @return the index id, or -1 if there is none.
+     */
+    public long findValueIndex( TemporalPropertyStore store, int propertyId, TimePointL start, TimePointL end )
+    {
+        if ( isPopulatingIndex( store, propertyId, TemporalIndexPopulation.Kind.VALUE ) )
+        {
+            return -1;
+        }
+        for ( IndexMetaData meta : store.listIndex() )
+        {
+            if ( meta.getType() != IndexType.AGGR_DURATION && meta.getType() != IndexType.AGGR_MIN_MAX &&
+                 meta.getPropertyIdList().equals( Collections.singletonList( propertyId ) ) &&
+                 (start == null || meta.getTimeStart().compareTo( start ) <= 0) &&
+                 (end == null || end.compareTo( meta.getTimeEnd() ) <= 0) )
+            {
+                return meta.getId();
+            }
         }
+        return -1;
     }
 
+    /**
+     * Adds a rollup of temporal property {@code propertyId} of {@code store}, see {@link TemporalRollup}. Its buckets
+     * are computed when queries first need them.
+     */
+    public TemporalRollup createRollup( TemporalPropertyStore store, int propertyId, long bucketSize,
+            Set<TemporalRollup.Aggregate> aggregates ) throws IOException
+    {
+        if ( aggregates.isEmpty() )
+        {
+            throw new IllegalArgumentException( "A rollup needs at least one aggregate" );
+        }
+        return rollupsOf( store ).add( propertyId, bucketSize, aggregates );
+    }
+
+    public List<TemporalRollup> listRollups( TemporalPropertyStore store )
+    {
+        return rollupsOf( store ).list();
+    }
+
+    public boolean hasRollups( TemporalPropertyStore store )
+    {
+        return !rollupsOf( store ).isEmpty();
+    }
+
+    /**
+     * Aggregates the whole buckets inside [start, end] of the coarsest rollup keeping {@code aggregate} whose buckets
+     * fit in the window. Only buckets which end before the latest time written to the property are used, later
+     * ones are still being filled.
+     *
+     * @return the aggregates and the time range they cover, the rest of [start, end] has to be scanned. Null if no
+     * rollup can answer, or [start, end] reaches into values removed by retention.
+     */
+    public TemporalRollup.Result aggregateByRollup( TemporalPropertyStore store, long entityId, int propertyId,
+            TimePointL start, TimePointL end, TemporalRollup.Aggregate aggregate )
+    {
+        if ( start.isInit() || end.isNow() || start.val() <= expiredOf( store ).get( propertyId ) )
+        {
+            return null;
+        }
+        long latest = latestTimesOf( store ).get( propertyId );
+        TemporalRollup rollup = rollupsOf( store ).find( propertyId, end.val() - start.val() + 1, aggregate );
+        if ( rollup == null || latest == TemporalPropertyTimes.UNKNOWN )
+        {
+            return null;
+        }
+        return rollup.aggregate( this, store, entityId, start.val(), end.val(), latest - 1 );
+    }
+
+    /**
+     * Brings the rollup buckets overlapping {@code writes} up to date, called once they are in {@code store}.
+     */
+    public void refreshRollups( TemporalPropertyStore store, List<TimeIntervalValueEntry> writes )
+    {
+        rollupsOf( store ).refresh( this, store, writes );
+    }
+
+    /**
+     * Brings the rollup buckets of property {@code propertyId} of entity {@code entityId} overlapping [start, end]
+     * up to date, called once everything written in that range is in {@code store}.
+     */
+    public void refreshRollups( TemporalPropertyStore store, long entityId, int propertyId, long start, long end )
+    {
+        rollupsOf( store ).refresh( this, store, entityId, propertyId, start, end );
+    }
+
+    private TemporalRollups rollupsOf( TemporalPropertyStore store )
+    {
+        return store == relStore ? relRollups : nodeRollups;
+    }
+
+    /**
+     * Decode the result of a min/max aggregation index query.
+     *
+     * @return two element array holding min and max, elements are null if the property has no value in the queried range.
+     */
+    public Object[] decodeMinMax( TemporalPropertyStore store, int propertyId, AggregationIndexQueryResult result )
+    {
+        ValueContentType valueType = getPropertyType( store, propertyId );
+        Map<Integer,Slice> minMax = result.getMinMaxResult();
+        Slice min = minMax.get( AGGR_MIN );
+        Slice max = minMax.get( AGGR_MAX );
+        return new Object[]{
+                min == null ? null : fromSlice( valueType, min ),
+                max == null ? null : fromSlice( valueType, max )};
+    }
+
+    /**
+     * Sum up the result of a duration aggregation index query over all value groups,
+     * which is the number of time points in the queried range that have a value.
+     */
+    public long totalDuration( AggregationIndexQueryResult result )
+    {
+        long total = 0;
+        for ( Integer duration : result.getDurationResult().values() )
+        {
+            total += duration;
+        }
+        return total;
+    }
+
+    /**
+     * Flushes whatever has been written to the stores since their last flush and records that all transactions up
+     * to {@code upToTransactionId} are durable in them. Stores without changes are not touched.
+     *
+     * @param upToTransactionId the last closed transaction, read before calling this.
+     */
+    public void flush( long upToTransactionId ) throws IOException
+    {
+        flush( relStore, upToTransactionId );
+        flush( nodeStore, upToTransactionId );
+        memTableUsage.flushed();
+    }
+
+    /**
+     * Flushes one of the stores, see {@link #flush(long)}.
+     *
+     * @return true if the store had changes which were flushed.
+     */
+    public boolean flush( TemporalPropertyStore store, long upToTransactionId ) throws IOException
+    {
+        storeFilesLock.readLock().lock();
+        try
+        {
+            // buckets first, recovery recomputes those of transactions after the recorded one
+            rollupsOf( store ).flush();
+            return flushStateOf( store ).flush( store, upToTransactionId );
+        }
+        finally
+        {
+            storeFilesLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lists the files of both stores for copying them, by online backup or to seed a new cluster member. The stores
+     * only change their files when flushing, so flushes wait only while the files are listed and put into a directory
+     * of their own, see {@link #SNAPSHOTS_DIRECTORY_NAME}, and those are returned. Data files, see
+     * {@link #isWrittenOnce(File)}, are hard linked: flushes replacing or deleting them after that leave the links in
+     * place. All other files, like the meta data the stores rewrite in place when flushing, are copied. So the copy
+     * sees the files of the last flush before the snapshot. A check point before this makes them recent, and the last
+     * flushed transaction recorded with them tells recovery of the copy where to continue from. Closing the returned
+     * iterator deletes the snapshot, use {@link #storeFilePath(String)} to copy a file of it to the path of the store
+     * file it was taken from.
+     */
+    public ResourceIterator<File> snapshotStoreFiles() throws IOException
+    {
+        final File snapshotDir = new File( new File( dbDir, SNAPSHOTS_DIRECTORY_NAME ),
+                String.valueOf( snapshots.incrementAndGet() ) );
+        List<File> links = new ArrayList<>();
+        storeFilesLock.writeLock().lock();
+        try
+        {
+            List<File> files = new ArrayList<>();
+            listFiles( nodeDir, files );
+            listFiles( relDir, files );
+            for ( File file : files )
+            {
+                links.add( snapshot( file, snapshotDir, isWrittenOnce( file ) ) );
+            }
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            FileUtils.deleteRecursively( snapshotDir );
+            throw e;
+        }
+        finally
+        {
+            storeFilesLock.writeLock().unlock();
+        }
+        return resourceIterator( links.iterator(), new Resource()
+        {
+            @Override
+            public void close()
+            {
+                try
+                {
+                    FileUtils.deleteRecursively( snapshotDir );
+                }
+                catch ( IOException e )
+                {
+                    throw new UnderlyingStorageException( e );
+                }
+            }
+        } );
+    }
+
+    private File snapshot( File file, File snapshotDir, boolean linkable ) throws IOException
+    {
+        File link = new File( snapshotDir, FileUtils.relativePath( dbDir, file ) );
+        link.getParentFile().mkdirs();
+        if ( linkable )
+        {
+            try
+            {
+                Files.createLink( link.toPath(), file.toPath() );
+                return link;
+            }
+            catch ( UnsupportedOperationException e )
+            {
+                // file systems without hard links get a copy, still taken while flushes wait
+            }
+        }
+        Files.copy( file.toPath(), link.toPath() );
+        return link;
+    }
+
+    /**
+     * @return true if {@code file} is a data file of a store. Like the tables of other log structured stores, those
+     * are named by their file number and never changed once written, only replaced by newer files. Other files, like
+     * the meta data of the stores, may be rewritten in place, so a snapshot must not hard link them.
+     */
+    static boolean isWrittenOnce( File file )
+    {
+        String name = file.getName();
+        int dot = name.indexOf( '.' );
+        if ( dot <= 0 || dot == name.length() - 1 )
+        {
+            return false;
+        }
+        for ( int i = 0; i < dot; i++ )
+        {
+            if ( !Character.isDigit( name.charAt( i ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param relativePath path of a file relative to the database directory, possibly of a link listed by
+     * {@link #snapshotStoreFiles()}.
+     * @return the path relative to the database directory of the store file the link was made of, or
+     * {@code relativePath} itself if it is not the path of such a link.
+     */
+    public static String storeFilePath( String relativePath )
+    {
+        String prefix = SNAPSHOTS_DIRECTORY_NAME + File.separator;
+        if ( !relativePath.startsWith( prefix ) )
+        {
+            return relativePath;
+        }
+        int snapshotEnd = relativePath.indexOf( File.separatorChar, prefix.length() );
+        return snapshotEnd == -1 ? relativePath : relativePath.substring( snapshotEnd + 1 );
+    }
+
+    private static void listFiles( File dir, List<File> target )
+    {
+        File[] files = dir.listFiles();
+        if ( files == null )
+        {
+            return;
+        }
+        for ( File file : files )
+        {
+            if ( file.isDirectory() )
+            {
+                listFiles( file, target );
+            }
+            else if ( !file.getName().endsWith( ".tmp" ) )
+            {
+                // files being written to replace others are left out
+                target.add( file );
+            }
+        }
+    }
+
+    public boolean hasUnflushedChanges( TemporalPropertyStore store )
+    {
+        return flushStateOf( store ).isDirty();
+    }
+
+    /**
+     * @return true if the changes of {@code transactionId} to {@code store} have been flushed, so recovery need not
+     * apply them again.
+     */
+    public boolean isDurable( TemporalPropertyStore store, long transactionId )
+    {
+        return transactionId <= flushStateOf( store ).lastFlushedTransactionId();
+    }
+
+    /**
+     * @return true if both stores have recorded a flush, which every check point does, and stores which existed when
+     * the database started do as well. A database with committed transactions whose temporal stores have not
+     * recorded one was copied without the temporal property files, they were created on this start.
+     */
+    public boolean hasRecordedFlushes()
+    {
+        return nodeFlush.lastFlushedTransactionId() != TemporalFlushState.UNKNOWN &&
+               relFlush.lastFlushedTransactionId() != TemporalFlushState.UNKNOWN;
+    }
+
+    private TemporalFlushState flushStateOf( TemporalPropertyStore store )
+    {
+        return store == relStore ? relFlush : nodeFlush;
+    }
+
+    /**
+     * Called by the writer which exceeded the memtable budget. It must not wait for the flush, which may have to
+     * wait for a store copy to finish, so the flush runs as a job. Like a check point it records the last closed
+     * transaction, every transaction up to it has been applied to the stores.
+     */
+    private void requestBudgetFlush()
+    {
+        if ( budgetFlushPending.compareAndSet( false, true ) )
+        {
+            scheduler.schedule( temporalStoreFlush, budgetFlush );
+        }
+    }
+
+    private final Runnable budgetFlush = new Runnable()
+    {
+        @Override
+        public void run()
+        {
+            try
+            {
+                flush( lastClosedTransactionId.getAsLong() );
+            }
+            catch ( IOException | RuntimeException e )
+            {
+                // the next check point flushes everything anyway
+                log.warn( "Flush of the temporal property memtables exceeding their budget failed", e );
+            }
+            finally
+            {
+                budgetFlushPending.set( false );
+            }
+        }
+    };
+
     public TemporalPropertyStore getNodeStore()
     {
         return nodeStore;
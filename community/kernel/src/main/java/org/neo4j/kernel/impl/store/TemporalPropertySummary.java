@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.query.TimePointL;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.collection.primitive.Primitive;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.collection.primitive.PrimitiveLongSet;
+
+/**
+ * What one temporal property store holds per temporal property: the latest start time of a value, the time up to
+ * which values of some entity have been removed, and which entities have values at all.
+ * <p>
+ * It is derived from the writes applied to the store only, so every instance applying the same transactions ends up
+ * with the same summary. It is written next to the store by {@link TemporalFlushState#flush} before the flushed
+ * transaction id is recorded, the writes of later transactions are applied again by recovery.
+ * <p>
+ * Stores written by the batch importer or the batch inserter have no summary, see {@link #invalidate(File)}. It is
+ * then rebuilt from the static properties marking temporal properties, see {@link #isComplete()}.
+ * <p>
+ * The entity ids take memory like a primitive set per property, entities whose values have all been removed are
+ * dropped from it. Only retention needs them after a restart, so they are only written when retention is configured,
+ * see {@link TemporalRetention#isConfigured}. Otherwise every flush writes the times only, and after a restart the
+ * summary is not complete until retention rebuilds it.
+ */
+public class TemporalPropertySummary
+{
+    public static final String FILE_NAME = "property_summary";
+    // written instead of the number of entities of a property if they have not been written
+    private static final int ENTITIES_NOT_WRITTEN = -1;
+
+    private final File file;
+    private final boolean writeEntities;
+    private final TemporalPropertyTimes latestTimes = new TemporalPropertyTimes();
+    private final TemporalPropertyTimes removedUpTo = new TemporalPropertyTimes();
+    private final AtomicLong changes = new AtomicLong();
+    private long flushedChanges;
+    private volatile PrimitiveLongSet[] entities = new PrimitiveLongSet[0];
+    private volatile boolean complete;
+
+    TemporalPropertySummary( File storeDir )
+    {
+        this( storeDir, true );
+    }
+
+    /**
+     * @param writeEntities whether to write the entities having values, which are needed after a restart.
+     */
+    TemporalPropertySummary( File storeDir, boolean writeEntities )
+    {
+        this.file = new File( storeDir, FILE_NAME );
+        this.writeEntities = writeEntities;
+    }
+
+    /**
+     * Makes a store rebuild its summary on next startup, for tools writing the store files directly.
+     */
+    public static void invalidate( File storeDir ) throws IOException
+    {
+        Files.deleteIfExists( new File( storeDir, FILE_NAME ).toPath() );
+    }
+
+    void load() throws IOException
+    {
+        latestTimes.clear();
+        removedUpTo.clear();
+        entities = new PrimitiveLongSet[0];
+        changes.set( 0 );
+        flushedChanges = 0;
+        complete = file.exists();
+        if ( !complete )
+        {
+            return;
+        }
+        try ( DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) ) )
+        {
+            int properties = in.readInt();
+            for ( int propertyKeyId = 0; propertyKeyId < properties; propertyKeyId++ )
+            {
+                long latest = in.readLong();
+                if ( latest != TemporalPropertyTimes.UNKNOWN )
+                {
+                    latestTimes.max( propertyKeyId, latest );
+                }
+                long removed = in.readLong();
+                if ( removed != TemporalPropertyTimes.UNKNOWN )
+                {
+                    removedUpTo.max( propertyKeyId, removed );
+                }
+                int count = in.readInt();
+                if ( count == ENTITIES_NOT_WRITTEN )
+                {
+                    complete = false;
+                }
+                for ( int i = 0; i < count; i++ )
+                {
+                    add( propertyKeyId, in.readLong() );
+                }
+            }
+        }
+        flushedChanges = changes.get();
+    }
+
+    /**
+     * Accounts a write of the interval from {@code start} to {@code end}.
+     */
+    void written( InternalKey start, TimePointL end )
+    {
+        int propertyKeyId = start.getPropertyId();
+        if ( start.getValueType().isValue() )
+        {
+            latestTimes.max( propertyKeyId, start.getStartTime().val() );
+            add( propertyKeyId, start.getEntityId() );
+        }
+        else if ( start.getStartTime().isInit() )
+        {
+            if ( end.isNow() )
+            {
+                remove( propertyKeyId, start.getEntityId() );
+            }
+            else
+            {
+                removedUpTo.max( propertyKeyId, end.val() );
+            }
+        }
+        changes.incrementAndGet();
+    }
+
+    /**
+     * Accounts a run of writes to one property of one entity, in the order they were applied, updating the summary
+     * once for the whole run: whether the entity has values is decided by the last value or removal of all values
+     * in the run.
+     */
+    void written( List<TimeIntervalValueEntry> run )
+    {
+        InternalKey first = run.get( 0 ).getKey().getStartKey();
+        int propertyKeyId = first.getPropertyId();
+        long latest = TemporalPropertyTimes.UNKNOWN;
+        long removed = TemporalPropertyTimes.UNKNOWN;
+        Boolean hasValues = null;
+        for ( TimeIntervalValueEntry write : run )
+        {
+            InternalKey start = write.getKey().getStartKey();
+            TimePointL end = write.getKey().end();
+            if ( start.getValueType().isValue() )
+            {
+                latest = Math.max( latest, start.getStartTime().val() );
+                hasValues = Boolean.TRUE;
+            }
+            else if ( start.getStartTime().isInit() )
+            {
+                if ( end.isNow() )
+                {
+                    hasValues = Boolean.FALSE;
+                }
+                else
+                {
+                    removed = Math.max( removed, end.val() );
+                }
+            }
+        }
+        if ( latest != TemporalPropertyTimes.UNKNOWN )
+        {
+            latestTimes.max( propertyKeyId, latest );
+        }
+        if ( removed != TemporalPropertyTimes.UNKNOWN )
+        {
+            removedUpTo.max( propertyKeyId, removed );
+        }
+        if ( hasValues == Boolean.TRUE )
+        {
+            add( propertyKeyId, first.getEntityId() );
+        }
+        else if ( hasValues == Boolean.FALSE )
+        {
+            remove( propertyKeyId, first.getEntityId() );
+        }
+        changes.addAndGet( run.size() );
+    }
+
+    /**
+     * Adds an entity found having values while rebuilding the summary.
+     */
+    void add( int propertyKeyId, long entityId )
+    {
+        PrimitiveLongSet set = entitySet( propertyKeyId );
+        synchronized ( set )
+        {
+            set.add( entityId );
+        }
+    }
+
+    private void remove( int propertyKeyId, long entityId )
+    {
+        PrimitiveLongSet[] current = entities;
+        if ( propertyKeyId < current.length && current[propertyKeyId] != null )
+        {
+            PrimitiveLongSet set = current[propertyKeyId];
+            synchronized ( set )
+            {
+                set.remove( entityId );
+            }
+        }
+    }
+
+    private PrimitiveLongSet entitySet( int propertyKeyId )
+    {
+        PrimitiveLongSet[] current = entities;
+        if ( propertyKeyId < current.length && current[propertyKeyId] != null )
+        {
+            return current[propertyKeyId];
+        }
+        synchronized ( this )
+        {
+            current = entities;
+            if ( propertyKeyId >= current.length )
+            {
+                current = Arrays.copyOf( current, propertyKeyId + 1 );
+            }
+            if ( current[propertyKeyId] == null )
+            {
+                current[propertyKeyId] = Primitive.longSet();
+            }
+            entities = current;
+            return current[propertyKeyId];
+        }
+    }
+
+    /**
+     * The whole summary has been rebuilt from the static properties of the entities.
+     */
+    void rebuilt()
+    {
+        complete = true;
+        changes.incrementAndGet();
+    }
+
+    /**
+     * @return false if the summary has been lost and not rebuilt yet, then it may miss entities and times.
+     */
+    boolean isComplete()
+    {
+        return complete;
+    }
+
+    /**
+     * @return one more than the highest property key id the summary knows something about.
+     */
+    int propertyCount()
+    {
+        return Math.max( entities.length, latestTimes.size() );
+    }
+
+    /**
+     * Latest start time of a value written to each temporal property.
+     */
+    TemporalPropertyTimes latestTimes()
+    {
+        return latestTimes;
+    }
+
+    /**
+     * Time up to which values of some entity have been removed from each temporal property, by retention or by
+     * removing a range starting at the beginning of time. Aggregation indexes may still hold values before it.
+     */
+    TemporalPropertyTimes removedUpTo()
+    {
+        return removedUpTo;
+    }
+
+    /**
+     * @return true if some entity has values of {@code propertyKeyId}.
+     */
+    boolean hasEntities( int propertyKeyId )
+    {
+        PrimitiveLongSet[] current = entities;
+        if ( propertyKeyId >= current.length || current[propertyKeyId] == null )
+        {
+            return false;
+        }
+        PrimitiveLongSet set = current[propertyKeyId];
+        synchronized ( set )
+        {
+            return !set.isEmpty();
+        }
+    }
+
+    /**
+     * @return a copy of the ids of the entities having values of {@code propertyKeyId}.
+     */
+    long[] entities( int propertyKeyId )
+    {
+        PrimitiveLongSet[] current = entities;
+        if ( propertyKeyId >= current.length || current[propertyKeyId] == null )
+        {
+            return new long[0];
+        }
+        PrimitiveLongSet set = current[propertyKeyId];
+        synchronized ( set )
+        {
+            long[] ids = new long[set.size()];
+            int i = 0;
+            for ( PrimitiveLongIterator iterator = set.iterator(); iterator.hasNext(); )
+            {
+                ids[i++] = iterator.next();
+            }
+            Arrays.sort( ids );
+            return ids;
+        }
+    }
+
+    /**
+     * Writes the summary if it changed since it was last written. The entities are only written if the summary is
+     * complete and they are to be written at all.
+     */
+    synchronized void flush() throws IOException
+    {
+        long changesBefore = changes.get();
+        if ( changesBefore == flushedChanges )
+        {
+            return;
+        }
+        boolean withEntities = complete && writeEntities;
+        File temp = new File( file.getPath() + ".tmp" );
+        try ( FileOutputStream fileOut = new FileOutputStream( temp ) )
+        {
+            DataOutputStream out = new DataOutputStream( new BufferedOutputStream( fileOut ) );
+            int properties = propertyCount();
+            out.writeInt( properties );
+            for ( int propertyKeyId = 0; propertyKeyId < properties; propertyKeyId++ )
+            {
+                out.writeLong( latestTimes.get( propertyKeyId ) );
+                out.writeLong( removedUpTo.get( propertyKeyId ) );
+                if ( !withEntities )
+                {
+                    out.writeInt( ENTITIES_NOT_WRITTEN );
+                    continue;
+                }
+                long[] ids = entities( propertyKeyId );
+                out.writeInt( ids.length );
+                for ( long id : ids )
+                {
+                    out.writeLong( id );
+                }
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        Files.move( temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+        flushedChanges = changesBefore;
+    }
+}
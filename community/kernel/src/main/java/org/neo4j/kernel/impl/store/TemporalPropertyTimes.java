@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import java.util.Arrays;
+
+/**
+ * Maps property key ids to a time point, like the latest time written to each temporal property of a store.
+ * <p>
+ * Laid out like {@link TemporalPropertyTypes}: a plain array, replaced when a larger property key id shows up.
+ * Writers of different properties may run concurrently and synchronize on the mapping, readers never lock and may
+ * see a slightly older time.
+ */
+public class TemporalPropertyTimes
+{
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    private volatile long[] times = new long[0];
+
+    /**
+     * @return the time of {@code propertyKeyId}, or {@link #UNKNOWN}.
+     */
+    public long get( int propertyKeyId )
+    {
+        long[] current = times;
+        return propertyKeyId >= 0 && propertyKeyId < current.length ? current[propertyKeyId] : UNKNOWN;
+    }
+
+    /**
+     * @return one more than the highest property key id with a known time.
+     */
+    public int size()
+    {
+        return times.length;
+    }
+
+    /**
+     * Sets the time of {@code propertyKeyId} to {@code time} if that is later than its current time.
+     */
+    public void max( int propertyKeyId, long time )
+    {
+        if ( time <= get( propertyKeyId ) )
+        {
+            return;
+        }
+        synchronized ( this )
+        {
+            long[] current = times;
+            if ( propertyKeyId >= current.length )
+            {
+                long[] grown = Arrays.copyOf( current, propertyKeyId + 1 );
+                Arrays.fill( grown, current.length, grown.length, UNKNOWN );
+                grown[propertyKeyId] = time;
+                times = grown;
+            }
+            else if ( time > current[propertyKeyId] )
+            {
+                current[propertyKeyId] = time;
+            }
+        }
+    }
+
+    public synchronized void clear()
+    {
+        times = new long[0];
+    }
+}
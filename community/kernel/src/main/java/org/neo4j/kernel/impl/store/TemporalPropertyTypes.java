@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import java.util.Arrays;
+
+import org.act.temporalProperty.meta.ValueContentType;
+
+/**
+ * Maps property key ids to the value type of the temporal property stored under that key.
+ * <p>
+ * Property key ids are small and dense, so the mapping is kept in a plain array which is replaced
+ * on every update. Readers never lock; writers only happen the first time a property key is seen
+ * in a temporal command, so copying the array is cheap in practice.
+ * <p>
+ * A key holds values of one type only, writes of another type are rejected before they reach the store. Should two
+ * transactions racing to use a key still commit different types, the key is marked as having mixed types and
+ * {@link #get(int)} gives no type for it any more, so readers go back to the static property of each entity.
+ */
+public class TemporalPropertyTypes
+{
+    private static final Object MIXED = new Object();
+
+    private volatile Object[] types = new Object[0];
+
+    /**
+     * @return the value type of temporal property {@code propertyKeyId}, or null if it is not known
+     * to be a temporal property, or has values of different types.
+     */
+    public ValueContentType get( int propertyKeyId )
+    {
+        Object type = entry( propertyKeyId );
+        return type instanceof ValueContentType ? (ValueContentType) type : null;
+    }
+
+    /**
+     * @return true if values of different types have been written to {@code propertyKeyId}.
+     */
+    public boolean isMixed( int propertyKeyId )
+    {
+        return entry( propertyKeyId ) == MIXED;
+    }
+
+    private Object entry( int propertyKeyId )
+    {
+        Object[] current = types;
+        return propertyKeyId >= 0 && propertyKeyId < current.length ? current[propertyKeyId] : null;
+    }
+
+    public void put( int propertyKeyId, ValueContentType type )
+    {
+        if ( type == null || entry( propertyKeyId ) == type )
+        {
+            return;
+        }
+        synchronized ( this )
+        {
+            Object existing = entry( propertyKeyId );
+            set( propertyKeyId, existing == null || existing == type ? type : MIXED );
+        }
+    }
+
+    /**
+     * Forgets the type of {@code propertyKeyId}, once no entity has values of it any more.
+     */
+    public synchronized void remove( int propertyKeyId )
+    {
+        if ( entry( propertyKeyId ) != null )
+        {
+            set( propertyKeyId, null );
+        }
+    }
+
+    private void set( int propertyKeyId, Object type )
+    {
+        Object[] current = types;
+        Object[] updated = Arrays.copyOf( current, Math.max( current.length, propertyKeyId + 1 ) );
+        updated[propertyKeyId] = type;
+        types = updated;
+    }
+
+    public synchronized void clear()
+    {
+        types = new Object[0];
+    }
+}
@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.impl.InternalEntry;
+import org.act.temporalProperty.query.range.TimeRangeQuery;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.collection.primitive.PrimitiveIntIterator;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.function.Predicates;
+import org.neo4j.function.Supplier;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.kernel.api.DataWriteOperations;
+import org.neo4j.kernel.api.KernelAPI;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.ReadOperations;
+import org.neo4j.kernel.api.Statement;
+import org.neo4j.kernel.api.exceptions.EntityNotFoundException;
+import org.neo4j.kernel.api.exceptions.KernelException;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.core.TokenHolder;
+import org.neo4j.kernel.impl.util.JobScheduler;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.temporal.TemporalPropertyWriteOperation;
+import org.neo4j.temporal.TimePoint;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.neo4j.kernel.impl.api.StateHandlingStatementOperations.decodeTemporalPropertyMeta;
+import static org.neo4j.kernel.impl.util.JobScheduler.Groups.temporalRetention;
+
+/**
+ * Removes temporal property values which are older than their retention, see
+ * {@link GraphDatabaseSettings#temporal_retention}, in the background.
+ * <p>
+ * Retention is counted back from the latest time point written to a property, as recorded in the
+ * {@link TemporalPropertySummary} of the store, so it needs no knowledge of what time points mean and every instance
+ * having applied the same transactions computes the same cutoff. Values up to the cutoff are removed with one
+ * deletion interval per entity, from the beginning of time to the cutoff, the same as
+ * {@link org.neo4j.graphdb.PropertyContainer#removeTemporalProperty(String, TimePoint, TimePoint)} writes. Removals
+ * are committed as transactions, so they take the temporal property locks, are written to the transaction log and
+ * reach the other members of a cluster like any other write.
+ * <p>
+ * Only the entities which the summary lists for a property are looked at, and of those only values between the
+ * previous cutoff and the new one, which is one check interval worth of data. The cutoff reached by a sweep over all
+ * entities is kept in {@link TemporalRetentionCutoffs}, separate from removals written by users, which only cover
+ * some entities. A summary lost or written by an offline tool is rebuilt once from the static properties marking
+ * temporal properties.
+ * <p>
+ * The temporal stores have no way to drop a time range of their files, so the space of removed values is given
+ * back when the store merges the files holding them, not when they are removed. {@link #expiredValueBytes()} is an
+ * estimate of the size of the removed values, not of disk space given back.
+ */
+public class TemporalRetention extends LifecycleAdapter
+{
+    public interface Monitor
+    {
+        /**
+         * Values of {@code entities} entities have been removed from temporal property {@code propertyKeyId}, they
+         * take an estimated {@code bytes} until the store merges the files holding them.
+         */
+        void expired( int propertyKeyId, long entities, long bytes );
+    }
+
+    static final int ENTITIES_PER_TRANSACTION = 1000;
+
+    private final TemporalPropertyStoreAdapter temporalStore;
+    private final KernelAPI kernel;
+    private final TokenHolder<?> propertyKeyTokens;
+    private final JobScheduler scheduler;
+    private final Monitor monitor;
+    private final Log log;
+    private final long globalRetention;
+    private final Map<String,Long> keyRetention;
+    private final long recurringPeriodMillis;
+    private final boolean enabled;
+    private final AtomicLong expiredValueBytes = new AtomicLong();
+    private final AtomicLong expiredEntities = new AtomicLong();
+
+    private final Runnable job = new Runnable()
+    {
+        @Override
+        public void run()
+        {
+            try
+            {
+                running = true;
+                if ( stopped )
+                {
+                    return;
+                }
+                expire();
+            }
+            catch ( Exception e )
+            {
+                log.warn( "Removing expired temporal property values failed", e );
+            }
+            finally
+            {
+                running = false;
+            }
+
+            if ( !stopped )
+            {
+                handle = scheduler.schedule( temporalRetention, job, recurringPeriodMillis, MILLISECONDS );
+            }
+        }
+    };
+
+    private volatile JobScheduler.JobHandle handle;
+    private volatile boolean stopped;
+    private volatile boolean running;
+    private final Supplier<Boolean> runningCondition = new Supplier<Boolean>()
+    {
+        @Override
+        public Boolean get()
+        {
+            return !running;
+        }
+    };
+
+    public TemporalRetention( TemporalPropertyStoreAdapter temporalStore, KernelAPI kernel,
+            TokenHolder<?> propertyKeyTokens, Config config, JobScheduler scheduler, Monitor monitor,
+            LogProvider logProvider )
+    {
+        this.temporalStore = temporalStore;
+        this.kernel = kernel;
+        this.propertyKeyTokens = propertyKeyTokens;
+        this.scheduler = scheduler;
+        this.monitor = monitor;
+        this.log = logProvider.getLog( getClass() );
+        this.globalRetention = config.get( GraphDatabaseSettings.temporal_retention );
+        this.keyRetention = parseKeyRetention( config.get( GraphDatabaseSettings.temporal_retention_per_key ) );
+        this.recurringPeriodMillis = config.get( GraphDatabaseSettings.temporal_retention_check_interval );
+        this.enabled = isConfigured( config );
+    }
+
+    static Map<String,Long> parseKeyRetention( String value )
+    {
+        Map<String,Long> retention = new HashMap<>();
+        if ( value != null )
+        {
+            for ( String entry : value.split( "," ) )
+            {
+                int separator = entry.indexOf( '=' );
+                retention.put( entry.substring( 0, separator ).trim(),
+                        Long.parseLong( entry.substring( separator + 1 ).trim() ) );
+            }
+        }
+        return retention;
+    }
+
+    /**
+     * @return true if values of some temporal property are to be removed after a while.
+     */
+    public static boolean isConfigured( Config config )
+    {
+        if ( config.get( GraphDatabaseSettings.temporal_retention ) > 0 )
+        {
+            return true;
+        }
+        for ( long retention : parseKeyRetention(
+                config.get( GraphDatabaseSettings.temporal_retention_per_key ) ).values() )
+        {
+            if ( retention > 0 )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes values past their retention from both stores.
+     */
+    void expire() throws KernelException, IOException
+    {
+        expire( temporalStore.nodeStore(), true );
+        expire( temporalStore.relStore(), false );
+    }
+
+    private void expire( TemporalPropertyStore store, boolean nodes ) throws KernelException, IOException
+    {
+        TemporalPropertySummary summary = temporalStore.summaryOf( store );
+        TemporalRetentionCutoffs cutoffs = temporalStore.retentionCutoffsOf( store );
+        if ( !summary.isComplete() )
+        {
+            rebuild( store, summary, nodes );
+        }
+        TemporalPropertyTimes latestTimes = summary.latestTimes();
+        Map<Integer,Long> retentionById = retentionByPropertyKeyId();
+        for ( int propertyKeyId = 0; propertyKeyId < summary.propertyCount() && !stopped; propertyKeyId++ )
+        {
+            Long keyRetention = retentionById.get( propertyKeyId );
+            long retention = keyRetention != null ? keyRetention : globalRetention;
+            long latest = latestTimes.get( propertyKeyId );
+            if ( retention <= 0 || latest == TemporalPropertyTimes.UNKNOWN )
+            {
+                continue;
+            }
+            long cutoff = latest - retention;
+            long previousCutoff = cutoffs.get( propertyKeyId );
+            if ( cutoff < 0 || cutoff <= previousCutoff )
+            {
+                continue;
+            }
+            if ( expire( store, nodes, summary.entities( propertyKeyId ), propertyKeyId, previousCutoff, cutoff ) )
+            {
+                cutoffs.swept( propertyKeyId, cutoff );
+            }
+        }
+    }
+
+    /**
+     * @return true if all entities have been looked at.
+     */
+    private boolean expire( TemporalPropertyStore store, boolean nodes, long[] entityIds, int propertyKeyId,
+            long previousCutoff, long cutoff ) throws KernelException
+    {
+        TimePoint from = previousCutoff == TemporalPropertyTimes.UNKNOWN ? TimePoint.INIT : new TimePoint( previousCutoff + 1 );
+        TimePoint to = new TimePoint( cutoff );
+        ValueCounter counter = new ValueCounter();
+        long[] expiring = new long[ENTITIES_PER_TRANSACTION];
+        long entities = 0;
+        long bytes = 0;
+        int index = 0;
+        while ( index < entityIds.length )
+        {
+            if ( stopped )
+            {
+                return false;
+            }
+            int count = 0;
+            for ( ; index < entityIds.length && count < expiring.length; index++ )
+            {
+                counter.values = 0;
+                counter.bytes = 0;
+                temporalStore.getRange( store, entityIds[index], propertyKeyId, from, to, counter, null );
+                if ( counter.values > 0 )
+                {
+                    expiring[count++] = entityIds[index];
+                    bytes += counter.bytes;
+                }
+            }
+            entities += remove( nodes, expiring, count, propertyKeyId, to );
+        }
+        if ( entities > 0 )
+        {
+            expiredEntities.addAndGet( entities );
+            expiredValueBytes.addAndGet( bytes );
+            monitor.expired( propertyKeyId, entities, bytes );
+        }
+        return true;
+    }
+
+    /**
+     * Removes the values up to {@code to} of {@code count} entities in one transaction.
+     *
+     * @return number of entities still existing, whose values have been removed.
+     */
+    private int remove( boolean nodes, long[] entityIds, int count, int propertyKeyId, TimePoint to )
+            throws KernelException
+    {
+        if ( count == 0 )
+        {
+            return 0;
+        }
+        int removed = 0;
+        try ( KernelTransaction transaction = kernel.newTransaction();
+              Statement statement = transaction.acquireStatement() )
+        {
+            DataWriteOperations write = statement.dataWriteOperations();
+            for ( int i = 0; i < count; i++ )
+            {
+                TemporalPropertyWriteOperation op =
+                        new TemporalPropertyWriteOperation( entityIds[i], propertyKeyId, TimePoint.INIT, to, null );
+                try
+                {
+                    if ( nodes )
+                    {
+                        write.nodeSetTemporalProperty( op );
+                    }
+                    else
+                    {
+                        write.relationshipSetTemporalProperty( op );
+                    }
+                    removed++;
+                }
+                catch ( EntityNotFoundException e )
+                {
+                    // deleted meanwhile, along with its values
+                }
+            }
+            transaction.success();
+        }
+        return removed;
+    }
+
+    /**
+     * Rebuilds the summary of {@code store} from the static properties marking temporal properties, and the
+     * values of the properties found. Only needed once for a store written by an offline tool.
+     */
+    private void rebuild( TemporalPropertyStore store, TemporalPropertySummary summary, boolean nodes )
+            throws KernelException
+    {
+        log.info( "Rebuilding the summary of temporal %s properties", nodes ? "node" : "relationship" );
+        LatestTime latestTime = new LatestTime();
+        try ( KernelTransaction transaction = kernel.newTransaction();
+              Statement statement = transaction.acquireStatement() )
+        {
+            ReadOperations read = statement.readOperations();
+            PrimitiveLongIterator ids = nodes ? read.nodesGetAll() : read.relationshipsGetAll();
+            while ( ids.hasNext() )
+            {
+                if ( stopped )
+                {
+                    return;
+                }
+                long id = ids.next();
+                try
+                {
+                    PrimitiveIntIterator keys = nodes ? read.nodeGetPropertyKeys( id )
+                                                      : read.relationshipGetPropertyKeys( id );
+                    while ( keys.hasNext() )
+                    {
+                        int key = keys.next();
+                        Object value = nodes ? read.nodeGetProperty( id, key ) : read.relationshipGetProperty( id, key );
+                        if ( decodeTemporalPropertyMeta( value ) != null )
+                        {
+                            summary.add( key, id );
+                            latestTime.time = TemporalPropertyTimes.UNKNOWN;
+                            temporalStore.getRange( store, id, key, TimePoint.INIT, TimePoint.NOW, latestTime, null );
+                            if ( latestTime.time != TemporalPropertyTimes.UNKNOWN )
+                            {
+                                summary.latestTimes().max( key, latestTime.time );
+                            }
+                        }
+                    }
+                }
+                catch ( EntityNotFoundException e )
+                {
+                    // deleted meanwhile
+                }
+            }
+        }
+        summary.rebuilt();
+    }
+
+    private Map<Integer,Long> retentionByPropertyKeyId()
+    {
+        Map<Integer,Long> byId = new HashMap<>();
+        for ( Map.Entry<String,Long> entry : keyRetention.entrySet() )
+        {
+            int id = propertyKeyTokens.getIdByName( entry.getKey() );
+            if ( id != TokenHolder.NO_ID )
+            {
+                byId.put( id, entry.getValue() );
+            }
+        }
+        return byId;
+    }
+
+    /**
+     * @return estimated size of all values removed since startup. Their disk space is given back later, when the
+     * store merges the files holding them.
+     */
+    public long expiredValueBytes()
+    {
+        return expiredValueBytes.get();
+    }
+
+    /**
+     * @return number of times the values of an entity have been removed from a property since startup.
+     */
+    public long expiredEntities()
+    {
+        return expiredEntities.get();
+    }
+
+    @Override
+    public void start() throws Throwable
+    {
+        if ( recurringPeriodMillis > 0 && enabled )
+        {
+            handle = scheduler.schedule( temporalRetention, job, recurringPeriodMillis, MILLISECONDS );
+        }
+    }
+
+    @Override
+    public void stop() throws Throwable
+    {
+        stopped = true;
+        if ( handle != null )
+        {
+            handle.cancel( false );
+        }
+        Predicates.awaitForever( runningCondition, 100, MILLISECONDS );
+    }
+
+    /**
+     * Counts the values in a range, and their estimated size in the memtable and files.
+     */
+    private static class ValueCounter implements TimeRangeQuery
+    {
+        private long values;
+        private long bytes;
+
+        @Override
+        public void setValueType( String valueType )
+        {
+        }
+
+        @Override
+        public void onNewEntry( InternalEntry entry )
+        {
+            if ( entry.getKey().getValueType().isValue() )
+            {
+                values++;
+                bytes += TemporalPropertyStoreAdapter.MEMTABLE_ENTRY_OVERHEAD + entry.getValue().length();
+            }
+        }
+
+        @Override
+        public Object onReturn()
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the latest start time of a value in a range.
+     */
+    private static class LatestTime implements TimeRangeQuery
+    {
+        private long time;
+
+        @Override
+        public void setValueType( String valueType )
+        {
+        }
+
+        @Override
+        public void onNewEntry( InternalEntry entry )
+        {
+            if ( entry.getKey().getValueType().isValue() )
+            {
+                time = Math.max( time, entry.getKey().getStartTime().val() );
+            }
+        }
+
+        @Override
+        public Object onReturn()
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * The cutoff up to which {@link TemporalRetention} has removed the values of all entities of each temporal property
+ * of one store, kept in a file next to the store.
+ * <p>
+ * Only sweeps of retention which looked at every entity move a cutoff. Removals starting at the beginning of time
+ * written by users, which the {@link TemporalPropertySummary} accounts as well, only cover the entities they were
+ * written for, so they must not make retention skip the values of other entities.
+ * <p>
+ * Without the file, like on an instance which has never run retention, the next sweep starts at the beginning of
+ * time.
+ */
+public class TemporalRetentionCutoffs
+{
+    public static final String FILE_NAME = "retention_cutoffs";
+
+    private final File file;
+    private final TemporalPropertyTimes cutoffs = new TemporalPropertyTimes();
+
+    TemporalRetentionCutoffs( File storeDir )
+    {
+        this.file = new File( storeDir, FILE_NAME );
+    }
+
+    void load() throws IOException
+    {
+        cutoffs.clear();
+        if ( !file.exists() )
+        {
+            return;
+        }
+        try ( DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) ) )
+        {
+            int properties = in.readInt();
+            for ( int propertyKeyId = 0; propertyKeyId < properties; propertyKeyId++ )
+            {
+                long cutoff = in.readLong();
+                if ( cutoff != TemporalPropertyTimes.UNKNOWN )
+                {
+                    cutoffs.max( propertyKeyId, cutoff );
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the time up to which retention has removed the values of {@code propertyKeyId}, or
+     * {@link TemporalPropertyTimes#UNKNOWN}.
+     */
+    long get( int propertyKeyId )
+    {
+        return cutoffs.get( propertyKeyId );
+    }
+
+    /**
+     * Records that retention has removed the values of all entities of {@code propertyKeyId} up to {@code cutoff}.
+     */
+    synchronized void swept( int propertyKeyId, long cutoff ) throws IOException
+    {
+        if ( cutoff <= cutoffs.get( propertyKeyId ) )
+        {
+            return;
+        }
+        cutoffs.max( propertyKeyId, cutoff );
+        File temp = new File( file.getPath() + ".tmp" );
+        try ( FileOutputStream fileOut = new FileOutputStream( temp );
+              DataOutputStream out = new DataOutputStream( fileOut ) )
+        {
+            int properties = cutoffs.size();
+            out.writeInt( properties );
+            for ( int id = 0; id < properties; id++ )
+            {
+                out.writeLong( cutoffs.get( id ) );
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        Files.move( temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+    }
+}
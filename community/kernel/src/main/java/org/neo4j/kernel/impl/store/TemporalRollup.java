@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.impl.InternalEntry;
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.meta.ValueContentType;
+import org.act.temporalProperty.query.TimeIntervalKey;
+import org.act.temporalProperty.query.TimePointL;
+import org.act.temporalProperty.query.range.TimeRangeQuery;
+import org.act.temporalProperty.util.Slice;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.temporal.TemporalAggregate;
+import org.neo4j.temporal.TemporalRangeQuery;
+import org.neo4j.temporal.TimePoint;
+
+import static org.act.temporalProperty.util.TemporalPropertyValueConvertor.fromSlice;
+
+/**
+ * A rollup of a numeric temporal property: its aggregates per bucket of {@link #bucketSize()} time points, bucket
+ * {@code b} covering [b * bucketSize, (b + 1) * bucketSize - 1]. Aggregations over long windows add up the buckets
+ * inside the window and only scan the raw values at its edges.
+ * <p>
+ * Buckets are derived series kept in a temporal property store of their own, next to the store they are derived
+ * from: property {@link #seriesId()} of an entity holds one interval per bucket, valid for the time points of the
+ * bucket, with the {@link TemporalAggregate#toBytes() encoded} aggregate as value. So they survive restarts, and are
+ * flushed, backed up and copied to other instances with the store, see
+ * {@link TemporalPropertyStoreAdapter#flush(TemporalPropertyStore, long)}.
+ * <p>
+ * A bucket is computed the first time a query needs it, once the latest time written to the property has passed its
+ * end. From then on it is recomputed while the transactions writing values overlapping it are applied, see
+ * {@link #refresh(TemporalPropertyStoreAdapter, TemporalPropertyStore, long, long, long)}. The buckets are flushed
+ * before the store they are derived from records its flush, so recovery applying later transactions again recomputes
+ * the buckets they changed. Computing and refreshing the buckets of an entity is serialized on a lock of the entity,
+ * so a bucket computed while a write is being applied is refreshed again after it.
+ */
+public class TemporalRollup
+{
+    public enum Aggregate
+    {
+        MIN, MAX, SUM, AVG, COUNT
+    }
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final int seriesId;
+    private final int propertyId;
+    private final long bucketSize;
+    private final Set<Aggregate> aggregates;
+    private final TemporalPropertyStore series;
+    private final AtomicLong seriesWrites;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * @param seriesId property id of the buckets in {@code series}, unique among the rollups of a store.
+     * @param series the store keeping the buckets of the rollups of a store.
+     * @param seriesWrites counts the buckets written to {@code series}, for flushing it only when needed.
+     */
+    TemporalRollup( int seriesId, int propertyId, long bucketSize, Set<Aggregate> aggregates,
+            TemporalPropertyStore series, AtomicLong seriesWrites )
+    {
+        if ( bucketSize <= 0 )
+        {
+            throw new IllegalArgumentException( "Bucket size of a rollup must be positive, got " + bucketSize );
+        }
+        this.seriesId = seriesId;
+        this.propertyId = propertyId;
+        this.bucketSize = bucketSize;
+        this.aggregates = Collections.unmodifiableSet( EnumSet.copyOf( aggregates ) );
+        this.series = series;
+        this.seriesWrites = seriesWrites;
+        for ( int i = 0; i < locks.length; i++ )
+        {
+            locks[i] = new Object();
+        }
+    }
+
+    int seriesId()
+    {
+        return seriesId;
+    }
+
+    public int propertyId()
+    {
+        return propertyId;
+    }
+
+    public long bucketSize()
+    {
+        return bucketSize;
+    }
+
+    public Set<Aggregate> aggregates()
+    {
+        return aggregates;
+    }
+
+    public boolean serves( Aggregate aggregate )
+    {
+        return aggregates.contains( aggregate );
+    }
+
+    /**
+     * Adds up the whole buckets inside [start, end] which end at or before {@code completeUntil}.
+     *
+     * @return the aggregates of the buckets and the time range they cover, or null if no whole bucket is inside.
+     */
+    public Result aggregate( TemporalPropertyStoreAdapter adapter, TemporalPropertyStore store, long entityId,
+            long start, long end, long completeUntil )
+    {
+        long first = (start + bucketSize - 1) / bucketSize;
+        long last = (Math.min( end, completeUntil ) + 1) / bucketSize - 1;
+        if ( start < 0 || last < first )
+        {
+            return null;
+        }
+        TemporalAggregate total = new TemporalAggregate();
+        synchronized ( lockOf( entityId ) )
+        {
+            NavigableMap<Long,TemporalAggregate> buckets = read( entityId, first, last );
+            long missingFrom = -1;
+            for ( long bucket = first; bucket <= last; bucket++ )
+            {
+                boolean missing = !buckets.containsKey( bucket );
+                if ( missing && missingFrom < 0 )
+                {
+                    missingFrom = bucket;
+                }
+                if ( missingFrom >= 0 && (!missing || bucket == last) )
+                {
+                    compute( adapter, store, entityId, missingFrom, missing ? bucket : bucket - 1, buckets );
+                    missingFrom = -1;
+                }
+            }
+            for ( TemporalAggregate bucket : buckets.values() )
+            {
+                total.merge( bucket );
+            }
+        }
+        return new Result( first * bucketSize, (last + 1) * bucketSize - 1, total );
+    }
+
+    /**
+     * Recomputes the buckets of {@code entityId} overlapping [start, end] which have been computed before. Called
+     * while applying values written in that range, once they are in the store.
+     */
+    void refresh( TemporalPropertyStoreAdapter adapter, TemporalPropertyStore store, long entityId, long start,
+            long end )
+    {
+        long first = Math.max( start, 0 ) / bucketSize;
+        long last = end / bucketSize;
+        if ( last < first )
+        {
+            return;
+        }
+        synchronized ( lockOf( entityId ) )
+        {
+            NavigableMap<Long,TemporalAggregate> computed = read( entityId, first, last );
+            // refresh whole runs of computed buckets, each with one scan
+            long runStart = -1;
+            long previous = -1;
+            for ( Long bucket : computed.keySet().toArray( new Long[computed.size()] ) )
+            {
+                if ( runStart >= 0 && bucket != previous + 1 )
+                {
+                    compute( adapter, store, entityId, runStart, previous, computed );
+                    runStart = -1;
+                }
+                if ( runStart < 0 )
+                {
+                    runStart = bucket;
+                }
+                previous = bucket;
+            }
+            if ( runStart >= 0 )
+            {
+                compute( adapter, store, entityId, runStart, previous, computed );
+            }
+        }
+    }
+
+    private Object lockOf( long entityId )
+    {
+        return locks[(int) ((entityId ^ (entityId >>> 32)) & Integer.MAX_VALUE) % locks.length];
+    }
+
+    /**
+     * @return the computed buckets of {@code entityId} in [firstBucket, lastBucket], by bucket number.
+     */
+    private NavigableMap<Long,TemporalAggregate> read( long entityId, long firstBucket, long lastBucket )
+    {
+        BucketReader reader = new BucketReader( firstBucket * bucketSize );
+        TimePoint end = lastBucket >= Long.MAX_VALUE / bucketSize ? TimePoint.NOW
+                                                                   : new TimePoint( (lastBucket + 1) * bucketSize - 1 );
+        series.getRangeValue( entityId, seriesId, new TimePoint( firstBucket * bucketSize ), end, reader, null );
+        return reader.buckets;
+    }
+
+    /**
+     * Computes buckets [firstBucket, lastBucket] of {@code entityId} with one range scan, and writes them to the
+     * series store and to {@code buckets}.
+     */
+    private void compute( TemporalPropertyStoreAdapter adapter, TemporalPropertyStore store, long entityId,
+            long firstBucket, long lastBucket, NavigableMap<Long,TemporalAggregate> buckets )
+    {
+        long start = firstBucket * bucketSize;
+        long end = (lastBucket + 1) * bucketSize - 1;
+        BucketScan scan = new BucketScan( firstBucket, lastBucket, start, end );
+        Slice seed = adapter.getPoint( store, entityId, propertyId, new TimePoint( start ) );
+        if ( seed != null )
+        {
+            scan.current = fromSlice( adapter.getPropertyType( store, propertyId ), seed );
+        }
+        adapter.getRange( store, entityId, propertyId, new TimePoint( start ), new TimePoint( end ), scan, null );
+        scan.finish( end + 1 );
+        for ( long bucket = firstBucket; bucket <= lastBucket; bucket++ )
+        {
+            TemporalAggregate aggregate = scan.buckets[(int) (bucket - firstBucket)];
+            series.setProperty( new TimeIntervalKey( new InternalKey( seriesId, entityId,
+                    new TimePoint( bucket * bucketSize ), ValueType.fromValueContentType( ValueContentType.STRING ) ),
+                    new TimePoint( (bucket + 1) * bucketSize - 1 ) ), new Slice( aggregate.toBytes() ) );
+            buckets.put( bucket, aggregate );
+        }
+        seriesWrites.addAndGet( lastBucket - firstBucket + 1 );
+    }
+
+    /**
+     * Collects the buckets of a range of the series store.
+     */
+    private class BucketReader implements TimeRangeQuery
+    {
+        private final NavigableMap<Long,TemporalAggregate> buckets = new TreeMap<>();
+        private final long from;
+
+        BucketReader( long from )
+        {
+            this.from = from;
+        }
+
+        @Override
+        public void setValueType( String valueType )
+        {
+        }
+
+        @Override
+        public void onNewEntry( InternalEntry entry )
+        {
+            InternalKey key = entry.getKey();
+            if ( key.getValueType().isValue() && !key.getStartTime().isInit() && key.getStartTime().val() >= from )
+            {
+                buckets.put( key.getStartTime().val() / bucketSize,
+                        TemporalAggregate.fromBytes( entry.getValue().getBytes() ) );
+            }
+        }
+
+        @Override
+        public Object onReturn()
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Folds the entries of a range into the buckets it spans, splitting values valid across a bucket boundary.
+     */
+    private class BucketScan extends TemporalRangeQuery
+    {
+        private final long firstBucket;
+        private final long end;
+        private final TemporalAggregate[] buckets;
+        private Object current;
+        private long currentStart;
+
+        BucketScan( long firstBucket, long lastBucket, long start, long end )
+        {
+            this.firstBucket = firstBucket;
+            this.end = end;
+            this.buckets = new TemporalAggregate[(int) (lastBucket - firstBucket + 1)];
+            for ( int i = 0; i < buckets.length; i++ )
+            {
+                buckets[i] = new TemporalAggregate();
+            }
+            this.currentStart = start;
+        }
+
+        @Override
+        public void onNewEntry( long entityId, int propertyId, TimePointL time, Object val )
+        {
+            long t = time.val();
+            if ( t > currentStart && t <= end )
+            {
+                close( t );
+                current = val;
+                currentStart = t;
+            }
+        }
+
+        @Override
+        public Object onReturn()
+        {
+            return null;
+        }
+
+        void finish( long until )
+        {
+            close( until );
+            current = null;
+        }
+
+        private void close( long until )
+        {
+            if ( !(current instanceof Number) )
+            {
+                return;
+            }
+            long from = currentStart;
+            while ( from < until )
+            {
+                long bucket = from / bucketSize;
+                long to = Math.min( until, (bucket + 1) * bucketSize );
+                buckets[(int) (bucket - firstBucket)].add( (Number) current, to - from );
+                from = to;
+            }
+        }
+    }
+
+    /**
+     * Aggregates of the whole buckets in [{@link #start()}, {@link #end()}].
+     */
+    public static class Result
+    {
+        private final long start;
+        private final long end;
+        private final TemporalAggregate aggregate;
+
+        Result( long start, long end, TemporalAggregate aggregate )
+        {
+            this.start = start;
+            this.end = end;
+            this.aggregate = aggregate;
+        }
+
+        public long start()
+        {
+            return start;
+        }
+
+        public long end()
+        {
+            return end;
+        }
+
+        public TemporalAggregate aggregate()
+        {
+            return aggregate;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The rollups of one temporal property store. Their definitions are kept in a file next to the store, their buckets
+ * in a temporal property store of their own in directory {@link #SERIES_DIRECTORY_NAME} of the store, see
+ * {@link TemporalRollup}.
+ */
+class TemporalRollups
+{
+    static final String FILE_NAME = "rollups";
+    static final String SERIES_DIRECTORY_NAME = "rollup.series";
+
+    private final File file;
+    private final TemporalPropertyStore series;
+    // buckets written to the series store, see TemporalRollup#compute
+    private final AtomicLong seriesWrites = new AtomicLong();
+    private long flushedSeriesWrites;
+    private volatile List<TemporalRollup> rollups = Collections.emptyList();
+
+    TemporalRollups( File storeDir, TemporalPropertyStore series )
+    {
+        this.file = new File( storeDir, FILE_NAME );
+        this.series = series;
+    }
+
+    void load() throws IOException
+    {
+        List<TemporalRollup> loaded = new ArrayList<>();
+        if ( file.exists() )
+        {
+            try ( DataInputStream in = new DataInputStream( new FileInputStream( file ) ) )
+            {
+                int count = in.readInt();
+                for ( int i = 0; i < count; i++ )
+                {
+                    int seriesId = in.readInt();
+                    int propertyId = in.readInt();
+                    long bucketSize = in.readLong();
+                    loaded.add( new TemporalRollup( seriesId, propertyId, bucketSize, decode( in.readInt() ),
+                            series, seriesWrites ) );
+                }
+            }
+        }
+        rollups = Collections.unmodifiableList( loaded );
+    }
+
+    /**
+     * Adds a rollup, or returns the existing one of the same property and bucket size if its aggregates cover the
+     * requested ones. A rollup replacing one with fewer aggregates keeps its buckets, they hold all aggregates.
+     */
+    synchronized TemporalRollup add( int propertyId, long bucketSize, Set<TemporalRollup.Aggregate> aggregates )
+            throws IOException
+    {
+        List<TemporalRollup> updated = new ArrayList<>();
+        int seriesId = -1;
+        int maxSeriesId = -1;
+        for ( TemporalRollup rollup : rollups )
+        {
+            maxSeriesId = Math.max( maxSeriesId, rollup.seriesId() );
+            if ( rollup.propertyId() == propertyId && rollup.bucketSize() == bucketSize )
+            {
+                if ( rollup.aggregates().containsAll( aggregates ) )
+                {
+                    return rollup;
+                }
+                aggregates = EnumSet.copyOf( aggregates );
+                aggregates.addAll( rollup.aggregates() );
+                seriesId = rollup.seriesId();
+            }
+            else
+            {
+                updated.add( rollup );
+            }
+        }
+        TemporalRollup added = new TemporalRollup( seriesId >= 0 ? seriesId : maxSeriesId + 1, propertyId,
+                bucketSize, aggregates, series, seriesWrites );
+        updated.add( added );
+        write( updated );
+        rollups = Collections.unmodifiableList( updated );
+        return added;
+    }
+
+    List<TemporalRollup> list()
+    {
+        return rollups;
+    }
+
+    boolean isEmpty()
+    {
+        return rollups.isEmpty();
+    }
+
+    /**
+     * @return the rollup of {@code propertyId} with the largest buckets not larger than {@code windowLength} which
+     * keeps {@code aggregate}, or null if there is none.
+     */
+    TemporalRollup find( int propertyId, long windowLength, TemporalRollup.Aggregate aggregate )
+    {
+        TemporalRollup coarsest = null;
+        for ( TemporalRollup rollup : rollups )
+        {
+            if ( rollup.propertyId() == propertyId && rollup.serves( aggregate ) &&
+                 rollup.bucketSize() <= windowLength &&
+                 (coarsest == null || rollup.bucketSize() > coarsest.bucketSize()) )
+            {
+                coarsest = rollup;
+            }
+        }
+        return coarsest;
+    }
+
+    /**
+     * Refreshes the buckets overlapping {@code writes}, which have just been written to {@code store}.
+     */
+    void refresh( TemporalPropertyStoreAdapter adapter, TemporalPropertyStore store,
+            List<TimeIntervalValueEntry> writes )
+    {
+        if ( rollups.isEmpty() )
+        {
+            return;
+        }
+        for ( TimeIntervalValueEntry write : writes )
+        {
+            InternalKey key = write.getKey().getStartKey();
+            refresh( adapter, store, key.getEntityId(), key.getPropertyId(), key.getStartTime().val(),
+                    write.getKey().end().val() );
+        }
+    }
+
+    /**
+     * Refreshes the buckets of one property of one entity overlapping [start, end], which has just been written to.
+     */
+    void refresh( TemporalPropertyStoreAdapter adapter, TemporalPropertyStore store, long entityId, int propertyId,
+            long start, long end )
+    {
+        for ( TemporalRollup rollup : rollups )
+        {
+            if ( rollup.propertyId() == propertyId )
+            {
+                rollup.refresh( adapter, store, entityId, start, end );
+            }
+        }
+    }
+
+    /**
+     * Makes the buckets written so far durable, before the store they are derived from records a flush.
+     */
+    synchronized void flush() throws IOException
+    {
+        long writesBefore = seriesWrites.get();
+        if ( writesBefore != flushedSeriesWrites )
+        {
+            series.flushMemTable2Disk();
+            series.flushMetaInfo2Disk();
+            flushedSeriesWrites = writesBefore;
+        }
+    }
+
+    void shutdown()
+    {
+        series.shutDown();
+    }
+
+    private void write( List<TemporalRollup> definitions ) throws IOException
+    {
+        File temp = new File( file.getPath() + ".tmp" );
+        try ( FileOutputStream fileOut = new FileOutputStream( temp );
+              DataOutputStream out = new DataOutputStream( fileOut ) )
+        {
+            out.writeInt( definitions.size() );
+            for ( TemporalRollup rollup : definitions )
+            {
+                out.writeInt( rollup.seriesId() );
+                out.writeInt( rollup.propertyId() );
+                out.writeLong( rollup.bucketSize() );
+                out.writeInt( encode( rollup.aggregates() ) );
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        Files.move( temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+    }
+
+    private static int encode( Set<TemporalRollup.Aggregate> aggregates )
+    {
+        int bits = 0;
+        for ( TemporalRollup.Aggregate aggregate : aggregates )
+        {
+            bits |= 1 << aggregate.ordinal();
+        }
+        return bits;
+    }
+
+    private static Set<TemporalRollup.Aggregate> decode( int bits )
+    {
+        Set<TemporalRollup.Aggregate> aggregates = EnumSet.noneOf( TemporalRollup.Aggregate.class );
+        for ( TemporalRollup.Aggregate aggregate : TemporalRollup.Aggregate.values() )
+        {
+            if ( (bits & (1 << aggregate.ordinal())) != 0 )
+            {
+                aggregates.add( aggregate );
+            }
+        }
+        return aggregates;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.meta.ValueContentType;
+
+/**
+ * Stable ids of the {@link ValueType types} of temporal property values, for the transaction log and the batch import
+ * caches. The order of the {@link ValueType} constants belongs to the temporal property store library and may change
+ * between its versions, so their ordinals are never written.
+ * <p>
+ * A value type has the {@link ValueContentType#getId() id} of its content type, which the static property marking a
+ * temporal property stores as well. Removed ranges, of type {@link ValueType#INVALID}, have {@link #INVALID_ID}.
+ * Other types are never written by the kernel.
+ */
+public class TemporalValueTypes
+{
+    public static final byte INVALID_ID = -1;
+
+    private TemporalValueTypes()
+    {
+    }
+
+    public static byte idOf( ValueType valueType )
+    {
+        if ( valueType == ValueType.INVALID )
+        {
+            return INVALID_ID;
+        }
+        if ( !valueType.isValue() )
+        {
+            throw new IllegalArgumentException( "Temporal value type " + valueType + " has no id" );
+        }
+        int id = valueType.toValueContentType().getId();
+        if ( id < 0 || id > Byte.MAX_VALUE )
+        {
+            throw new IllegalArgumentException( "Temporal value type " + valueType + " has id " + id +
+                    " out of range" );
+        }
+        return (byte) id;
+    }
+
+    public static ValueType valueTypeOf( int id )
+    {
+        if ( id == INVALID_ID )
+        {
+            return ValueType.INVALID;
+        }
+        ValueContentType contentType = ValueContentType.decode( id );
+        if ( contentType == null )
+        {
+            throw new IllegalArgumentException( "Unknown temporal value type id " + id );
+        }
+        return ValueType.fromValueContentType( contentType );
+    }
+}
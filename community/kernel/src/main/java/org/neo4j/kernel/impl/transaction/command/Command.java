@@ -36,7 +36,9 @@ import org.neo4j.kernel.impl.store.record.TokenRecord;
 import org.neo4j.kernel.impl.transaction.state.PropertyRecordChange;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static java.lang.String.format;
 import static java.util.Collections.unmodifiableCollection;
@@ -401,6 +403,70 @@ public abstract class Command
         }
     }
 
+    /**
+     * A run of temporal property intervals of one (entity, property), ordered by start time.
+     * Written to the log with delta encoded times, see {@link org.neo4j.kernel.impl.transaction.log.CommandWriter}.
+     * The value type of each interval is written as its {@link org.neo4j.kernel.impl.store.TemporalValueTypes id},
+     * never as the ordinal of the library's enum.
+     */
+    public static class TemporalPropertyBatchCommand extends Command
+    {
+        public static final byte START_INIT = 1;
+        public static final byte END_NOW = 1 << 1;
+
+        private boolean node;
+        private long entityId;
+        private int propertyId;
+        private final List<TimeIntervalValueEntry> entries = new ArrayList<>();
+
+        public TemporalPropertyBatchCommand init( boolean node, long entityId, int propertyId )
+        {
+            this.node = node;
+            this.entityId = entityId;
+            this.propertyId = propertyId;
+            this.entries.clear();
+            return this;
+        }
+
+        public void add( TimeIntervalValueEntry entry )
+        {
+            entries.add( entry );
+        }
+
+        public boolean isNode()
+        {
+            return node;
+        }
+
+        public long getEntityId()
+        {
+            return entityId;
+        }
+
+        public int getPropertyId()
+        {
+            return propertyId;
+        }
+
+        public List<TimeIntervalValueEntry> getEntries()
+        {
+            return entries;
+        }
+
+        @Override
+        public String toString()
+        {
+            return (node ? "Node" : "Relationship") + "[" + entityId + "] Temporal Property(" + propertyId + ") " +
+                   entries.size() + " intervals";
+        }
+
+        @Override
+        public boolean handle( CommandHandler handler ) throws IOException
+        {
+            return handler.visitTemporalPropertyBatchCommand( this );
+        }
+    }
+
 //    public static class RelationshipTemporalPropertyDeleteCommand extends Command
 //    {
 //        private Slice id;
@@ -72,6 +72,8 @@ public interface CommandHandler extends AutoCloseable
 
     boolean visitRelationshipTemporalPropertyCommand( Command.RelationshipTemporalPropertyCommand command ) throws IOException;
 
+    boolean visitTemporalPropertyBatchCommand( Command.TemporalPropertyBatchCommand command ) throws IOException;
+
 
     // Store commands
     boolean visitNodeCommand( Command.NodeCommand command ) throws IOException;
@@ -167,6 +169,12 @@ public interface CommandHandler extends AutoCloseable
             return false;
         }
 
+        @Override
+        public boolean visitTemporalPropertyBatchCommand( Command.TemporalPropertyBatchCommand command ) throws IOException
+        {
+            return false;
+        }
+
         @Override
         public boolean visitRelationshipGroupCommand( RelationshipGroupCommand command ) throws IOException
         {
@@ -316,6 +324,12 @@ public interface CommandHandler extends AutoCloseable
             return delegate.visitRelationshipTemporalPropertyCommand( command );
         }
 
+        @Override
+        public boolean visitTemporalPropertyBatchCommand( Command.TemporalPropertyBatchCommand command ) throws IOException
+        {
+            return delegate.visitTemporalPropertyBatchCommand( command );
+        }
+
         @Override
         public boolean visitRelationshipGroupCommand( RelationshipGroupCommand command ) throws IOException
         {
@@ -83,6 +83,12 @@ public class HighIdTransactionApplier implements CommandHandler
         return delegate.visitRelationshipTemporalPropertyCommand( command );
     }
 
+    @Override
+    public boolean visitTemporalPropertyBatchCommand( Command.TemporalPropertyBatchCommand command ) throws IOException
+    {
+        return delegate.visitTemporalPropertyBatchCommand( command );
+    }
+
     @Override
     public boolean visitNodeCommand( NodeCommand command ) throws IOException
     {
@@ -50,4 +50,5 @@ public interface NeoCommandType
     byte NODE_TEMPORAL_PROPERTY_COMMAND = (byte) 50;
     byte REL_TEMPORAL_PROPERTY_COMMAND =  (byte) 51;
     byte NODE_TEMPORAL_PROPERTY_INDEX_COMMAND = (byte) 52;
+    byte TEMPORAL_PROPERTY_BATCH_COMMAND = (byte) 53;
 }
@@ -251,6 +251,12 @@ public class PhysicalLogCommandReaderV2_1 implements CommandReader
             throw new TGraphNoImplementationException( "this should not be used" );
         }
 
+        @Override
+        public boolean visitTemporalPropertyBatchCommand( Command.TemporalPropertyBatchCommand command ) throws IOException
+        {
+            throw new TGraphNoImplementationException( "this should not be used" );
+        }
+
         @Override
         public boolean visitNodeCommand( Command.NodeCommand command ) throws IOException
         {
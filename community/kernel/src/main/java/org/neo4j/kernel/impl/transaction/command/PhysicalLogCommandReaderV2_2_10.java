@@ -26,6 +26,9 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.query.TimeIntervalKey;
 import org.act.temporalProperty.query.TimePointL;
 import org.act.temporalProperty.vo.TimeIntervalValueEntry;
 import org.act.temporalProperty.util.Slice;
@@ -39,6 +42,7 @@ import org.neo4j.kernel.impl.index.IndexCommand.RemoveCommand;
 import org.neo4j.kernel.impl.index.IndexDefineCommand;
 import org.neo4j.kernel.impl.store.AbstractDynamicStore;
 import org.neo4j.kernel.impl.store.PropertyType;
+import org.neo4j.kernel.impl.store.TemporalValueTypes;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
 import org.neo4j.kernel.impl.store.record.NeoStoreRecord;
@@ -57,6 +61,7 @@ import org.neo4j.kernel.impl.transaction.command.CommandReaderFactory.DynamicRec
 import org.neo4j.kernel.impl.transaction.log.LogPositionMarker;
 import org.neo4j.kernel.impl.transaction.log.ReadPastEndException;
 import org.neo4j.kernel.impl.transaction.log.ReadableLogChannel;
+import org.neo4j.temporal.TimePoint;
 
 import static org.neo4j.helpers.collection.IteratorUtil.first;
 import static org.neo4j.helpers.collection.IteratorUtil.firstOrNull;
@@ -143,6 +148,8 @@ public class PhysicalLogCommandReaderV2_2_10 implements CommandReader, CommandHa
             return new Command.RelationshipTemporalPropertyCommand();
         case NeoCommandType.NODE_TEMPORAL_PROPERTY_INDEX_COMMAND:
             return new Command.NodeTemporalPropertyIndexCommand();
+        case NeoCommandType.TEMPORAL_PROPERTY_BATCH_COMMAND:
+            return new Command.TemporalPropertyBatchCommand();
         default:
             LogPositionMarker position = new LogPositionMarker();
             channel.getCurrentPosition( position );
@@ -218,6 +225,60 @@ public class PhysicalLogCommandReaderV2_2_10 implements CommandReader, CommandHa
         return false;
     }
 
+    @Override
+    public boolean visitTemporalPropertyBatchCommand( Command.TemporalPropertyBatchCommand command ) throws IOException
+    {
+        boolean node = channel.get() != 0;
+        long entityId = channel.getLong();
+        int propertyId = channel.getInt();
+        int count = channel.getInt();
+        command.init( node, entityId, propertyId );
+        long expectedStart = 0;
+        for ( int i = 0; i < count; i++ )
+        {
+            byte flags = channel.get();
+            ValueType valueType = TemporalValueTypes.valueTypeOf( channel.get() );
+            TimePointL start = TimePoint.INIT;
+            long base = 0;
+            if ( !bitFlag( flags, Command.TemporalPropertyBatchCommand.START_INIT ) )
+            {
+                base = expectedStart + unZigZag( getVarLong() );
+                start = new TimePoint( base );
+            }
+            TimePointL end = TimePoint.NOW;
+            if ( !bitFlag( flags, Command.TemporalPropertyBatchCommand.END_NOW ) )
+            {
+                long endTime = base + unZigZag( getVarLong() );
+                end = new TimePoint( endTime );
+                expectedStart = endTime + 1;
+            }
+            byte[] value = new byte[(int) getVarLong()];
+            channel.get( value, value.length );
+            InternalKey startKey = new InternalKey( propertyId, entityId, start, valueType );
+            command.add( new TimeIntervalValueEntry( new TimeIntervalKey( startKey, end ), new Slice( value ) ) );
+        }
+        return false;
+    }
+
+    private static long unZigZag( long value )
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long getVarLong() throws IOException
+    {
+        long result = 0;
+        for ( int shift = 0; ; shift += 7 )
+        {
+            byte b = channel.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ( (b & 0x80) == 0 )
+            {
+                return result;
+            }
+        }
+    }
+
     @Override
     public boolean visitNodeCommand( Command.NodeCommand command ) throws IOException
     {
@@ -193,6 +193,12 @@ public class PhysicalLogCommandReaderV2_2_4 implements CommandReader, CommandHan
         throw new UnsupportedOperationException( "this should not be used" );
     }
 
+    @Override
+    public boolean visitTemporalPropertyBatchCommand( Command.TemporalPropertyBatchCommand command ) throws IOException
+    {
+        throw new UnsupportedOperationException( "this should not be used" );
+    }
+
     @Override
     public boolean visitNodeCommand( Command.NodeCommand command ) throws IOException
     {
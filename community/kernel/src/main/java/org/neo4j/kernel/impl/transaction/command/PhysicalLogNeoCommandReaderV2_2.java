@@ -228,6 +228,12 @@ public class PhysicalLogNeoCommandReaderV2_2 implements CommandReader
             throw new UnsupportedOperationException( "TGraph: not implement." );
         }
 
+        @Override
+        public boolean visitTemporalPropertyBatchCommand( Command.TemporalPropertyBatchCommand command ) throws IOException
+        {
+            throw new UnsupportedOperationException( "TGraph: not implement." );
+        }
+
         @Override
         public boolean visitNodeCommand( Command.NodeCommand command ) throws IOException
         {
@@ -19,11 +19,14 @@
  */
 package org.neo4j.kernel.impl.transaction.log;
 
+import org.act.temporalProperty.impl.InternalKey;
 import org.act.temporalProperty.impl.MemTable;
+import org.act.temporalProperty.query.TimePointL;
 import org.act.temporalProperty.util.Slice;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.act.temporalProperty.vo.TimeIntervalValueEntry;
@@ -34,6 +37,7 @@ import org.neo4j.kernel.impl.index.IndexCommand.CreateCommand;
 import org.neo4j.kernel.impl.index.IndexCommand.DeleteCommand;
 import org.neo4j.kernel.impl.index.IndexCommand.RemoveCommand;
 import org.neo4j.kernel.impl.index.IndexDefineCommand;
+import org.neo4j.kernel.impl.store.TemporalValueTypes;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
@@ -112,6 +116,70 @@ public class CommandWriter implements CommandHandler
         return false;
     }
 
+    /**
+     * Entity and property are written once for the whole run. Each interval is written as flags, value type,
+     * start as delta to the time after the previous interval, end as delta to its start and the value with a
+     * length prefix. Deltas are variable length, so consecutive intervals usually take one byte per time.
+     */
+    @Override
+    public boolean visitTemporalPropertyBatchCommand( Command.TemporalPropertyBatchCommand command ) throws IOException
+    {
+        List<TimeIntervalValueEntry> entries = command.getEntries();
+        channel.put( NeoCommandType.TEMPORAL_PROPERTY_BATCH_COMMAND );
+        channel.put( command.isNode() ? (byte) 1 : (byte) 0 );
+        channel.putLong( command.getEntityId() );
+        channel.putInt( command.getPropertyId() );
+        channel.putInt( entries.size() );
+        long expectedStart = 0;
+        for ( TimeIntervalValueEntry entry : entries )
+        {
+            InternalKey startKey = entry.getKey().getStartKey();
+            TimePointL start = startKey.getStartTime();
+            TimePointL end = entry.getKey().end();
+            byte flags = 0;
+            if ( start.isInit() )
+            {
+                flags |= Command.TemporalPropertyBatchCommand.START_INIT;
+            }
+            if ( end.isNow() )
+            {
+                flags |= Command.TemporalPropertyBatchCommand.END_NOW;
+            }
+            channel.put( flags );
+            channel.put( TemporalValueTypes.idOf( startKey.getValueType() ) );
+            long base = 0;
+            if ( !start.isInit() )
+            {
+                base = start.val();
+                putVarLong( zigZag( base - expectedStart ) );
+            }
+            if ( !end.isNow() )
+            {
+                putVarLong( zigZag( end.val() - base ) );
+                expectedStart = end.val() + 1;
+            }
+            Slice value = entry.getValue();
+            putVarLong( value.length() );
+            channel.put( value.getBytes(), value.length() );
+        }
+        return false;
+    }
+
+    private static long zigZag( long value )
+    {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void putVarLong( long value ) throws IOException
+    {
+        while ( (value & ~0x7FL) != 0 )
+        {
+            channel.put( (byte) ((value & 0x7F) | 0x80) );
+            value >>>= 7;
+        }
+        channel.put( (byte) value );
+    }
+
     @Override
     public boolean visitNodeCommand( Command.NodeCommand command ) throws IOException
     {
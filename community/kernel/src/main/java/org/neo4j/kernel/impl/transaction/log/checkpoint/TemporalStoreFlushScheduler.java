@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+
+import java.io.IOException;
+
+import org.neo4j.function.Predicates;
+import org.neo4j.function.Supplier;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
+import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
+import org.neo4j.kernel.impl.util.JobScheduler;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.neo4j.kernel.impl.util.JobScheduler.Groups.temporalStoreFlush;
+
+/**
+ * Flushes the temporal property stores in the background between check points, so the flush done by a check point
+ * only has to write what came in since the last background flush.
+ * <p>
+ * The temporal stores flush their memtables in one go, so their I/O can not be rate limited from here. Instead the
+ * node and relationship stores are flushed on alternate runs, each one only if it has been written to, which keeps
+ * the write bursts small and spread out.
+ */
+public class TemporalStoreFlushScheduler extends LifecycleAdapter
+{
+    private final TemporalPropertyStoreAdapter temporalStore;
+    private final TransactionIdStore transactionIdStore;
+    private final JobScheduler scheduler;
+    private final long recurringPeriodMillis;
+    private final Log log;
+    private boolean nodesNext = true;
+
+    private final Runnable job = new Runnable()
+    {
+        @Override
+        public void run()
+        {
+            try
+            {
+                flushing = true;
+                if ( stopped )
+                {
+                    return;
+                }
+                flushNext();
+            }
+            catch ( Exception e )
+            {
+                // the check point flushes everything anyway, so a failed background flush only costs time
+                log.warn( "Background flush of the temporal property store failed", e );
+            }
+            finally
+            {
+                flushing = false;
+            }
+
+            if ( !stopped )
+            {
+                handle = scheduler.schedule( temporalStoreFlush, job, recurringPeriodMillis, MILLISECONDS );
+            }
+        }
+    };
+
+    private volatile JobScheduler.JobHandle handle;
+    private volatile boolean stopped;
+    private volatile boolean flushing;
+    private final Supplier<Boolean> flushingCondition = new Supplier<Boolean>()
+    {
+        @Override
+        public Boolean get()
+        {
+            return !flushing;
+        }
+    };
+
+    public TemporalStoreFlushScheduler( TemporalPropertyStoreAdapter temporalStore, TransactionIdStore transactionIdStore,
+            JobScheduler scheduler, long recurringPeriodMillis, LogProvider logProvider )
+    {
+        this.temporalStore = temporalStore;
+        this.transactionIdStore = transactionIdStore;
+        this.scheduler = scheduler;
+        this.recurringPeriodMillis = recurringPeriodMillis;
+        this.log = logProvider.getLog( getClass() );
+    }
+
+    /**
+     * Flushes the store whose turn it is, or the other one if the former has no changes.
+     *
+     * @return true if a store was flushed.
+     */
+    boolean flushNext() throws IOException
+    {
+        TemporalPropertyStore first = nodesNext ? temporalStore.nodeStore() : temporalStore.relStore();
+        TemporalPropertyStore second = nodesNext ? temporalStore.relStore() : temporalStore.nodeStore();
+        nodesNext = !nodesNext;
+        TemporalPropertyStore target = temporalStore.hasUnflushedChanges( first ) ? first
+                                       : temporalStore.hasUnflushedChanges( second ) ? second : null;
+        if ( target == null )
+        {
+            return false;
+        }
+        return temporalStore.flush( target, transactionIdStore.getLastClosedTransactionId() );
+    }
+
+    @Override
+    public void start() throws Throwable
+    {
+        if ( recurringPeriodMillis > 0 )
+        {
+            handle = scheduler.schedule( temporalStoreFlush, job, recurringPeriodMillis, MILLISECONDS );
+        }
+    }
+
+    @Override
+    public void stop() throws Throwable
+    {
+        stopped = true;
+        if ( handle != null )
+        {
+            handle.cancel( false );
+        }
+        Predicates.awaitForever( flushingCondition, 100, MILLISECONDS );
+    }
+}
@@ -19,11 +19,14 @@
  */
 package org.neo4j.kernel.impl.transaction.log.rotation;
 
+import java.io.IOException;
+
 import org.neo4j.graphdb.index.IndexImplementation;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
 import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
 
 public class StoreFlusher
 {
@@ -53,7 +56,16 @@ public class StoreFlusher
         {
             index.force();
         }
+        // read before flushing, every transaction up to it has been applied to the temporal store
+        long lastClosedTransactionId = neoStores.getMetaDataStore().getLastClosedTransactionId();
         neoStores.flush();
-        temporalPropStore.flushAll();
+        try
+        {
+            temporalPropStore.flush( lastClosedTransactionId );
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
     }
 }
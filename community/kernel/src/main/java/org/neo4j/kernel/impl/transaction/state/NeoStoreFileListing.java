@@ -33,6 +33,7 @@ import org.neo4j.kernel.impl.api.LegacyIndexProviderLookup;
 import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.index.IndexConfigStore;
 import org.neo4j.kernel.impl.store.MetaDataStore;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
 
 import static java.util.Arrays.asList;
 import static org.neo4j.helpers.SillyUtils.nonNull;
@@ -44,14 +45,17 @@ public class NeoStoreFileListing
     private final LabelScanStore labelScanStore;
     private final IndexingService indexingService;
     private final LegacyIndexProviderLookup legacyIndexProviders;
+    private final TemporalPropertyStoreAdapter temporalPropertyStore;
 
     public NeoStoreFileListing( File storeDir, LabelScanStore labelScanStore,
-            IndexingService indexingService, LegacyIndexProviderLookup legacyIndexProviders )
+            IndexingService indexingService, LegacyIndexProviderLookup legacyIndexProviders,
+            TemporalPropertyStoreAdapter temporalPropertyStore )
     {
         this.storeDir = storeDir;
         this.labelScanStore = labelScanStore;
         this.indexingService = indexingService;
         this.legacyIndexProviders = legacyIndexProviders;
+        this.temporalPropertyStore = temporalPropertyStore;
     }
 
     public ResourceIterator<File> listStoreFiles( boolean includeLogs ) throws IOException
@@ -61,9 +65,19 @@ public class NeoStoreFileListing
         Resource labelScanStoreSnapshot = gatherLabelScanStoreFiles( files );
         Resource schemaIndexSnapshots = gatherSchemaIndexFiles( files );
         Resource legacyIndexSnapshots = gatherLegacyIndexFiles( files );
+        Resource temporalPropertySnapshot = gatherTemporalPropertyFiles( files );
 
-        return resourceIterator( files.iterator(),
-                new MultiResource( asList( labelScanStoreSnapshot, schemaIndexSnapshots, legacyIndexSnapshots ) ) );
+        return resourceIterator( files.iterator(), new MultiResource( asList( labelScanStoreSnapshot,
+                schemaIndexSnapshots, legacyIndexSnapshots, temporalPropertySnapshot ) ) );
+    }
+
+    private Resource gatherTemporalPropertyFiles( Collection<File> targetFiles ) throws IOException
+    {
+        ResourceIterator<File> snapshot = temporalPropertyStore.snapshotStoreFiles();
+        IteratorUtil.addToCollection( snapshot, targetFiles );
+        // Intentionally don't close the snapshot here, it deletes the links to the temporal store files
+        // which the consumer of the targetFiles list has yet to copy.
+        return snapshot;
     }
 
     private Resource gatherLegacyIndexFiles( Collection<File> files ) throws IOException
@@ -161,6 +161,32 @@ public class TransactionRecordState implements RecordState
         return context;
     }
 
+    /**
+     * Intervals come out of the tx state ordered by property, entity and time, so each run of intervals of the
+     * same (entity, property) becomes one batch command.
+     *
+     * @return number of commands added.
+     */
+    private int extractTemporalPropertyCommands( MemTable changes, boolean isNode, Collection<Command> commands )
+    {
+        int count = 0;
+        Command.TemporalPropertyBatchCommand batch = null;
+        PeekingIterator<Entry<TimeIntervalKey,Slice>> iter = changes.intervalEntryIterator();
+        while ( iter.hasNext() )
+        {
+            Entry<TimeIntervalKey,Slice> entry = iter.next();
+            InternalKey key = entry.getKey().getStartKey();
+            if ( batch == null || batch.getEntityId() != key.getEntityId() || batch.getPropertyId() != key.getPropertyId() )
+            {
+                batch = new Command.TemporalPropertyBatchCommand().init( isNode, key.getEntityId(), key.getPropertyId() );
+                commands.add( batch );
+                count++;
+            }
+            batch.add( new TimeIntervalValueEntry( entry.getKey(), entry.getValue() ) );
+        }
+        return count;
+    }
+
     @Override
     public void extractCommands( Collection<Command> commands ) throws TransactionFailureException
     {
@@ -189,27 +215,11 @@ public class TransactionRecordState implements RecordState
 
         if ( nodeTemporalPropertyChanges != null )
         {
-            PeekingIterator<Entry<TimeIntervalKey,Slice>> nodeTpIter = nodeTemporalPropertyChanges.intervalEntryIterator();
-            while ( nodeTpIter.hasNext() )
-            {
-                Entry<TimeIntervalKey,Slice> entry = nodeTpIter.next();
-                Command.NodeTemporalPropertyCommand command = new Command.NodeTemporalPropertyCommand();
-                command.init(new TimeIntervalValueEntry(entry.getKey(), entry.getValue() ));
-                commands.add( command );
-                noOfCommands++;
-            }
+            noOfCommands += extractTemporalPropertyCommands( nodeTemporalPropertyChanges, true, commands );
         }
         if ( relationshipTemporalPropertyChanges != null )
         {
-            PeekingIterator<Entry<TimeIntervalKey,Slice>> relTpIter = relationshipTemporalPropertyChanges.intervalEntryIterator();
-            while ( relTpIter.hasNext() )
-            {
-                Entry<TimeIntervalKey,Slice> entry = relTpIter.next();
-                Command.RelationshipTemporalPropertyCommand command = new Command.RelationshipTemporalPropertyCommand();
-                command.init(new TimeIntervalValueEntry(entry.getKey(), entry.getValue() ));
-                commands.add( command );
-                noOfCommands++;
-            }
+            noOfCommands += extractTemporalPropertyCommands( relationshipTemporalPropertyChanges, false, commands );
         }
 
 
@@ -141,6 +141,16 @@ public interface JobScheduler extends Lifecycle
          */
         public static final Group checkPoint = new Group( "CheckPoint", POOLED );
 
+        /**
+         * Background flushing of the temporal property stores between check points
+         */
+        public static final Group temporalStoreFlush = new Group( "TemporalStoreFlush", POOLED );
+
+        /**
+         * Removal of temporal property values past their retention
+         */
+        public static final Group temporalRetention = new Group( "TemporalRetention", POOLED );
+
         /**
          * Network IO threads for the Bolt protocol.
          */
@@ -59,6 +59,7 @@ public class DefaultRecoverySPI implements Recovery.SPI
     private final LogicalTransactionStore logicalTransactionStore;
     private final Visitor<CommittedTransactionRepresentation,Exception> recoveryVisitor;
     private final TemporalPropertyStoreAdapter temporalPropStore;
+    private final TransactionRepresentationStoreApplier storeApplier;
 
     public DefaultRecoverySPI(RecoveryLabelScanWriterProvider labelScanWriters,
                               RecoveryLegacyIndexApplierLookup legacyIndexApplierLookup,
@@ -84,6 +85,7 @@ public class DefaultRecoverySPI implements Recovery.SPI
         this.positionToRecoverFrom = new PositionToRecoverFrom( checkPointFinder );
         this.recoveryVisitor = new RecoveryVisitor( storeApplier, indexUpdatesValidator );
         this.temporalPropStore = temporalPropertyStoreAdapter;
+        this.storeApplier = storeApplier;
     }
 
     @Override
@@ -94,6 +96,7 @@ public class DefaultRecoverySPI implements Recovery.SPI
             labelScanWriters.close();
             legacyIndexApplierLookup.close();
             indexUpdatesValidator.close();
+            storeApplier.awaitTemporalUpdates();
         }
         catch ( IOException e )
         {
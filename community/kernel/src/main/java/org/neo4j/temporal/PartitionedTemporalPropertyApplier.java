@@ -0,0 +1,366 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.neo4j.helpers.NamedThreadFactory;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
+
+/**
+ * Applies temporal property writes with several threads, for recovery and batched application of transactions
+ * pulled from a master, where one thread applying command after command is the bottleneck.
+ * <p>
+ * Writes are partitioned by entity id, every partition is applied in order by one worker, so writes to the same
+ * entity happen in the order they were handed in. Writes of different entities may be applied in any order, as
+ * they are by concurrently committing transactions. {@link #awaitApplied()} closes a batch: it returns when
+ * everything handed in so far has been applied. {@link #awaitWritten()} waits for the same within a batch, for
+ * commands which read back what was written before them.
+ * <p>
+ * Workers are started by the first write of a batch and kept until its end, so an applier which is never used,
+ * like the one of a recovery which finds nothing to recover, costs no threads.
+ * <p>
+ * Rollup buckets are computed from the store, so they can only be refreshed once the writes are in it. Instead of
+ * waiting for the workers after every transaction, the time range written to every property of every entity is
+ * collected, and the buckets overlapping it are refreshed once at the end of the batch.
+ * <p>
+ * A worker takes whatever has queued up for it, up to {@link #MAX_BATCH} writes, and hands it to the store as one
+ * batch. The store is not locked for a batch, workers write to it concurrently, ordered per entity by the
+ * partitioning.
+ */
+public class PartitionedTemporalPropertyApplier
+{
+    private static final int QUEUE_SIZE = 4096;
+    static final int MAX_BATCH = 1024;
+
+    private final TemporalPropertyStoreAdapter store;
+    private final int partitions;
+    private final NamedThreadFactory threadFactory = new NamedThreadFactory( "TemporalPropertyApplier" );
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final Map<Written,Written> written = new HashMap<>();
+    private final Object progress = new Object();
+    private long handedIn;
+    private long applied;
+    private Worker[] workers;
+
+    /**
+     * @param partitions number of worker threads, at least 2.
+     */
+    public PartitionedTemporalPropertyApplier( TemporalPropertyStoreAdapter store, int partitions )
+    {
+        if ( partitions < 2 )
+        {
+            throw new IllegalArgumentException( "Need at least two partitions, got " + partitions );
+        }
+        this.store = store;
+        this.partitions = partitions;
+    }
+
+    /**
+     * @return an applier with {@code partitions} workers, or null if {@code partitions} is 1 and writes are to be
+     * applied by the thread applying transactions.
+     */
+    public static PartitionedTemporalPropertyApplier forPartitions( TemporalPropertyStoreAdapter store, int partitions )
+    {
+        return partitions > 1 ? new PartitionedTemporalPropertyApplier( store, partitions ) : null;
+    }
+
+    public synchronized void apply( TemporalPropertyStore target, TimeIntervalValueEntry entry ) throws IOException
+    {
+        Throwable cause = failure.get();
+        if ( cause != null )
+        {
+            throw new IOException( "Failed to apply temporal property writes", cause );
+        }
+        if ( workers == null )
+        {
+            startWorkers();
+        }
+        long entityId = entry.getKey().getStartKey().getEntityId();
+        if ( store.hasRollups( target ) )
+        {
+            written( target, entry );
+        }
+        Worker worker = workers[(int) ((entityId ^ (entityId >>> 32)) & Integer.MAX_VALUE) % partitions];
+        try
+        {
+            worker.queue.put( new Write( target, entry ) );
+            handedIn++;
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException( "Interrupted while applying temporal property writes", e );
+        }
+    }
+
+    /**
+     * Waits until all writes handed in so far have been applied, keeping the workers for the rest of the batch.
+     *
+     * @throws IOException if any of the writes failed.
+     */
+    public synchronized void awaitWritten() throws IOException
+    {
+        boolean interrupted = false;
+        synchronized ( progress )
+        {
+            while ( applied < handedIn )
+            {
+                try
+                {
+                    progress.wait();
+                }
+                catch ( InterruptedException e )
+                {
+                    interrupted = true;
+                }
+            }
+        }
+        if ( interrupted )
+        {
+            Thread.currentThread().interrupt();
+        }
+        Throwable cause = failure.get();
+        if ( cause != null )
+        {
+            throw new IOException( "Failed to apply temporal property writes", cause );
+        }
+    }
+
+    /**
+     * Closes the batch: waits until all writes handed in so far have been applied, stops the workers and refreshes
+     * the rollup buckets overlapping the writes of the batch.
+     *
+     * @throws IOException if any of the writes failed.
+     */
+    public synchronized void awaitApplied() throws IOException
+    {
+        if ( workers != null )
+        {
+            Worker[] stopping = workers;
+            workers = null;
+            boolean interrupted = false;
+            for ( Worker worker : stopping )
+            {
+                while ( true )
+                {
+                    try
+                    {
+                        worker.queue.put( Write.DONE );
+                        break;
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        interrupted = true;
+                    }
+                }
+            }
+            for ( Worker worker : stopping )
+            {
+                while ( worker.thread.isAlive() )
+                {
+                    try
+                    {
+                        worker.thread.join();
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        interrupted = true;
+                    }
+                }
+            }
+            if ( interrupted )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try
+        {
+            throwIfFailed();
+            for ( Written range : written.keySet() )
+            {
+                store.refreshRollups( range.target, range.entityId, range.propertyId, range.start, range.end );
+            }
+        }
+        finally
+        {
+            written.clear();
+        }
+    }
+
+    /**
+     * Widens the range written to the property of the entity of {@code entry} in this batch to cover {@code entry}.
+     */
+    private void written( TemporalPropertyStore target, TimeIntervalValueEntry entry )
+    {
+        InternalKey key = entry.getKey().getStartKey();
+        Written range = new Written( target, key.getEntityId(), key.getPropertyId() );
+        Written existing = written.get( range );
+        if ( existing == null )
+        {
+            range.start = key.getStartTime().val();
+            range.end = entry.getKey().end().val();
+            written.put( range, range );
+        }
+        else
+        {
+            existing.start = Math.min( existing.start, key.getStartTime().val() );
+            existing.end = Math.max( existing.end, entry.getKey().end().val() );
+        }
+    }
+
+    private void throwIfFailed() throws IOException
+    {
+        Throwable cause = failure.getAndSet( null );
+        if ( cause != null )
+        {
+            throw new IOException( "Failed to apply temporal property writes", cause );
+        }
+    }
+
+    private void startWorkers()
+    {
+        workers = new Worker[partitions];
+        for ( int i = 0; i < partitions; i++ )
+        {
+            workers[i] = new Worker();
+            workers[i].thread = threadFactory.newThread( workers[i] );
+            workers[i].thread.start();
+        }
+    }
+
+    private class Worker implements Runnable
+    {
+        private final BlockingQueue<Write> queue = new ArrayBlockingQueue<>( QUEUE_SIZE );
+        private final List<Write> batch = new ArrayList<>( MAX_BATCH );
+        private final List<TimeIntervalValueEntry> entries = new ArrayList<>( MAX_BATCH );
+        private Thread thread;
+
+        @Override
+        public void run()
+        {
+            while ( true )
+            {
+                try
+                {
+                    batch.add( queue.take() );
+                }
+                catch ( InterruptedException e )
+                {
+                    // only awaitApplied stops workers, the queue has to be drained for it to return
+                    continue;
+                }
+                queue.drainTo( batch, MAX_BATCH - 1 );
+                boolean done = batch.get( batch.size() - 1 ) == Write.DONE;
+                if ( failure.get() == null )
+                {
+                    try
+                    {
+                        applyBatch();
+                    }
+                    catch ( Throwable t )
+                    {
+                        failure.compareAndSet( null, t );
+                    }
+                }
+                synchronized ( progress )
+                {
+                    // failed writes count as applied too, awaitWritten reports the failure
+                    applied += done ? batch.size() - 1 : batch.size();
+                    progress.notifyAll();
+                }
+                batch.clear();
+                entries.clear();
+                if ( done )
+                {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Writes the batch as runs of writes to the same store, DONE can only be the last write of a batch.
+         */
+        private void applyBatch()
+        {
+            TemporalPropertyStore target = null;
+            for ( Write write : batch )
+            {
+                if ( write.target != target && !entries.isEmpty() )
+                {
+                    store.setValues( target, entries );
+                    entries.clear();
+                }
+                target = write.target;
+                if ( write != Write.DONE )
+                {
+                    entries.add( write.entry );
+                }
+            }
+            if ( !entries.isEmpty() )
+            {
+                store.setValues( target, entries );
+                entries.clear();
+            }
+        }
+    }
+
+    private static class Write
+    {
+        static final Write DONE = new Write( null, null );
+
+        private final TemporalPropertyStore target;
+        private final TimeIntervalValueEntry entry;
+
+        Write( TemporalPropertyStore target, TimeIntervalValueEntry entry )
+        {
+            this.target = target;
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * Time range written to one property of one entity in a batch, identified by store, entity and property.
+     */
+    private static class Written
+    {
+        private final TemporalPropertyStore target;
+        private final long entityId;
+        private final int propertyId;
+        private long start;
+        private long end;
+
+        Written( TemporalPropertyStore target, long entityId, int propertyId )
+        {
+            this.target = target;
+            this.entityId = entityId;
+            this.propertyId = propertyId;
+        }
+
+        @Override
+        public boolean equals( Object o )
+        {
+            if ( !(o instanceof Written) )
+            {
+                return false;
+            }
+            Written other = (Written) o;
+            return target == other.target && entityId == other.entityId && propertyId == other.propertyId;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * (31 * System.identityHashCode( target ) + (int) (entityId ^ (entityId >>> 32))) + propertyId;
+        }
+    }
+}
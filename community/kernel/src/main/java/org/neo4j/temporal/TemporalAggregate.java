@@ -0,0 +1,176 @@
+package org.neo4j.temporal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Aggregates of numeric temporal property values over a time window, every value weighted by the number of time
+ * points it is valid for. Aggregates of adjacent windows are combined with {@link #merge(TemporalAggregate)}, which
+ * is how rollup buckets and range scans are added up.
+ * <p>
+ * Rollups keep their buckets in a temporal property store, encoded by {@link #toBytes()}. Integral minimum and
+ * maximum values come back from {@link #fromBytes(byte[])} as longs, floating point ones as doubles.
+ */
+public class TemporalAggregate
+{
+    private static final int INTEGRAL = 1;
+    private static final int HAS_MIN_MAX = 2;
+    private static final int DOUBLE_MIN = 4;
+    private static final int DOUBLE_MAX = 8;
+    private static final int ENCODED_SIZE = 1 + 5 * 8;
+
+    private boolean integral = true;
+    private long longSum;
+    private double doubleSum;
+    private long count;
+    private Number min;
+    private Number max;
+
+    /**
+     * Adds {@code value} valid for {@code ticks} time points.
+     */
+    public void add( Number value, long ticks )
+    {
+        if ( ticks <= 0 )
+        {
+            return;
+        }
+        count += ticks;
+        if ( value instanceof Integer || value instanceof Long )
+        {
+            longSum += value.longValue() * ticks;
+        }
+        else
+        {
+            integral = false;
+        }
+        doubleSum += value.doubleValue() * ticks;
+        if ( min == null || less( value, min ) )
+        {
+            min = value;
+        }
+        if ( max == null || less( max, value ) )
+        {
+            max = value;
+        }
+    }
+
+    public void merge( TemporalAggregate other )
+    {
+        if ( other.count == 0 )
+        {
+            return;
+        }
+        count += other.count;
+        longSum += other.longSum;
+        doubleSum += other.doubleSum;
+        integral &= other.integral;
+        if ( min == null || less( other.min, min ) )
+        {
+            min = other.min;
+        }
+        if ( max == null || less( max, other.max ) )
+        {
+            max = other.max;
+        }
+    }
+
+    private static boolean less( Number a, Number b )
+    {
+        if ( a instanceof Double || a instanceof Float || b instanceof Double || b instanceof Float )
+        {
+            return a.doubleValue() < b.doubleValue();
+        }
+        return a.longValue() < b.longValue();
+    }
+
+    /**
+     * @return the smallest value, or null if no time point has a value.
+     */
+    public Number min()
+    {
+        return min;
+    }
+
+    /**
+     * @return the largest value, or null if no time point has a value.
+     */
+    public Number max()
+    {
+        return max;
+    }
+
+    /**
+     * @return number of time points which have a value.
+     */
+    public long count()
+    {
+        return count;
+    }
+
+    /**
+     * @return the sum of the value of every time point, a long as long as all values were integers.
+     */
+    public Number sum()
+    {
+        return integral ? (Number) longSum : (Number) doubleSum;
+    }
+
+    /**
+     * @return the average value of the time points which have one, or null if none has.
+     */
+    public Double avg()
+    {
+        return count == 0 ? null : doubleSum / count;
+    }
+
+    public byte[] toBytes()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate( ENCODED_SIZE );
+        int flags = integral ? INTEGRAL : 0;
+        if ( min != null )
+        {
+            flags |= HAS_MIN_MAX | (isFloating( min ) ? DOUBLE_MIN : 0) | (isFloating( max ) ? DOUBLE_MAX : 0);
+        }
+        buffer.put( (byte) flags );
+        buffer.putLong( count );
+        buffer.putLong( longSum );
+        buffer.putDouble( doubleSum );
+        buffer.putLong( min == null ? 0 : bits( min ) );
+        buffer.putLong( max == null ? 0 : bits( max ) );
+        return buffer.array();
+    }
+
+    public static TemporalAggregate fromBytes( byte[] bytes )
+    {
+        ByteBuffer buffer = ByteBuffer.wrap( bytes );
+        int flags = buffer.get();
+        TemporalAggregate aggregate = new TemporalAggregate();
+        aggregate.integral = (flags & INTEGRAL) != 0;
+        aggregate.count = buffer.getLong();
+        aggregate.longSum = buffer.getLong();
+        aggregate.doubleSum = buffer.getDouble();
+        long minBits = buffer.getLong();
+        long maxBits = buffer.getLong();
+        if ( (flags & HAS_MIN_MAX) != 0 )
+        {
+            aggregate.min = number( minBits, (flags & DOUBLE_MIN) != 0 );
+            aggregate.max = number( maxBits, (flags & DOUBLE_MAX) != 0 );
+        }
+        return aggregate;
+    }
+
+    private static boolean isFloating( Number value )
+    {
+        return value instanceof Double || value instanceof Float;
+    }
+
+    private static long bits( Number value )
+    {
+        return isFloating( value ) ? Double.doubleToRawLongBits( value.doubleValue() ) : value.longValue();
+    }
+
+    private static Number number( long bits, boolean floating )
+    {
+        return floating ? (Number) Double.longBitsToDouble( bits ) : (Number) bits;
+    }
+}
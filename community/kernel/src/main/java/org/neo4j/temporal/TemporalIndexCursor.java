@@ -0,0 +1,27 @@
+package org.neo4j.temporal;
+
+import org.neo4j.cursor.Cursor;
+
+/**
+ * Pull based reader over the result of a temporal value index query. Every row is an interval of an entity in which
+ * all queried properties have a value in their range: the entity is {@link #entityId()}, the interval is
+ * [{@link #start()}, {@link #end()}] and the values are read with {@link #value(int)}, in the order of
+ * {@link TemporalIndexManager.PropertyValueIntervalBuilder#getPropertyValues()}.
+ * <p>
+ * Rows are produced as the cursor moves and only decoded when read, so large results do not have to be copied into
+ * {@link IntervalEntry} lists. An entity has a row per matching interval, see {@link TemporalIndexEntityIterator}
+ * for the entities alone.
+ */
+public interface TemporalIndexCursor extends Cursor<TemporalIndexCursor>
+{
+    long entityId();
+
+    long start();
+
+    long end();
+
+    /**
+     * @param i position of the property in the query.
+     */
+    Object value( int i );
+}
@@ -0,0 +1,35 @@
+package org.neo4j.temporal;
+
+import org.neo4j.collection.primitive.Primitive;
+import org.neo4j.collection.primitive.PrimitiveLongCollections;
+import org.neo4j.collection.primitive.PrimitiveLongSet;
+
+/**
+ * The entities of the rows of a {@link TemporalIndexCursor}, each once, in the order they first appear. The cursor
+ * is closed when the iterator is exhausted.
+ */
+public class TemporalIndexEntityIterator extends PrimitiveLongCollections.PrimitiveLongBaseIterator
+{
+    private final TemporalIndexCursor cursor;
+    private final PrimitiveLongSet seen = Primitive.longSet();
+
+    public TemporalIndexEntityIterator( TemporalIndexCursor cursor )
+    {
+        this.cursor = cursor;
+    }
+
+    @Override
+    protected boolean fetchNext()
+    {
+        while ( cursor.next() )
+        {
+            if ( seen.add( cursor.entityId() ) )
+            {
+                return next( cursor.entityId() );
+            }
+        }
+        cursor.close();
+        seen.close();
+        return false;
+    }
+}
@@ -0,0 +1,156 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.index.value.rtree.IndexEntry;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * {@link TemporalIndexCursor} over the entries a value index of the temporal property store finds. Entries are read
+ * as they are, their values are decoded when asked for.
+ * <p>
+ * The store returns all entries of a query at once, so the time range of the query is asked for in pages, one at a
+ * time. The length of the pages adapts to keep about {@link #PAGE_ENTRIES} entries in memory. An interval reaching
+ * over the start of a page has been returned by an earlier page already and is left out. Queries starting at the
+ * beginning of time or ending now are asked for in one page.
+ */
+public class TemporalIndexEntryCursor implements TemporalIndexCursor
+{
+    /**
+     * Asks the value index for the entries of the query within [start, end].
+     */
+    public interface Query
+    {
+        Iterable<IndexEntry> entries( TimePoint start, TimePoint end );
+    }
+
+    static final int PAGE_ENTRIES = 10_000;
+    static final int INITIAL_PAGES = 16;
+
+    private final Query query;
+    private final long queryStart;
+    private final long end;
+    private long pageStart;
+    private long nextPageStart;
+    private long pageLength;
+    private int pageEntries;
+    private boolean lastPage;
+    private Iterator<IndexEntry> entries = Collections.emptyIterator();
+    private IndexEntry current;
+
+    public TemporalIndexEntryCursor( Query query, TimePoint start, TimePoint end )
+    {
+        this.query = query;
+        if ( !start.isInit() && !start.isNow() && !end.isInit() && !end.isNow() && start.val() <= end.val() )
+        {
+            this.queryStart = start.val();
+            this.end = end.val();
+            this.nextPageStart = queryStart;
+            this.pageLength = Math.max( 1, (this.end - queryStart) / INITIAL_PAGES + 1 );
+        }
+        else
+        {
+            this.queryStart = this.end = 0;
+            this.entries = query.entries( start, end ).iterator();
+            this.lastPage = true;
+        }
+    }
+
+    @Override
+    public boolean next()
+    {
+        while ( true )
+        {
+            while ( entries.hasNext() )
+            {
+                IndexEntry entry = entries.next();
+                pageEntries++;
+                if ( pageStart == queryStart || entry.getStart().val() >= pageStart )
+                {
+                    current = entry;
+                    return true;
+                }
+            }
+            if ( lastPage )
+            {
+                current = null;
+                return false;
+            }
+            nextPage();
+        }
+    }
+
+    private void nextPage()
+    {
+        if ( nextPageStart != queryStart )
+        {
+            adaptPageLength();
+        }
+        pageStart = nextPageStart;
+        long pageEnd = end - pageStart < pageLength ? end : pageStart + pageLength - 1;
+        entries = query.entries( new TimePoint( pageStart ), new TimePoint( pageEnd ) ).iterator();
+        pageEntries = 0;
+        lastPage = pageEnd == end;
+        nextPageStart = pageEnd + 1;
+    }
+
+    private void adaptPageLength()
+    {
+        if ( pageEntries > 2 * PAGE_ENTRIES && pageLength > 1 )
+        {
+            pageLength /= 2;
+        }
+        else if ( pageEntries < PAGE_ENTRIES / 2 && pageLength < Long.MAX_VALUE / 2 )
+        {
+            pageLength *= 2;
+        }
+    }
+
+    @Override
+    public TemporalIndexCursor get()
+    {
+        if ( current == null )
+        {
+            throw new IllegalStateException();
+        }
+        return this;
+    }
+
+    @Override
+    public long entityId()
+    {
+        return entry().getEntityId();
+    }
+
+    @Override
+    public long start()
+    {
+        return entry().getStart().val();
+    }
+
+    @Override
+    public long end()
+    {
+        return entry().getEnd().val();
+    }
+
+    @Override
+    public Object value( int i )
+    {
+        return entry().getValue( i );
+    }
+
+    private IndexEntry entry()
+    {
+        get();
+        return current;
+    }
+
+    @Override
+    public void close()
+    {
+        entries = Collections.emptyIterator();
+        lastPage = true;
+        current = null;
+    }
+}
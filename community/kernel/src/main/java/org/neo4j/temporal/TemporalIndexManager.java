@@ -1,41 +1,46 @@
 package org.neo4j.temporal;
 
+import org.act.temporalProperty.TemporalPropertyStore;
 import org.act.temporalProperty.index.IndexType;
 import org.act.temporalProperty.index.value.IndexMetaData;
+import org.act.temporalProperty.query.aggr.AggregationIndexQueryResult;
 import org.act.temporalProperty.query.aggr.ValueGroupingMap;
 import org.apache.commons.lang3.tuple.Triple;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.function.Supplier;
 import org.neo4j.graphdb.NotFoundException;
 import org.neo4j.kernel.api.ReadOperations;
 import org.neo4j.kernel.api.exceptions.PropertyNotFoundException;
 import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
 import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
+import org.neo4j.kernel.impl.store.TemporalRollup;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
 
 /**
  * Created by song on 2018-04-21.
  */
 public class TemporalIndexManager
 {
-    private static TemporalIndexManager self;
     private final ThreadToStatementContextBridge bridge;
+    private final Supplier<TemporalPropertyStoreAdapter> temporalStore;
 
-    public TemporalIndexManager( ThreadToStatementContextBridge bridge )
+    /**
+     * @param temporalStore the temporal property store of the database, asked on every call since it is
+     * replaced when the database restarts its data source.
+     */
+    public TemporalIndexManager( ThreadToStatementContextBridge bridge, Supplier<TemporalPropertyStoreAdapter> temporalStore )
     {
         this.bridge = bridge;
-    }
-
-    public static TemporalIndexManager getInstance( ThreadToStatementContextBridge bridge )
-    {
-        if ( self == null )
-        {
-            self = new TemporalIndexManager( bridge );
-        }
-        return self;
+        this.temporalStore = temporalStore;
     }
 
     public List<IndexMetaData> nodeIndexes()
@@ -48,19 +53,33 @@ public class TemporalIndexManager
         return new PropertyValueIntervalBuilder( start, end, true );
     }
 
-    public long nodeCreateValueIndex( TimePoint start, TimePoint end, String... proNames )
+    /**
+     * Asks for a value index. It is populated in the background, follow its state with the returned population.
+     * Until it is online, value index queries on its properties scan the temporal property values instead.
+     */
+    public TemporalIndexPopulation nodeCreateValueIndex( TimePoint start, TimePoint end, String... proNames )
     {
-        return tpStore().getNodeStore().createValueIndex( start, end, proName2Id( proNames ) );
+        return populate( tpStore().getNodeStore(), TemporalIndexPopulation.Kind.VALUE, proName2Id( proNames ), start, end, 0, 0, null, null );
     }
 
-    public long nodeCreateDurationIndex( TimePoint start, TimePoint end, String proName, int every, int timeUnit, ValueGroupingMap valueGroup )
+    public TemporalIndexPopulation nodeCreateDurationIndex( TimePoint start, TimePoint end, String proName, int every, int timeUnit, ValueGroupingMap valueGroup )
     {
-        return tpStore().getNodeStore().createAggrDurationIndex( proName2Id( proName ), start, end, valueGroup, every, timeUnit );
+        return populate( tpStore().getNodeStore(), TemporalIndexPopulation.Kind.DURATION, proName2Id( new String[]{proName} ), start, end, every, timeUnit,
+                IndexType.AGGR_DURATION, valueGroup );
     }
 
-    public long nodeCreateMinMaxIndex( TimePoint start, TimePoint end, String proName, int every, int timeUnit, IndexType type )
+    public TemporalIndexPopulation nodeCreateMinMaxIndex( TimePoint start, TimePoint end, String proName, int every, int timeUnit, IndexType type )
     {
-        return tpStore().getNodeStore().createAggrMinMaxIndex( proName2Id( proName ), start, end, every, timeUnit, type );
+        return populate( tpStore().getNodeStore(), TemporalIndexPopulation.Kind.MIN_MAX, proName2Id( new String[]{proName} ), start, end, every, timeUnit,
+                type, null );
+    }
+
+    /**
+     * @return all node indexes asked for, with their population state.
+     */
+    public List<TemporalIndexPopulation> nodeIndexPopulations()
+    {
+        return tpStore().indexPopulations( tpStore().getNodeStore() );
     }
 
     public List<IndexMetaData> relIndexes()
@@ -73,19 +92,171 @@ public class TemporalIndexManager
         return new PropertyValueIntervalBuilder( start, end, false );
     }
 
-    public long relCreateValueIndex( TimePoint start, TimePoint end, String... proNames )
+    public TemporalIndexPopulation relCreateValueIndex( TimePoint start, TimePoint end, String... proNames )
+    {
+        return populate( tpStore().getRelStore(), TemporalIndexPopulation.Kind.VALUE, proName2Id( proNames ), start, end, 0, 0, null, null );
+    }
+
+    public TemporalIndexPopulation relCreateDurationIndex( TimePoint start, TimePoint end, String proName, int every, int timeUnit, ValueGroupingMap valueGroup )
+    {
+        return populate( tpStore().getRelStore(), TemporalIndexPopulation.Kind.DURATION, proName2Id( new String[]{proName} ), start, end, every, timeUnit,
+                IndexType.AGGR_DURATION, valueGroup );
+    }
+
+    public TemporalIndexPopulation relCreateMinMaxIndex( TimePoint start, TimePoint end, String proName, int every, int timeUnit, IndexType type )
+    {
+        return populate( tpStore().getRelStore(), TemporalIndexPopulation.Kind.MIN_MAX, proName2Id( new String[]{proName} ), start, end, every, timeUnit,
+                type, null );
+    }
+
+    public List<TemporalIndexPopulation> relIndexPopulations()
+    {
+        return tpStore().indexPopulations( tpStore().getRelStore() );
+    }
+
+    private TemporalIndexPopulation populate( TemporalPropertyStore store, TemporalIndexPopulation.Kind kind, List<Integer> proIds,
+            TimePoint start, TimePoint end, int every, int timeUnit, IndexType type, ValueGroupingMap valueGroup )
+    {
+        try
+        {
+            return tpStore().populateIndex( store, kind, proIds, start, end, every, timeUnit, type, valueGroup );
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
+    /**
+     * @return id of a node aggregation index of the given type covering [start, end] of the property, or -1 if there is none.
+     */
+    public long nodeFindAggrIndex( int proId, TimePoint start, TimePoint end, IndexType type )
+    {
+        return tpStore().findAggrIndex( tpStore().getNodeStore(), proId, start, end, type );
+    }
+
+    public long relFindAggrIndex( int proId, TimePoint start, TimePoint end, IndexType type )
+    {
+        return tpStore().findAggrIndex( tpStore().getRelStore(), proId, start, end, type );
+    }
+
+    /**
+     * @return true if there is an online node value index on the property alone, Cypher plans value index seeks
+     * only then.
+     */
+    public boolean nodeHasValueIndex( int proId )
+    {
+        return nodeHasValueIndex( proId, null, null );
+    }
+
+    /**
+     * @return true if an online node value index on the property alone covers [start, end].
+     */
+    public boolean nodeHasValueIndex( int proId, TimePoint start, TimePoint end )
+    {
+        return tpStore().findValueIndex( tpStore().getNodeStore(), proId, start, end ) >= 0;
+    }
+
+    public boolean relHasValueIndex( int proId )
+    {
+        return relHasValueIndex( proId, null, null );
+    }
+
+    public boolean relHasValueIndex( int proId, TimePoint start, TimePoint end )
+    {
+        return tpStore().findValueIndex( tpStore().getRelStore(), proId, start, end ) >= 0;
+    }
+
+    public Object[] nodeMinMax( int proId, AggregationIndexQueryResult result )
+    {
+        return tpStore().decodeMinMax( tpStore().getNodeStore(), proId, result );
+    }
+
+    public Object[] relMinMax( int proId, AggregationIndexQueryResult result )
+    {
+        return tpStore().decodeMinMax( tpStore().getRelStore(), proId, result );
+    }
+
+    public long totalDuration( AggregationIndexQueryResult result )
     {
-        return tpStore().getRelStore().createValueIndex( start, end, proName2Id( proNames ) );
+        return tpStore().totalDuration( result );
     }
 
-    public long relCreateDurationIndex( TimePoint start, TimePoint end, String proName, int every, int timeUnit, ValueGroupingMap valueGroup )
+    /**
+     * Roll temporal property {@code proName} of nodes up into buckets of {@code bucketSize} time points, e.g.
+     * avg/min/max per 300 time points, so aggregations over long windows read buckets instead of every value.
+     * Cypher temporal aggregation functions use the coarsest rollup whose buckets fit in the queried window.
+     */
+    public TemporalRollup nodeCreateRollup( String proName, long bucketSize, TemporalRollup.Aggregate... aggregates )
     {
-        return tpStore().getRelStore().createAggrDurationIndex( proName2Id( proName ), start, end, valueGroup, every, timeUnit );
+        return createRollup( tpStore().getNodeStore(), proName, bucketSize, aggregates );
     }
 
-    public long relCreateMinMaxIndex( TimePoint start, TimePoint end, String proName, int every, int timeUnit, IndexType type )
+    public List<TemporalRollup> nodeRollups()
     {
-        return tpStore().getRelStore().createAggrMinMaxIndex( proName2Id( proName ), start, end, every, timeUnit, type );
+        return tpStore().listRollups( tpStore().getNodeStore() );
+    }
+
+    public TemporalRollup relCreateRollup( String proName, long bucketSize, TemporalRollup.Aggregate... aggregates )
+    {
+        return createRollup( tpStore().getRelStore(), proName, bucketSize, aggregates );
+    }
+
+    public List<TemporalRollup> relRollups()
+    {
+        return tpStore().listRollups( tpStore().getRelStore() );
+    }
+
+    /**
+     * @return aggregates of the whole rollup buckets inside [start, end] and the range they cover, or null if no
+     * rollup of the property can answer {@code aggregate} for the window.
+     */
+    public TemporalRollup.Result nodeAggregateByRollup( long nodeId, int proId, TimePoint start, TimePoint end,
+            TemporalRollup.Aggregate aggregate )
+    {
+        return tpStore().aggregateByRollup( tpStore().getNodeStore(), nodeId, proId, start, end, aggregate );
+    }
+
+    public TemporalRollup.Result relAggregateByRollup( long relId, int proId, TimePoint start, TimePoint end,
+            TemporalRollup.Aggregate aggregate )
+    {
+        return tpStore().aggregateByRollup( tpStore().getRelStore(), relId, proId, start, end, aggregate );
+    }
+
+    private TemporalRollup createRollup( TemporalPropertyStore store, String proName, long bucketSize,
+            TemporalRollup.Aggregate[] aggregates )
+    {
+        if ( aggregates.length == 0 )
+        {
+            throw new TGraphUserInputException( "rollup of " + proName + " needs at least one aggregate" );
+        }
+        try
+        {
+            return tpStore().createRollup( store, proName2Id( proName ), bucketSize,
+                    EnumSet.copyOf( Arrays.asList( aggregates ) ) );
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
+    /**
+     * Read the value of temporal property {@code proName} at {@code time} of all given nodes in one go,
+     * much cheaper than calling {@link org.neo4j.graphdb.Node#getTemporalProperty} for each of them.
+     * Must be called inside a transaction.
+     *
+     * @return values in the order of {@code nodeIds}, without a value for nodes that do not exist or have no value at
+     * {@code time}.
+     */
+    public TemporalPointValues nodeGetTemporalPropertyPoints( long[] nodeIds, String proName, TimePoint time )
+    {
+        return read().nodeGetTemporalPropertyPoints( nodeIds, proName2Id( proName ), time );
+    }
+
+    public TemporalPointValues relGetTemporalPropertyPoints( long[] relIds, String proName, TimePoint time )
+    {
+        return read().relationshipGetTemporalPropertyPoints( relIds, proName2Id( proName ), time );
     }
 
     private ReadOperations read()
@@ -110,7 +281,7 @@ public class TemporalIndexManager
 
     private TemporalPropertyStoreAdapter tpStore()
     {
-        return TemporalPropertyStoreAdapter.getInstance();
+        return temporalStore.get();
     }
 
     public class PropertyValueIntervalBuilder
@@ -147,6 +318,36 @@ public class TemporalIndexManager
             }
         }
 
+        /**
+         * Like {@link #query()}, without collecting the result first.
+         */
+        public TemporalIndexCursor cursor()
+        {
+            try
+            {
+                return read().getTemporalPropertyByValueIndexCursor( this );
+            }
+            catch ( PropertyNotFoundException e )
+            {
+                throw new NotFoundException( e );
+            }
+        }
+
+        /**
+         * @return ids of the entities with a match, each once.
+         */
+        public PrimitiveLongIterator entities()
+        {
+            try
+            {
+                return read().getEntitiesByTemporalValueIndex( this );
+            }
+            catch ( PropertyNotFoundException e )
+            {
+                throw new NotFoundException( e );
+            }
+        }
+
         public Map<Integer,Triple<String,Object,Object>> getPropertyValues()
         {
             return valInterval;
@@ -0,0 +1,206 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.index.IndexType;
+import org.act.temporalProperty.query.aggr.ValueGroupingMap;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.kernel.api.index.InternalIndexState;
+
+/**
+ * A temporal index which has been asked for, and how far its population has come. Temporal indexes go through the
+ * same states as schema indexes: {@link InternalIndexState#POPULATING} until the temporal property store has built
+ * them, then {@link InternalIndexState#ONLINE}, or {@link InternalIndexState#FAILED} with a reason.
+ */
+public class TemporalIndexPopulation
+{
+    public enum Kind
+    {
+        VALUE, DURATION, MIN_MAX
+    }
+
+    private final long id;
+    private final Kind kind;
+    private final List<Integer> propertyIds;
+    private final TimePoint start;
+    private final TimePoint end;
+    private final int every;
+    private final int timeUnit;
+    private final IndexType aggregationType;
+    private final ValueGroupingMap valueGroup;
+    private final CountDownLatch completed = new CountDownLatch( 1 );
+
+    private volatile InternalIndexState state = InternalIndexState.POPULATING;
+    private volatile long indexId = -1;
+    private volatile String failure;
+    private volatile long startedMillis;
+    private volatile long completedMillis;
+
+    public TemporalIndexPopulation( long id, Kind kind, List<Integer> propertyIds, TimePoint start, TimePoint end,
+            int every, int timeUnit, IndexType aggregationType, ValueGroupingMap valueGroup )
+    {
+        this.id = id;
+        this.kind = kind;
+        this.propertyIds = Collections.unmodifiableList( propertyIds );
+        this.start = start;
+        this.end = end;
+        this.every = every;
+        this.timeUnit = timeUnit;
+        this.aggregationType = aggregationType;
+        this.valueGroup = valueGroup;
+    }
+
+    /**
+     * @return id of this population, not to be confused with {@link #getIndexId()}.
+     */
+    public long getId()
+    {
+        return id;
+    }
+
+    public Kind getKind()
+    {
+        return kind;
+    }
+
+    public List<Integer> getPropertyIds()
+    {
+        return propertyIds;
+    }
+
+    public TimePoint getStart()
+    {
+        return start;
+    }
+
+    public TimePoint getEnd()
+    {
+        return end;
+    }
+
+    public int getEvery()
+    {
+        return every;
+    }
+
+    public int getTimeUnit()
+    {
+        return timeUnit;
+    }
+
+    public IndexType getAggregationType()
+    {
+        return aggregationType;
+    }
+
+    /**
+     * @return value groups of a duration index, null once it is online or failed and has been read back after a
+     * restart.
+     */
+    public ValueGroupingMap getValueGroup()
+    {
+        return valueGroup;
+    }
+
+    public InternalIndexState getState()
+    {
+        return state;
+    }
+
+    /**
+     * @return id of the index in the temporal property store, -1 until it is online.
+     */
+    public long getIndexId()
+    {
+        return indexId;
+    }
+
+    /**
+     * @return why population failed, or null if it has not.
+     */
+    public String getFailure()
+    {
+        return failure;
+    }
+
+    /**
+     * @return milliseconds spent populating so far, or in total once the index is online or failed.
+     */
+    public long getPopulationMillis()
+    {
+        long started = startedMillis;
+        if ( started == 0 )
+        {
+            return 0;
+        }
+        long until = completedMillis;
+        return (until == 0 ? System.currentTimeMillis() : until) - started;
+    }
+
+    /**
+     * Waits for the index to come online or fail.
+     *
+     * @return true if it did within the given time.
+     */
+    public boolean awaitCompletion( long timeout, TimeUnit unit ) throws InterruptedException
+    {
+        return completed.await( timeout, unit );
+    }
+
+    /**
+     * @return true if this population builds the same index as {@code other} asks for.
+     */
+    public boolean sameIndexAs( TemporalIndexPopulation other )
+    {
+        return kind == other.kind && propertyIds.equals( other.propertyIds ) && sameTime( start, other.start ) &&
+               sameTime( end, other.end ) && every == other.every && timeUnit == other.timeUnit &&
+               aggregationType == other.aggregationType;
+    }
+
+    private static boolean sameTime( TimePoint a, TimePoint b )
+    {
+        if ( a.isInit() || a.isNow() || b.isInit() || b.isNow() )
+        {
+            return a.isInit() == b.isInit() && a.isNow() == b.isNow();
+        }
+        return a.val() == b.val();
+    }
+
+    public void started()
+    {
+        startedMillis = System.currentTimeMillis();
+    }
+
+    public void online( long indexId )
+    {
+        this.indexId = indexId;
+        this.state = InternalIndexState.ONLINE;
+        complete();
+    }
+
+    public void failed( String failure )
+    {
+        this.failure = failure;
+        this.state = InternalIndexState.FAILED;
+        complete();
+    }
+
+    private void complete()
+    {
+        if ( startedMillis != 0 )
+        {
+            completedMillis = System.currentTimeMillis();
+        }
+        completed.countDown();
+    }
+
+    @Override
+    public String toString()
+    {
+        return kind + " index on " + propertyIds + " over [" + start + ", " + end + "] (" + state +
+               (failure != null ? ": " + failure : "") + ")";
+    }
+}
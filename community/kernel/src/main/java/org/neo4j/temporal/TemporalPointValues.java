@@ -0,0 +1,211 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.meta.ValueContentType;
+import org.act.temporalProperty.util.Slice;
+
+import java.util.Arrays;
+
+import static org.act.temporalProperty.util.TemporalPropertyValueConvertor.fromSlice;
+
+/**
+ * Values of one property of many entities at one time point, one row per entity in the order the entities were
+ * asked for. The values are kept in columns: numbers of the value type of the temporal property are never boxed and
+ * are read with {@link #longValue(int)} and {@link #doubleValue(int)}, like {@link TemporalRangeCursor} does. Strings,
+ * and static values of entities on which the key does not hold a temporal property, are kept as objects.
+ * <p>
+ * Filled by {@link org.neo4j.kernel.api.DataRead#nodeGetTemporalPropertyPoints(long[], int, TimePoint)} and
+ * {@link org.neo4j.kernel.api.DataRead#relationshipGetTemporalPropertyPoints(long[], int, TimePoint)}.
+ */
+public class TemporalPointValues
+{
+    private static final int NONE = -1;
+    private static final int INT = 0;
+    private static final int LONG = 1;
+    private static final int FLOAT = 2;
+    private static final int DOUBLE = 3;
+    private static final int STRING = 4;
+
+    private final ValueContentType type;
+    private final int kind;
+    private final long[] bits;
+    private final boolean[] hasValue;
+    private Object[] objects;
+
+    /**
+     * @param type value type of the temporal property, the type of the numbers kept unboxed. Null if it is not known.
+     */
+    public TemporalPointValues( int size, ValueContentType type )
+    {
+        this.type = type;
+        this.kind = kindOf( type );
+        this.bits = new long[size];
+        this.hasValue = new boolean[size];
+    }
+
+    private static int kindOf( ValueContentType type )
+    {
+        if ( type == null )
+        {
+            return NONE;
+        }
+        switch ( type )
+        {
+        case INT: return INT;
+        case LONG: return LONG;
+        case FLOAT: return FLOAT;
+        case DOUBLE: return DOUBLE;
+        case STRING: return STRING;
+        default: return NONE;
+        }
+    }
+
+    /**
+     * @return the value type of the temporal property, null if it was not known when reading.
+     */
+    public ValueContentType valueType()
+    {
+        return type;
+    }
+
+    public int size()
+    {
+        return bits.length;
+    }
+
+    /**
+     * Sets row {@code row} to a value encoded by the temporal store as the value type of this column.
+     */
+    public void set( int row, Slice value )
+    {
+        switch ( kind )
+        {
+        case INT: bits[row] = value.getInt( 0 ); break;
+        case LONG: bits[row] = value.getLong( 0 ); break;
+        case FLOAT: bits[row] = Double.doubleToRawLongBits( value.getFloat( 0 ) ); break;
+        case DOUBLE: bits[row] = Double.doubleToRawLongBits( value.getDouble( 0 ) ); break;
+        case STRING: setObject( row, fromSlice( ValueContentType.STRING, value ) ); break;
+        default: throw new IllegalStateException( "value type of the column is not known" );
+        }
+        hasValue[row] = true;
+    }
+
+    /**
+     * Sets row {@code row} to a value of any type, null for no value.
+     */
+    public void set( int row, Object value )
+    {
+        if ( value != null || objects != null )
+        {
+            setObject( row, value );
+        }
+        hasValue[row] = value != null;
+    }
+
+    private void setObject( int row, Object value )
+    {
+        if ( objects == null )
+        {
+            objects = new Object[bits.length];
+        }
+        objects[row] = value;
+    }
+
+    /**
+     * @return false if the entity of row {@code row} does not exist or has no value at the time point.
+     */
+    public boolean hasValue( int row )
+    {
+        return hasValue[row];
+    }
+
+    /**
+     * @return the numeric value of row {@code row}, truncated if it is a floating point value.
+     */
+    public long longValue( int row )
+    {
+        Object object = checkNumber( row );
+        if ( object != null )
+        {
+            return ((Number) object).longValue();
+        }
+        return kind == FLOAT || kind == DOUBLE ? (long) Double.longBitsToDouble( bits[row] ) : bits[row];
+    }
+
+    public double doubleValue( int row )
+    {
+        Object object = checkNumber( row );
+        if ( object != null )
+        {
+            return ((Number) object).doubleValue();
+        }
+        return kind == FLOAT || kind == DOUBLE ? Double.longBitsToDouble( bits[row] ) : bits[row];
+    }
+
+    /**
+     * @return the boxed value of row {@code row}, null if there is none.
+     */
+    public Object value( int row )
+    {
+        if ( !hasValue[row] )
+        {
+            return null;
+        }
+        if ( objects != null && objects[row] != null )
+        {
+            return objects[row];
+        }
+        switch ( kind )
+        {
+        case INT: return (int) bits[row];
+        case LONG: return bits[row];
+        case FLOAT: return (float) Double.longBitsToDouble( bits[row] );
+        default: return Double.longBitsToDouble( bits[row] );
+        }
+    }
+
+    /**
+     * @return the value of row {@code row} if it is kept as an object, null if it is kept unboxed.
+     */
+    private Object checkNumber( int row )
+    {
+        if ( !hasValue[row] )
+        {
+            throw new IllegalStateException( "no value in row " + row );
+        }
+        Object object = objects == null ? null : objects[row];
+        if ( object == null && kind != STRING )
+        {
+            return null;
+        }
+        if ( !(object instanceof Number) )
+        {
+            throw new IllegalStateException( "not a numeric value in row " + row );
+        }
+        return object;
+    }
+
+    /**
+     * @param ids the entity ids asked for, in any order and with duplicates.
+     * @param sortedIds the sorted, distinct ids, whose rows this holds.
+     * @return the values with one row per id of {@code ids}, in that order.
+     */
+    public TemporalPointValues inOrderOf( long[] ids, long[] sortedIds )
+    {
+        if ( Arrays.equals( ids, sortedIds ) )
+        {
+            return this;
+        }
+        TemporalPointValues result = new TemporalPointValues( ids.length, type );
+        for ( int row = 0; row < ids.length; row++ )
+        {
+            int from = Arrays.binarySearch( sortedIds, ids[row] );
+            result.bits[row] = bits[from];
+            result.hasValue[row] = hasValue[from];
+            if ( objects != null && objects[from] != null )
+            {
+                result.setObject( row, objects[from] );
+            }
+        }
+        return result;
+    }
+}
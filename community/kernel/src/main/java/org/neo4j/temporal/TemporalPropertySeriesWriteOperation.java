@@ -0,0 +1,160 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.meta.ValueContentType;
+import org.act.temporalProperty.util.Slice;
+import org.act.temporalProperty.util.TemporalPropertyValueConvertor;
+
+/**
+ * Sets a series of values of one temporal property of one entity in a single operation.
+ * <p>
+ * Value {@code i} is valid from {@code times[i]} until {@code times[i + 1] - 1}, the last value is valid until
+ * {@link TimePoint#NOW}. So the result is the same as calling
+ * {@link org.neo4j.graphdb.PropertyContainer#setTemporalProperty(String, TimePoint, Object)} for every point in order,
+ * but the value type is resolved and checked only once and the values are encoded directly from the primitive array.
+ */
+public class TemporalPropertySeriesWriteOperation
+{
+    private final long entityId;
+    private final int proId;
+    private final ValueType valueType;
+    private final long[] times;
+    private final Slice[] values;
+
+    private TemporalPropertySeriesWriteOperation( long entityId, int proId, Class<?> valueClass, long[] times, int length )
+    {
+        if ( times.length != length )
+        {
+            throw new IllegalArgumentException( "got " + times.length + " time points but " + length + " values" );
+        }
+        if ( length == 0 )
+        {
+            throw new IllegalArgumentException( "empty time series" );
+        }
+        for ( int i = 1; i < length; i++ )
+        {
+            if ( times[i] <= times[i - 1] )
+            {
+                throw new IllegalArgumentException( "time points must be strictly increasing, but got " +
+                                                    times[i - 1] + " before " + times[i] );
+            }
+        }
+        this.entityId = entityId;
+        this.proId = proId;
+        this.valueType = ValueType.fromValueContentType( TemporalPropertyValueConvertor.str2type( valueClass.getSimpleName() ) );
+        this.times = times;
+        this.values = new Slice[length];
+    }
+
+    /**
+     * @param values an int[], long[], float[] or double[] with one value per time point.
+     */
+    public static TemporalPropertySeriesWriteOperation of( long entityId, int proId, long[] times, Object values )
+    {
+        if ( values instanceof int[] )
+        {
+            return ofInts( entityId, proId, times, (int[]) values );
+        }
+        else if ( values instanceof long[] )
+        {
+            return ofLongs( entityId, proId, times, (long[]) values );
+        }
+        else if ( values instanceof float[] )
+        {
+            return ofFloats( entityId, proId, times, (float[]) values );
+        }
+        else if ( values instanceof double[] )
+        {
+            return ofDoubles( entityId, proId, times, (double[]) values );
+        }
+        throw new IllegalArgumentException( "unsupported time series value array " +
+                                            (values == null ? null : values.getClass().getSimpleName()) );
+    }
+
+    public static TemporalPropertySeriesWriteOperation ofInts( long entityId, int proId, long[] times, int[] values )
+    {
+        TemporalPropertySeriesWriteOperation op = new TemporalPropertySeriesWriteOperation( entityId, proId, Integer.class, times, values.length );
+        for ( int i = 0; i < values.length; i++ )
+        {
+            op.values[i] = TemporalPropertyValueConvertor.toSlice( values[i] );
+        }
+        return op;
+    }
+
+    public static TemporalPropertySeriesWriteOperation ofLongs( long entityId, int proId, long[] times, long[] values )
+    {
+        TemporalPropertySeriesWriteOperation op = new TemporalPropertySeriesWriteOperation( entityId, proId, Long.class, times, values.length );
+        for ( int i = 0; i < values.length; i++ )
+        {
+            op.values[i] = TemporalPropertyValueConvertor.toSlice( values[i] );
+        }
+        return op;
+    }
+
+    public static TemporalPropertySeriesWriteOperation ofFloats( long entityId, int proId, long[] times, float[] values )
+    {
+        TemporalPropertySeriesWriteOperation op = new TemporalPropertySeriesWriteOperation( entityId, proId, Float.class, times, values.length );
+        for ( int i = 0; i < values.length; i++ )
+        {
+            op.values[i] = TemporalPropertyValueConvertor.toSlice( values[i] );
+        }
+        return op;
+    }
+
+    public static TemporalPropertySeriesWriteOperation ofDoubles( long entityId, int proId, long[] times, double[] values )
+    {
+        TemporalPropertySeriesWriteOperation op = new TemporalPropertySeriesWriteOperation( entityId, proId, Double.class, times, values.length );
+        for ( int i = 0; i < values.length; i++ )
+        {
+            op.values[i] = TemporalPropertyValueConvertor.toSlice( values[i] );
+        }
+        return op;
+    }
+
+    public long getEntityId()
+    {
+        return entityId;
+    }
+
+    public int getProId()
+    {
+        return proId;
+    }
+
+    public ValueContentType getValueContentType()
+    {
+        return valueType.toValueContentType();
+    }
+
+    public int size()
+    {
+        return times.length;
+    }
+
+    /**
+     * @return the time point value {@code i} is valid from.
+     */
+    public long getTime( int i )
+    {
+        return times[i];
+    }
+
+    public InternalKey getStartKey( int i )
+    {
+        return new InternalKey( proId, entityId, new TimePoint( times[i] ), valueType );
+    }
+
+    /**
+     * @return the last time point value {@code i} is valid for, {@link TimePoint#NOW} for the last value.
+     */
+    public TimePoint getEnd( int i )
+    {
+        return i + 1 < times.length ? new TimePoint( times[i + 1] - 1 ) : TimePoint.NOW;
+    }
+
+    public Slice getValueSlice( int i )
+    {
+        return values[i];
+    }
+}
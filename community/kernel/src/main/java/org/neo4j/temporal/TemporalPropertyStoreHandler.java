@@ -1,21 +1,80 @@
 package org.neo4j.temporal;
 
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
+
 import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
 import org.neo4j.kernel.impl.transaction.command.Command;
 import org.neo4j.kernel.impl.transaction.command.CommandHandler;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
 /**
  * Created by song on 17-7-10.
+ * <p>
+ * Writes of a transaction are collected per store while its commands are visited and handed to the store as one
+ * batch in {@link #apply()}, sorted by entity and property, so the flush state and the memtable budget are updated
+ * once per transaction instead of once per written interval. Rollup buckets overlapping the writes are refreshed right
+ * after, or once at the end of the batch when the writes are applied by a {@link PartitionedTemporalPropertyApplier},
+ * see {@link org.neo4j.kernel.impl.store.TemporalRollup}.
  */
 public class TemporalPropertyStoreHandler extends CommandHandler.Adapter
 {
+    /**
+     * Orders writes by entity and property only. The sort is stable, so writes of the same property keep the order
+     * they were made in, which matters when their intervals overlap.
+     */
+    static final Comparator<TimeIntervalValueEntry> BY_ENTITY_AND_PROPERTY = new Comparator<TimeIntervalValueEntry>()
+    {
+        @Override
+        public int compare( TimeIntervalValueEntry o1, TimeIntervalValueEntry o2 )
+        {
+            long entity1 = o1.getKey().getStartKey().getEntityId();
+            long entity2 = o2.getKey().getStartKey().getEntityId();
+            if ( entity1 != entity2 )
+            {
+                return entity1 < entity2 ? -1 : 1;
+            }
+            return Integer.compare( o1.getKey().getStartKey().getPropertyId(), o2.getKey().getStartKey().getPropertyId() );
+        }
+    };
+
     private final TemporalPropertyStoreAdapter store;
+    private final long transactionId;
+    private final boolean recovery;
+    private final PartitionedTemporalPropertyApplier partitioned;
+    private final List<TimeIntervalValueEntry> nodeWrites = new ArrayList<>();
+    private final List<TimeIntervalValueEntry> relWrites = new ArrayList<>();
+
+    /**
+     * @param recovery true if the transaction is being recovered, its commands are skipped for stores which had
+     * already been flushed past it.
+     */
+    public TemporalPropertyStoreHandler( TemporalPropertyStoreAdapter temporalPropStore, long transactionId, boolean recovery )
+    {
+        this( temporalPropStore, transactionId, recovery, null );
+    }
 
-    public TemporalPropertyStoreHandler(TemporalPropertyStoreAdapter temporalPropStore)
+    /**
+     * @param partitioned applies the writes of the transaction in parallel, null to apply them in this thread.
+     */
+    public TemporalPropertyStoreHandler( TemporalPropertyStoreAdapter temporalPropStore, long transactionId, boolean recovery,
+            PartitionedTemporalPropertyApplier partitioned )
     {
         this.store = temporalPropStore;
+        this.transactionId = transactionId;
+        this.recovery = recovery;
+        this.partitioned = partitioned;
+    }
+
+    private boolean isDurable( TemporalPropertyStore target )
+    {
+        return recovery && store.isDurable( target, transactionId );
     }
 
 //    @Override
@@ -35,21 +94,94 @@ public class TemporalPropertyStoreHandler extends CommandHandler.Adapter
     @Override
     public boolean visitNodeTemporalPropertyIndexCommand( Command.NodeTemporalPropertyIndexCommand command ) throws IOException
     {
-        this.store.createAggrMinMaxIndex( store.nodeStore(), command.getPropertyId(), command.getStart(), command.getEnd() );
+        if ( !isDurable( store.nodeStore() ) )
+        {
+            // the index is populated in the background from the store, values written before it have to be there
+            applyWrites();
+            if ( partitioned != null )
+            {
+                partitioned.awaitWritten();
+            }
+            this.store.createAggrMinMaxIndex( store.nodeStore(), command.getPropertyId(), command.getStart(), command.getEnd() );
+        }
         return false;
     }
 
     @Override
     public boolean visitNodeTemporalPropertyCommand(Command.NodeTemporalPropertyCommand command) throws IOException
     {
-        this.store.setValue( store.nodeStore(), command.getIntervalEntry().getKey(), command.getIntervalEntry().getValue());
+        if ( !isDurable( store.nodeStore() ) )
+        {
+            nodeWrites.add( command.getIntervalEntry() );
+        }
         return false;
     }
 
     @Override
     public boolean visitRelationshipTemporalPropertyCommand(Command.RelationshipTemporalPropertyCommand command) throws IOException
     {
-        this.store.setValue( store.relStore(), command.getIntervalEntry().getKey(), command.getIntervalEntry().getValue());
+        if ( !isDurable( store.relStore() ) )
+        {
+            relWrites.add( command.getIntervalEntry() );
+        }
+        return false;
+    }
+
+    @Override
+    public boolean visitTemporalPropertyBatchCommand( Command.TemporalPropertyBatchCommand command ) throws IOException
+    {
+        TemporalPropertyStore target = command.isNode() ? store.nodeStore() : store.relStore();
+        if ( isDurable( target ) )
+        {
+            return false;
+        }
+        List<TimeIntervalValueEntry> writes = command.isNode() ? nodeWrites : relWrites;
+        for ( TimeIntervalValueEntry entry : command.getEntries() )
+        {
+            writes.add( entry );
+        }
         return false;
     }
+
+    @Override
+    public void apply()
+    {
+        try
+        {
+            applyWrites();
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
+    private void applyWrites() throws IOException
+    {
+        applyWrites( store.nodeStore(), nodeWrites );
+        applyWrites( store.relStore(), relWrites );
+    }
+
+    private void applyWrites( TemporalPropertyStore target, List<TimeIntervalValueEntry> writes ) throws IOException
+    {
+        if ( writes.isEmpty() )
+        {
+            return;
+        }
+        Collections.sort( writes, BY_ENTITY_AND_PROPERTY );
+        if ( partitioned != null )
+        {
+            // rollups are refreshed by the applier at the end of the batch
+            for ( TimeIntervalValueEntry write : writes )
+            {
+                partitioned.apply( target, write );
+            }
+        }
+        else
+        {
+            this.store.setValues( target, writes );
+            this.store.refreshRollups( target, writes );
+        }
+        writes.clear();
+    }
 }
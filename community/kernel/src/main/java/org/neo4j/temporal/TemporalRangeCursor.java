@@ -0,0 +1,346 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.impl.InternalEntry;
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.meta.ValueContentType;
+import org.act.temporalProperty.query.range.TimeRangeQuery;
+import org.act.temporalProperty.util.Slice;
+
+import java.util.Arrays;
+
+import org.neo4j.cursor.Cursor;
+
+import static org.act.temporalProperty.util.TemporalPropertyValueConvertor.fromSlice;
+
+/**
+ * Pull based reader over the values of one temporal property in a time range. Every row is an interval in
+ * which the property has one value: it starts at {@link #time()}, ends at {@link #endTime()} and the value is read
+ * with {@link #longValue()}, {@link #doubleValue()} or {@link #value()}. The first row starts at the start of the
+ * range and holds the value valid at that time.
+ * <p>
+ * The temporal store only supports push style range scans. The cursor pulls the range from a {@link Source} in time
+ * windows instead of in one scan: a window is scanned when the rows read so far run out, and rows already read are
+ * dropped. A window grows while it holds few entries and shrinks when it holds many, so a reader stopping early
+ * scans little more than it read, and memory stays bounded by the size of a window however long the range is.
+ * <p>
+ * Numbers are never boxed, and the arrays are kept when the cursor is reused for the next range, so reading many
+ * ranges with one cursor does not allocate per entry. Strings are the exception, they are decoded when they are
+ * collected.
+ * <p>
+ * Filled by {@link org.neo4j.kernel.api.DataRead#nodeGetTemporalPropertyRange(long, int, TimePoint, TimePoint, TemporalRangeCursor)}
+ * and {@link org.neo4j.kernel.api.DataRead#relationshipGetTemporalPropertyRange(long, int, TimePoint, TimePoint, TemporalRangeCursor)}.
+ */
+public class TemporalRangeCursor implements Cursor<TemporalRangeCursor>, TimeRangeQuery
+{
+    /**
+     * Scans the entries of a time window of the range into the cursor.
+     */
+    public interface Source
+    {
+        /**
+         * Pushes the entries starting in ({@code from}, {@code to}] to {@link TemporalRangeCursor#onNewEntry}, the
+         * cursor skips others.
+         */
+        void scan( long from, long to, TemporalRangeCursor cursor );
+    }
+
+    static final long FIRST_WINDOW = 1024;
+    static final int ROWS_PER_WINDOW = 256;
+
+    private static final int INT = 0;
+    private static final int LONG = 1;
+    private static final int FLOAT = 2;
+    private static final int DOUBLE = 3;
+    private static final int STRING = 4;
+
+    private long rangeStart;
+    private long rangeEnd;
+    private int kind = -1;
+
+    private Source source;
+    private long window;
+    private long windowStart;
+    private long windowEnd;
+
+    private int count;
+    private int position = -1;
+    private long[] starts = new long[16];
+    private long[] bits = new long[16];
+    private boolean[] hasValue = new boolean[16];
+    private Object[] strings;
+
+    /**
+     * Empties the cursor and prepares it for collecting the values in [start, end].
+     */
+    public void init( long start, long end )
+    {
+        this.rangeStart = start;
+        this.rangeEnd = end;
+        this.source = null;
+        this.windowStart = start;
+        this.windowEnd = end;
+        this.kind = -1;
+        this.count = 0;
+        this.position = -1;
+        if ( strings != null )
+        {
+            Arrays.fill( strings, null );
+        }
+    }
+
+    /**
+     * Adds the first row, holding the value valid at the start of the range.
+     *
+     * @param value the encoded value, null if the property has no value at that time.
+     */
+    public void seed( ValueContentType type, Slice value )
+    {
+        setValueType( type.name() );
+        add( rangeStart, value );
+    }
+
+    /**
+     * Adds the first row like {@link #seed(ValueContentType, Slice)}, the other rows are scanned from {@code source}
+     * while they are read.
+     */
+    public void seed( ValueContentType type, Slice value, Source source )
+    {
+        seed( type, value );
+        this.source = source;
+        this.window = FIRST_WINDOW;
+        this.windowEnd = rangeStart;
+    }
+
+    @Override
+    public void setValueType( String valueType )
+    {
+        switch ( valueType )
+        {
+        case "INT": kind = INT; return;
+        case "LONG": kind = LONG; return;
+        case "FLOAT": kind = FLOAT; return;
+        case "DOUBLE": kind = DOUBLE; return;
+        case "STRING": kind = STRING; return;
+        default: throw new IllegalArgumentException( "unsupported temporal value type " + valueType );
+        }
+    }
+
+    @Override
+    public void onNewEntry( InternalEntry entry )
+    {
+        InternalKey key = entry.getKey();
+        long time = key.getStartTime().val();
+        // the value at the range start is the seed, entries up to the window start are rows of earlier windows
+        if ( time > windowStart && time <= windowEnd )
+        {
+            add( time, key.getValueType() == ValueType.INVALID ? null : entry.getValue() );
+        }
+    }
+
+    @Override
+    public Object onReturn()
+    {
+        return null;
+    }
+
+    private void add( long time, Slice value )
+    {
+        if ( count == starts.length )
+        {
+            int size = count * 2;
+            starts = Arrays.copyOf( starts, size );
+            bits = Arrays.copyOf( bits, size );
+            hasValue = Arrays.copyOf( hasValue, size );
+        }
+        starts[count] = time;
+        hasValue[count] = value != null;
+        if ( value != null )
+        {
+            switch ( kind )
+            {
+            case INT: bits[count] = value.getInt( 0 ); break;
+            case LONG: bits[count] = value.getLong( 0 ); break;
+            case FLOAT: bits[count] = Double.doubleToRawLongBits( value.getFloat( 0 ) ); break;
+            case DOUBLE: bits[count] = Double.doubleToRawLongBits( value.getDouble( 0 ) ); break;
+            case STRING:
+                if ( strings == null || strings.length < starts.length )
+                {
+                    strings = strings == null ? new Object[starts.length] : Arrays.copyOf( strings, starts.length );
+                }
+                strings[count] = fromSlice( ValueContentType.STRING, value );
+                break;
+            default: throw new IllegalStateException( "value type not set" );
+            }
+        }
+        count++;
+    }
+
+    @Override
+    public boolean next()
+    {
+        if ( !hasRowAfterPosition() )
+        {
+            position = count;
+            return false;
+        }
+        position++;
+        hasRowAfterPosition(); // the end of this row is the start of the next one
+        return true;
+    }
+
+    private boolean hasRowAfterPosition()
+    {
+        while ( position + 1 >= count )
+        {
+            if ( !scanNextWindow() )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops the rows before the current one and scans the next window of the range.
+     *
+     * @return false if the whole range has been scanned.
+     */
+    private boolean scanNextWindow()
+    {
+        if ( source == null || windowEnd >= rangeEnd )
+        {
+            return false;
+        }
+        dropRowsBeforePosition();
+        windowStart = windowEnd;
+        windowEnd = rangeEnd - windowStart <= window ? rangeEnd : windowStart + window;
+        int before = count;
+        source.scan( windowStart, windowEnd, this );
+        int added = count - before;
+        if ( added < ROWS_PER_WINDOW )
+        {
+            window = window > Long.MAX_VALUE / 2 ? Long.MAX_VALUE : window * 2;
+        }
+        else if ( added > 4 * ROWS_PER_WINDOW )
+        {
+            window = Math.max( 1, window / 2 );
+        }
+        return true;
+    }
+
+    private void dropRowsBeforePosition()
+    {
+        if ( position <= 0 )
+        {
+            return;
+        }
+        int remaining = count - position;
+        System.arraycopy( starts, position, starts, 0, remaining );
+        System.arraycopy( bits, position, bits, 0, remaining );
+        System.arraycopy( hasValue, position, hasValue, 0, remaining );
+        if ( strings != null )
+        {
+            System.arraycopy( strings, position, strings, 0, remaining );
+            Arrays.fill( strings, remaining, count, null );
+        }
+        count = remaining;
+        position = 0;
+    }
+
+    @Override
+    public TemporalRangeCursor get()
+    {
+        checkPosition();
+        return this;
+    }
+
+    /**
+     * @return the first time point of the current row.
+     */
+    public long time()
+    {
+        checkPosition();
+        return starts[position];
+    }
+
+    /**
+     * @return the last time point of the current row, the end of the range for the last row.
+     */
+    public long endTime()
+    {
+        checkPosition();
+        return position + 1 < count ? starts[position + 1] - 1 : rangeEnd;
+    }
+
+    /**
+     * @return false if the property has no value in the current row.
+     */
+    public boolean hasValue()
+    {
+        checkPosition();
+        return hasValue[position];
+    }
+
+    /**
+     * @return the value of the current row, truncated if the property holds floating point values.
+     */
+    public long longValue()
+    {
+        checkValue();
+        return kind == FLOAT || kind == DOUBLE ? (long) Double.longBitsToDouble( bits[position] ) : bits[position];
+    }
+
+    public double doubleValue()
+    {
+        checkValue();
+        return kind == FLOAT || kind == DOUBLE ? Double.longBitsToDouble( bits[position] ) : bits[position];
+    }
+
+    /**
+     * @return the boxed value of the current row, null if there is none.
+     */
+    public Object value()
+    {
+        checkPosition();
+        if ( !hasValue[position] )
+        {
+            return null;
+        }
+        switch ( kind )
+        {
+        case INT: return (int) bits[position];
+        case LONG: return bits[position];
+        case FLOAT: return (float) Double.longBitsToDouble( bits[position] );
+        case DOUBLE: return Double.longBitsToDouble( bits[position] );
+        default: return strings[position];
+        }
+    }
+
+    private void checkPosition()
+    {
+        if ( position < 0 || position >= count )
+        {
+            throw new IllegalStateException( "cursor is not on a row" );
+        }
+    }
+
+    private void checkValue()
+    {
+        checkPosition();
+        if ( !hasValue[position] )
+        {
+            throw new IllegalStateException( "no value at " + starts[position] );
+        }
+        if ( kind == STRING )
+        {
+            throw new IllegalStateException( "not a numeric temporal property" );
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        init( 0, 0 );
+    }
+}
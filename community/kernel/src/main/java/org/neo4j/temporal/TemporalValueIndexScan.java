@@ -0,0 +1,241 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.impl.MemTable;
+import org.act.temporalProperty.query.TimePointL;
+import org.act.temporalProperty.util.Slice;
+import org.apache.commons.lang3.tuple.Triple;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
+
+import static org.act.temporalProperty.util.TemporalPropertyValueConvertor.fromSlice;
+
+/**
+ * Answers a value index query by scanning the values of every entity, for when the index is not online yet. Gives
+ * the same rows as the index: the parts of [start, end] in which all queried properties have a value in their range.
+ * Entities are scanned as the cursor moves, one at a time.
+ */
+public class TemporalValueIndexScan implements TemporalIndexCursor
+{
+    private final TemporalPropertyStoreAdapter adapter;
+    private final TemporalPropertyStore store;
+    private final TemporalIndexManager.PropertyValueIntervalBuilder query;
+    private final PrimitiveLongIterator entityIds;
+    private final MemTable txState;
+
+    private long entityId = -1;
+    private List<Interval> matching = Collections.emptyList();
+    private int position;
+    private Interval current;
+
+    /**
+     * @param txState temporal property changes of the current transaction, or null.
+     */
+    public TemporalValueIndexScan( TemporalPropertyStoreAdapter adapter, TemporalPropertyStore store,
+            TemporalIndexManager.PropertyValueIntervalBuilder query, PrimitiveLongIterator entityIds, MemTable txState )
+    {
+        this.adapter = adapter;
+        this.store = store;
+        this.query = query;
+        this.entityIds = entityIds;
+        this.txState = txState;
+    }
+
+    @Override
+    public boolean next()
+    {
+        while ( position >= matching.size() )
+        {
+            if ( !entityIds.hasNext() )
+            {
+                current = null;
+                return false;
+            }
+            entityId = entityIds.next();
+            matching = scan( entityId );
+            position = 0;
+        }
+        current = matching.get( position++ );
+        return true;
+    }
+
+    @Override
+    public TemporalIndexCursor get()
+    {
+        if ( current == null )
+        {
+            throw new IllegalStateException();
+        }
+        return this;
+    }
+
+    @Override
+    public long entityId()
+    {
+        get();
+        return entityId;
+    }
+
+    @Override
+    public long start()
+    {
+        get();
+        return current.start;
+    }
+
+    @Override
+    public long end()
+    {
+        get();
+        return current.end;
+    }
+
+    @Override
+    public Object value( int i )
+    {
+        get();
+        return current.values.get( i );
+    }
+
+    @Override
+    public void close()
+    {
+        matching = Collections.emptyList();
+        position = 0;
+        current = null;
+    }
+
+    private List<Interval> scan( long entityId )
+    {
+        List<Interval> matching = null;
+        for ( Map.Entry<Integer,Triple<String,Object,Object>> property : query.getPropertyValues().entrySet() )
+        {
+            MatchingIntervals scan = new MatchingIntervals( query.getStart().val(), query.getEnd().val(),
+                    property.getValue().getMiddle(), property.getValue().getRight() );
+            int propertyId = property.getKey();
+            Slice seed = adapter.getPoint( store, entityId, propertyId, query.getStart() );
+            if ( seed != null )
+            {
+                scan.current = fromSlice( adapter.getPropertyType( store, propertyId ), seed );
+            }
+            adapter.getRange( store, entityId, propertyId, query.getStart(), query.getEnd(), scan, txState );
+            scan.finish();
+            matching = matching == null ? scan.matching : intersect( matching, scan.matching );
+            if ( matching.isEmpty() )
+            {
+                break;
+            }
+        }
+        return matching == null ? Collections.<Interval>emptyList() : matching;
+    }
+
+    /**
+     * Both lists are sorted and their intervals disjoint.
+     */
+    private static List<Interval> intersect( List<Interval> left, List<Interval> right )
+    {
+        List<Interval> result = new ArrayList<>();
+        int l = 0;
+        int r = 0;
+        while ( l < left.size() && r < right.size() )
+        {
+            Interval a = left.get( l );
+            Interval b = right.get( r );
+            long start = Math.max( a.start, b.start );
+            long end = Math.min( a.end, b.end );
+            if ( start <= end )
+            {
+                Interval both = new Interval( start, end );
+                both.values.addAll( a.values );
+                both.values.addAll( b.values );
+                result.add( both );
+            }
+            if ( a.end < b.end )
+            {
+                l++;
+            }
+            else
+            {
+                r++;
+            }
+        }
+        return result;
+    }
+
+    private static class Interval
+    {
+        private final long start;
+        private final long end;
+        private final List<Object> values = new ArrayList<>( 2 );
+
+        Interval( long start, long end )
+        {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Collects the intervals of [start, end] in which the value of a property is within [min, max], a null bound
+     * leaves that side open.
+     */
+    private static class MatchingIntervals extends TemporalRangeQuery
+    {
+        private final long end;
+        private final Object min;
+        private final Object max;
+        private final List<Interval> matching = new ArrayList<>();
+        private Object current;
+        private long currentStart;
+
+        MatchingIntervals( long start, long end, Object min, Object max )
+        {
+            this.end = end;
+            this.min = min;
+            this.max = max;
+            this.currentStart = start;
+        }
+
+        @Override
+        public void onNewEntry( long entityId, int propertyId, TimePointL time, Object val )
+        {
+            long t = time.val();
+            if ( t > currentStart && t <= end )
+            {
+                close( t - 1 );
+                current = val;
+                currentStart = t;
+            }
+        }
+
+        @Override
+        public Object onReturn()
+        {
+            return null;
+        }
+
+        void finish()
+        {
+            close( end );
+            current = null;
+        }
+
+        @SuppressWarnings( "unchecked" )
+        private void close( long until )
+        {
+            if ( current != null && (min == null || ((Comparable<Object>) current).compareTo( min ) >= 0) &&
+                 (max == null || ((Comparable<Object>) current).compareTo( max ) <= 0) )
+            {
+                Interval interval = new Interval( currentStart, until );
+                interval.values.add( current );
+                matching.add( interval );
+            }
+        }
+    }
+}
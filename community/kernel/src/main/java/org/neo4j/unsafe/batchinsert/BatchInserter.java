@@ -154,6 +154,68 @@ public interface BatchInserter
      */
     void setRelationshipProperty( long relationship,
             String propertyName, Object propertyValue );
+
+    /**
+     * Sets a time series of temporal property {@code propertyName} of node
+     * with id {@code node}. Value {@code i} is valid from {@code times[i]}
+     * until the next time point, the last value is valid until now.
+     * <p>
+     * The values are buffered and only written to the temporal property
+     * store, sorted by property, node and time, on {@link #shutdown()}.
+     * So they can not be read back through the batch inserter.
+     *
+     * @param node The node id of the node whose temporal property is to be set
+     * @param propertyName The name of the temporal property to set
+     * @param times strictly increasing time points, one per value
+     * @param values the values
+     * @throws IllegalArgumentException if {@code times} and {@code values}
+     * differ in length or {@code times} is not strictly increasing
+     */
+    void setNodeTemporalPropertySeries( long node, String propertyName, long[] times, int[] values );
+
+    /**
+     * @see #setNodeTemporalPropertySeries(long, String, long[], int[])
+     */
+    void setNodeTemporalPropertySeries( long node, String propertyName, long[] times, long[] values );
+
+    /**
+     * @see #setNodeTemporalPropertySeries(long, String, long[], int[])
+     */
+    void setNodeTemporalPropertySeries( long node, String propertyName, long[] times, float[] values );
+
+    /**
+     * @see #setNodeTemporalPropertySeries(long, String, long[], int[])
+     */
+    void setNodeTemporalPropertySeries( long node, String propertyName, long[] times, double[] values );
+
+    /**
+     * Sets a time series of temporal property {@code propertyName} of
+     * relationship with id {@code relationship}, in the same way as
+     * {@link #setNodeTemporalPropertySeries(long, String, long[], int[])}.
+     *
+     * @param relationship The id of the relationship whose temporal property
+     *            is to be set
+     * @param propertyName The name of the temporal property to set
+     * @param times strictly increasing time points, one per value
+     * @param values the values
+     */
+    void setRelationshipTemporalPropertySeries( long relationship, String propertyName, long[] times, int[] values );
+
+    /**
+     * @see #setRelationshipTemporalPropertySeries(long, String, long[], int[])
+     */
+    void setRelationshipTemporalPropertySeries( long relationship, String propertyName, long[] times, long[] values );
+
+    /**
+     * @see #setRelationshipTemporalPropertySeries(long, String, long[], int[])
+     */
+    void setRelationshipTemporalPropertySeries( long relationship, String propertyName, long[] times, float[] values );
+
+    /**
+     * @see #setRelationshipTemporalPropertySeries(long, String, long[], int[])
+     */
+    void setRelationshipTemporalPropertySeries( long relationship, String propertyName, long[] times, double[] values );
+
     /**
      * Returns a map containing all the properties of this node.
      *
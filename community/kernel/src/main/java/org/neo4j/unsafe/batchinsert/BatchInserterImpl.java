@@ -114,6 +114,7 @@ import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.RelationshipTypeTokenStore;
 import org.neo4j.kernel.impl.store.SchemaStore;
 import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.TemporalValueTypes;
 import org.neo4j.kernel.impl.store.UnderlyingStorageException;
 import org.neo4j.kernel.impl.store.counts.CountsTracker;
 import org.neo4j.kernel.impl.store.id.IdGeneratorImpl;
@@ -147,12 +148,18 @@ import org.neo4j.kernel.impl.util.Listener;
 import org.neo4j.kernel.lifecycle.LifeSupport;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.NullLog;
+import org.neo4j.temporal.TemporalPropertySeriesWriteOperation;
+import org.neo4j.temporal.TimePoint;
 import org.neo4j.udc.UsageDataKeys;
+import org.neo4j.unsafe.impl.batchimport.TemporalPropertyWriterStep;
+import org.neo4j.unsafe.impl.batchimport.cache.NumberArrayFactory;
+import org.neo4j.unsafe.impl.batchimport.cache.TemporalPropertyCache;
 
 import static java.lang.Boolean.parseBoolean;
 import static org.neo4j.collection.primitive.PrimitiveLongCollections.map;
 import static org.neo4j.graphdb.DynamicLabel.label;
 import static org.neo4j.helpers.collection.IteratorUtil.first;
+import static org.neo4j.kernel.impl.api.StateHandlingStatementOperations.buildTemporalPropertyMeta;
 import static org.neo4j.kernel.impl.store.NodeLabelsField.parseLabelsField;
 import static org.neo4j.kernel.impl.store.PropertyStore.encodeString;
 import static org.neo4j.kernel.impl.util.IoPrimitiveUtils.safeCastLongToInt;
@@ -164,6 +171,8 @@ import static org.neo4j.kernel.impl.util.IoPrimitiveUtils.safeCastLongToInt;
 public class BatchInserterImpl implements BatchInserter
 {
     private static final long MAX_NODE_ID = IdType.NODE.getMaxValue();
+    private static final String TEMPORAL_NODE_STORE_NAME = "temporal.node.properties";
+    private static final String TEMPORAL_RELATIONSHIP_STORE_NAME = "temporal.relationship.properties";
 
     private final LifeSupport life;
     private final NeoStores neoStores;
@@ -181,6 +190,9 @@ public class BatchInserterImpl implements BatchInserter
     private final BatchInserterImpl.BatchSchemaActions actions;
     private final StoreLocker storeLocker;
     private boolean labelsTouched;
+    // Temporal property values, buffered until shutdown and then written sorted
+    private TemporalPropertyCache nodeTemporalProperties;
+    private TemporalPropertyCache relationshipTemporalProperties;
 
     private final LongFunction<Label> labelIdToLabelFunction = new LongFunction<Label>()
     {
@@ -369,6 +381,110 @@ public class BatchInserterImpl implements BatchInserter
         flushStrategy.flush();
     }
 
+    @Override
+    public void setNodeTemporalPropertySeries( long node, String propertyName, long[] times, int[] values )
+    {
+        addNodeTemporalPropertySeries( node, propertyName, times, values );
+    }
+
+    @Override
+    public void setNodeTemporalPropertySeries( long node, String propertyName, long[] times, long[] values )
+    {
+        addNodeTemporalPropertySeries( node, propertyName, times, values );
+    }
+
+    @Override
+    public void setNodeTemporalPropertySeries( long node, String propertyName, long[] times, float[] values )
+    {
+        addNodeTemporalPropertySeries( node, propertyName, times, values );
+    }
+
+    @Override
+    public void setNodeTemporalPropertySeries( long node, String propertyName, long[] times, double[] values )
+    {
+        addNodeTemporalPropertySeries( node, propertyName, times, values );
+    }
+
+    @Override
+    public void setRelationshipTemporalPropertySeries( long relationship, String propertyName, long[] times,
+            int[] values )
+    {
+        addRelationshipTemporalPropertySeries( relationship, propertyName, times, values );
+    }
+
+    @Override
+    public void setRelationshipTemporalPropertySeries( long relationship, String propertyName, long[] times,
+            long[] values )
+    {
+        addRelationshipTemporalPropertySeries( relationship, propertyName, times, values );
+    }
+
+    @Override
+    public void setRelationshipTemporalPropertySeries( long relationship, String propertyName, long[] times,
+            float[] values )
+    {
+        addRelationshipTemporalPropertySeries( relationship, propertyName, times, values );
+    }
+
+    @Override
+    public void setRelationshipTemporalPropertySeries( long relationship, String propertyName, long[] times,
+            double[] values )
+    {
+        addRelationshipTemporalPropertySeries( relationship, propertyName, times, values );
+    }
+
+    private void addNodeTemporalPropertySeries( long node, String propertyName, long[] times, Object values )
+    {
+        RecordProxy<Long,NodeRecord,Void> nodeRecord = getNodeRecord( node );
+        if ( nodeTemporalProperties == null )
+        {
+            nodeTemporalProperties = new TemporalPropertyCache( NumberArrayFactory.AUTO );
+        }
+        TemporalPropertySeriesWriteOperation series = TemporalPropertySeriesWriteOperation.of(
+                node, getOrCreatePropertyKeyId( propertyName ), times, values );
+        addTemporalPropertySeries( nodeTemporalProperties, series );
+        markTemporalProperty( nodeRecord, series );
+    }
+
+    private void addRelationshipTemporalPropertySeries( long relationship, String propertyName, long[] times,
+            Object values )
+    {
+        RecordProxy<Long,RelationshipRecord,Void> relationshipRecord = getRelationshipRecord( relationship );
+        if ( relationshipTemporalProperties == null )
+        {
+            relationshipTemporalProperties = new TemporalPropertyCache( NumberArrayFactory.AUTO );
+        }
+        TemporalPropertySeriesWriteOperation series = TemporalPropertySeriesWriteOperation.of(
+                relationship, getOrCreatePropertyKeyId( propertyName ), times, values );
+        addTemporalPropertySeries( relationshipTemporalProperties, series );
+        markTemporalProperty( relationshipRecord, series );
+    }
+
+    /**
+     * Sets the static property marking the temporal property, like the kernel does on its first write. It is how the
+     * database knows the entity has the temporal property once the values are in the temporal store.
+     */
+    private void markTemporalProperty( RecordProxy<Long,? extends PrimitiveRecord,Void> primitiveRecord,
+            TemporalPropertySeriesWriteOperation series )
+    {
+        propertyCreator.primitiveSetProperty( primitiveRecord, series.getProId(),
+                buildTemporalPropertyMeta( series.getValueContentType() ), recordAccess.getPropertyRecords() );
+        flushStrategy.flush();
+    }
+
+    private static void addTemporalPropertySeries( TemporalPropertyCache cache,
+            TemporalPropertySeriesWriteOperation series )
+    {
+        int valueType = TemporalValueTypes.idOf( series.getStartKey( 0 ).getValueType() );
+        for ( int i = 0; i < series.size(); i++ )
+        {
+            TimePoint end = series.getEnd( i );
+            cache.add( series.getEntityId(), series.getProId(), series.getTime( i ),
+                    end.isNow() ? TemporalPropertyCache.NOW : end.val(), valueType,
+                    series.getValueSlice( i ).getBytes() );
+        }
+    }
+
     @Override
     public void removeNodeProperty( long node, String propertyName )
     {
@@ -1017,6 +1133,7 @@ public class BatchInserterImpl implements BatchInserter
             throw new RuntimeException( e );
         }
         rebuildCounts();
+        writeTemporalProperties();
         neoStores.close();
 
         try
@@ -1032,6 +1149,37 @@ public class BatchInserterImpl implements BatchInserter
         life.shutdown();
     }
 
+    private void writeTemporalProperties()
+    {
+        try
+        {
+            writeTemporalProperties( nodeTemporalProperties, TEMPORAL_NODE_STORE_NAME );
+            writeTemporalProperties( relationshipTemporalProperties, TEMPORAL_RELATIONSHIP_STORE_NAME );
+        }
+        finally
+        {
+            if ( nodeTemporalProperties != null )
+            {
+                nodeTemporalProperties.close();
+                nodeTemporalProperties = null;
+            }
+            if ( relationshipTemporalProperties != null )
+            {
+                relationshipTemporalProperties.close();
+                relationshipTemporalProperties = null;
+            }
+        }
+    }
+
+    private void writeTemporalProperties( TemporalPropertyCache cache, String storeName )
+    {
+        if ( cache != null && cache.size() > 0 )
+        {
+            cache.sort();
+            TemporalPropertyWriterStep.write( cache, new File( storeDir, storeName ) );
+        }
+    }
+
     @Override
     public String toString()
     {
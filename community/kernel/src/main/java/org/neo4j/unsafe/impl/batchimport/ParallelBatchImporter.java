@@ -32,6 +32,7 @@ import org.neo4j.kernel.impl.logging.LogService;
 import org.neo4j.logging.Log;
 import org.neo4j.unsafe.impl.batchimport.cache.NodeLabelsCache;
 import org.neo4j.unsafe.impl.batchimport.cache.NodeRelationshipCache;
+import org.neo4j.unsafe.impl.batchimport.cache.TemporalPropertyCache;
 import org.neo4j.unsafe.impl.batchimport.cache.idmapping.IdGenerator;
 import org.neo4j.unsafe.impl.batchimport.cache.idmapping.IdMapper;
 import org.neo4j.unsafe.impl.batchimport.input.Collector;
@@ -65,6 +66,8 @@ import static org.neo4j.unsafe.impl.batchimport.staging.ExecutionSupervisors.wit
  */
 public class ParallelBatchImporter implements BatchImporter
 {
+    private static final String TEMPORAL_NODE_STORE_NAME = "temporal.node.properties";
+
     private final File storeDir;
     private final FileSystemAbstraction fileSystem;
     private final Configuration config;
@@ -113,6 +116,7 @@ public class ParallelBatchImporter implements BatchImporter
         // is that we need to close, and set to null, at specific points preferably. So use good ol' finally block.
         NodeRelationshipCache nodeRelationshipCache = null;
         NodeLabelsCache nodeLabelsCache = null;
+        TemporalPropertyCache temporalPropertyCache = null;
         long startTime = currentTimeMillis();
         boolean hasBadEntries = false;
         File badFile = new File( storeDir, Configuration.BAD_FILE_NAME );
@@ -163,8 +167,16 @@ public class ParallelBatchImporter implements BatchImporter
             final RelationshipStage relationshipStage = new RelationshipStage( config, writeMonitor,
                     relationships.supportsMultiplePasses() ? relationships : inputCache.relationships(),
                     idMapper, neoStore, nodeRelationshipCache, input.specificRelationshipIds(), storeUpdateMonitor );
-            executeStages( relationshipStage );
+            // and temporal properties of nodes, which only need the node ids and can go in parallel
+            temporalPropertyCache = new TemporalPropertyCache( AUTO );
+            executeStages( relationshipStage, new TemporalPropertyStage( config, input.temporalProperties(),
+                    idMapper, neoStore.getPropertyKeyRepository(), temporalPropertyCache,
+                    new File( storeDir, TEMPORAL_NODE_STORE_NAME ) ) );
             nodeRelationshipCache.fixateGroups();
+            // mark the temporal properties on the nodes, now that no stage writes property records in parallel
+            TemporalPropertyMarkers.writeNodeMarkers( temporalPropertyCache, neoStore.get(), config.batchSize() );
+            temporalPropertyCache.close();
+            temporalPropertyCache = null;
 
             // Stage 4 -- set node nextRel fields
             executeStages( new NodeFirstRelationshipStage( config, neoStore.getNodeStore(),
@@ -215,6 +227,10 @@ public class ParallelBatchImporter implements BatchImporter
             {
                 nodeLabelsCache.close();
             }
+            if ( temporalPropertyCache != null )
+            {
+                temporalPropertyCache.close();
+            }
             if ( !hasBadEntries )
             {
                 fileSystem.deleteFile( badFile );
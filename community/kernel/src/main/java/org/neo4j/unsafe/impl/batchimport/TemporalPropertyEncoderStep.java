@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.unsafe.impl.batchimport;
+
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.query.TimeIntervalKey;
+import org.act.temporalProperty.util.TemporalPropertyValueConvertor;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
+
+import java.util.Arrays;
+
+import org.neo4j.temporal.TimePoint;
+import org.neo4j.unsafe.impl.batchimport.cache.idmapping.IdMapper;
+import org.neo4j.unsafe.impl.batchimport.input.InputException;
+import org.neo4j.unsafe.impl.batchimport.input.InputTemporalProperty;
+import org.neo4j.unsafe.impl.batchimport.staging.BatchSender;
+import org.neo4j.unsafe.impl.batchimport.staging.ProcessorStep;
+import org.neo4j.unsafe.impl.batchimport.staging.StageControl;
+import org.neo4j.unsafe.impl.batchimport.store.BatchingTokenRepository.BatchingPropertyKeyTokenRepository;
+
+/**
+ * Resolves node ids, using {@link IdMapper}, and property key ids of {@link InputTemporalProperty temporal property
+ * input} and encodes the values, one {@link TimeIntervalValueEntry} per property of an input entity.
+ * Parallelizable so that more processors get assigned to it if it becomes a bottleneck.
+ */
+public class TemporalPropertyEncoderStep extends ProcessorStep<InputTemporalProperty[]>
+{
+    private final IdMapper idMapper;
+    private final BatchingPropertyKeyTokenRepository propertyKeyRepository;
+
+    public TemporalPropertyEncoderStep( StageControl control, Configuration config, IdMapper idMapper,
+            BatchingPropertyKeyTokenRepository propertyKeyRepository )
+    {
+        super( control, "ENCODE", config, 0 );
+        this.idMapper = idMapper;
+        this.propertyKeyRepository = propertyKeyRepository;
+    }
+
+    @Override
+    protected void process( InputTemporalProperty[] batch, BatchSender sender )
+    {
+        TimeIntervalValueEntry[] entries = new TimeIntervalValueEntry[batch.length];
+        int cursor = 0;
+        for ( InputTemporalProperty input : batch )
+        {
+            long nodeId = idMapper.get( input.id(), input.group() );
+            if ( nodeId == -1 )
+            {
+                throw new InputException( input + " refers to a node which was not imported" );
+            }
+            TimePoint start = new TimePoint( input.start() );
+            TimePoint end = input.hasEnd() ? new TimePoint( input.end() ) : TimePoint.NOW;
+            Object[] properties = input.properties();
+            for ( int i = 0; i < properties.length; i++ )
+            {
+                int propertyId = propertyKeyRepository.getOrCreateId( (String) properties[i++] );
+                Object value = properties[i];
+                ValueType valueType = ValueType.fromValueContentType(
+                        TemporalPropertyValueConvertor.str2type( value.getClass().getSimpleName() ) );
+                if ( cursor == entries.length )
+                {
+                    entries = Arrays.copyOf( entries, cursor * 2 );
+                }
+                entries[cursor++] = new TimeIntervalValueEntry(
+                        new TimeIntervalKey( new InternalKey( propertyId, nodeId, start, valueType ), end ),
+                        TemporalPropertyValueConvertor.toSlice( value ) );
+            }
+        }
+        sender.send( cursor == entries.length ? entries : Arrays.copyOf( entries, cursor ) );
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.unsafe.impl.batchimport;
+
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.TemporalValueTypes;
+import org.neo4j.kernel.impl.transaction.state.PropertyCreator;
+import org.neo4j.kernel.impl.transaction.state.PropertyTraverser;
+import org.neo4j.unsafe.batchinsert.DirectRecordAccessSet;
+import org.neo4j.unsafe.impl.batchimport.cache.TemporalPropertyCache;
+
+import static org.neo4j.kernel.impl.api.StateHandlingStatementOperations.buildTemporalPropertyMeta;
+
+/**
+ * Writes the static property marking a temporal property, see
+ * {@link org.neo4j.kernel.impl.api.StateHandlingStatementOperations#buildTemporalPropertyMeta}, onto every node
+ * having values of that property in a {@link TemporalPropertyCache}. The database only knows a node has a temporal
+ * property through its marker, it is what {@code hasProperty}, {@code getPropertyKeys} and
+ * {@code removeTemporalProperty} look at.
+ * <p>
+ * The node ids of temporal input are only known once the node stage has written the nodes, so the markers are added
+ * to the property chains of the written nodes afterwards. This must not run in parallel with another stage writing
+ * property records.
+ */
+public class TemporalPropertyMarkers
+{
+    private TemporalPropertyMarkers()
+    {
+    }
+
+    /**
+     * @param cache values {@link TemporalPropertyCache#sort() sorted} by (property, node, start time).
+     * @param batchSize number of nodes to change before writing the changed records to the stores.
+     * @return number of markers written, one per (node, property).
+     */
+    public static long writeNodeMarkers( TemporalPropertyCache cache, NeoStores neoStores, int batchSize )
+    {
+        PropertyStore propertyStore = neoStores.getPropertyStore();
+        PropertyCreator propertyCreator = new PropertyCreator( propertyStore, new PropertyTraverser() );
+        DirectRecordAccessSet recordAccess = new DirectRecordAccessSet( neoStores );
+        long markers = 0;
+        long previousNode = -1;
+        int previousProperty = -1;
+        for ( long rank = 0; rank < cache.size(); rank++ )
+        {
+            long nodeId = cache.entityId( rank );
+            int propertyId = cache.propertyId( rank );
+            if ( nodeId == previousNode && propertyId == previousProperty )
+            {
+                continue;
+            }
+            previousNode = nodeId;
+            previousProperty = propertyId;
+
+            String marker = buildTemporalPropertyMeta(
+                    TemporalValueTypes.valueTypeOf( cache.valueType( rank ) ).toValueContentType() );
+            propertyCreator.primitiveSetProperty( recordAccess.getNodeRecords().getOrLoad( nodeId, null ),
+                    propertyId, marker, recordAccess.getPropertyRecords() );
+            if ( ++markers % batchSize == 0 )
+            {
+                recordAccess.commit();
+            }
+        }
+        recordAccess.commit();
+        return markers;
+    }
+}
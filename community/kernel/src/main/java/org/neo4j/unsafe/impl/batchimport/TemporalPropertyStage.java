@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.unsafe.impl.batchimport;
+
+import java.io.File;
+
+import org.neo4j.unsafe.impl.batchimport.cache.TemporalPropertyCache;
+import org.neo4j.unsafe.impl.batchimport.cache.idmapping.IdMapper;
+import org.neo4j.unsafe.impl.batchimport.input.InputTemporalProperty;
+import org.neo4j.unsafe.impl.batchimport.staging.IteratorBatcherStep;
+import org.neo4j.unsafe.impl.batchimport.staging.Stage;
+import org.neo4j.unsafe.impl.batchimport.store.BatchingTokenRepository.BatchingPropertyKeyTokenRepository;
+
+/**
+ * Imports temporal property values of nodes directly into the temporal property store in {@code temporalStoreDir},
+ * sorted by (property, node, start time). Needs node ids from the {@link IdMapper} and so runs after
+ * {@link NodeStage}, but touches no other store and can run in parallel with {@link RelationshipStage}.
+ */
+public class TemporalPropertyStage extends Stage
+{
+    public TemporalPropertyStage( Configuration config, InputIterable<InputTemporalProperty> temporalProperties,
+            IdMapper idMapper, BatchingPropertyKeyTokenRepository propertyKeyRepository,
+            TemporalPropertyCache cache, File temporalStoreDir )
+    {
+        super( "Temporal properties", config );
+        add( new IteratorBatcherStep<>( control(), config, temporalProperties.iterator(),
+                InputTemporalProperty.class ) );
+        add( new TemporalPropertyEncoderStep( control(), config, idMapper, propertyKeyRepository ) );
+        add( new TemporalPropertyWriterStep( control(), config, cache, temporalStoreDir ) );
+    }
+}
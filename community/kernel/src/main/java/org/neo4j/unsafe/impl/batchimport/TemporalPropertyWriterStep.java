@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.unsafe.impl.batchimport;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.TemporalPropertyStoreFactory;
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.query.TimeIntervalKey;
+import org.act.temporalProperty.query.TimePointL;
+import org.act.temporalProperty.util.Slice;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
+
+import java.io.File;
+
+import org.neo4j.helpers.Exceptions;
+import org.neo4j.kernel.impl.store.TemporalPropertySummary;
+import org.neo4j.kernel.impl.store.TemporalValueTypes;
+import org.neo4j.temporal.TimePoint;
+import org.neo4j.unsafe.impl.batchimport.cache.TemporalPropertyCache;
+import org.neo4j.unsafe.impl.batchimport.staging.BatchSender;
+import org.neo4j.unsafe.impl.batchimport.staging.ProcessorStep;
+import org.neo4j.unsafe.impl.batchimport.staging.StageControl;
+
+/**
+ * Collects encoded temporal property values into a {@link TemporalPropertyCache} and, when all values have been
+ * received, sorts them by (property, node, start time) and writes them to a {@link TemporalPropertyStore} in that
+ * order. The store then receives one sequential stream of values instead of values in input order.
+ */
+public class TemporalPropertyWriterStep extends ProcessorStep<TimeIntervalValueEntry[]>
+{
+    private final TemporalPropertyCache cache;
+    private final File storeDir;
+
+    /**
+     * @param storeDir directory of the {@link TemporalPropertyStore}, only opened if there are values to write.
+     */
+    public TemporalPropertyWriterStep( StageControl control, Configuration config, TemporalPropertyCache cache,
+            File storeDir )
+    {
+        super( control, "WRITE", config, 1 );
+        this.cache = cache;
+        this.storeDir = storeDir;
+    }
+
+    @Override
+    protected void process( TimeIntervalValueEntry[] batch, BatchSender sender )
+    {
+        for ( TimeIntervalValueEntry entry : batch )
+        {
+            InternalKey key = entry.getKey().getStartKey();
+            TimePointL end = entry.getKey().end();
+            cache.add( key.getEntityId(), key.getPropertyId(), key.getStartTime().val(),
+                    end.isNow() ? TemporalPropertyCache.NOW : end.val(),
+                    TemporalValueTypes.idOf( key.getValueType() ),
+                    entry.getValue().getBytes() );
+        }
+    }
+
+    @Override
+    protected void done()
+    {
+        if ( cache.size() > 0 )
+        {
+            cache.sort();
+            write( cache, storeDir );
+        }
+        super.done();
+    }
+
+    /**
+     * Writes all values of a {@link TemporalPropertyCache cache}, in the order of {@link TemporalPropertyCache#sort()},
+     * to the {@link TemporalPropertyStore} in {@code storeDir}, creating the directory if needed. The database
+     * rebuilds the {@link TemporalPropertySummary} of the store on startup.
+     */
+    public static void write( TemporalPropertyCache cache, File storeDir )
+    {
+        if ( !storeDir.exists() && !storeDir.mkdirs() )
+        {
+            throw new IllegalStateException( "Unable to create " + storeDir );
+        }
+        try
+        {
+            TemporalPropertySummary.invalidate( storeDir );
+            TemporalPropertyStore store = TemporalPropertyStoreFactory.newPropertyStore( storeDir );
+            try
+            {
+                for ( long rank = 0; rank < cache.size(); rank++ )
+                {
+                    long end = cache.end( rank );
+                    InternalKey key = new InternalKey( cache.propertyId( rank ), cache.entityId( rank ),
+                            new TimePoint( cache.start( rank ) ),
+                            TemporalValueTypes.valueTypeOf( cache.valueType( rank ) ) );
+                    store.setProperty( new TimeIntervalKey( key, end == TemporalPropertyCache.NOW
+                                                                 ? TimePoint.NOW : new TimePoint( end ) ),
+                            new Slice( cache.value( rank ) ) );
+                }
+            }
+            finally
+            {
+                store.shutDown();
+            }
+        }
+        catch ( Throwable t )
+        {
+            throw Exceptions.launderedException( t );
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.unsafe.impl.batchimport.cache;
+
+/**
+ * Caches temporal property values for an import and sorts them by (property, entity, start time), the order in which
+ * they are best written to a temporal property store. All data lives in {@link LongArray arrays} from a
+ * {@link NumberArrayFactory}, so that even billions of values can be sorted off-heap. Per value it keeps:
+ * <ul>
+ * <li>key: property id in the upper {@value #PROPERTY_BITS} bits and entity id in the lower {@value #ENTITY_BITS}</li>
+ * <li>start and end time, where {@link #NOW} is an open end</li>
+ * <li>value type and length of the encoded value, together with its offset into a byte area packed into longs</li>
+ * </ul>
+ * Values are {@link #add(long, int, long, long, int, byte[]) added} by one thread, {@link #sort() sorted} when
+ * all have been added and then read in sorted order by rank, where rank 0 is the lowest value.
+ */
+public class TemporalPropertyCache implements MemoryStatsVisitor.Visitable, AutoCloseable
+{
+    public static final long NOW = Long.MAX_VALUE;
+
+    static final int ENTITY_BITS = 40;
+    static final int PROPERTY_BITS = 23;
+    private static final long ENTITY_MASK = (1L << ENTITY_BITS) - 1;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final LongArray keys;
+    private final LongArray starts;
+    private final LongArray ends;
+    private final LongArray valueHeaders;
+    private final LongArray valueOffsets;
+    private final LongArray bytes;
+    private LongArray order;
+    private final NumberArrayFactory factory;
+    private long size;
+    private long byteCursor;
+
+    public TemporalPropertyCache( NumberArrayFactory factory )
+    {
+        this( factory, 1_000_000 );
+    }
+
+    public TemporalPropertyCache( NumberArrayFactory factory, int chunkSize )
+    {
+        this.factory = factory;
+        this.keys = factory.newDynamicLongArray( chunkSize, 0 );
+        this.starts = factory.newDynamicLongArray( chunkSize, 0 );
+        this.ends = factory.newDynamicLongArray( chunkSize, 0 );
+        this.valueHeaders = factory.newDynamicLongArray( chunkSize, 0 );
+        this.valueOffsets = factory.newDynamicLongArray( chunkSize, 0 );
+        this.bytes = factory.newDynamicLongArray( chunkSize, 0 );
+    }
+
+    /**
+     * @param end last time point of the value, or {@link #NOW} if it's valid until now.
+     * @param valueType {@link org.neo4j.kernel.impl.store.TemporalValueTypes id} of the type of the value, kept as is
+     * for the reader.
+     * @param value encoded value.
+     */
+    public void add( long entityId, int propertyId, long start, long end, int valueType, byte[] value )
+    {
+        if ( order != null )
+        {
+            throw new IllegalStateException( "Already sorted" );
+        }
+        if ( entityId < 0 || entityId > ENTITY_MASK || propertyId < 0 || propertyId >= (1 << PROPERTY_BITS) )
+        {
+            throw new IllegalArgumentException( "Entity " + entityId + " or property " + propertyId +
+                    " out of range" );
+        }
+        long index = size++;
+        keys.set( index, ((long) propertyId << ENTITY_BITS) | entityId );
+        starts.set( index, start );
+        ends.set( index, end );
+        valueHeaders.set( index, ((long) valueType << Integer.SIZE) | value.length );
+        valueOffsets.set( index, byteCursor );
+        for ( byte b : value )
+        {
+            long slot = byteCursor >>> 3;
+            bytes.set( slot, bytes.get( slot ) | ((b & 0xFFL) << ((byteCursor & 7) << 3)) );
+            byteCursor++;
+        }
+    }
+
+    public long size()
+    {
+        return size;
+    }
+
+    /**
+     * Sorts all added values by (property, entity, start time). Values with the same key keep the order in
+     * which they were added, so that a later value overwrites an earlier one when written in this order.
+     */
+    public void sort()
+    {
+        order = factory.newLongArray( Math.max( size, 1 ), 0 );
+        for ( long i = 0; i < size; i++ )
+        {
+            order.set( i, i );
+        }
+        sort( 0, size - 1 );
+    }
+
+    public long entityId( long rank )
+    {
+        return keys.get( index( rank ) ) & ENTITY_MASK;
+    }
+
+    public int propertyId( long rank )
+    {
+        return (int) (keys.get( index( rank ) ) >>> ENTITY_BITS);
+    }
+
+    public long start( long rank )
+    {
+        return starts.get( index( rank ) );
+    }
+
+    public long end( long rank )
+    {
+        return ends.get( index( rank ) );
+    }
+
+    public int valueType( long rank )
+    {
+        return (int) (valueHeaders.get( index( rank ) ) >>> Integer.SIZE);
+    }
+
+    public byte[] value( long rank )
+    {
+        long index = index( rank );
+        byte[] value = new byte[(int) valueHeaders.get( index )];
+        long offset = valueOffsets.get( index );
+        for ( int i = 0; i < value.length; i++, offset++ )
+        {
+            value[i] = (byte) (bytes.get( offset >>> 3 ) >>> ((offset & 7) << 3));
+        }
+        return value;
+    }
+
+    private long index( long rank )
+    {
+        if ( order == null )
+        {
+            throw new IllegalStateException( "Not sorted yet" );
+        }
+        return order.get( rank );
+    }
+
+    private void sort( long from, long to )
+    {
+        // Recurse into the smaller partition and loop on the larger one, which keeps the stack shallow
+        while ( to - from >= INSERTION_SORT_THRESHOLD )
+        {
+            long pivot = medianOfThree( from, from + (to - from) / 2, to );
+            long left = from;
+            long right = to;
+            while ( left <= right )
+            {
+                while ( compare( order.get( left ), pivot ) < 0 )
+                {
+                    left++;
+                }
+                while ( compare( order.get( right ), pivot ) > 0 )
+                {
+                    right--;
+                }
+                if ( left <= right )
+                {
+                    order.swap( left++, right--, 1 );
+                }
+            }
+            if ( right - from < to - left )
+            {
+                sort( from, right );
+                from = left;
+            }
+            else
+            {
+                sort( left, to );
+                to = right;
+            }
+        }
+        insertionSort( from, to );
+    }
+
+    private void insertionSort( long from, long to )
+    {
+        for ( long i = from + 1; i <= to; i++ )
+        {
+            long index = order.get( i );
+            long j = i - 1;
+            for ( ; j >= from && compare( order.get( j ), index ) > 0; j-- )
+            {
+                order.set( j + 1, order.get( j ) );
+            }
+            order.set( j + 1, index );
+        }
+    }
+
+    private long medianOfThree( long a, long b, long c )
+    {
+        long x = order.get( a );
+        long y = order.get( b );
+        long z = order.get( c );
+        if ( compare( x, y ) < 0 )
+        {
+            return compare( y, z ) < 0 ? y : compare( x, z ) < 0 ? z : x;
+        }
+        return compare( x, z ) < 0 ? x : compare( y, z ) < 0 ? z : y;
+    }
+
+    private int compare( long left, long right )
+    {
+        int result = Long.compare( keys.get( left ), keys.get( right ) );
+        if ( result == 0 )
+        {
+            result = Long.compare( starts.get( left ), starts.get( right ) );
+        }
+        return result != 0 ? result : Long.compare( left, right );
+    }
+
+    @Override
+    public void acceptMemoryStatsVisitor( MemoryStatsVisitor visitor )
+    {
+        keys.acceptMemoryStatsVisitor( visitor );
+        starts.acceptMemoryStatsVisitor( visitor );
+        ends.acceptMemoryStatsVisitor( visitor );
+        valueHeaders.acceptMemoryStatsVisitor( visitor );
+        valueOffsets.acceptMemoryStatsVisitor( visitor );
+        bytes.acceptMemoryStatsVisitor( visitor );
+        if ( order != null )
+        {
+            order.acceptMemoryStatsVisitor( visitor );
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        keys.close();
+        starts.close();
+        ends.close();
+        valueHeaders.close();
+        valueOffsets.close();
+        bytes.close();
+        if ( order != null )
+        {
+            order.close();
+        }
+    }
+}
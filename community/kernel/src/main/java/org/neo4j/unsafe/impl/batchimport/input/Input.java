@@ -46,6 +46,16 @@ public interface Input
      */
     InputIterable<InputRelationship> relationships();
 
+    /**
+     * Provides all {@link InputTemporalProperty temporal property values} of nodes for an import. Nodes are
+     * referred to by the same input ids as in {@link #nodes()}. The returned {@link InputIterable iterable's}
+     * {@link InputIterable#iterator() iterator()} method may be called multiple times.
+     *
+     * @return an {@link InputIterable} which will provide all {@link InputTemporalProperty temporal property values}
+     * for the whole import.
+     */
+    InputIterable<InputTemporalProperty> temporalProperties();
+
     /**
      * @return {@link IdMapper} which will get populated by {@link InputNode#id() input node ids}
      * and later queried by {@link InputRelationship#startNode()} and {@link InputRelationship#endNode()} ids
@@ -103,4 +103,6 @@ public class InputEntityDecorators
 
     public static final Function<InputNode,InputNode> NO_NODE_DECORATOR = Functions.identity();
     public static final Function<InputRelationship,InputRelationship> NO_RELATIONSHIP_DECORATOR = Functions.identity();
+    public static final Function<InputTemporalProperty,InputTemporalProperty> NO_TEMPORAL_PROPERTY_DECORATOR =
+            Functions.identity();
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.unsafe.impl.batchimport.input;
+
+import java.util.Collection;
+
+import org.neo4j.helpers.Pair;
+
+/**
+ * Represents temporal property values of a node from an input source, for example a .csv file.
+ * Every property holds its value during [{@link #start()}, {@link #end()}], where a missing end
+ * means the value is valid until now.
+ */
+public class InputTemporalProperty extends InputEntity
+{
+    private final Group group;
+    private final Object id;
+    private final long start;
+    private final Long end;
+
+    public InputTemporalProperty( String sourceDescription, long lineNumber, long position,
+            Group group, Object id, Object[] properties, long start, Long end )
+    {
+        super( sourceDescription, lineNumber, position, properties, null );
+        this.group = group;
+        this.id = id;
+        this.start = start;
+        this.end = end;
+    }
+
+    public Group group()
+    {
+        return group;
+    }
+
+    /**
+     * @return input id of the node, resolved the same way as {@link InputRelationship#startNode()}.
+     */
+    public Object id()
+    {
+        return id;
+    }
+
+    public long start()
+    {
+        return start;
+    }
+
+    public boolean hasEnd()
+    {
+        return end != null;
+    }
+
+    public long end()
+    {
+        return end;
+    }
+
+    @Override
+    protected void toStringFields( Collection<Pair<String, ?>> fields )
+    {
+        super.toStringFields( fields );
+        fields.add( Pair.of( "id", id ) );
+        fields.add( Pair.of( "group", group ) );
+        fields.add( Pair.of( "start", start ) );
+        fields.add( Pair.of( "end", hasEnd() ? end : "NOW" ) );
+    }
+}
@@ -22,6 +22,7 @@ package org.neo4j.unsafe.impl.batchimport.input;
 import java.io.File;
 
 import org.neo4j.unsafe.impl.batchimport.InputIterable;
+import org.neo4j.unsafe.impl.batchimport.InputIterator;
 import org.neo4j.unsafe.impl.batchimport.cache.idmapping.IdGenerator;
 import org.neo4j.unsafe.impl.batchimport.cache.idmapping.IdMapper;
 import org.neo4j.unsafe.impl.batchimport.input.csv.Configuration;
@@ -59,6 +60,12 @@ public class Inputs
                 return nodes;
             }
 
+            @Override
+            public InputIterable<InputTemporalProperty> temporalProperties()
+            {
+                return empty();
+            }
+
             @Override
             public IdMapper idMapper()
             {
@@ -85,6 +92,27 @@ public class Inputs
         };
     }
 
+    /**
+     * @return {@link InputIterable} without any items, f.ex. for an {@link Input} without temporal properties.
+     */
+    public static <T> InputIterable<T> empty()
+    {
+        return new InputIterable<T>()
+        {
+            @Override
+            public InputIterator<T> iterator()
+            {
+                return new InputIterator.Adapter<>();
+            }
+
+            @Override
+            public boolean supportsMultiplePasses()
+            {
+                return true;
+            }
+        };
+    }
+
     public static Input csv( File nodes, File relationships, IdType idType,
             Configuration configuration, Collector badCollector )
     {
@@ -24,6 +24,7 @@ import java.util.Map;
 
 import org.neo4j.csv.reader.CharSeeker;
 import org.neo4j.function.Function;
+import org.neo4j.helpers.collection.Iterables;
 import org.neo4j.kernel.impl.util.Validator;
 import org.neo4j.kernel.impl.util.Validators;
 import org.neo4j.unsafe.impl.batchimport.InputIterable;
@@ -31,10 +32,12 @@ import org.neo4j.unsafe.impl.batchimport.InputIterator;
 import org.neo4j.unsafe.impl.batchimport.cache.idmapping.IdGenerator;
 import org.neo4j.unsafe.impl.batchimport.cache.idmapping.IdMapper;
 import org.neo4j.unsafe.impl.batchimport.input.Collector;
+import org.neo4j.unsafe.impl.batchimport.input.DataException;
 import org.neo4j.unsafe.impl.batchimport.input.Groups;
 import org.neo4j.unsafe.impl.batchimport.input.Input;
 import org.neo4j.unsafe.impl.batchimport.input.InputNode;
 import org.neo4j.unsafe.impl.batchimport.input.InputRelationship;
+import org.neo4j.unsafe.impl.batchimport.input.InputTemporalProperty;
 import org.neo4j.unsafe.impl.batchimport.input.MissingRelationshipDataException;
 
 /**
@@ -48,6 +51,8 @@ public class CsvInput implements Input
     private final Header.Factory nodeHeaderFactory;
     private final Iterable<DataFactory<InputRelationship>> relationshipDataFactory;
     private final Header.Factory relationshipHeaderFactory;
+    private final Iterable<DataFactory<InputTemporalProperty>> temporalPropertyDataFactory;
+    private final Header.Factory temporalPropertyHeaderFactory;
     private final IdType idType;
     private final Configuration config;
     private final Groups groups = new Groups();
@@ -69,6 +74,26 @@ public class CsvInput implements Input
             Iterable<DataFactory<InputNode>> nodeDataFactory, Header.Factory nodeHeaderFactory,
             Iterable<DataFactory<InputRelationship>> relationshipDataFactory, Header.Factory relationshipHeaderFactory,
             IdType idType, Configuration config, Collector badCollector )
+    {
+        this( nodeDataFactory, nodeHeaderFactory, relationshipDataFactory, relationshipHeaderFactory,
+                Iterables.<DataFactory<InputTemporalProperty>>empty(),
+                DataFactories.defaultFormatTemporalPropertyFileHeader(),
+                idType, config, badCollector );
+    }
+
+    /**
+     * @param temporalPropertyDataFactory multiple {@link DataFactory} instances providing temporal property values
+     * of nodes, each {@link DataFactory} specifies an input group with its own header, extracted by the
+     * {@code temporalPropertyHeaderFactory}. From the outside it looks like one stream of temporal property values.
+     * @param temporalPropertyHeaderFactory factory for reading temporal property headers.
+     * @see #CsvInput(Iterable, Header.Factory, Iterable, Header.Factory, IdType, Configuration, Collector)
+     */
+    public CsvInput(
+            Iterable<DataFactory<InputNode>> nodeDataFactory, Header.Factory nodeHeaderFactory,
+            Iterable<DataFactory<InputRelationship>> relationshipDataFactory, Header.Factory relationshipHeaderFactory,
+            Iterable<DataFactory<InputTemporalProperty>> temporalPropertyDataFactory,
+            Header.Factory temporalPropertyHeaderFactory,
+            IdType idType, Configuration config, Collector badCollector )
     {
         assertSaneConfiguration( config );
 
@@ -76,6 +101,8 @@ public class CsvInput implements Input
         this.nodeHeaderFactory = nodeHeaderFactory;
         this.relationshipDataFactory = relationshipDataFactory;
         this.relationshipHeaderFactory = relationshipHeaderFactory;
+        this.temporalPropertyDataFactory = temporalPropertyDataFactory;
+        this.temporalPropertyHeaderFactory = temporalPropertyHeaderFactory;
         this.idType = idType;
         this.config = config;
         this.badCollector = badCollector;
@@ -180,6 +207,50 @@ public class CsvInput implements Input
         };
     }
 
+    @Override
+    public InputIterable<InputTemporalProperty> temporalProperties()
+    {
+        return new InputIterable<InputTemporalProperty>()
+        {
+            @Override
+            public InputIterator<InputTemporalProperty> iterator()
+            {
+                return new InputGroupsDeserializer<InputTemporalProperty>( temporalPropertyDataFactory.iterator(),
+                        temporalPropertyHeaderFactory, config, idType )
+                {
+                    @Override
+                    protected InputEntityDeserializer<InputTemporalProperty> entityDeserializer( CharSeeker dataStream,
+                            Header dataHeader, Function<InputTemporalProperty,InputTemporalProperty> decorator )
+                    {
+                        return new InputEntityDeserializer<>( dataHeader, dataStream, config.delimiter(),
+                                new InputTemporalPropertyDeserialization( dataStream, dataHeader, groups ),
+                                decorator, new Validator<InputTemporalProperty>()
+                                {
+                                    @Override
+                                    public void validate( InputTemporalProperty entity )
+                                    {
+                                        if ( entity.id() == null )
+                                        {
+                                            throw new DataException( entity + " is missing " + Type.ID + " field" );
+                                        }
+                                        if ( entity.hasEnd() && entity.end() < entity.start() )
+                                        {
+                                            throw new DataException( entity + " ends before it starts" );
+                                        }
+                                    }
+                                }, badCollector );
+                    }
+                };
+            }
+
+            @Override
+            public boolean supportsMultiplePasses()
+            {
+                return true;
+            }
+        };
+    }
+
     @Override
     public IdMapper idMapper()
     {
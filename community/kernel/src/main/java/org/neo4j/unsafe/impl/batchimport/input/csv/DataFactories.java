@@ -42,6 +42,7 @@ import org.neo4j.unsafe.impl.batchimport.input.InputEntity;
 import org.neo4j.unsafe.impl.batchimport.input.InputException;
 import org.neo4j.unsafe.impl.batchimport.input.InputNode;
 import org.neo4j.unsafe.impl.batchimport.input.InputRelationship;
+import org.neo4j.unsafe.impl.batchimport.input.InputTemporalProperty;
 import org.neo4j.unsafe.impl.batchimport.input.MissingHeaderException;
 import org.neo4j.unsafe.impl.batchimport.input.csv.Header.Entry;
 
@@ -172,6 +173,28 @@ public class DataFactories
         return new DefaultRelationshipFileHeaderParser( new HeaderFromSeparateReaderFactory( reader ) );
     }
 
+    /**
+     * Header parser that will read header information, using the default temporal property header format,
+     * from the top of the data file.
+     *
+     * This header factory can be used even when the header exists in a separate file, if that file
+     * is the first in the list of files supplied to {@link #data(File...)}.
+     */
+    public static Header.Factory defaultFormatTemporalPropertyFileHeader()
+    {
+        return new DefaultTemporalPropertyFileHeaderParser( READ_FROM_DATA_SEEKER );
+    }
+
+    /**
+     * Header parser that will read header information, using the default temporal property header format,
+     * from a {@link Readable} containing that data.
+     * @param reader {@link Readable} containing header data.
+     */
+    public static Header.Factory defaultFormatTemporalPropertyFileHeader( CharReadable reader )
+    {
+        return new DefaultTemporalPropertyFileHeaderParser( new HeaderFromSeparateReaderFactory( reader ) );
+    }
+
     /**
      * Provides {@link CharSeeker} to read and parse header information from.
      */
@@ -315,7 +338,7 @@ public class DataFactories
                     properties.put( entry.name(), entry );
                     break;
 
-                case ID: case START_ID: case END_ID: case TYPE:
+                case ID: case START_ID: case END_ID: case TYPE: case START_TIME: case END_TIME:
                     Entry existingSingletonEntry = singletonEntries.get( entry.type() );
                     if ( existingSingletonEntry != null )
                     {
@@ -487,6 +510,55 @@ public class DataFactories
         }
     }
 
+    private static class DefaultTemporalPropertyFileHeaderParser extends AbstractDefaultFileHeaderParser
+    {
+        protected DefaultTemporalPropertyFileHeaderParser( HeaderCharSeekerFactory headerCharSeekerFactory )
+        {
+            // END_TIME is optional, values without an end are valid until now
+            super( headerCharSeekerFactory, Type.ID, Type.START_TIME );
+        }
+
+        @Override
+        protected Header.Entry entry( int index, String name, String typeSpec, String groupName, Extractors extractors,
+                Extractor<?> idExtractor )
+        {
+            // Every property column holds values of that temporal property, during START_TIME to END_TIME
+            Type type = null;
+            Extractor<?> extractor = null;
+            if ( typeSpec == null )
+            {   // Property
+                type = Type.PROPERTY;
+                extractor = extractors.string();
+            }
+            else if ( typeSpec.equalsIgnoreCase( Type.ID.name() ) )
+            {
+                type = Type.ID;
+                extractor = idExtractor;
+            }
+            else if ( typeSpec.equalsIgnoreCase( Type.START_TIME.name() ) )
+            {
+                type = Type.START_TIME;
+                extractor = extractors.long_();
+            }
+            else if ( typeSpec.equalsIgnoreCase( Type.END_TIME.name() ) )
+            {
+                type = Type.END_TIME;
+                extractor = extractors.long_();
+            }
+            else if ( isRecognizedType( typeSpec ) )
+            {
+                throw new HeaderException( "Unexpected temporal property header type '" + typeSpec + "'" );
+            }
+            else
+            {
+                type = Type.PROPERTY;
+                extractor = extractors.valueOf( typeSpec );
+            }
+
+            return new Header.Entry( name, type, groupName, extractor );
+        }
+    }
+
     @SafeVarargs
     public static Iterable<DataFactory<InputNode>> nodeData( DataFactory<InputNode>... factories )
     {
@@ -498,4 +570,11 @@ public class DataFactories
     {
         return Iterables.iterable( factories );
     }
+
+    @SafeVarargs
+    public static Iterable<DataFactory<InputTemporalProperty>> temporalPropertyData(
+            DataFactory<InputTemporalProperty>... factories )
+    {
+        return Iterables.iterable( factories );
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.unsafe.impl.batchimport.input.csv;
+
+import org.neo4j.csv.reader.SourceTraceability;
+import org.neo4j.unsafe.impl.batchimport.input.DataException;
+import org.neo4j.unsafe.impl.batchimport.input.Group;
+import org.neo4j.unsafe.impl.batchimport.input.Groups;
+import org.neo4j.unsafe.impl.batchimport.input.InputTemporalProperty;
+import org.neo4j.unsafe.impl.batchimport.input.csv.Header.Entry;
+
+/**
+ * Builds {@link InputTemporalProperty} from CSV data. Every property column of a row is a value of that
+ * property during the interval given by the {@link Type#START_TIME} and {@link Type#END_TIME} columns.
+ */
+public class InputTemporalPropertyDeserialization extends InputEntityDeserialization<InputTemporalProperty>
+{
+    private final Header header;
+    private final Groups groups;
+
+    private Group group;
+    private Object id;
+    private Long start;
+    private Long end;
+
+    public InputTemporalPropertyDeserialization( SourceTraceability source, Header header, Groups groups )
+    {
+        super( source );
+        this.header = header;
+        this.groups = groups;
+    }
+
+    @Override
+    public void initialize()
+    {
+        this.group = groups.getOrCreate( header.entry( Type.ID ).groupName() );
+    }
+
+    @Override
+    public void handle( Entry entry, Object value )
+    {
+        switch ( entry.type() )
+        {
+        case ID:
+            id = value;
+            break;
+        case START_TIME:
+            start = (Long) value;
+            break;
+        case END_TIME:
+            end = (Long) value;
+            break;
+        default:
+            super.handle( entry, value );
+            break;
+        }
+    }
+
+    @Override
+    public InputTemporalProperty materialize()
+    {
+        if ( start == null )
+        {
+            throw new DataException( source.sourceDescription() + ":" + source.lineNumber() + " is missing " +
+                    Type.START_TIME + " field" );
+        }
+        return new InputTemporalProperty(
+                source.sourceDescription(), source.lineNumber(), source.position(),
+                group, id, properties(), start, end );
+    }
+
+    @Override
+    public void clear()
+    {
+        super.clear();
+        id = null;
+        start = end = null;
+    }
+}
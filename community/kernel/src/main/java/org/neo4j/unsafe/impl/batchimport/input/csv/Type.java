@@ -32,5 +32,7 @@ public enum Type
     TYPE,
     START_ID,
     END_ID,
+    START_TIME,
+    END_TIME,
     IGNORE;
 }
@@ -29,6 +29,7 @@ import java.util.Iterator;
 
 import org.neo4j.function.Function;
 import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.TransientTransactionFailureException;
 import org.neo4j.kernel.api.constraints.NodePropertyConstraint;
 import org.neo4j.kernel.api.constraints.PropertyConstraint;
 import org.neo4j.kernel.api.constraints.UniquenessConstraint;
@@ -56,8 +57,11 @@ import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.locking.ResourceTypes;
 import org.neo4j.kernel.impl.locking.SimpleStatementLocks;
 import org.neo4j.kernel.impl.util.Cursors;
+import org.neo4j.temporal.TemporalPropertyWriteOperation;
+import org.neo4j.temporal.TimePoint;
 
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
@@ -67,6 +71,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.neo4j.function.Functions.constant;
 import static org.neo4j.kernel.impl.locking.ResourceTypes.schemaResource;
@@ -548,6 +553,87 @@ public class LockingStatementOperationsTest
         order.verify( entityWriteOps ).nodeDetachDelete( state, startNodeId );
     }
 
+    @Test
+    public void shouldLockNodeSharedBeforeWritingToExistingTemporalProperty() throws Exception
+    {
+        // given
+        when( entityReadOps.nodeHasTemporalProperty( state, 123, 5 ) ).thenReturn( true );
+        TemporalPropertyWriteOperation operation = new TemporalPropertyWriteOperation( 123, 5, new TimePoint( 0 ),
+                TimePoint.NOW, 1 );
+
+        // when
+        lockingOps.nodeSetTemporalProperty( state, operation );
+
+        // then
+        order.verify( locks ).acquireShared( ResourceTypes.NODE, 123 );
+        order.verify( locks ).acquireExclusive( ResourceTypes.NODE_TEMPORAL_PROP,
+                ResourceTypes.temporalPropertyResourceId( 123, 5 ) );
+        order.verify( entityWriteOps ).nodeSetTemporalProperty( state, operation );
+        order.verify( locks, never() ).acquireExclusive( ResourceTypes.NODE, 123 );
+    }
+
+    @Test
+    public void shouldLockNodeExclusivelyBeforeCreatingTemporalProperty() throws Exception
+    {
+        // given
+        when( entityReadOps.nodeHasTemporalProperty( state, 123, 5 ) ).thenReturn( false );
+        TemporalPropertyWriteOperation operation = new TemporalPropertyWriteOperation( 123, 5, new TimePoint( 0 ),
+                TimePoint.NOW, 1 );
+
+        // when
+        lockingOps.nodeSetTemporalProperty( state, operation );
+
+        // then
+        order.verify( locks ).acquireExclusive( ResourceTypes.NODE, 123 );
+        order.verify( locks ).acquireExclusive( ResourceTypes.NODE_TEMPORAL_PROP,
+                ResourceTypes.temporalPropertyResourceId( 123, 5 ) );
+        order.verify( entityWriteOps ).nodeSetTemporalProperty( state, operation );
+        verify( locks, never() ).acquireShared( ResourceTypes.NODE, 123 );
+    }
+
+    @Test
+    public void shouldNotLockNodeAgainForTemporalPropertyChangedInThisTransaction() throws Exception
+    {
+        // given
+        txState.nodeDoReplaceProperty( 123, Property.noNodeProperty( 123, 5 ), Property.stringProperty( 5, "meta" ) );
+        TemporalPropertyWriteOperation operation = new TemporalPropertyWriteOperation( 123, 5, new TimePoint( 0 ),
+                TimePoint.NOW, 1 );
+
+        // when
+        lockingOps.nodeSetTemporalProperty( state, operation );
+
+        // then
+        order.verify( locks ).acquireExclusive( ResourceTypes.NODE_TEMPORAL_PROP,
+                ResourceTypes.temporalPropertyResourceId( 123, 5 ) );
+        order.verify( entityWriteOps ).nodeSetTemporalProperty( state, operation );
+        verify( locks, never() ).acquireShared( ResourceTypes.NODE, 123 );
+        verify( locks, never() ).acquireExclusive( ResourceTypes.NODE, 123 );
+    }
+
+    @Test
+    public void shouldFailInsteadOfUpgradingNodeLockWhenTemporalPropertyWasRemovedMeanwhile() throws Exception
+    {
+        // given
+        when( entityReadOps.nodeHasTemporalProperty( state, 123, 5 ) ).thenReturn( true, false );
+        TemporalPropertyWriteOperation operation = new TemporalPropertyWriteOperation( 123, 5, new TimePoint( 0 ),
+                TimePoint.NOW, 1 );
+
+        // when
+        try
+        {
+            lockingOps.nodeSetTemporalProperty( state, operation );
+            fail( "should have failed" );
+        }
+        catch ( TransientTransactionFailureException e )
+        {
+            // then
+            verify( locks ).acquireShared( ResourceTypes.NODE, 123 );
+            verify( locks, never() ).releaseShared( ResourceTypes.NODE, 123 );
+            verify( locks, never() ).acquireExclusive( ResourceTypes.NODE, 123 );
+            verify( entityWriteOps, never() ).nodeSetTemporalProperty( state, operation );
+        }
+    }
+
     private static class SimpleTxStateHolder implements TxStateHolder
     {
         private final TxState txState;
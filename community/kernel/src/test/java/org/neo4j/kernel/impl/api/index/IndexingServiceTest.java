@@ -62,6 +62,7 @@ import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.UpdateableSchemaState;
 import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
 import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingMode;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
 import org.neo4j.kernel.impl.store.record.IndexRule;
 import org.neo4j.kernel.impl.storemigration.StoreMigrationParticipant;
 import org.neo4j.kernel.impl.transaction.state.DefaultSchemaIndexProviderMap;
@@ -466,6 +467,33 @@ public class IndexingServiceTest
         assertThat( asCollection( files ), equalTo( asCollection( iterator( theFile ) ) ) );
     }
 
+    @Test
+    public void shouldStartAndStopTemporalIndexPopulationWithSchemaIndexes() throws Exception
+    {
+        // GIVEN
+        TemporalPropertyStoreAdapter temporalStore = mock( TemporalPropertyStoreAdapter.class );
+        IndexingService indexing = newIndexingServiceWithMockedDependencies( populator, accessor, withData() );
+        indexing.setTemporalPropertyStore( temporalStore );
+
+        // WHEN
+        life.init();
+
+        // THEN nothing is populated before recovery
+        verifyZeroInteractions( temporalStore );
+
+        // WHEN
+        life.start();
+
+        // THEN
+        verify( temporalStore ).startIndexPopulation();
+
+        // WHEN
+        life.stop();
+
+        // THEN
+        verify( temporalStore ).stopIndexPopulation();
+    }
+
     @Test
     public void shouldIgnoreActivateCallDuringRecovery() throws Exception
     {
@@ -19,6 +19,8 @@
  */
 package org.neo4j.kernel.impl.api.state;
 
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.meta.ValueContentType;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -47,22 +49,32 @@ import org.neo4j.kernel.impl.index.LegacyIndexStore;
 import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
 import org.neo4j.kernel.impl.util.Cursors;
 import org.neo4j.kernel.impl.util.diffsets.DiffSets;
+import org.neo4j.temporal.TemporalPointValues;
+import org.neo4j.temporal.TemporalPropertyReadOperation;
+import org.neo4j.temporal.TemporalPropertyWriteOperation;
+import org.neo4j.temporal.TimePoint;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import static java.util.Arrays.asList;
 
+import static org.act.temporalProperty.util.TemporalPropertyValueConvertor.toSlice;
+
 import static org.neo4j.helpers.collection.IteratorUtil.asIterable;
 import static org.neo4j.helpers.collection.IteratorUtil.asSet;
 import static org.neo4j.kernel.api.properties.Property.intProperty;
+import static org.neo4j.kernel.api.properties.Property.stringProperty;
 import static org.neo4j.kernel.impl.api.StatementOperationsTestHelper.mockedState;
 import static org.neo4j.kernel.impl.api.state.StubCursors.asNodeCursor;
 import static org.neo4j.kernel.impl.api.state.StubCursors.asPropertyCursor;
@@ -373,6 +385,142 @@ public class StateHandlingStatementOperationsTest
         assertEquals( asSet( 42L, 43L ), asSet( results ) );
     }
 
+    @Test
+    public void shouldReadTemporalPointOfKnownTemporalPropertyWithoutLoadingTheNodeOrItsProperties() throws Exception
+    {
+        // GIVEN
+        KernelStatement statement = mockedState( new TxState() );
+        TemporalPropertyStoreAdapter temporalStore = mock( TemporalPropertyStoreAdapter.class );
+        TemporalPropertyStore nodeStore = mock( TemporalPropertyStore.class );
+        when( temporalStore.nodeStore() ).thenReturn( nodeStore );
+        when( temporalStore.getPropertyType( nodeStore, 7 ) ).thenReturn( ValueContentType.INT );
+        TimePoint time = new TimePoint( 10 );
+        when( temporalStore.getPoint( nodeStore, 3, 7, time ) ).thenReturn( toSlice( 42 ) );
+        StateHandlingStatementOperations context = newTxStateOps( inner, temporalStore );
+
+        // WHEN
+        Object value = context.nodeGetTemporalProperty( statement, new TemporalPropertyReadOperation( 3, 7, time ) );
+
+        // THEN
+        assertEquals( 42, value );
+        verify( statement, never() ).getStoreStatement();
+        verifyZeroInteractions( inner );
+    }
+
+    @Test
+    public void shouldReadStaticPropertyWhenTheTemporalStoreHasNoValue() throws Exception
+    {
+        // GIVEN
+        KernelStatement statement = mockedState( new TxState() );
+        StoreStatement storeStatement = mock( StoreStatement.class );
+        when( statement.getStoreStatement() ).thenReturn( storeStatement );
+        when( storeStatement.acquireSingleNodeCursor( 3 ) ).thenReturn( asNodeCursor( 3,
+                asPropertyCursor( stringProperty( 7, "static" ) ), Cursors.<LabelItem>empty() ) );
+        TemporalPropertyStoreAdapter temporalStore = mock( TemporalPropertyStoreAdapter.class );
+        TemporalPropertyStore nodeStore = mock( TemporalPropertyStore.class );
+        when( temporalStore.nodeStore() ).thenReturn( nodeStore );
+        when( temporalStore.getPropertyType( nodeStore, 7 ) ).thenReturn( ValueContentType.INT );
+        StateHandlingStatementOperations context = newTxStateOps( inner, temporalStore );
+
+        // WHEN
+        Object value = context.nodeGetTemporalProperty( statement,
+                new TemporalPropertyReadOperation( 3, 7, new TimePoint( 10 ) ) );
+
+        // THEN
+        assertEquals( "static", value );
+    }
+
+    @Test
+    public void shouldReadTemporalPointsOfManyNodesStraightFromTheStoreInInputOrder() throws Exception
+    {
+        // GIVEN
+        KernelStatement statement = mockedState( new TxState() );
+        StoreStatement storeStatement = mock( StoreStatement.class );
+        when( statement.getStoreStatement() ).thenReturn( storeStatement );
+        when( storeStatement.acquireSingleNodeCursor( 4 ) ).thenReturn( asNodeCursor( 4,
+                asPropertyCursor( stringProperty( 7, "static" ) ), Cursors.<LabelItem>empty() ) );
+        when( storeStatement.acquireSingleNodeCursor( 9 ) ).thenReturn( Cursors.<NodeItem>empty() );
+        TemporalPropertyStoreAdapter temporalStore = mock( TemporalPropertyStoreAdapter.class );
+        TemporalPropertyStore nodeStore = mock( TemporalPropertyStore.class );
+        when( temporalStore.nodeStore() ).thenReturn( nodeStore );
+        when( temporalStore.getPropertyType( nodeStore, 7 ) ).thenReturn( ValueContentType.INT );
+        TimePoint time = new TimePoint( 10 );
+        when( temporalStore.getPoint( nodeStore, 3, 7, time ) ).thenReturn( toSlice( 42 ) );
+        StateHandlingStatementOperations context = newTxStateOps( inner, temporalStore );
+
+        // WHEN
+        TemporalPointValues values = context.nodeGetTemporalPropertyPoints( statement, new long[]{9, 3, 4, 3}, 7, time );
+
+        // THEN
+        assertEquals( 4, values.size() );
+        assertFalse( values.hasValue( 0 ) );
+        assertEquals( 42, values.longValue( 1 ) );
+        assertEquals( "static", values.value( 2 ) );
+        assertEquals( 42, values.value( 3 ) );
+        verify( storeStatement, never() ).acquireSingleNodeCursor( 3 );
+        verify( temporalStore, times( 1 ) ).getPropertyType( nodeStore, 7 );
+    }
+
+    @Test
+    public void shouldReadTemporalPointsChangedInTheTransaction() throws Exception
+    {
+        // GIVEN
+        TxState txState = new TxState();
+        TemporalPropertyWriteOperation write =
+                new TemporalPropertyWriteOperation( 3, 7, new TimePoint( 0 ), TimePoint.NOW, 5 );
+        write.setValueSlice( toSlice( 5 ) );
+        txState.nodeDoSetTemporalProperty( write );
+        KernelStatement statement = mockedState( txState );
+        StoreStatement storeStatement = mock( StoreStatement.class );
+        when( statement.getStoreStatement() ).thenReturn( storeStatement );
+        String marker = StateHandlingStatementOperations.buildTemporalPropertyMeta( ValueContentType.INT );
+        when( storeStatement.acquireSingleNodeCursor( 3 ) ).thenReturn( asNodeCursor( 3,
+                asPropertyCursor( stringProperty( 7, marker ) ), Cursors.<LabelItem>empty() ) );
+        when( storeStatement.acquireSingleNodeCursor( 4 ) ).thenReturn( asNodeCursor( 4,
+                asPropertyCursor( stringProperty( 7, marker ) ), Cursors.<LabelItem>empty() ) );
+        TemporalPropertyStoreAdapter temporalStore = mock( TemporalPropertyStoreAdapter.class );
+        TemporalPropertyStore nodeStore = mock( TemporalPropertyStore.class );
+        when( temporalStore.nodeStore() ).thenReturn( nodeStore );
+        when( temporalStore.getPropertyType( nodeStore, 7 ) ).thenReturn( ValueContentType.INT );
+        TimePoint time = new TimePoint( 10 );
+        when( temporalStore.getPoint( nodeStore, 3, 7, time ) ).thenReturn( toSlice( 42 ) );
+        when( temporalStore.getPoint( nodeStore, 4, 7, time ) ).thenReturn( toSlice( 11 ) );
+        StateHandlingStatementOperations context = newTxStateOps( inner, temporalStore );
+
+        // WHEN
+        TemporalPointValues values = context.nodeGetTemporalPropertyPoints( statement, new long[]{4, 3}, 7, time );
+
+        // THEN
+        assertEquals( 11, values.value( 0 ) );
+        assertEquals( 5, values.longValue( 1 ) );
+    }
+
+    @Test
+    public void shouldReadStaticValuesOfKeyWhichHoldsNoTemporalProperty() throws Exception
+    {
+        // GIVEN
+        KernelStatement statement = mockedState( new TxState() );
+        StoreStatement storeStatement = mock( StoreStatement.class );
+        when( statement.getStoreStatement() ).thenReturn( storeStatement );
+        when( storeStatement.acquireSingleNodeCursor( 4 ) ).thenReturn( asNodeCursor( 4,
+                asPropertyCursor( intProperty( 7, 5 ) ), Cursors.<LabelItem>empty() ) );
+        when( storeStatement.acquireSingleNodeCursor( 5 ) ).thenReturn( asNodeCursor( 5 ) );
+        TemporalPropertyStoreAdapter temporalStore = mock( TemporalPropertyStoreAdapter.class );
+        TemporalPropertyStore nodeStore = mock( TemporalPropertyStore.class );
+        when( temporalStore.nodeStore() ).thenReturn( nodeStore );
+        StateHandlingStatementOperations context = newTxStateOps( inner, temporalStore );
+
+        // WHEN
+        TemporalPointValues values = context.nodeGetTemporalPropertyPoints( statement, new long[]{4, 5}, 7,
+                new TimePoint( 10 ) );
+
+        // THEN
+        assertEquals( 5.0, values.doubleValue( 0 ), 0.0 );
+        assertFalse( values.hasValue( 1 ) );
+        verify( temporalStore, never() ).getPoint( any( TemporalPropertyStore.class ), anyLong(), anyInt(),
+                any( TimePoint.class ) );
+    }
+
     private static <T> Answer<Iterator<T>> asAnswer( final Iterable<T> values )
     {
         return new Answer<Iterator<T>>()
@@ -386,9 +534,15 @@ public class StateHandlingStatementOperationsTest
     }
 
     private StateHandlingStatementOperations newTxStateOps( StoreReadLayer delegate )
+    {
+        return newTxStateOps( delegate, mock( TemporalPropertyStoreAdapter.class ) );
+    }
+
+    private StateHandlingStatementOperations newTxStateOps( StoreReadLayer delegate,
+            TemporalPropertyStoreAdapter temporalStore )
     {
         return new StateHandlingStatementOperations( delegate,
                 mock( LegacyPropertyTrackers.class ), mock( ConstraintIndexCreator.class ),
-                mock( LegacyIndexStore.class ), mock(TemporalPropertyStoreAdapter.class ) );
+                mock( LegacyIndexStore.class ), temporalStore );
     }
 }
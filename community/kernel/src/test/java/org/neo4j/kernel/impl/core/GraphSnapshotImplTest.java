@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.kernel.api.ReadOperations;
+import org.neo4j.kernel.api.Statement;
+import org.neo4j.temporal.TemporalPointValues;
+import org.neo4j.temporal.TimePoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GraphSnapshotImplTest
+{
+    private static final TimePoint TIME = new TimePoint( 10 );
+
+    private final ReadOperations read = mock( ReadOperations.class );
+    private final GraphDatabaseService db = mock( GraphDatabaseService.class );
+    private GraphSnapshotImpl snapshot;
+
+    @Before
+    public void setUp()
+    {
+        Statement statement = mock( Statement.class );
+        when( statement.readOperations() ).thenReturn( read );
+        ThreadToStatementContextBridge bridge = mock( ThreadToStatementContextBridge.class );
+        when( bridge.get() ).thenReturn( statement );
+        when( read.propertyKeyGetForName( anyString() ) ).thenReturn( 1 );
+        snapshot = new GraphSnapshotImpl( db, bridge, TIME );
+    }
+
+    @Test
+    public void shouldReadPropertiesOfAllNodesOfOneExpansionTogether()
+    {
+        // GIVEN
+        Node start = node( 0 );
+        List<Relationship> relationships = new ArrayList<>();
+        for ( int i = 1; i <= 3; i++ )
+        {
+            relationships.add( relationship( i, start, node( i ) ) );
+        }
+        when( start.getRelationships() ).thenReturn( relationships );
+        when( read.nodeGetTemporalPropertyPoints( any( long[].class ), eq( 1 ), eq( TIME ) ) )
+                .thenReturn( points( 10, 20, 30 ) );
+
+        // WHEN
+        List<Object> values = new ArrayList<>();
+        for ( Relationship relationship : snapshot.snapshotOf( start ).getRelationships() )
+        {
+            values.add( relationship.getEndNode().getProperty( "speed" ) );
+        }
+
+        // THEN
+        assertEquals( 3, values.size() );
+        assertEquals( 10, values.get( 0 ) );
+        assertEquals( 30, values.get( 2 ) );
+        verify( read, times( 1 ) ).nodeGetTemporalPropertyPoints( eq( new long[]{1, 2, 3} ), eq( 1 ), eq( TIME ) );
+    }
+
+    @Test
+    public void shouldReturnExpandedNodeAsStartOfItsRelationships()
+    {
+        // GIVEN
+        Node start = node( 0 );
+        List<Relationship> relationships = new ArrayList<>();
+        relationships.add( relationship( 1, start, node( 1 ) ) );
+        when( start.getRelationships() ).thenReturn( relationships );
+        Node snapshotStart = snapshot.snapshotOf( start );
+
+        // WHEN
+        Relationship relationship = snapshotStart.getRelationships().iterator().next();
+
+        // THEN
+        assertSame( snapshotStart, relationship.getStartNode() );
+    }
+
+    @Test
+    public void shouldNotHavePropertiesWithoutValueAtTime()
+    {
+        // GIVEN
+        when( read.nodeGetTemporalPropertyPoints( any( long[].class ), anyInt(), eq( TIME ) ) )
+                .thenReturn( points( (Object) null ) );
+
+        // WHEN
+        Node node = snapshot.snapshotOf( node( 5 ) );
+
+        // THEN
+        assertFalse( node.hasProperty( "speed" ) );
+        assertEquals( "none", node.getProperty( "speed", "none" ) );
+    }
+
+    @Test( expected = UnsupportedOperationException.class )
+    public void shouldNotAllowWrites()
+    {
+        snapshot.snapshotOf( node( 5 ) ).setProperty( "speed", 1 );
+    }
+
+    private static TemporalPointValues points( Object... values )
+    {
+        TemporalPointValues points = new TemporalPointValues( values.length, null );
+        for ( int i = 0; i < values.length; i++ )
+        {
+            points.set( i, values[i] );
+        }
+        return points;
+    }
+
+    private static Node node( long id )
+    {
+        Node node = mock( Node.class );
+        when( node.getId() ).thenReturn( id );
+        return node;
+    }
+
+    private static Relationship relationship( long id, Node start, Node end )
+    {
+        Relationship relationship = mock( Relationship.class );
+        when( relationship.getId() ).thenReturn( id );
+        when( relationship.getStartNode() ).thenReturn( start );
+        when( relationship.getEndNode() ).thenReturn( end );
+        when( relationship.getOtherNode( start ) ).thenReturn( end );
+        return relationship;
+    }
+}
@@ -28,6 +28,8 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.neo4j.graphdb.DynamicLabel;
@@ -37,6 +39,11 @@ import org.neo4j.graphdb.NotFoundException;
 import org.neo4j.graphdb.PropertyContainer;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.helpers.collection.IteratorUtil;
+import org.neo4j.kernel.api.Statement;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
+import org.neo4j.kernel.impl.transaction.state.DataSourceManager;
+import org.neo4j.temporal.TemporalPointValues;
+import org.neo4j.temporal.TimePoint;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThan;
@@ -44,6 +51,7 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -325,13 +333,368 @@ public class NodeProxyTest extends PropertyContainerProxyTest
         }
     }
 
-    private void createNodeWith( String key )
+    @Test
+    public void shouldRemoveTemporalPropertyValuesInRangeOnly() throws Exception
+    {
+        // GIVEN
+        long nodeId;
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node node = db.createNode();
+            node.setTemporalProperty( PROPERTY_KEY, new TimePoint( 0 ), new TimePoint( 99 ), 1 );
+            node.setTemporalProperty( PROPERTY_KEY, new TimePoint( 100 ), 2 );
+            nodeId = node.getId();
+            tx.success();
+        }
+
+        // WHEN
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.getNodeById( nodeId ).removeTemporalProperty( PROPERTY_KEY, new TimePoint( 50 ), new TimePoint( 149 ) );
+            tx.success();
+        }
+
+        // THEN
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node node = db.getNodeById( nodeId );
+            assertEquals( 1, node.getTemporalProperty( PROPERTY_KEY, new TimePoint( 49 ) ) );
+            assertNull( node.getTemporalProperty( PROPERTY_KEY, new TimePoint( 50 ) ) );
+            assertNull( node.getTemporalProperty( PROPERTY_KEY, new TimePoint( 149 ) ) );
+            assertEquals( 2, node.getTemporalProperty( PROPERTY_KEY, new TimePoint( 150 ) ) );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void shouldIgnoreRemovalOfTemporalPropertyWhichWasNeverSet() throws Exception
+    {
+        // GIVEN
+        long nodeId = createNodeWith( "other" );
+
+        // WHEN
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.getNodeById( nodeId ).removeTemporalProperty( PROPERTY_KEY );
+            tx.success();
+        }
+
+        // THEN
+        try ( Transaction tx = db.beginTx() )
+        {
+            assertFalse( db.getNodeById( nodeId ).hasProperty( PROPERTY_KEY ) );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void shouldNotReturnTemporalValuesOfRemovedProperty() throws Exception
+    {
+        // GIVEN
+        long nodeId = createNodeWithTemporalProperty( PROPERTY_KEY, 0, 1 );
+
+        // WHEN
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.getNodeById( nodeId ).removeProperty( PROPERTY_KEY );
+            tx.success();
+        }
+
+        // THEN
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node node = db.getNodeById( nodeId );
+            assertNull( node.getTemporalProperty( PROPERTY_KEY, new TimePoint( 10 ) ) );
+            assertFalse( db.temporalIndex().nodeGetTemporalPropertyPoints(
+                    new long[]{nodeId}, PROPERTY_KEY, new TimePoint( 10 ) ).hasValue( 0 ) );
+
+            // and the old values don't come back when the key is made a temporal property again
+            node.setTemporalProperty( PROPERTY_KEY, new TimePoint( 20 ), 2 );
+            assertNull( node.getTemporalProperty( PROPERTY_KEY, new TimePoint( 10 ) ) );
+            assertEquals( 2, node.getTemporalProperty( PROPERTY_KEY, new TimePoint( 20 ) ) );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void shouldReturnStaticValueWhichReplacedTemporalProperty() throws Exception
+    {
+        // GIVEN
+        long nodeId = createNodeWithTemporalProperty( PROPERTY_KEY, 0, 1 );
+
+        // WHEN
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.getNodeById( nodeId ).setProperty( PROPERTY_KEY, "static" );
+
+            // THEN
+            assertEquals( "static", db.getNodeById( nodeId ).getTemporalProperty( PROPERTY_KEY, new TimePoint( 10 ) ) );
+            tx.success();
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            assertEquals( "static", db.getNodeById( nodeId ).getTemporalProperty( PROPERTY_KEY, new TimePoint( 10 ) ) );
+            assertEquals( "static", db.temporalIndex().nodeGetTemporalPropertyPoints(
+                    new long[]{nodeId}, PROPERTY_KEY, new TimePoint( 10 ) ).value( 0 ) );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void shouldRejectAnotherValueTypeForATemporalPropertyKeyInUse() throws Exception
+    {
+        // GIVEN
+        long first = createNodeWithTemporalProperty( PROPERTY_KEY, 0, 1 );
+        long second = createNodeWith( "other" );
+
+        // WHEN
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.getNodeById( second ).setTemporalProperty( PROPERTY_KEY, new TimePoint( 0 ), "text" );
+            fail( "should not accept values of another type for a key in use" );
+        }
+        catch ( RuntimeException e )
+        {
+            // THEN good
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.getNodeById( second ).setTemporalProperty( PROPERTY_KEY, new TimePoint( 0 ), 2 );
+            assertEquals( 1, db.getNodeById( first ).getTemporalProperty( PROPERTY_KEY, new TimePoint( 10 ) ) );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void shouldRemoveTemporalValuesOfDeletedNodeSoAReusedIdStartsWithout() throws Exception
+    {
+        // GIVEN
+        long nodeId = createNodeWithTemporalProperty( PROPERTY_KEY, 0, 1 );
+        int propertyKeyId;
+        try ( Transaction tx = db.beginTx(); Statement statement = db.statement() )
+        {
+            propertyKeyId = statement.readOperations().propertyKeyGetForName( PROPERTY_KEY );
+            tx.success();
+        }
+
+        // WHEN
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.getNodeById( nodeId ).delete();
+            tx.success();
+        }
+
+        // THEN
+        TemporalPropertyStoreAdapter temporalStore = db.resolveDependency( DataSourceManager.class )
+                .getDataSource().getTemporalPropertyStore();
+        assertNull( temporalStore.getPoint( temporalStore.nodeStore(), nodeId, propertyKeyId, new TimePoint( 10 ) ) );
+    }
+
+    @Test
+    public void shouldReadTemporalPointsOfManyNodesInTheOrderAskedFor() throws Exception
+    {
+        // GIVEN
+        long temporal = createNodeWithTemporalProperty( PROPERTY_KEY, 0, 1 );
+        long changed = createNodeWithTemporalProperty( PROPERTY_KEY, 0, 2 );
+        long withStatic;
+        long without;
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node node = db.createNode();
+            node.setProperty( PROPERTY_KEY, "static" );
+            withStatic = node.getId();
+            without = db.createNode().getId();
+            tx.success();
+        }
+        long missing = without + 1000;
+        long[] ids = {missing, changed, temporal, withStatic, without, temporal};
+        TimePoint time = new TimePoint( 10 );
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            // WHEN
+            TemporalPointValues committed = db.temporalIndex().nodeGetTemporalPropertyPoints( ids, PROPERTY_KEY, time );
+            db.getNodeById( changed ).setTemporalProperty( PROPERTY_KEY, new TimePoint( 5 ), 3 );
+            TemporalPointValues inTx = db.temporalIndex().nodeGetTemporalPropertyPoints( ids, PROPERTY_KEY, time );
+            TemporalPointValues unknownKey = db.temporalIndex().nodeGetTemporalPropertyPoints( ids, "unknown", time );
+
+            // THEN
+            assertEquals( ids.length, committed.size() );
+            assertFalse( committed.hasValue( 0 ) );
+            assertEquals( 2, committed.longValue( 1 ) );
+            assertEquals( 1, committed.value( 2 ) );
+            assertEquals( "static", committed.value( 3 ) );
+            assertFalse( committed.hasValue( 4 ) );
+            assertEquals( 1.0, committed.doubleValue( 5 ), 0.0 );
+
+            assertEquals( 3, inTx.longValue( 1 ) );
+            assertEquals( 1, inTx.value( 2 ) );
+            assertEquals( "static", inTx.value( 3 ) );
+
+            for ( int i = 0; i < ids.length; i++ )
+            {
+                assertFalse( unknownKey.hasValue( i ) );
+            }
+            tx.success();
+        }
+    }
+
+    @Test
+    public void concurrentFirstWritersOfATemporalPropertyShouldBothCommit() throws Exception
+    {
+        // GIVEN
+        ExecutorService executor = cleanup.add( Executors.newFixedThreadPool( 2, named( "Test-executor-thread" ) ) );
+        final long nodeId = createNodeWith( "other" );
+
+        for ( int round = 0; round < 20; round++ )
+        {
+            final String key = "temporal-" + round;
+            final CountDownLatch start = new CountDownLatch( 1 );
+
+            // WHEN
+            Future<?> first = executor.submit( temporalWriter( start, nodeId, key, 0 ) );
+            Future<?> second = executor.submit( temporalWriter( start, nodeId, key, 100 ) );
+            start.countDown();
+            first.get();
+            second.get();
+
+            // THEN
+            try ( Transaction tx = db.beginTx() )
+            {
+                Node node = db.getNodeById( nodeId );
+                assertEquals( 0, node.getTemporalProperty( key, new TimePoint( 0 ) ) );
+                assertEquals( 100, node.getTemporalProperty( key, new TimePoint( 100 ) ) );
+                tx.success();
+            }
+        }
+    }
+
+    @Test
+    public void writersOfDifferentTemporalPropertiesOfOneNodeShouldNotWaitForEachOther() throws Exception
+    {
+        // GIVEN
+        ExecutorService executor = cleanup.add( Executors.newFixedThreadPool( 2, named( "Test-executor-thread" ) ) );
+        final long nodeId = createNodeWithTemporalProperty( "first", 0, 0 );
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.getNodeById( nodeId ).setTemporalProperty( "second", new TimePoint( 0 ), 0 );
+            tx.success();
+        }
+        CountDownLatch written = new CountDownLatch( 1 );
+        CountDownLatch commit = new CountDownLatch( 1 );
+
+        // WHEN
+        Future<?> first = executor.submit( openTemporalWriter( nodeId, "first", written, commit ) );
+        awaitLatch( written );
+        Future<?> second = executor.submit( temporalWriter( new CountDownLatch( 0 ), nodeId, "second", 100 ) );
+
+        // THEN
+        second.get( 1, TimeUnit.MINUTES );
+        commit.countDown();
+        first.get();
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node node = db.getNodeById( nodeId );
+            assertEquals( 1, node.getTemporalProperty( "first", new TimePoint( 10 ) ) );
+            assertEquals( 100, node.getTemporalProperty( "second", new TimePoint( 100 ) ) );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void writersOfTheSameTemporalPropertyShouldWaitForEachOther() throws Exception
+    {
+        // GIVEN
+        ExecutorService executor = cleanup.add( Executors.newFixedThreadPool( 2, named( "Test-executor-thread" ) ) );
+        final long nodeId = createNodeWithTemporalProperty( PROPERTY_KEY, 0, 0 );
+        CountDownLatch written = new CountDownLatch( 1 );
+        CountDownLatch commit = new CountDownLatch( 1 );
+
+        // WHEN
+        Future<?> first = executor.submit( openTemporalWriter( nodeId, PROPERTY_KEY, written, commit ) );
+        awaitLatch( written );
+        Future<?> second = executor.submit( temporalWriter( new CountDownLatch( 0 ), nodeId, PROPERTY_KEY, 100 ) );
+
+        // THEN
+        try
+        {
+            second.get( 1, TimeUnit.SECONDS );
+            fail( "should wait for the first writer to commit" );
+        }
+        catch ( TimeoutException e )
+        {
+            // good
+        }
+        commit.countDown();
+        first.get();
+        second.get();
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node node = db.getNodeById( nodeId );
+            assertEquals( 1, node.getTemporalProperty( PROPERTY_KEY, new TimePoint( 10 ) ) );
+            assertEquals( 100, node.getTemporalProperty( PROPERTY_KEY, new TimePoint( 100 ) ) );
+            tx.success();
+        }
+    }
+
+    /**
+     * Writes value 1 at time 10 to {@code key} and keeps the transaction open until {@code commit} is released.
+     */
+    private Runnable openTemporalWriter( final long nodeId, final String key, final CountDownLatch written,
+            final CountDownLatch commit )
+    {
+        return new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try ( Transaction tx = db.beginTx() )
+                {
+                    db.getNodeById( nodeId ).setTemporalProperty( key, new TimePoint( 10 ), new TimePoint( 19 ), 1 );
+                    written.countDown();
+                    awaitLatch( commit );
+                    tx.success();
+                }
+            }
+        };
+    }
+
+    private Runnable temporalWriter( final CountDownLatch start, final long nodeId, final String key, final int time )
+    {
+        return new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                awaitLatch( start );
+                try ( Transaction tx = db.beginTx() )
+                {
+                    db.getNodeById( nodeId ).setTemporalProperty( key, new TimePoint( time ), new TimePoint( time + 99 ), time );
+                    tx.success();
+                }
+            }
+        };
+    }
+
+    private long createNodeWithTemporalProperty( String key, long time, int value )
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node node = db.createNode();
+            node.setTemporalProperty( key, new TimePoint( time ), value );
+            tx.success();
+            return node.getId();
+        }
+    }
+
+    private long createNodeWith( String key )
     {
         try ( Transaction tx = db.beginTx() )
         {
             Node node = db.createNode();
             node.setProperty( key, 1 );
             tx.success();
+            return node.getId();
         }
     }
 }
@@ -27,6 +27,8 @@ import java.util.concurrent.Future;
 import static junit.framework.Assert.assertTrue;
 import static junit.framework.TestCase.assertFalse;
 import static org.neo4j.kernel.impl.locking.ResourceTypes.NODE;
+import static org.neo4j.kernel.impl.locking.ResourceTypes.NODE_TEMPORAL_PROP;
+import static org.neo4j.kernel.impl.locking.ResourceTypes.temporalPropertyResourceId;
 
 /**
  * Tests simple acquiring and releasing of single locks.
@@ -142,4 +144,27 @@ public class AcquireAndReleaseLocksCompatibility extends LockingCompatibilityTes
         // Then I should be able to release it
         clientA.releaseExclusive( NODE, 1L );
     }
+
+    @Test
+    public void temporalPropertyLocksShouldOnlyConflictOnSameEntityAndProperty() throws Exception
+    {
+        // Given two clients sharing the entity lock, one of them writing a temporal property
+        clientA.acquireShared( NODE, 1L );
+        clientB.acquireShared( NODE, 1L );
+        clientA.acquireExclusive( NODE_TEMPORAL_PROP, temporalPropertyResourceId( 1L, 0 ) );
+
+        // Then other properties of the same entity and the same property of other entities are free
+        assertTrue( clientB.tryExclusiveLock( NODE_TEMPORAL_PROP, temporalPropertyResourceId( 1L, 1 ) ) );
+        assertTrue( clientB.tryExclusiveLock( NODE_TEMPORAL_PROP, temporalPropertyResourceId( 2L, 0 ) ) );
+
+        // But the same property of the same entity has to wait
+        Future<Object> clientCLock =
+                acquireExclusive( clientC, NODE_TEMPORAL_PROP, temporalPropertyResourceId( 1L, 0 ) ).callAndAssertWaiting();
+
+        // And when
+        clientA.releaseExclusive( NODE_TEMPORAL_PROP, temporalPropertyResourceId( 1L, 0 ) );
+
+        // Then this should not block
+        assertNotWaiting( clientC, clientCLock );
+    }
 }
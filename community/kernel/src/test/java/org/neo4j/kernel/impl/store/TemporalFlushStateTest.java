@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+
+import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
+import org.neo4j.test.TargetDirectory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TemporalFlushStateTest
+{
+    @Rule
+    public final TargetDirectory.TestDirectory testDirectory = TargetDirectory.testDirForTest( getClass() );
+
+    private final TemporalPropertyStore store = mock( TemporalPropertyStore.class );
+
+    @Test
+    public void shouldOnlyFlushStoreWithChanges() throws Exception
+    {
+        // GIVEN
+        TemporalFlushState state = newState();
+        state.changed();
+
+        // WHEN
+        boolean first = state.flush( store, 10 );
+        boolean second = state.flush( store, 12 );
+
+        // THEN
+        assertTrue( first );
+        assertFalse( second );
+        verify( store, times( 1 ) ).flushMemTable2Disk();
+        assertEquals( 12, state.lastFlushedTransactionId() );
+    }
+
+    @Test
+    public void shouldRememberLastFlushedTransactionOverRestart() throws Exception
+    {
+        // GIVEN
+        TemporalFlushState state = newState();
+        state.changed();
+        state.flush( store, 42 );
+
+        // WHEN
+        TemporalFlushState restarted = newState();
+
+        // THEN
+        assertEquals( 42, restarted.lastFlushedTransactionId() );
+        assertFalse( restarted.isDirty() );
+    }
+
+    @Test
+    public void shouldNotKnowAnyFlushedTransactionOfNewStore() throws Exception
+    {
+        // WHEN
+        TemporalFlushState state = newState();
+
+        // THEN
+        assertEquals( TemporalFlushState.UNKNOWN, state.lastFlushedTransactionId() );
+        verify( store, never() ).flushMemTable2Disk();
+    }
+
+    @Test
+    public void shouldRecordFirstTransactionForExistingStoreWithoutFlushes() throws Exception
+    {
+        // GIVEN a store of a version which did not record flushes
+        TemporalFlushState state = newState();
+
+        // WHEN
+        state.existing();
+
+        // THEN
+        assertEquals( TransactionIdStore.BASE_TX_ID, newState().lastFlushedTransactionId() );
+    }
+
+    @Test
+    public void shouldKeepRecordedFlushOfExistingStore() throws Exception
+    {
+        // GIVEN
+        TemporalFlushState state = newState();
+        state.flush( store, 42 );
+
+        // WHEN
+        state.existing();
+
+        // THEN
+        assertEquals( 42, newState().lastFlushedTransactionId() );
+    }
+
+    private TemporalFlushState newState() throws Exception
+    {
+        File dir = testDirectory.directory( "temporal" );
+        TemporalPropertySummary summary = new TemporalPropertySummary( dir );
+        summary.load();
+        TemporalFlushState state = new TemporalFlushState( dir, summary );
+        state.load();
+        return state;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.index.value.IndexMetaData;
+import org.act.temporalProperty.query.aggr.ValueGroupingMap;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.neo4j.kernel.api.index.InternalIndexState;
+import org.neo4j.logging.NullLog;
+import org.neo4j.temporal.TemporalIndexPopulation;
+import org.neo4j.temporal.TimePoint;
+import org.neo4j.test.TargetDirectory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TemporalIndexPopulatorTest
+{
+    private static final List<Integer> PROPERTIES = Arrays.asList( 1, 2 );
+
+    @Rule
+    public final TargetDirectory.TestDirectory directory = TargetDirectory.testDirForTest( getClass() );
+
+    private final TemporalPropertyStoreAdapter adapter = mock( TemporalPropertyStoreAdapter.class );
+    private final TemporalPropertyStore store = mock( TemporalPropertyStore.class );
+    private final QueuedExecutor executor = new QueuedExecutor();
+    private final TemporalIndexPopulator.Monitor monitor = mock( TemporalIndexPopulator.Monitor.class );
+
+    @Test
+    public void shouldBePopulatingUntilTheStoreHasBuiltTheIndex() throws Exception
+    {
+        // GIVEN
+        when( store.createValueIndex( any( TimePoint.class ), any( TimePoint.class ), anyListOf( Integer.class ) ) )
+                .thenReturn( 7L );
+        TemporalIndexPopulator populator = startedPopulator();
+
+        // WHEN
+        TemporalIndexPopulation population = populateValueIndex( populator );
+
+        // THEN
+        assertEquals( InternalIndexState.POPULATING, population.getState() );
+        assertTrue( populator.isPopulating( 1, TemporalIndexPopulation.Kind.VALUE ) );
+        assertFalse( populator.isPopulating( 1, TemporalIndexPopulation.Kind.MIN_MAX ) );
+
+        // WHEN
+        executor.runAll();
+
+        // THEN
+        assertEquals( InternalIndexState.ONLINE, population.getState() );
+        assertEquals( 7L, population.getIndexId() );
+        assertFalse( populator.isPopulating( 1, TemporalIndexPopulation.Kind.VALUE ) );
+        verify( adapter ).indexChanged( store );
+        verify( monitor ).populationStarted( population );
+        verify( monitor ).populationCompleted( population );
+    }
+
+    @Test
+    public void shouldFailPopulationWhenTheStoreCannotBuildTheIndex() throws Exception
+    {
+        // GIVEN
+        when( store.createValueIndex( any( TimePoint.class ), any( TimePoint.class ), anyListOf( Integer.class ) ) )
+                .thenThrow( new IllegalStateException( "no space" ) );
+        TemporalIndexPopulator populator = startedPopulator();
+
+        // WHEN
+        TemporalIndexPopulation population = populateValueIndex( populator );
+        executor.runAll();
+
+        // THEN
+        assertEquals( InternalIndexState.FAILED, population.getState() );
+        assertTrue( population.getFailure().contains( "no space" ) );
+        verify( adapter, never() ).indexChanged( store );
+    }
+
+    @Test
+    public void shouldPopulateTheSameIndexOnce() throws Exception
+    {
+        // GIVEN
+        TemporalIndexPopulator populator = startedPopulator();
+
+        // WHEN
+        TemporalIndexPopulation first = populateValueIndex( populator );
+        TemporalIndexPopulation second = populateValueIndex( populator );
+        executor.runAll();
+
+        // THEN
+        assertSame( first, second );
+        verify( store, times( 1 ) ).createValueIndex( any( TimePoint.class ), any( TimePoint.class ),
+                anyListOf( Integer.class ) );
+    }
+
+    @Test
+    public void shouldResumePopulationAfterRestart() throws Exception
+    {
+        // GIVEN a population which never ran
+        TemporalIndexPopulator populator = startedPopulator();
+        populateValueIndex( populator );
+        populator.stop();
+        executor.runAll();
+        verify( store, never() ).createValueIndex( any( TimePoint.class ), any( TimePoint.class ),
+                anyListOf( Integer.class ) );
+
+        // WHEN
+        TemporalIndexPopulator restarted = populator();
+        executor.runAll();
+
+        // THEN nothing is populated before indexing has started
+        verify( store, never() ).createValueIndex( any( TimePoint.class ), any( TimePoint.class ),
+                anyListOf( Integer.class ) );
+
+        // WHEN
+        restarted.start();
+        executor.runAll();
+
+        // THEN
+        List<TemporalIndexPopulation> populations = restarted.populations();
+        assertEquals( 1, populations.size() );
+        assertEquals( InternalIndexState.ONLINE, populations.get( 0 ).getState() );
+        assertEquals( PROPERTIES, populations.get( 0 ).getPropertyIds() );
+        verify( store ).createValueIndex( any( TimePoint.class ), any( TimePoint.class ), anyListOf( Integer.class ) );
+    }
+
+    @Test
+    public void shouldResumePopulationOfDurationIndexWithItsValueGroups() throws Exception
+    {
+        // GIVEN a population of a duration index which never ran
+        when( store.createAggrDurationIndex( anyInt(), any( TimePoint.class ), any( TimePoint.class ),
+                any( ValueGroupingMap.class ), anyInt(), anyInt() ) ).thenReturn( 5L );
+        TemporalIndexPopulator populator = startedPopulator();
+        populator.populate( TemporalIndexPopulation.Kind.DURATION, Collections.singletonList( 1 ), new TimePoint( 0 ),
+                new TimePoint( 100 ), 2, 13, null, new ValueGroupingMap.IntValueGroupMap() );
+        populator.stop();
+        executor.runAll();
+
+        // WHEN
+        TemporalIndexPopulator restarted = populator();
+        restarted.start();
+        executor.runAll();
+
+        // THEN
+        TemporalIndexPopulation population = restarted.populations().get( 0 );
+        assertEquals( InternalIndexState.ONLINE, population.getState() );
+        assertEquals( 5L, population.getIndexId() );
+        verify( store ).createAggrDurationIndex( eq( 1 ), any( TimePoint.class ), any( TimePoint.class ),
+                any( ValueGroupingMap.class ), eq( 2 ), eq( 13 ) );
+        assertFalse( new File( directory.directory(),
+                TemporalIndexPopulator.VALUE_GROUP_FILE_PREFIX + population.getId() ).exists() );
+    }
+
+    @Test
+    public void shouldNotPopulateIndexWhichTheStoreAlreadyHas() throws Exception
+    {
+        // GIVEN
+        IndexMetaData meta = mock( IndexMetaData.class );
+        when( meta.getId() ).thenReturn( 3L );
+        when( meta.getPropertyIdList() ).thenReturn( PROPERTIES );
+        when( meta.getTimeStart() ).thenReturn( new TimePoint( 0 ) );
+        when( meta.getTimeEnd() ).thenReturn( new TimePoint( 100 ) );
+        when( store.listIndex() ).thenReturn( Collections.singletonList( meta ) );
+        TemporalIndexPopulator populator = startedPopulator();
+
+        // WHEN
+        TemporalIndexPopulation population = populateValueIndex( populator );
+
+        // THEN
+        assertEquals( InternalIndexState.ONLINE, population.getState() );
+        assertEquals( 3L, population.getIndexId() );
+        assertTrue( executor.queued.isEmpty() );
+    }
+
+    private TemporalIndexPopulator populator() throws Exception
+    {
+        TemporalIndexPopulator populator = new TemporalIndexPopulator( adapter, store, directory.directory(), executor,
+                monitor, NullLog.getInstance() );
+        populator.load();
+        return populator;
+    }
+
+    private TemporalIndexPopulator startedPopulator() throws Exception
+    {
+        TemporalIndexPopulator populator = populator();
+        populator.start();
+        return populator;
+    }
+
+    private static TemporalIndexPopulation populateValueIndex( TemporalIndexPopulator populator ) throws Exception
+    {
+        return populator.populate( TemporalIndexPopulation.Kind.VALUE, PROPERTIES, new TimePoint( 0 ),
+                new TimePoint( 100 ), 0, 0, null, null );
+    }
+
+    private static class QueuedExecutor implements Executor
+    {
+        private final List<Runnable> queued = new ArrayList<>();
+
+        @Override
+        public void execute( Runnable command )
+        {
+            queued.add( command );
+        }
+
+        void runAll()
+        {
+            List<Runnable> running = new ArrayList<>( queued );
+            queued.clear();
+            for ( Runnable runnable : running )
+            {
+                runnable.run();
+            }
+        }
+    }
+}
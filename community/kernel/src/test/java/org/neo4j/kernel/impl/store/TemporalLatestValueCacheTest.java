@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.util.Slice;
+import org.junit.Test;
+
+import org.neo4j.temporal.TimePoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TemporalLatestValueCacheTest
+{
+    private final TemporalLatestValueCache cache = new TemporalLatestValueCache( 1024 * 1024 );
+
+    @Test
+    public void shouldAnswerReadsInTheLastInterval()
+    {
+        // GIVEN
+        cache.update( key( 10, ValueType.VALUE ), TimePoint.NOW, value( 1 ) );
+
+        // THEN
+        assertEquals( 1, cache.get( 1, 2, new TimePoint( 10 ) ).getInt( 0 ) );
+        assertEquals( 1, cache.get( 1, 2, TimePoint.NOW ).getInt( 0 ) );
+        assertNull( cache.get( 1, 2, new TimePoint( 9 ) ) );
+        assertNull( cache.get( 1, 3, new TimePoint( 10 ) ) );
+        assertEquals( 2, cache.hits() );
+        assertEquals( 2, cache.misses() );
+    }
+
+    @Test
+    public void shouldShrinkLastIntervalWhenItsBeginningIsOverwritten()
+    {
+        // GIVEN
+        cache.update( key( 10, ValueType.VALUE ), TimePoint.NOW, value( 1 ) );
+
+        // WHEN
+        cache.update( key( 5, ValueType.VALUE ), new TimePoint( 19 ), value( 2 ) );
+
+        // THEN
+        assertNull( cache.get( 1, 2, new TimePoint( 19 ) ) );
+        assertEquals( 1, cache.get( 1, 2, new TimePoint( 20 ) ).getInt( 0 ) );
+    }
+
+    @Test
+    public void shouldIgnoreWritesBeforeLastInterval()
+    {
+        // GIVEN
+        cache.update( key( 10, ValueType.VALUE ), TimePoint.NOW, value( 1 ) );
+
+        // WHEN
+        cache.update( key( 0, ValueType.VALUE ), new TimePoint( 9 ), value( 2 ) );
+
+        // THEN
+        assertEquals( 1, cache.get( 1, 2, new TimePoint( 10 ) ).getInt( 0 ) );
+    }
+
+    @Test
+    public void shouldForgetPropertyWhenItIsInvalidatedUntilNow()
+    {
+        // GIVEN
+        cache.update( key( 10, ValueType.VALUE ), TimePoint.NOW, value( 1 ) );
+
+        // WHEN
+        cache.update( key( 15, ValueType.INVALID ), TimePoint.NOW, new Slice( 0 ) );
+
+        // THEN
+        assertNull( cache.get( 1, 2, new TimePoint( 20 ) ) );
+        assertEquals( 0, cache.size() );
+    }
+
+    @Test
+    public void shouldStayWithinMemoryBudget()
+    {
+        // GIVEN
+        TemporalLatestValueCache small = new TemporalLatestValueCache( 1000 );
+
+        // WHEN
+        for ( int i = 0; i < 100; i++ )
+        {
+            small.update( new InternalKey( 2, i, new TimePoint( 0 ), ValueType.VALUE ), TimePoint.NOW, value( i ) );
+        }
+
+        // THEN
+        assertTrue( small.size() < 10 );
+    }
+
+    @Test
+    public void shouldNotCacheAnythingWhenDisabled()
+    {
+        // GIVEN
+        TemporalLatestValueCache disabled = new TemporalLatestValueCache( 0 );
+
+        // WHEN
+        disabled.update( key( 10, ValueType.VALUE ), TimePoint.NOW, value( 1 ) );
+
+        // THEN
+        assertNull( disabled.get( 1, 2, TimePoint.NOW ) );
+        assertEquals( 0, disabled.misses() );
+    }
+
+    private static InternalKey key( long start, ValueType valueType )
+    {
+        return new InternalKey( 2, 1, new TimePoint( start ), valueType );
+    }
+
+    private static Slice value( int value )
+    {
+        Slice slice = new Slice( 4 );
+        slice.setInt( 0, value );
+        return slice;
+    }
+}
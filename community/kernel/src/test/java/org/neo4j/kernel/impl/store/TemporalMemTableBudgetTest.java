@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TemporalMemTableBudgetTest
+{
+    private final TemporalMemTableBudget budget = new TemporalMemTableBudget();
+
+    @Test
+    public void shouldAskMemberToFlushWhenBudgetIsExceeded()
+    {
+        // GIVEN
+        Flush flush = new Flush();
+        TemporalMemTableBudget.Member member = budget.register( 1000, flush );
+        member.charge( 600 );
+
+        // WHEN
+        member.charge( 500 );
+
+        // THEN
+        assertEquals( 1, flush.count.get() );
+        assertEquals( 1100, member.used() );
+
+        // WHEN
+        member.flushed();
+
+        // THEN
+        assertEquals( 0, budget.used() );
+    }
+
+    @Test
+    public void shouldHaveOneMemberAtATime()
+    {
+        // GIVEN
+        TemporalMemTableBudget.Member member = budget.register( 100, new Flush() );
+        try
+        {
+            // WHEN
+            budget.register( 1000, new Flush() );
+            fail( "should not accept a second member" );
+        }
+        catch ( IllegalStateException e )
+        {
+            // THEN good
+        }
+        assertEquals( 100, budget.limit() );
+
+        // WHEN
+        member.unregister();
+        budget.register( 1000, new Flush() );
+
+        // THEN
+        assertEquals( 1000, budget.limit() );
+    }
+
+    @Test
+    public void shouldNotFlushWithoutLimit()
+    {
+        // GIVEN
+        Flush flush = new Flush();
+        TemporalMemTableBudget.Member member = budget.register( 0, flush );
+
+        // WHEN
+        member.charge( Long.MAX_VALUE / 2 );
+
+        // THEN
+        assertEquals( 0, flush.count.get() );
+    }
+
+    @Test
+    public void shouldReleaseMemoryOfUnregisteredMember()
+    {
+        // GIVEN
+        TemporalMemTableBudget.Member member = budget.register( 1000, new Flush() );
+        member.charge( 400 );
+
+        // WHEN
+        member.unregister();
+
+        // THEN
+        assertEquals( 0, budget.used() );
+    }
+
+    private static class Flush implements Runnable
+    {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void run()
+        {
+            count.incrementAndGet();
+        }
+    }
+}
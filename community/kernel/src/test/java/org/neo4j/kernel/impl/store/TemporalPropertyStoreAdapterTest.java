@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.query.TimeIntervalKey;
+import org.act.temporalProperty.util.Slice;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.function.LongSupplier;
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.util.Neo4jJobScheduler;
+import org.neo4j.temporal.TimePoint;
+import org.neo4j.test.TargetDirectory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter.SNAPSHOTS_DIRECTORY_NAME;
+import static org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter.storeFilePath;
+
+public class TemporalPropertyStoreAdapterTest
+{
+    @Rule
+    public final TargetDirectory.TestDirectory directory = TargetDirectory.testDirForTest( getClass() );
+
+    @Test
+    public void shouldCopySnapshotLinksToThePathsOfTheirStoreFiles()
+    {
+        // GIVEN
+        String storeFile = "temporal.node.properties" + File.separator + "000001.dat";
+        String link = SNAPSHOTS_DIRECTORY_NAME + File.separator + "3" + File.separator + storeFile;
+
+        // WHEN
+        String path = storeFilePath( link );
+
+        // THEN
+        assertEquals( storeFile, path );
+    }
+
+    @Test
+    public void shouldKeepThePathsOfOtherFiles()
+    {
+        assertEquals( "neostore.nodestore.db", storeFilePath( "neostore.nodestore.db" ) );
+        String storeFile = "temporal.node.properties" + File.separator + "000001.dat";
+        assertEquals( storeFile, storeFilePath( storeFile ) );
+    }
+
+    @Test
+    public void shouldOnlyLinkDataFilesNamedByTheirNumber()
+    {
+        assertTrue( TemporalPropertyStoreAdapter.isWrittenOnce( new File( "000012.dat" ) ) );
+        assertFalse( TemporalPropertyStoreAdapter.isWrittenOnce( new File( "meta.info" ) ) );
+        assertFalse( TemporalPropertyStoreAdapter.isWrittenOnce( new File( "flush_state" ) ) );
+        assertFalse( TemporalPropertyStoreAdapter.isWrittenOnce( new File( "12" ) ) );
+    }
+
+    @Test
+    public void shouldKeepSnapshotOfStoreFilesWhileTheStoresAreWrittenAndFlushed() throws Throwable
+    {
+        // GIVEN
+        Neo4jJobScheduler scheduler = new Neo4jJobScheduler();
+        scheduler.init();
+        TemporalPropertyStoreAdapter adapter = new TemporalPropertyStoreAdapter( new Config(),
+                directory.directory( "db" ), new TemporalMemTableBudget(), scheduler, new LongSupplier()
+        {
+            @Override
+            public long getAsLong()
+            {
+                return 1;
+            }
+        } );
+        adapter.init();
+        try
+        {
+            write( adapter, 0 );
+            adapter.flush( 1 );
+
+            try ( ResourceIterator<File> snapshot = adapter.snapshotStoreFiles() )
+            {
+                List<File> files = new ArrayList<>();
+                List<byte[]> contents = new ArrayList<>();
+                while ( snapshot.hasNext() )
+                {
+                    File file = snapshot.next();
+                    files.add( file );
+                    contents.add( Files.readAllBytes( file.toPath() ) );
+                }
+                assertFalse( files.isEmpty() );
+
+                // WHEN the stores are written and flushed while the snapshot is being copied
+                write( adapter, 100 );
+                adapter.flush( 2 );
+
+                // THEN
+                for ( int i = 0; i < files.size(); i++ )
+                {
+                    assertArrayEquals( files.get( i ).toString(), contents.get( i ),
+                            Files.readAllBytes( files.get( i ).toPath() ) );
+                }
+            }
+        }
+        finally
+        {
+            adapter.shutdown();
+            scheduler.shutdown();
+        }
+    }
+
+    private static void write( TemporalPropertyStoreAdapter adapter, int time )
+    {
+        for ( long entityId = 0; entityId < 10; entityId++ )
+        {
+            Slice value = new Slice( 4 );
+            value.setInt( 0, time );
+            adapter.setValue( adapter.nodeStore(), new TimeIntervalKey(
+                    new InternalKey( 0, entityId, new TimePoint( time ), ValueType.VALUE ), new TimePoint( time + 9 ) ),
+                    value );
+        }
+    }
+}
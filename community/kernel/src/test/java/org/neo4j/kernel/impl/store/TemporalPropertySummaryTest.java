@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.query.TimeIntervalKey;
+import org.act.temporalProperty.util.Slice;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.neo4j.temporal.TimePoint;
+import org.neo4j.test.TargetDirectory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TemporalPropertySummaryTest
+{
+    private static final int PROPERTY = 2;
+
+    @Rule
+    public final TargetDirectory.TestDirectory testDirectory = TargetDirectory.testDirForTest( getClass() );
+
+    @Test
+    public void shouldTrackEntitiesAndTimesOfWrites() throws Exception
+    {
+        // GIVEN
+        TemporalPropertySummary summary = newSummary();
+        summary.rebuilt();
+
+        // WHEN
+        summary.written( key( 7, 100, ValueType.VALUE ), TimePoint.NOW );
+        summary.written( key( 3, 50, ValueType.VALUE ), new TimePoint( 80 ) );
+        summary.written( key( 9, 20, ValueType.VALUE ), TimePoint.NOW );
+        summary.written( key( 9, TimePoint.INIT, ValueType.INVALID ), TimePoint.NOW );
+        summary.written( key( 3, TimePoint.INIT, ValueType.INVALID ), new TimePoint( 60 ) );
+
+        // THEN
+        assertArrayEquals( new long[]{3, 7}, summary.entities( PROPERTY ) );
+        assertEquals( 100, summary.latestTimes().get( PROPERTY ) );
+        assertEquals( 60, summary.removedUpTo().get( PROPERTY ) );
+        assertEquals( 0, summary.entities( PROPERTY + 1 ).length );
+    }
+
+    @Test
+    public void shouldAccountRunsOfWritesToOneProperty() throws Exception
+    {
+        // GIVEN
+        TemporalPropertySummary summary = newSummary();
+        summary.rebuilt();
+
+        // WHEN
+        summary.written( Arrays.asList( write( 7, 100, ValueType.VALUE, TimePoint.NOW ),
+                write( 7, TimePoint.INIT, ValueType.INVALID, new TimePoint( 30 ) ),
+                write( 7, 120, ValueType.VALUE, TimePoint.NOW ) ) );
+        summary.written( Arrays.asList( write( 9, 200, ValueType.VALUE, TimePoint.NOW ),
+                write( 9, TimePoint.INIT, ValueType.INVALID, TimePoint.NOW ) ) );
+        summary.written( Arrays.asList( write( 3, TimePoint.INIT, ValueType.INVALID, TimePoint.NOW ),
+                write( 3, 50, ValueType.VALUE, new TimePoint( 80 ) ) ) );
+
+        // THEN
+        assertArrayEquals( new long[]{3, 7}, summary.entities( PROPERTY ) );
+        assertEquals( 200, summary.latestTimes().get( PROPERTY ) );
+        assertEquals( 30, summary.removedUpTo().get( PROPERTY ) );
+    }
+
+    @Test
+    public void shouldKeepFlushedSummaryOverRestart() throws Exception
+    {
+        // GIVEN
+        TemporalPropertySummary summary = newSummary();
+        summary.rebuilt();
+        summary.written( key( 7, 100, ValueType.VALUE ), TimePoint.NOW );
+        summary.written( key( 7, TimePoint.INIT, ValueType.INVALID ), new TimePoint( 40 ) );
+
+        // WHEN
+        summary.flush();
+        TemporalPropertySummary restarted = newSummary();
+
+        // THEN
+        assertTrue( restarted.isComplete() );
+        assertArrayEquals( new long[]{7}, restarted.entities( PROPERTY ) );
+        assertEquals( 100, restarted.latestTimes().get( PROPERTY ) );
+        assertEquals( 40, restarted.removedUpTo().get( PROPERTY ) );
+    }
+
+    @Test
+    public void shouldOnlyWriteTimesIfEntitiesAreNotToBeWritten() throws Exception
+    {
+        // GIVEN
+        TemporalPropertySummary summary = new TemporalPropertySummary( directory(), false );
+        summary.rebuilt();
+        summary.written( key( 7, 100, ValueType.VALUE ), TimePoint.NOW );
+
+        // WHEN
+        summary.flush();
+        TemporalPropertySummary restarted = new TemporalPropertySummary( directory(), false );
+        restarted.load();
+
+        // THEN
+        assertFalse( restarted.isComplete() );
+        assertEquals( 0, restarted.entities( PROPERTY ).length );
+        assertEquals( 100, restarted.latestTimes().get( PROPERTY ) );
+    }
+
+    @Test
+    public void shouldNeedRebuildWhenSummaryIsMissing() throws Exception
+    {
+        // GIVEN
+        TemporalPropertySummary summary = newSummary();
+        summary.rebuilt();
+        summary.written( key( 7, 100, ValueType.VALUE ), TimePoint.NOW );
+        summary.flush();
+
+        // WHEN
+        TemporalPropertySummary.invalidate( directory() );
+        TemporalPropertySummary restarted = newSummary();
+
+        // THEN
+        assertFalse( restarted.isComplete() );
+        assertEquals( 0, restarted.entities( PROPERTY ).length );
+    }
+
+    @Test
+    public void shouldNotWriteIncompleteSummary() throws Exception
+    {
+        // GIVEN
+        TemporalPropertySummary summary = newSummary();
+        summary.written( key( 7, 100, ValueType.VALUE ), TimePoint.NOW );
+
+        // WHEN
+        summary.flush();
+
+        // THEN
+        assertFalse( newSummary().isComplete() );
+    }
+
+    private static TimeIntervalValueEntry write( long entityId, long time, ValueType type, TimePoint end )
+    {
+        return write( entityId, new TimePoint( time ), type, end );
+    }
+
+    private static TimeIntervalValueEntry write( long entityId, TimePoint time, ValueType type, TimePoint end )
+    {
+        return new TimeIntervalValueEntry( new TimeIntervalKey( key( entityId, time, type ), end ), new Slice( 4 ) );
+    }
+
+    private static InternalKey key( long entityId, long time, ValueType type )
+    {
+        return key( entityId, new TimePoint( time ), type );
+    }
+
+    private static InternalKey key( long entityId, TimePoint time, ValueType type )
+    {
+        return new InternalKey( PROPERTY, entityId, time, type );
+    }
+
+    private File directory()
+    {
+        return testDirectory.directory( "temporal" );
+    }
+
+    private TemporalPropertySummary newSummary() throws Exception
+    {
+        TemporalPropertySummary summary = new TemporalPropertySummary( directory() );
+        summary.load();
+        return summary;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.meta.ValueContentType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TemporalPropertyTypesTest
+{
+    @Test
+    public void shouldReturnNullForUnknownPropertyKeys()
+    {
+        TemporalPropertyTypes types = new TemporalPropertyTypes();
+        types.put( 2, ValueContentType.INT );
+
+        assertNull( types.get( -1 ) );
+        assertNull( types.get( 0 ) );
+        assertNull( types.get( 3 ) );
+        assertNull( types.get( 100 ) );
+    }
+
+    @Test
+    public void shouldRememberTypesOfMultiplePropertyKeys()
+    {
+        TemporalPropertyTypes types = new TemporalPropertyTypes();
+        types.put( 5, ValueContentType.INT );
+        types.put( 1, ValueContentType.STRING );
+        types.put( 7, null );
+
+        assertEquals( ValueContentType.INT, types.get( 5 ) );
+        assertEquals( ValueContentType.STRING, types.get( 1 ) );
+        assertNull( types.get( 7 ) );
+    }
+
+    @Test
+    public void shouldForgetTypesOnClear()
+    {
+        TemporalPropertyTypes types = new TemporalPropertyTypes();
+        types.put( 1, ValueContentType.INT );
+
+        types.clear();
+
+        assertNull( types.get( 1 ) );
+    }
+
+    @Test
+    public void shouldGiveNoTypeForKeysWithValuesOfDifferentTypes()
+    {
+        TemporalPropertyTypes types = new TemporalPropertyTypes();
+        types.put( 1, ValueContentType.INT );
+
+        types.put( 1, ValueContentType.STRING );
+        types.put( 1, ValueContentType.INT );
+
+        assertNull( types.get( 1 ) );
+        assertTrue( types.isMixed( 1 ) );
+    }
+
+    @Test
+    public void shouldTakeAnotherTypeOnceRemoved()
+    {
+        TemporalPropertyTypes types = new TemporalPropertyTypes();
+        types.put( 1, ValueContentType.INT );
+        types.put( 2, ValueContentType.INT );
+        types.put( 2, ValueContentType.STRING );
+
+        types.remove( 1 );
+        types.remove( 2 );
+        types.put( 1, ValueContentType.STRING );
+
+        assertEquals( ValueContentType.STRING, types.get( 1 ) );
+        assertFalse( types.isMixed( 2 ) );
+        assertNull( types.get( 2 ) );
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.impl.InternalEntry;
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.MemTable;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.meta.ValueContentType;
+import org.act.temporalProperty.query.TimePointL;
+import org.act.temporalProperty.query.range.TimeRangeQuery;
+import org.act.temporalProperty.util.Slice;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.neo4j.kernel.api.DataWriteOperations;
+import org.neo4j.kernel.api.KernelAPI;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.ReadOperations;
+import org.neo4j.kernel.api.Statement;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.core.TokenHolder;
+import org.neo4j.kernel.impl.util.JobScheduler;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.temporal.TemporalPropertyWriteOperation;
+import org.neo4j.temporal.TimePoint;
+import org.neo4j.test.TargetDirectory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.neo4j.collection.primitive.PrimitiveIntCollections.iterator;
+import static org.neo4j.collection.primitive.PrimitiveLongCollections.iterator;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.temporal_retention;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.temporal_retention_per_key;
+import static org.neo4j.helpers.collection.MapUtil.stringMap;
+import static org.neo4j.kernel.impl.api.StateHandlingStatementOperations.buildTemporalPropertyMeta;
+
+public class TemporalRetentionTest
+{
+    private static final int PROPERTY = 1;
+    private static final long ENTITY_WITH_OLD_VALUES = 1;
+    private static final long ENTITY_WITH_NEW_VALUES = 2;
+
+    @Rule
+    public final TargetDirectory.TestDirectory testDirectory = TargetDirectory.testDirForTest( getClass() );
+
+    private final TemporalPropertyStoreAdapter temporalStore = mock( TemporalPropertyStoreAdapter.class );
+    private final TemporalPropertyStore nodeStore = mock( TemporalPropertyStore.class );
+    private final TemporalPropertyStore relStore = mock( TemporalPropertyStore.class );
+    private TemporalPropertySummary summary;
+    private final KernelAPI kernel = mock( KernelAPI.class );
+    private final ReadOperations read = mock( ReadOperations.class );
+    private final DataWriteOperations write = mock( DataWriteOperations.class );
+    private final KernelTransaction transaction = mock( KernelTransaction.class );
+    @SuppressWarnings( "unchecked" )
+    private final TokenHolder<?> tokens = mock( TokenHolder.class );
+    private final TemporalRetention.Monitor monitor = mock( TemporalRetention.Monitor.class );
+
+    @Before
+    public void setUp() throws Exception
+    {
+        summary = new TemporalPropertySummary( testDirectory.directory( "node" ) );
+        summary.load();
+        TemporalPropertySummary relSummary = new TemporalPropertySummary( testDirectory.directory( "relationship" ) );
+        relSummary.load();
+        relSummary.rebuilt();
+        when( temporalStore.nodeStore() ).thenReturn( nodeStore );
+        when( temporalStore.relStore() ).thenReturn( relStore );
+        when( temporalStore.summaryOf( nodeStore ) ).thenReturn( summary );
+        when( temporalStore.summaryOf( relStore ) ).thenReturn( relSummary );
+        when( temporalStore.retentionCutoffsOf( nodeStore ) ).thenReturn( cutoffs( "node" ) );
+        when( temporalStore.retentionCutoffsOf( relStore ) ).thenReturn( cutoffs( "relationship" ) );
+        Statement statement = mock( Statement.class );
+        when( kernel.newTransaction() ).thenReturn( transaction );
+        when( transaction.acquireStatement() ).thenReturn( statement );
+        when( statement.readOperations() ).thenReturn( read );
+        when( statement.dataWriteOperations() ).thenReturn( write );
+        when( tokens.getIdByName( "speed" ) ).thenReturn( PROPERTY );
+        when( tokens.getIdByName( "unused" ) ).thenReturn( TokenHolder.NO_ID );
+        doAnswer( new Answer<Void>()
+        {
+            @Override
+            public Void answer( InvocationOnMock invocation ) throws Throwable
+            {
+                long entityId = (Long) invocation.getArguments()[1];
+                TimePointL from = (TimePointL) invocation.getArguments()[3];
+                TimeRangeQuery callBack = (TimeRangeQuery) invocation.getArguments()[5];
+                if ( entityId == ENTITY_WITH_OLD_VALUES && from.compareTo( new TimePoint( 10 ) ) <= 0 )
+                {
+                    InternalEntry entry = mock( InternalEntry.class );
+                    when( entry.getKey() ).thenReturn(
+                            new InternalKey( PROPERTY, entityId, new TimePoint( 10 ), ValueType.VALUE ) );
+                    when( entry.getValue() ).thenReturn( new Slice( 4 ) );
+                    callBack.onNewEntry( entry );
+                }
+                return null;
+            }
+        } ).when( temporalStore ).getRange( any( TemporalPropertyStore.class ), anyLong(), anyInt(),
+                any( TimePointL.class ), any( TimePointL.class ), any( TimeRangeQuery.class ), any( MemTable.class ) );
+    }
+
+    @Test
+    public void shouldRemoveValuesUpToCutoffOfEntitiesHavingThemInATransaction() throws Exception
+    {
+        // GIVEN
+        TemporalRetention retention = retention( stringMap( temporal_retention.name(), "100" ) );
+        summaryWithValues( 1000 );
+
+        // WHEN
+        retention.expire();
+
+        // THEN
+        ArgumentCaptor<TemporalPropertyWriteOperation> removed =
+                ArgumentCaptor.forClass( TemporalPropertyWriteOperation.class );
+        verify( write, times( 1 ) ).nodeSetTemporalProperty( removed.capture() );
+        assertEquals( ENTITY_WITH_OLD_VALUES, removed.getValue().getEntityId() );
+        assertEquals( PROPERTY, removed.getValue().getProId() );
+        assertEquals( 900, removed.getValue().getEnd().val() );
+        assertNull( removed.getValue().getValue() );
+        verify( transaction ).success();
+        verify( transaction ).close();
+        assertEquals( 1, retention.expiredEntities() );
+        assertEquals( TemporalPropertyStoreAdapter.MEMTABLE_ENTRY_OVERHEAD + 4, retention.expiredValueBytes() );
+        verify( monitor ).expired( PROPERTY, 1, TemporalPropertyStoreAdapter.MEMTABLE_ENTRY_OVERHEAD + 4 );
+    }
+
+    @Test
+    public void shouldOnlyLookAtEntitiesOfTheSummary() throws Exception
+    {
+        // GIVEN
+        TemporalRetention retention = retention( stringMap( temporal_retention.name(), "100" ) );
+        summaryWithValues( 1000 );
+
+        // WHEN
+        retention.expire();
+
+        // THEN
+        verify( temporalStore, times( 2 ) ).getRange( eq( nodeStore ), anyLong(), eq( PROPERTY ),
+                any( TimePointL.class ), any( TimePointL.class ), any( TimeRangeQuery.class ), any( MemTable.class ) );
+        verify( temporalStore, never() ).getRange( eq( nodeStore ), eq( 0L ), anyInt(),
+                any( TimePointL.class ), any( TimePointL.class ), any( TimeRangeQuery.class ), any( MemTable.class ) );
+    }
+
+    @Test
+    public void shouldOnlyLookAtValuesSincePreviousCutoff() throws Exception
+    {
+        // GIVEN
+        TemporalRetention retention = retention( stringMap( temporal_retention.name(), "100" ) );
+        summaryWithValues( 1000 );
+        retention.expire();
+        reset( monitor );
+
+        // WHEN
+        retention.expire();
+
+        // THEN nothing new has been written, so the cutoff has not moved
+        verify( monitor, never() ).expired( anyInt(), anyLong(), anyLong() );
+
+        // WHEN
+        summary.written( new InternalKey( PROPERTY, ENTITY_WITH_NEW_VALUES, new TimePoint( 1050 ), ValueType.VALUE ),
+                TimePoint.NOW );
+        retention.expire();
+
+        // THEN
+        ArgumentCaptor<TimePointL> from = ArgumentCaptor.forClass( TimePointL.class );
+        verify( temporalStore, times( 2 ) ).getRange( eq( nodeStore ), eq( ENTITY_WITH_OLD_VALUES ), eq( PROPERTY ),
+                from.capture(), any( TimePointL.class ), any( TimeRangeQuery.class ), any( MemTable.class ) );
+        assertEquals( 901, from.getValue().val() );
+    }
+
+    @Test
+    public void shouldNotSkipValuesOfOtherEntitiesBecauseOfRemovalsOfUsers() throws Exception
+    {
+        // GIVEN a user has removed the old values of one entity
+        summaryWithValues( 1050 );
+        summary.written( new InternalKey( PROPERTY, ENTITY_WITH_NEW_VALUES, TimePoint.INIT, ValueType.INVALID ),
+                new TimePoint( 900 ) );
+        TemporalRetention retention = retention( stringMap( temporal_retention.name(), "100" ) );
+
+        // WHEN
+        retention.expire();
+
+        // THEN the old values of the other entity are still found
+        ArgumentCaptor<TemporalPropertyWriteOperation> removed =
+                ArgumentCaptor.forClass( TemporalPropertyWriteOperation.class );
+        verify( write, times( 1 ) ).nodeSetTemporalProperty( removed.capture() );
+        assertEquals( ENTITY_WITH_OLD_VALUES, removed.getValue().getEntityId() );
+        assertEquals( 950, removed.getValue().getEnd().val() );
+    }
+
+    @Test
+    public void shouldContinueFromCutoffOfPreviousSweepAfterRestart() throws Exception
+    {
+        // GIVEN
+        summaryWithValues( 1000 );
+        retention( stringMap( temporal_retention.name(), "100" ) ).expire();
+        when( temporalStore.retentionCutoffsOf( nodeStore ) ).thenReturn( cutoffs( "node" ) );
+        summary.written( new InternalKey( PROPERTY, ENTITY_WITH_NEW_VALUES, new TimePoint( 1050 ), ValueType.VALUE ),
+                TimePoint.NOW );
+        TemporalRetention restarted = retention( stringMap( temporal_retention.name(), "100" ) );
+
+        // WHEN
+        restarted.expire();
+
+        // THEN
+        ArgumentCaptor<TimePointL> from = ArgumentCaptor.forClass( TimePointL.class );
+        verify( temporalStore, times( 4 ) ).getRange( eq( nodeStore ), anyLong(), eq( PROPERTY ),
+                from.capture(), any( TimePointL.class ), any( TimeRangeQuery.class ), any( MemTable.class ) );
+        assertEquals( 901, from.getValue().val() );
+        // only the sweep before the restart found values
+        verify( write, times( 1 ) ).nodeSetTemporalProperty( any( TemporalPropertyWriteOperation.class ) );
+    }
+
+    @Test
+    public void shouldPreferRetentionOfPropertyKey() throws Exception
+    {
+        // GIVEN
+        TemporalRetention retention = retention( stringMap( temporal_retention.name(), "100",
+                temporal_retention_per_key.name(), "speed=0, unused=5" ) );
+        summaryWithValues( 1000 );
+
+        // WHEN
+        retention.expire();
+
+        // THEN
+        verifyZeroInteractions( kernel );
+    }
+
+    @Test
+    public void shouldRebuildMissingSummaryFromStaticProperties() throws Exception
+    {
+        // GIVEN a store written by an offline tool
+        TemporalRetention retention = retention( stringMap( temporal_retention.name(), "100" ) );
+        when( read.nodesGetAll() ).thenReturn( iterator( ENTITY_WITH_OLD_VALUES, ENTITY_WITH_NEW_VALUES ) );
+        when( read.nodeGetPropertyKeys( ENTITY_WITH_OLD_VALUES ) ).thenReturn( iterator( PROPERTY ) );
+        when( read.nodeGetProperty( ENTITY_WITH_OLD_VALUES, PROPERTY ) ).thenReturn(
+                buildTemporalPropertyMeta( ValueContentType.INT ) );
+        when( read.nodeGetPropertyKeys( ENTITY_WITH_NEW_VALUES ) ).thenReturn( iterator( PROPERTY + 1 ) );
+        when( read.nodeGetProperty( ENTITY_WITH_NEW_VALUES, PROPERTY + 1 ) ).thenReturn( "static" );
+
+        // WHEN
+        retention.expire();
+
+        // THEN
+        assertTrue( summary.isComplete() );
+        assertArrayEquals( new long[]{ENTITY_WITH_OLD_VALUES}, summary.entities( PROPERTY ) );
+        assertArrayEquals( new long[0], summary.entities( PROPERTY + 1 ) );
+        assertEquals( 10, summary.latestTimes().get( PROPERTY ) );
+    }
+
+    private void summaryWithValues( long latest )
+    {
+        summary.rebuilt();
+        summary.written( new InternalKey( PROPERTY, ENTITY_WITH_OLD_VALUES, new TimePoint( 10 ), ValueType.VALUE ),
+                new TimePoint( 20 ) );
+        summary.written( new InternalKey( PROPERTY, ENTITY_WITH_NEW_VALUES, new TimePoint( latest ), ValueType.VALUE ),
+                TimePoint.NOW );
+    }
+
+    private TemporalRetentionCutoffs cutoffs( String store ) throws IOException
+    {
+        TemporalRetentionCutoffs cutoffs = new TemporalRetentionCutoffs( testDirectory.directory( store ) );
+        cutoffs.load();
+        return cutoffs;
+    }
+
+    private TemporalRetention retention( Map<String,String> settings )
+    {
+        return new TemporalRetention( temporalStore, kernel, tokens, new Config( settings ),
+                mock( JobScheduler.class ), monitor, NullLogProvider.getInstance() );
+    }
+}
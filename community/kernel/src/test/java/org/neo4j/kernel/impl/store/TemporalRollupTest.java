@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.impl.InternalEntry;
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.MemTable;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.meta.ValueContentType;
+import org.act.temporalProperty.query.TimeIntervalKey;
+import org.act.temporalProperty.query.TimePointL;
+import org.act.temporalProperty.query.range.TimeRangeQuery;
+import org.act.temporalProperty.util.Slice;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.temporal.TemporalRangeQuery;
+import org.neo4j.temporal.TimePoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TemporalRollupTest
+{
+    private static final int PROPERTY = 1;
+    private static final long ENTITY = 5;
+    private static final int SERIES = 3;
+
+    private final TemporalPropertyStoreAdapter adapter = mock( TemporalPropertyStoreAdapter.class );
+    private final TemporalPropertyStore store = mock( TemporalPropertyStore.class );
+    private final NavigableMap<Long,Integer> values = new TreeMap<>();
+    private final TemporalPropertyStore series = mock( TemporalPropertyStore.class );
+    // buckets in the series store by start time
+    private final NavigableMap<Long,byte[]> buckets = new TreeMap<>();
+    private final AtomicLong seriesWrites = new AtomicLong();
+    private final TemporalRollup rollup = new TemporalRollup( SERIES, PROPERTY, 10,
+            EnumSet.of( TemporalRollup.Aggregate.SUM, TemporalRollup.Aggregate.AVG ), series, seriesWrites );
+
+    @Before
+    public void setUp()
+    {
+        // [0, 14] = 2, [15, ...] = 4
+        values.put( 0L, 2 );
+        values.put( 15L, 4 );
+        when( adapter.getPropertyType( store, PROPERTY ) ).thenReturn( ValueContentType.INT );
+        when( adapter.getPoint( eq( store ), eq( ENTITY ), eq( PROPERTY ), any( TimePointL.class ) ) ).thenAnswer(
+                new Answer<Slice>()
+                {
+                    @Override
+                    public Slice answer( InvocationOnMock invocation ) throws Throwable
+                    {
+                        long time = ((TimePointL) invocation.getArguments()[3]).val();
+                        Map.Entry<Long,Integer> valid = values.floorEntry( time );
+                        return valid == null ? null : slice( valid.getValue() );
+                    }
+                } );
+        doAnswer( new Answer<Void>()
+        {
+            @Override
+            public Void answer( InvocationOnMock invocation ) throws Throwable
+            {
+                long start = ((TimePointL) invocation.getArguments()[3]).val();
+                long end = ((TimePointL) invocation.getArguments()[4]).val();
+                TemporalRangeQuery callBack = (TemporalRangeQuery) invocation.getArguments()[5];
+                for ( Map.Entry<Long,Integer> entry : values.subMap( start, true, end, true ).entrySet() )
+                {
+                    callBack.onNewEntry( ENTITY, PROPERTY, new TimePoint( entry.getKey() ), entry.getValue() );
+                }
+                return null;
+            }
+        } ).when( adapter ).getRange( eq( store ), eq( ENTITY ), eq( PROPERTY ), any( TimePointL.class ),
+                any( TimePointL.class ), any( TimeRangeQuery.class ), any( MemTable.class ) );
+        doAnswer( new Answer<Void>()
+        {
+            @Override
+            public Void answer( InvocationOnMock invocation ) throws Throwable
+            {
+                TimeIntervalKey key = (TimeIntervalKey) invocation.getArguments()[0];
+                Slice value = (Slice) invocation.getArguments()[1];
+                buckets.put( key.getStartKey().getStartTime().val(), value.getBytes() );
+                return null;
+            }
+        } ).when( series ).setProperty( any( TimeIntervalKey.class ), any( Slice.class ) );
+        doAnswer( new Answer<Object>()
+        {
+            @Override
+            public Object answer( InvocationOnMock invocation ) throws Throwable
+            {
+                long start = ((TimePointL) invocation.getArguments()[2]).val();
+                long end = ((TimePointL) invocation.getArguments()[3]).val();
+                TimeRangeQuery callBack = (TimeRangeQuery) invocation.getArguments()[4];
+                for ( Map.Entry<Long,byte[]> bucket : buckets.subMap( start, true, end, true ).entrySet() )
+                {
+                    InternalEntry entry = mock( InternalEntry.class );
+                    when( entry.getKey() ).thenReturn( new InternalKey( SERIES, ENTITY, new TimePoint( bucket.getKey() ),
+                            ValueType.fromValueContentType( ValueContentType.STRING ) ) );
+                    when( entry.getValue() ).thenReturn( new Slice( bucket.getValue() ) );
+                    callBack.onNewEntry( entry );
+                }
+                return null;
+            }
+        } ).when( series ).getRangeValue( eq( ENTITY ), eq( SERIES ), any( TimePointL.class ), any( TimePointL.class ),
+                any( TimeRangeQuery.class ), any( MemTable.class ) );
+    }
+
+    @Test
+    public void shouldAggregateWholeBucketsInsideWindow() throws Exception
+    {
+        // WHEN
+        TemporalRollup.Result result = rollup.aggregate( adapter, store, ENTITY, 5, 34, 39 );
+
+        // THEN buckets [10, 19] and [20, 29]
+        assertEquals( 10, result.start() );
+        assertEquals( 29, result.end() );
+        assertEquals( 70L, result.aggregate().sum() );
+        assertEquals( 20, result.aggregate().count() );
+        assertEquals( 2, result.aggregate().min().intValue() );
+        assertEquals( 4, result.aggregate().max().intValue() );
+    }
+
+    @Test
+    public void shouldNotUseBucketsWhichAreStillBeingFilled() throws Exception
+    {
+        // WHEN
+        TemporalRollup.Result result = rollup.aggregate( adapter, store, ENTITY, 0, 34, 24 );
+
+        // THEN only [0, 9] and [10, 19] are complete
+        assertEquals( 19, result.end() );
+        assertEquals( 50L, result.aggregate().sum() );
+        assertNull( rollup.aggregate( adapter, store, ENTITY, 21, 34, 24 ) );
+    }
+
+    @Test
+    public void shouldComputeBucketsOnceAndRefreshThemOnWrite() throws Exception
+    {
+        // GIVEN
+        rollup.aggregate( adapter, store, ENTITY, 0, 29, 39 );
+        rollup.aggregate( adapter, store, ENTITY, 10, 29, 39 );
+        verify( adapter, times( 1 ) ).getRange( eq( store ), anyLong(), anyInt(), any( TimePointL.class ),
+                any( TimePointL.class ), any( TimeRangeQuery.class ), any( MemTable.class ) );
+
+        // WHEN
+        values.put( 25L, 6 );
+        rollup.refresh( adapter, store, ENTITY, 25, 29 );
+        TemporalRollup.Result result = rollup.aggregate( adapter, store, ENTITY, 20, 29, 39 );
+
+        // THEN [20, 24] = 4, [25, 29] = 6
+        assertEquals( 50L, result.aggregate().sum() );
+        assertEquals( 5.0, result.aggregate().avg(), 0.0 );
+        verify( adapter, times( 2 ) ).getRange( eq( store ), anyLong(), anyInt(), any( TimePointL.class ),
+                any( TimePointL.class ), any( TimeRangeQuery.class ), any( MemTable.class ) );
+    }
+
+    @Test
+    public void shouldNotComputeBucketsOnWriteWhichNoQueryHasNeeded() throws Exception
+    {
+        // WHEN
+        rollup.refresh( adapter, store, ENTITY, 0, 100 );
+
+        // THEN
+        verify( adapter, never() ).getRange( eq( store ), anyLong(), anyInt(), any( TimePointL.class ),
+                any( TimePointL.class ), any( TimeRangeQuery.class ), any( MemTable.class ) );
+    }
+
+    @Test
+    public void shouldKeepComputedBucketsInSeriesStore() throws Exception
+    {
+        // GIVEN
+        rollup.aggregate( adapter, store, ENTITY, 0, 29, 39 );
+
+        // WHEN the rollup is loaded again, like after a restart
+        TemporalRollup restarted = new TemporalRollup( SERIES, PROPERTY, 10,
+                EnumSet.of( TemporalRollup.Aggregate.SUM ), series, new AtomicLong() );
+        TemporalRollup.Result result = restarted.aggregate( adapter, store, ENTITY, 0, 29, 39 );
+
+        // THEN
+        assertEquals( 3, buckets.size() );
+        assertEquals( 3, seriesWrites.get() );
+        assertEquals( 90L, result.aggregate().sum() );
+        assertEquals( 2L, result.aggregate().min() );
+        verify( adapter, times( 1 ) ).getRange( eq( store ), anyLong(), anyInt(), any( TimePointL.class ),
+                any( TimePointL.class ), any( TimeRangeQuery.class ), any( MemTable.class ) );
+    }
+
+    @Test
+    public void shouldRefreshBucketsKeptInSeriesStore() throws Exception
+    {
+        // GIVEN
+        rollup.aggregate( adapter, store, ENTITY, 0, 29, 39 );
+
+        // WHEN
+        values.put( 5L, 0 );
+        rollup.refresh( adapter, store, ENTITY, 5, 14 );
+
+        // THEN [0, 4] = 2, [5, 14] = 0, [15, 29] = 4
+        TemporalRollup.Result result = rollup.aggregate( adapter, store, ENTITY, 0, 29, 39 );
+        assertEquals( 70L, result.aggregate().sum() );
+        assertEquals( 0L, result.aggregate().min() );
+    }
+
+    private static Slice slice( int value )
+    {
+        Slice slice = new Slice( 4 );
+        slice.setInt( 0, value );
+        return slice;
+    }
+}
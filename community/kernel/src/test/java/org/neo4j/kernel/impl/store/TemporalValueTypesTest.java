@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.meta.ValueContentType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TemporalValueTypesTest
+{
+    @Test
+    public void shouldUseContentTypeIdsForValueTypes()
+    {
+        for ( ValueContentType contentType : new ValueContentType[]{ValueContentType.INT, ValueContentType.STRING} )
+        {
+            ValueType valueType = ValueType.fromValueContentType( contentType );
+
+            assertEquals( contentType.getId(), TemporalValueTypes.idOf( valueType ) );
+            assertEquals( valueType, TemporalValueTypes.valueTypeOf( contentType.getId() ) );
+        }
+    }
+
+    @Test
+    public void shouldHaveReservedIdForRemovedRanges()
+    {
+        assertEquals( TemporalValueTypes.INVALID_ID, TemporalValueTypes.idOf( ValueType.INVALID ) );
+        assertEquals( ValueType.INVALID, TemporalValueTypes.valueTypeOf( TemporalValueTypes.INVALID_ID ) );
+    }
+}
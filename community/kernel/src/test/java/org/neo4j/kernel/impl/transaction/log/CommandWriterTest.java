@@ -19,6 +19,13 @@
  */
 package org.neo4j.kernel.impl.transaction.log;
 
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.meta.ValueContentType;
+import org.act.temporalProperty.query.TimeIntervalKey;
+import org.act.temporalProperty.query.TimePointL;
+import org.act.temporalProperty.util.Slice;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -26,8 +33,10 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.neo4j.kernel.impl.index.IndexDefineCommand;
+import org.neo4j.kernel.impl.transaction.command.Command.TemporalPropertyBatchCommand;
 import org.neo4j.kernel.impl.transaction.command.CommandReader;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryVersion;
+import org.neo4j.temporal.TimePoint;
 
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertFalse;
@@ -79,6 +88,106 @@ public class CommandWriterTest
         }
     }
 
+    @Test
+    public void shouldWriteAndReadTemporalPropertyBatchCommand() throws IOException
+    {
+        // GIVEN
+        InMemoryLogChannel channel = new InMemoryLogChannel( 10_000 );
+        CommandWriter commandWriter = new CommandWriter( channel );
+        TemporalPropertyBatchCommand command = new TemporalPropertyBatchCommand().init( false, 7, 3 );
+        command.add( entry( 7, 3, TimePoint.INIT, new TimePoint( 9 ), 1 ) );
+        command.add( entry( 7, 3, new TimePoint( 10 ), new TimePoint( 19 ), 2 ) );
+        command.add( entry( 7, 3, new TimePoint( 15 ), new TimePoint( 1_000_000 ), 3 ) );
+        command.add( entry( 7, 3, new TimePoint( 1_000_001 ), TimePoint.NOW, 4 ) );
+
+        // WHEN
+        commandWriter.visitTemporalPropertyBatchCommand( command );
+
+        // THEN
+        CommandReader commandReader = LogEntryVersion.CURRENT.newCommandReader();
+        TemporalPropertyBatchCommand read = (TemporalPropertyBatchCommand) commandReader.read( channel );
+        assertFalse( read.isNode() );
+        assertEquals( 7, read.getEntityId() );
+        assertEquals( 3, read.getPropertyId() );
+        assertEquals( command.getEntries().size(), read.getEntries().size() );
+        for ( int i = 0; i < command.getEntries().size(); i++ )
+        {
+            TimeIntervalValueEntry expected = command.getEntries().get( i );
+            TimeIntervalValueEntry actual = read.getEntries().get( i );
+            assertEquals( expected.getKey().getStartKey().getEntityId(), actual.getKey().getStartKey().getEntityId() );
+            assertEquals( expected.getKey().getStartKey().getPropertyId(), actual.getKey().getStartKey().getPropertyId() );
+            assertEquals( expected.getKey().getStartKey().getValueType(), actual.getKey().getStartKey().getValueType() );
+            assertSameTime( expected.getKey().getStartKey().getStartTime(), actual.getKey().getStartKey().getStartTime() );
+            assertSameTime( expected.getKey().end(), actual.getKey().end() );
+            assertEquals( expected.getValue(), actual.getValue() );
+        }
+    }
+
+    @Test
+    public void shouldWriteStableIdsOfTemporalValueTypes() throws IOException
+    {
+        // GIVEN
+        InMemoryLogChannel channel = new InMemoryLogChannel( 10_000 );
+        CommandWriter commandWriter = new CommandWriter( channel );
+        TemporalPropertyBatchCommand command = new TemporalPropertyBatchCommand().init( true, 7, 3 );
+        command.add( entry( 7, 3, new TimePoint( 10 ), new TimePoint( 19 ), 2 ) );
+
+        // WHEN
+        commandWriter.visitTemporalPropertyBatchCommand( command );
+
+        // THEN
+        channel.get(); // command type
+        channel.get(); // node
+        channel.getLong();
+        channel.getInt();
+        channel.getInt();
+        channel.get(); // flags
+        assertEquals( ValueContentType.INT.getId(), channel.get() );
+    }
+
+    @Test
+    public void shouldWriteAndReadRemovedRangeInTemporalPropertyBatchCommand() throws IOException
+    {
+        // GIVEN
+        InMemoryLogChannel channel = new InMemoryLogChannel( 10_000 );
+        CommandWriter commandWriter = new CommandWriter( channel );
+        TemporalPropertyBatchCommand command = new TemporalPropertyBatchCommand().init( true, 7, 3 );
+        command.add( new TimeIntervalValueEntry( new TimeIntervalKey(
+                new InternalKey( 3, 7, TimePoint.INIT, ValueType.INVALID ), TimePoint.NOW ), new Slice( 0 ) ) );
+
+        // WHEN
+        commandWriter.visitTemporalPropertyBatchCommand( command );
+
+        // THEN
+        CommandReader commandReader = LogEntryVersion.CURRENT.newCommandReader();
+        TemporalPropertyBatchCommand read = (TemporalPropertyBatchCommand) commandReader.read( channel );
+        assertEquals( 1, read.getEntries().size() );
+        InternalKey startKey = read.getEntries().get( 0 ).getKey().getStartKey();
+        assertEquals( ValueType.INVALID, startKey.getValueType() );
+        assertSameTime( TimePoint.INIT, startKey.getStartTime() );
+        assertSameTime( TimePoint.NOW, read.getEntries().get( 0 ).getKey().end() );
+        assertEquals( 0, read.getEntries().get( 0 ).getValue().length() );
+    }
+
+    private static TimeIntervalValueEntry entry( long entityId, int propertyId, TimePointL start, TimePointL end, int value )
+    {
+        Slice slice = new Slice( 4 );
+        slice.setInt( 0, value );
+        InternalKey startKey = new InternalKey( propertyId, entityId, start,
+                ValueType.fromValueContentType( ValueContentType.INT ) );
+        return new TimeIntervalValueEntry( new TimeIntervalKey( startKey, end ), slice );
+    }
+
+    private static void assertSameTime( TimePointL expected, TimePointL actual )
+    {
+        assertEquals( expected.isInit(), actual.isInit() );
+        assertEquals( expected.isNow(), actual.isNow() );
+        if ( !expected.isInit() && !expected.isNow() )
+        {
+            assertEquals( expected.val(), actual.val() );
+        }
+    }
+
     private IndexDefineCommand initIndexDefineCommand( int nbrOfEntries )
     {
         IndexDefineCommand command = new IndexDefineCommand();
@@ -34,6 +34,7 @@ import org.neo4j.graphdb.index.IndexImplementation;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
 import org.neo4j.kernel.impl.api.LegacyIndexProviderLookup;
 import org.neo4j.kernel.impl.api.index.IndexingService;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
 import org.neo4j.kernel.impl.transaction.log.PhysicalLogFile;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -53,6 +54,7 @@ public class NeoStoreFileListingTest
     private IndexingService indexingService;
     private File storeDir;
     private LegacyIndexProviderLookup legacyIndexes;
+    private TemporalPropertyStoreAdapter temporalPropertyStore;
 
     private final static String[] STANDARD_STORE_DIR_FILES = new String[]{
             "lock",
@@ -102,6 +104,8 @@ public class NeoStoreFileListingTest
         indexingService = mock( IndexingService.class );
         legacyIndexes = mock( LegacyIndexProviderLookup.class );
         when( legacyIndexes.all() ).thenReturn( Collections.<IndexImplementation>emptyList() );
+        temporalPropertyStore = mock( TemporalPropertyStoreAdapter.class );
+        temporalFilesAre( new String[]{} );
         storeDir = mock( File.class );
     }
 
@@ -262,9 +266,32 @@ public class NeoStoreFileListingTest
         verify( indexSnapshot ).close();
     }
 
+    @Test
+    public void shouldListTemporalPropertyFilesAndCloseTheirSnapshot() throws Exception
+    {
+        // Given
+        filesInStoreDirAre( STANDARD_STORE_DIR_FILES, STANDARD_STORE_DIR_DIRECTORIES );
+        scanStoreFilesAre( new String[]{} );
+        indexFilesAre( new String[]{} );
+        ResourceIterator<File> temporalSnapshot = temporalFilesAre( new String[]{
+                "temporal.node.properties/0.dat", "temporal.relationship.properties/meta.info"} );
+        NeoStoreFileListing fileListing = newFileListing();
+
+        // When
+        ResourceIterator<File> result = fileListing.listStoreFiles( false );
+        Set<String> pathSet = asSetOfPaths( result );
+        result.close();
+
+        // Then
+        assertThat( pathSet.contains( "temporal.node.properties/0.dat" ), equalTo( true ) );
+        assertThat( pathSet.contains( "temporal.relationship.properties/meta.info" ), equalTo( true ) );
+        verify( temporalSnapshot ).close();
+    }
+
     private NeoStoreFileListing newFileListing()
     {
-        return new NeoStoreFileListing( storeDir, labelScanStore, indexingService, legacyIndexes );
+        return new NeoStoreFileListing( storeDir, labelScanStore, indexingService, legacyIndexes,
+                temporalPropertyStore );
     }
 
     private Set<String> asSetOfPaths( ResourceIterator<File> result )
@@ -303,6 +330,15 @@ public class NeoStoreFileListingTest
         return snapshot;
     }
 
+    private ResourceIterator<File> temporalFilesAre( String[] fileNames ) throws IOException
+    {
+        ArrayList<File> files = new ArrayList<>();
+        mockFiles( fileNames, files, false );
+        ResourceIterator<File> snapshot = spy( asResourceIterator( files.iterator() ) );
+        when( temporalPropertyStore.snapshotStoreFiles() ).thenReturn( snapshot );
+        return snapshot;
+    }
+
     private void mockFiles( String[] filenames, ArrayList<File> files, boolean isDirectories )
     {
         for ( String filename : filenames )
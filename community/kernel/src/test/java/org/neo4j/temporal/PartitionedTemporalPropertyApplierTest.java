@@ -0,0 +1,192 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.query.TimeIntervalKey;
+import org.act.temporalProperty.util.Slice;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PartitionedTemporalPropertyApplierTest
+{
+    private final TemporalPropertyStoreAdapter store = mock( TemporalPropertyStoreAdapter.class );
+    private final TemporalPropertyStore target = mock( TemporalPropertyStore.class );
+
+    @Test
+    public void shouldApplyWritesOfSameEntityInOrder() throws Exception
+    {
+        // GIVEN
+        final Map<Long,List<Long>> applied = Collections.synchronizedMap( new HashMap<Long,List<Long>>() );
+        doAnswer( new Answer<Void>()
+        {
+            @Override
+            public Void answer( InvocationOnMock invocation ) throws Throwable
+            {
+                @SuppressWarnings( "unchecked" )
+                List<TimeIntervalValueEntry> entries = (List<TimeIntervalValueEntry>) invocation.getArguments()[1];
+                for ( TimeIntervalValueEntry entry : entries )
+                {
+                    InternalKey key = entry.getKey().getStartKey();
+                    List<Long> times;
+                    synchronized ( applied )
+                    {
+                        times = applied.get( key.getEntityId() );
+                        if ( times == null )
+                        {
+                            applied.put( key.getEntityId(), times = new ArrayList<>() );
+                        }
+                    }
+                    times.add( key.getStartTime().val() );
+                }
+                return null;
+            }
+        } ).when( store ).setValues( any( TemporalPropertyStore.class ), anyListOf( TimeIntervalValueEntry.class ) );
+        PartitionedTemporalPropertyApplier applier = new PartitionedTemporalPropertyApplier( store, 4 );
+
+        // WHEN
+        for ( int time = 0; time < 1000; time++ )
+        {
+            for ( long entityId = 0; entityId < 10; entityId++ )
+            {
+                applier.apply( target, entry( entityId, time ) );
+            }
+        }
+        applier.awaitApplied();
+
+        // THEN
+        assertEquals( 10, applied.size() );
+        for ( List<Long> times : applied.values() )
+        {
+            assertEquals( 1000, times.size() );
+            for ( int i = 0; i < times.size(); i++ )
+            {
+                assertEquals( i, times.get( i ).longValue() );
+            }
+        }
+    }
+
+    @Test
+    public void shouldFailBatchIfAnyWriteFailed() throws Exception
+    {
+        // GIVEN
+        RuntimeException cause = new RuntimeException( "disk full" );
+        doThrow( cause ).when( store )
+                .setValues( any( TemporalPropertyStore.class ), anyListOf( TimeIntervalValueEntry.class ) );
+        PartitionedTemporalPropertyApplier applier = new PartitionedTemporalPropertyApplier( store, 2 );
+        applier.apply( target, entry( 1, 0 ) );
+
+        // WHEN
+        try
+        {
+            applier.awaitApplied();
+            fail( "Should have failed" );
+        }
+        catch ( IOException e )
+        {
+            // THEN
+            assertSame( cause, e.getCause() );
+        }
+    }
+
+    @Test
+    public void shouldKeepWorkersWhileWaitingForWritesWithinBatch() throws Exception
+    {
+        // GIVEN
+        final List<Thread> writers = Collections.synchronizedList( new ArrayList<Thread>() );
+        doAnswer( new Answer<Void>()
+        {
+            @Override
+            public Void answer( InvocationOnMock invocation ) throws Throwable
+            {
+                writers.add( Thread.currentThread() );
+                return null;
+            }
+        } ).when( store ).setValues( any( TemporalPropertyStore.class ), anyListOf( TimeIntervalValueEntry.class ) );
+        PartitionedTemporalPropertyApplier applier = new PartitionedTemporalPropertyApplier( store, 2 );
+
+        // WHEN
+        applier.apply( target, entry( 0, 0 ) );
+        applier.awaitWritten();
+        Thread first = writers.get( 0 );
+        applier.apply( target, entry( 0, 1 ) );
+        applier.awaitWritten();
+
+        // THEN
+        assertEquals( 2, writers.size() );
+        assertSame( first, writers.get( 1 ) );
+        assertTrue( first.isAlive() );
+        applier.awaitApplied();
+        assertFalse( first.isAlive() );
+    }
+
+    @Test
+    public void shouldRefreshRollupsOnceAtEndOfBatch() throws Exception
+    {
+        // GIVEN
+        when( store.hasRollups( target ) ).thenReturn( true );
+        PartitionedTemporalPropertyApplier applier = new PartitionedTemporalPropertyApplier( store, 2 );
+
+        // WHEN
+        applier.apply( target, entry( 1, 20 ) );
+        applier.apply( target, entry( 1, 10 ) );
+        applier.apply( target, entry( 2, 5 ) );
+        applier.awaitWritten();
+
+        // THEN
+        verify( store, never() ).refreshRollups( any( TemporalPropertyStore.class ), anyLong(), anyInt(),
+                anyLong(), anyLong() );
+        applier.awaitApplied();
+        verify( store ).refreshRollups( target, 1, 1, 10, 20 );
+        verify( store ).refreshRollups( target, 2, 1, 5, 5 );
+        verify( store, times( 2 ) ).refreshRollups( any( TemporalPropertyStore.class ), anyLong(), anyInt(),
+                anyLong(), anyLong() );
+
+        // and nothing is left for the next batch
+        applier.awaitApplied();
+        verify( store, times( 2 ) ).refreshRollups( any( TemporalPropertyStore.class ), anyLong(), anyInt(),
+                anyLong(), anyLong() );
+    }
+
+    @Test
+    public void shouldNotUseSeparateThreadsForSinglePartition() throws Exception
+    {
+        assertNull( PartitionedTemporalPropertyApplier.forPartitions( store, 1 ) );
+    }
+
+    private static TimeIntervalValueEntry entry( long entityId, int time )
+    {
+        return new TimeIntervalValueEntry( new TimeIntervalKey(
+                new InternalKey( 1, entityId, new TimePoint( time ), ValueType.VALUE ), new TimePoint( time ) ),
+                new Slice( 4 ) );
+    }
+}
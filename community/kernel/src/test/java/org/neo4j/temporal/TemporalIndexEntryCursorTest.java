@@ -0,0 +1,112 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.index.value.rtree.IndexEntry;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TemporalIndexEntryCursorTest
+{
+    private final List<IndexEntry> stored = new ArrayList<>();
+    private final List<long[]> asked = new ArrayList<>();
+
+    private final TemporalIndexEntryCursor.Query query = new TemporalIndexEntryCursor.Query()
+    {
+        @Override
+        public Iterable<IndexEntry> entries( TimePoint start, TimePoint end )
+        {
+            asked.add( new long[]{start.val(), end.val()} );
+            List<IndexEntry> page = new ArrayList<>();
+            for ( IndexEntry entry : stored )
+            {
+                if ( entry.getStart().val() <= end.val() && entry.getEnd().val() >= start.val() )
+                {
+                    page.add( entry );
+                }
+            }
+            return page;
+        }
+    };
+
+    @Test
+    public void shouldAskForTheTimeRangeInPages() throws Exception
+    {
+        // GIVEN
+        entry( 1, 0, 9 );
+        entry( 2, 500, 510 );
+
+        // WHEN
+        List<Long> entities = entities( new TemporalIndexEntryCursor( query, new TimePoint( 0 ),
+                new TimePoint( 1599 ) ) );
+
+        // THEN
+        assertEquals( 2, entities.size() );
+        assertTrue( asked.size() > 1 );
+        assertEquals( 0, asked.get( 0 )[0] );
+        assertEquals( 1599, asked.get( asked.size() - 1 )[1] );
+        for ( int i = 1; i < asked.size(); i++ )
+        {
+            assertEquals( asked.get( i - 1 )[1] + 1, asked.get( i )[0] );
+        }
+    }
+
+    @Test
+    public void shouldReturnIntervalsReachingOverPagesOnce() throws Exception
+    {
+        // GIVEN intervals longer than a page, one starting before the query
+        entry( 1, -50, 1599 );
+        entry( 2, 90, 1000 );
+
+        // WHEN
+        List<Long> entities = entities( new TemporalIndexEntryCursor( query, new TimePoint( 0 ),
+                new TimePoint( 1599 ) ) );
+
+        // THEN
+        assertEquals( 2, entities.size() );
+        assertTrue( entities.contains( 1L ) );
+        assertTrue( entities.contains( 2L ) );
+    }
+
+    @Test
+    public void shouldAskForQueriesEndingNowInOnePage() throws Exception
+    {
+        // GIVEN
+        entry( 1, 0, 9 );
+
+        // WHEN
+        TemporalIndexEntryCursor cursor = new TemporalIndexEntryCursor( query, new TimePoint( 0 ), TimePoint.NOW );
+
+        // THEN
+        assertTrue( cursor.next() );
+        assertEquals( 1, cursor.entityId() );
+        assertFalse( cursor.next() );
+        assertEquals( 1, asked.size() );
+    }
+
+    private void entry( long entityId, long start, long end )
+    {
+        IndexEntry entry = mock( IndexEntry.class );
+        when( entry.getEntityId() ).thenReturn( entityId );
+        when( entry.getStart() ).thenReturn( new TimePoint( start ) );
+        when( entry.getEnd() ).thenReturn( new TimePoint( end ) );
+        stored.add( entry );
+    }
+
+    private static List<Long> entities( TemporalIndexCursor cursor )
+    {
+        List<Long> entities = new ArrayList<>();
+        while ( cursor.next() )
+        {
+            entities.add( cursor.entityId() );
+        }
+        cursor.close();
+        return entities;
+    }
+}
@@ -0,0 +1,168 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.query.TimeIntervalKey;
+import org.act.temporalProperty.util.Slice;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.neo4j.function.LongSupplier;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.store.TemporalMemTableBudget;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
+import org.neo4j.kernel.impl.transaction.command.Command;
+import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
+import org.neo4j.kernel.impl.util.Neo4jJobScheduler;
+import org.neo4j.test.TargetDirectory;
+
+/**
+ * Compares applying temporal commands one write at a time with applying each transaction as one sorted batch,
+ * with several threads committing transactions of many temporal points each, as the commit pipeline does.
+ * Takes a while, so it is not run as part of the normal build.
+ */
+public class TemporalPropertyApplyBenchmarkTest
+{
+    private static final int THREADS = 4;
+    private static final int TRANSACTIONS_PER_THREAD = 50;
+    private static final int POINTS_PER_TRANSACTION = 5000;
+    private static final int ENTITIES_PER_TRANSACTION = 50;
+    private static final int ROUNDS = 8;
+
+    @Rule
+    public final TargetDirectory.TestDirectory testDirectory = TargetDirectory.testDirForTest( getClass() );
+
+    @Ignore( "Benchmark, not part of the normal build" )
+    @Test
+    public void perWriteVersusBatchedApplication() throws Throwable
+    {
+        Neo4jJobScheduler scheduler = new Neo4jJobScheduler();
+        scheduler.init();
+        TemporalPropertyStoreAdapter store = new TemporalPropertyStoreAdapter( new Config(),
+                testDirectory.directory( "temporal" ), new TemporalMemTableBudget(), scheduler, new LongSupplier()
+        {
+            @Override
+            public long getAsLong()
+            {
+                return TransactionIdStore.BASE_TX_ID;
+            }
+        } );
+        store.init();
+        try
+        {
+            long perWrite = measure( store, false );
+            long batched = measure( store, true );
+            System.out.println( String.format( "%d threads committing %d temporal points per transaction: " +
+                    "per write = %d us/tx, batched = %d us/tx", THREADS, POINTS_PER_TRANSACTION, perWrite, batched ) );
+        }
+        finally
+        {
+            store.shutdown();
+            scheduler.shutdown();
+        }
+    }
+
+    private long measure( final TemporalPropertyStoreAdapter store, final boolean batched ) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+        try
+        {
+            long[] times = new long[ROUNDS];
+            for ( int round = 0; round < ROUNDS; round++ )
+            {
+                List<Future<Long>> threads = new ArrayList<>();
+                for ( int thread = 0; thread < THREADS; thread++ )
+                {
+                    final int firstEntity = (round * THREADS + thread) * ENTITIES_PER_TRANSACTION;
+                    threads.add( executor.submit( new Callable<Long>()
+                    {
+                        @Override
+                        public Long call() throws Exception
+                        {
+                            return applyTransactions( store, batched, firstEntity );
+                        }
+                    } ) );
+                }
+                long nanos = 0;
+                for ( Future<Long> thread : threads )
+                {
+                    nanos += thread.get();
+                }
+                times[round] = nanos / (THREADS * TRANSACTIONS_PER_THREAD) / 1000;
+            }
+            // skip warmup rounds, report the median
+            long[] measured = Arrays.copyOfRange( times, ROUNDS / 4, ROUNDS );
+            Arrays.sort( measured );
+            return measured[measured.length / 2];
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    private long applyTransactions( TemporalPropertyStoreAdapter store, boolean batched, int firstEntity )
+            throws Exception
+    {
+        long nanos = 0;
+        for ( int tx = 0; tx < TRANSACTIONS_PER_THREAD; tx++ )
+        {
+            List<Command.NodeTemporalPropertyCommand> commands = transaction( firstEntity, tx );
+            long start = System.nanoTime();
+            if ( batched )
+            {
+                TemporalPropertyStoreHandler handler = new TemporalPropertyStoreHandler( store, tx, false );
+                for ( Command.NodeTemporalPropertyCommand command : commands )
+                {
+                    handler.visitNodeTemporalPropertyCommand( command );
+                }
+                handler.apply();
+            }
+            else
+            {
+                TemporalPropertyStore target = store.nodeStore();
+                for ( Command.NodeTemporalPropertyCommand command : commands )
+                {
+                    store.setValue( target, command.getIntervalEntry().getKey(), command.getIntervalEntry().getValue() );
+                }
+            }
+            nanos += System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    /**
+     * Points of a transaction come in the order a client would set them: time after time, for every entity.
+     */
+    private List<Command.NodeTemporalPropertyCommand> transaction( int firstEntity, int tx )
+    {
+        List<Command.NodeTemporalPropertyCommand> commands = new ArrayList<>( POINTS_PER_TRANSACTION );
+        int pointsPerEntity = POINTS_PER_TRANSACTION / ENTITIES_PER_TRANSACTION;
+        for ( int i = 0; i < pointsPerEntity; i++ )
+        {
+            int time = tx * pointsPerEntity + i;
+            for ( int entity = 0; entity < ENTITIES_PER_TRANSACTION; entity++ )
+            {
+                Slice value = new Slice( 4 );
+                value.setInt( 0, time );
+                Command.NodeTemporalPropertyCommand command = new Command.NodeTemporalPropertyCommand();
+                command.init( new TimeIntervalValueEntry( new TimeIntervalKey(
+                        new InternalKey( 0, firstEntity + entity, new TimePoint( time ), ValueType.VALUE ),
+                        new TimePoint( time ) ), value ) );
+                commands.add( command );
+            }
+        }
+        return commands;
+    }
+}
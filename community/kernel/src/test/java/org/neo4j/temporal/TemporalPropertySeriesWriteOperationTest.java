@@ -0,0 +1,46 @@
+package org.neo4j.temporal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TemporalPropertySeriesWriteOperationTest
+{
+    @Test
+    public void shouldMakeEveryValueValidUntilTheNextTimePoint()
+    {
+        // WHEN
+        TemporalPropertySeriesWriteOperation op =
+                TemporalPropertySeriesWriteOperation.of( 1, 2, new long[]{0, 10, 15}, new double[]{0.5, 1.5, 2.5} );
+
+        // THEN
+        assertEquals( 3, op.size() );
+        assertEquals( 0, op.getStartKey( 0 ).getStartTime().val() );
+        assertEquals( 9, op.getEnd( 0 ).val() );
+        assertEquals( 10, op.getStartKey( 1 ).getStartTime().val() );
+        assertEquals( 14, op.getEnd( 1 ).val() );
+        assertEquals( 15, op.getStartKey( 2 ).getStartTime().val() );
+        assertTrue( op.getEnd( 2 ).isNow() );
+        assertEquals( 1, op.getStartKey( 2 ).getEntityId() );
+        assertEquals( 2, op.getStartKey( 2 ).getPropertyId() );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldRejectTimePointsOutOfOrder()
+    {
+        TemporalPropertySeriesWriteOperation.of( 1, 2, new long[]{0, 10, 10}, new int[]{1, 2, 3} );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldRejectMoreValuesThanTimePoints()
+    {
+        TemporalPropertySeriesWriteOperation.of( 1, 2, new long[]{0, 10}, new long[]{1, 2, 3} );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldRejectUnsupportedValueArrays()
+    {
+        TemporalPropertySeriesWriteOperation.of( 1, 2, new long[]{0}, new String[]{"a"} );
+    }
+}
@@ -0,0 +1,124 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.query.TimeIntervalKey;
+import org.act.temporalProperty.util.Slice;
+import org.act.temporalProperty.vo.TimeIntervalValueEntry;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
+import org.neo4j.kernel.impl.transaction.command.Command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TemporalPropertyStoreHandlerTest
+{
+    private final TemporalPropertyStoreAdapter store = mock( TemporalPropertyStoreAdapter.class );
+    private final TemporalPropertyStore nodeStore = mock( TemporalPropertyStore.class );
+    private final TemporalPropertyStore relStore = mock( TemporalPropertyStore.class );
+
+    {
+        when( store.nodeStore() ).thenReturn( nodeStore );
+        when( store.relStore() ).thenReturn( relStore );
+    }
+
+    @Test
+    public void shouldWriteTransactionAsOneBatchSortedByEntityAndProperty() throws Exception
+    {
+        // GIVEN
+        TemporalPropertyStoreHandler handler = new TemporalPropertyStoreHandler( store, 10, false );
+        TimeIntervalValueEntry laterWrite = entry( 2, 1, 0, 99 );
+        TimeIntervalValueEntry earlierWrite = entry( 2, 1, 50, 60 );
+        TimeIntervalValueEntry otherEntity = entry( 1, 3, 0, 9 );
+        TimeIntervalValueEntry otherProperty = entry( 2, 0, 0, 9 );
+
+        // WHEN
+        handler.visitNodeTemporalPropertyCommand( nodeCommand( laterWrite ) );
+        handler.visitNodeTemporalPropertyCommand( nodeCommand( earlierWrite ) );
+        handler.visitNodeTemporalPropertyCommand( nodeCommand( otherEntity ) );
+        handler.visitNodeTemporalPropertyCommand( nodeCommand( otherProperty ) );
+
+        // THEN
+        verify( store, never() ).setValues( any( TemporalPropertyStore.class ), anyListOf( TimeIntervalValueEntry.class ) );
+
+        // WHEN
+        List<TimeIntervalValueEntry> written = new ArrayList<>();
+        captureWrites( written );
+        handler.apply();
+
+        // THEN
+        assertEquals( 4, written.size() );
+        assertSame( otherEntity, written.get( 0 ) );
+        assertSame( otherProperty, written.get( 1 ) );
+        // overlapping writes of the same property keep the order they were made in
+        assertSame( laterWrite, written.get( 2 ) );
+        assertSame( earlierWrite, written.get( 3 ) );
+        verify( store, never() ).setValues( eq( relStore ), anyListOf( TimeIntervalValueEntry.class ) );
+    }
+
+    @Test
+    public void shouldWritePendingValuesBeforeCreatingIndex() throws Exception
+    {
+        // GIVEN
+        TemporalPropertyStoreHandler handler = new TemporalPropertyStoreHandler( store, 10, false );
+        handler.visitNodeTemporalPropertyCommand( nodeCommand( entry( 1, 1, 0, 9 ) ) );
+
+        // WHEN
+        handler.visitNodeTemporalPropertyIndexCommand( new Command.NodeTemporalPropertyIndexCommand()
+                .init( 1, new TimePoint( 0 ), new TimePoint( 9 ) ) );
+
+        // THEN
+        InOrder order = inOrder( store );
+        order.verify( store ).setValues( eq( nodeStore ), anyListOf( TimeIntervalValueEntry.class ) );
+        order.verify( store ).createAggrMinMaxIndex( eq( nodeStore ), anyInt(), any( TimePoint.class ),
+                any( TimePoint.class ) );
+    }
+
+    private void captureWrites( final List<TimeIntervalValueEntry> written )
+    {
+        // the handler reuses its lists, so copy what is written
+        doAnswer( new Answer<Void>()
+        {
+            @Override
+            @SuppressWarnings( "unchecked" )
+            public Void answer( InvocationOnMock invocation ) throws Throwable
+            {
+                written.addAll( (List<TimeIntervalValueEntry>) invocation.getArguments()[1] );
+                return null;
+            }
+        } ).when( store ).setValues( eq( nodeStore ), anyListOf( TimeIntervalValueEntry.class ) );
+    }
+
+    private static Command.NodeTemporalPropertyCommand nodeCommand( TimeIntervalValueEntry entry )
+    {
+        Command.NodeTemporalPropertyCommand command = new Command.NodeTemporalPropertyCommand();
+        command.init( entry );
+        return command;
+    }
+
+    private static TimeIntervalValueEntry entry( long entityId, int propertyId, int start, int end )
+    {
+        return new TimeIntervalValueEntry( new TimeIntervalKey(
+                new InternalKey( propertyId, entityId, new TimePoint( start ), ValueType.VALUE ), new TimePoint( end ) ),
+                new Slice( 4 ) );
+    }
+}
@@ -0,0 +1,182 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.impl.InternalEntry;
+import org.act.temporalProperty.impl.InternalKey;
+import org.act.temporalProperty.impl.ValueType;
+import org.act.temporalProperty.meta.ValueContentType;
+import org.act.temporalProperty.util.Slice;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.act.temporalProperty.util.TemporalPropertyValueConvertor.toSlice;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TemporalRangeCursorTest
+{
+    @Test
+    public void shouldReturnSeedAndEntriesAsIntervals()
+    {
+        // GIVEN
+        TemporalRangeCursor cursor = new TemporalRangeCursor();
+        cursor.init( 0, 99 );
+        cursor.seed( ValueContentType.INT, intSlice( 1 ) );
+        cursor.setValueType( "INT" );
+        cursor.onNewEntry( entry( 0, ValueType.VALUE, intSlice( 100 ) ) ); // same as seed, skipped
+        cursor.onNewEntry( entry( 10, ValueType.VALUE, intSlice( 2 ) ) );
+        cursor.onNewEntry( entry( 20, ValueType.INVALID, new Slice( 0 ) ) );
+        cursor.onNewEntry( entry( 120, ValueType.VALUE, intSlice( 3 ) ) ); // after range, skipped
+
+        // THEN
+        assertTrue( cursor.next() );
+        assertEquals( 0, cursor.time() );
+        assertEquals( 9, cursor.endTime() );
+        assertEquals( 1, cursor.longValue() );
+        assertTrue( cursor.next() );
+        assertEquals( 10, cursor.time() );
+        assertEquals( 19, cursor.endTime() );
+        assertEquals( 2.0, cursor.doubleValue(), 0.0 );
+        assertEquals( 2, cursor.value() );
+        assertTrue( cursor.next() );
+        assertEquals( 20, cursor.time() );
+        assertEquals( 99, cursor.endTime() );
+        assertFalse( cursor.hasValue() );
+        assertNull( cursor.value() );
+        assertFalse( cursor.next() );
+    }
+
+    @Test
+    public void shouldBeEmptyAfterReuse()
+    {
+        // GIVEN
+        TemporalRangeCursor cursor = new TemporalRangeCursor();
+        cursor.init( 0, 9 );
+        cursor.seed( ValueContentType.INT, intSlice( 1 ) );
+
+        // WHEN
+        cursor.init( 0, 9 );
+
+        // THEN
+        assertFalse( cursor.next() );
+    }
+
+    @Test( expected = IllegalStateException.class )
+    public void shouldNotReadBeforeNext()
+    {
+        TemporalRangeCursor cursor = new TemporalRangeCursor();
+        cursor.init( 0, 9 );
+        cursor.seed( ValueContentType.INT, intSlice( 1 ) );
+        cursor.time();
+    }
+
+    @Test
+    public void shouldDecodeStringsLikePointReads()
+    {
+        // GIVEN
+        TemporalRangeCursor cursor = new TemporalRangeCursor();
+        cursor.init( 0, 99 );
+        cursor.seed( ValueContentType.STRING, toSlice( "Straße" ) );
+        cursor.setValueType( "STRING" );
+        cursor.onNewEntry( entry( 10, ValueType.VALUE, toSlice( "北京路" ) ) );
+
+        // THEN
+        assertTrue( cursor.next() );
+        assertEquals( "Straße", cursor.value() );
+        assertTrue( cursor.next() );
+        assertEquals( "北京路", cursor.value() );
+        assertFalse( cursor.next() );
+    }
+
+    @Test
+    public void shouldScanTheRangeInWindowsWhileItIsRead()
+    {
+        // GIVEN
+        List<long[]> scans = new ArrayList<>();
+        TemporalRangeCursor cursor = new TemporalRangeCursor();
+        cursor.init( 0, 100_000 );
+        cursor.seed( ValueContentType.INT, intSlice( -1 ), everyFiftyTimePoints( scans ) );
+
+        // WHEN
+        for ( int i = 0; i < 3; i++ )
+        {
+            assertTrue( cursor.next() );
+        }
+
+        // THEN
+        assertEquals( 100, cursor.time() );
+        assertEquals( 149, cursor.endTime() );
+        assertEquals( 1, scans.size() );
+        assertTrue( scans.get( 0 )[1] < 100_000 );
+    }
+
+    @Test
+    public void shouldReadAllRowsOfTheRangeAcrossWindows()
+    {
+        // GIVEN
+        List<long[]> scans = new ArrayList<>();
+        TemporalRangeCursor cursor = new TemporalRangeCursor();
+        cursor.init( 0, 100_000 );
+        cursor.seed( ValueContentType.INT, intSlice( -1 ), everyFiftyTimePoints( scans ) );
+
+        // WHEN
+        int rows = 0;
+        long expectedStart = 0;
+        while ( cursor.next() )
+        {
+            // THEN
+            assertEquals( expectedStart, cursor.time() );
+            assertEquals( rows == 0 ? -1 : cursor.time(), cursor.longValue() );
+            expectedStart = cursor.endTime() + 1;
+            rows++;
+        }
+        assertEquals( 2_001, rows );
+        assertEquals( 100_001, expectedStart );
+        assertTrue( scans.size() > 1 );
+        for ( int i = 1; i < scans.size(); i++ )
+        {
+            assertEquals( scans.get( i - 1 )[1], scans.get( i )[0] );
+        }
+    }
+
+    private static TemporalRangeCursor.Source everyFiftyTimePoints( final List<long[]> scans )
+    {
+        return new TemporalRangeCursor.Source()
+        {
+            @Override
+            public void scan( long from, long to, TemporalRangeCursor cursor )
+            {
+                scans.add( new long[]{from, to} );
+                cursor.setValueType( "INT" );
+                // like the store, starting with the entry valid at the start of the window
+                for ( long time = from - from % 50; time <= to; time += 50 )
+                {
+                    if ( time > 0 )
+                    {
+                        cursor.onNewEntry( entry( time, ValueType.VALUE, intSlice( (int) time ) ) );
+                    }
+                }
+            }
+        };
+    }
+
+    private static Slice intSlice( int value )
+    {
+        Slice slice = new Slice( 4 );
+        slice.setInt( 0, value );
+        return slice;
+    }
+
+    private static InternalEntry entry( long time, ValueType valueType, Slice value )
+    {
+        InternalEntry entry = mock( InternalEntry.class );
+        when( entry.getKey() ).thenReturn( new InternalKey( 1, 1, new TimePoint( time ), valueType ) );
+        when( entry.getValue() ).thenReturn( value );
+        return entry;
+    }
+}
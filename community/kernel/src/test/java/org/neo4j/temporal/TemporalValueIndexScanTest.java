@@ -0,0 +1,179 @@
+package org.neo4j.temporal;
+
+import org.act.temporalProperty.TemporalPropertyStore;
+import org.act.temporalProperty.impl.MemTable;
+import org.act.temporalProperty.meta.ValueContentType;
+import org.act.temporalProperty.query.TimePointL;
+import org.act.temporalProperty.query.range.TimeRangeQuery;
+import org.act.temporalProperty.util.Slice;
+import org.apache.commons.lang3.tuple.Triple;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.neo4j.collection.primitive.PrimitiveLongCollections;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TemporalValueIndexScanTest
+{
+    private static final int SPEED = 1;
+    private static final int LANES = 2;
+
+    private final TemporalPropertyStoreAdapter adapter = mock( TemporalPropertyStoreAdapter.class );
+    private final TemporalPropertyStore store = mock( TemporalPropertyStore.class );
+    private final TemporalIndexManager.PropertyValueIntervalBuilder query =
+            mock( TemporalIndexManager.PropertyValueIntervalBuilder.class );
+    private final Map<Long,Map<Integer,NavigableMap<Long,Integer>>> values = new HashMap<>();
+
+    @Before
+    public void setUp()
+    {
+        // speed in [0, 10] and lanes in [0, 5] during [0, 99]
+        Map<Integer,Triple<String,Object,Object>> ranges = new LinkedHashMap<>();
+        ranges.put( SPEED, Triple.<String,Object,Object>of( "speed", 0, 10 ) );
+        ranges.put( LANES, Triple.<String,Object,Object>of( "lanes", 0, 5 ) );
+        when( query.getPropertyValues() ).thenReturn( ranges );
+        when( query.getStart() ).thenReturn( new TimePoint( 0 ) );
+        when( query.getEnd() ).thenReturn( new TimePoint( 99 ) );
+        when( adapter.getPropertyType( eq( store ), anyInt() ) ).thenReturn( ValueContentType.INT );
+        when( adapter.getPoint( eq( store ), anyLong(), anyInt(), any( TimePointL.class ) ) ).thenAnswer( new Answer<Slice>()
+        {
+            @Override
+            public Slice answer( InvocationOnMock invocation ) throws Throwable
+            {
+                Object[] args = invocation.getArguments();
+                Map.Entry<Long,Integer> valid =
+                        series( (Long) args[1], (Integer) args[2] ).floorEntry( ((TimePointL) args[3]).val() );
+                return valid == null ? null : slice( valid.getValue() );
+            }
+        } );
+        doAnswer( new Answer<Void>()
+        {
+            @Override
+            public Void answer( InvocationOnMock invocation ) throws Throwable
+            {
+                Object[] args = invocation.getArguments();
+                long entityId = (Long) args[1];
+                int propertyId = (Integer) args[2];
+                long start = ((TimePointL) args[3]).val();
+                long end = ((TimePointL) args[4]).val();
+                TemporalRangeQuery callBack = (TemporalRangeQuery) args[5];
+                for ( Map.Entry<Long,Integer> entry : series( entityId, propertyId ).subMap( start, true, end, true ).entrySet() )
+                {
+                    callBack.onNewEntry( entityId, propertyId, new TimePoint( entry.getKey() ), entry.getValue() );
+                }
+                return null;
+            }
+        } ).when( adapter ).getRange( eq( store ), anyLong(), anyInt(), any( TimePointL.class ), any( TimePointL.class ),
+                any( TimeRangeQuery.class ), any( MemTable.class ) );
+
+        set( 1, SPEED, 0, 5 );
+        set( 1, SPEED, 50, 20 );
+        set( 1, LANES, 0, 1 );
+        set( 1, LANES, 30, 9 );
+        set( 2, SPEED, 0, 100 );
+        set( 2, LANES, 0, 1 );
+        set( 3, SPEED, 0, 5 );
+        set( 3, SPEED, 10, 50 );
+        set( 3, SPEED, 20, 6 );
+        set( 3, LANES, 0, 2 );
+    }
+
+    @Test
+    public void shouldReturnIntervalsInWhichAllPropertiesMatch()
+    {
+        // WHEN
+        TemporalIndexCursor cursor = new TemporalValueIndexScan( adapter, store, query, PrimitiveLongCollections.iterator( 1, 2, 3 ), null );
+
+        // THEN
+        assertRow( cursor, 1, 0, 29, 5, 1 );
+        assertRow( cursor, 3, 0, 9, 5, 2 );
+        assertRow( cursor, 3, 20, 99, 6, 2 );
+        assertFalse( cursor.next() );
+    }
+
+    @Test
+    public void shouldOnlyScanEntitiesAsTheCursorMoves()
+    {
+        // WHEN
+        TemporalIndexCursor cursor = new TemporalValueIndexScan( adapter, store, query, PrimitiveLongCollections.iterator( 1, 2, 3 ), null );
+        assertTrue( cursor.next() );
+
+        // THEN
+        verify( adapter, never() ).getRange( eq( store ), eq( 2L ), anyInt(), any( TimePointL.class ), any( TimePointL.class ),
+                any( TimeRangeQuery.class ), any( MemTable.class ) );
+    }
+
+    @Test
+    public void shouldReturnEveryMatchingEntityOnce()
+    {
+        // WHEN
+        PrimitiveLongIterator entities = new TemporalIndexEntityIterator(
+                new TemporalValueIndexScan( adapter, store, query, PrimitiveLongCollections.iterator( 1, 2, 3 ), null ) );
+
+        // THEN
+        assertEquals( 1, entities.next() );
+        assertEquals( 3, entities.next() );
+        assertFalse( entities.hasNext() );
+    }
+
+    private static void assertRow( TemporalIndexCursor cursor, long entityId, long start, long end, int speed, int lanes )
+    {
+        assertTrue( cursor.next() );
+        assertEquals( entityId, cursor.entityId() );
+        assertEquals( start, cursor.start() );
+        assertEquals( end, cursor.end() );
+        assertEquals( speed, cursor.value( 0 ) );
+        assertEquals( lanes, cursor.value( 1 ) );
+    }
+
+    private void set( long entityId, int propertyId, long time, int value )
+    {
+        series( entityId, propertyId ).put( time, value );
+    }
+
+    private NavigableMap<Long,Integer> series( long entityId, int propertyId )
+    {
+        Map<Integer,NavigableMap<Long,Integer>> properties = values.get( entityId );
+        if ( properties == null )
+        {
+            properties = new HashMap<>();
+            values.put( entityId, properties );
+        }
+        NavigableMap<Long,Integer> series = properties.get( propertyId );
+        if ( series == null )
+        {
+            series = new TreeMap<>();
+            properties.put( propertyId, series );
+        }
+        return series;
+    }
+
+    private static Slice slice( int value )
+    {
+        Slice slice = new Slice( 4 );
+        slice.setInt( 0, value );
+        return slice;
+    }
+}
@@ -30,6 +30,7 @@ import org.neo4j.function.Functions;
 import org.neo4j.function.Supplier;
 import org.neo4j.graphdb.DependencyResolver;
 import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.GraphSnapshot;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.QueryExecutionException;
@@ -56,6 +57,7 @@ import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
 import org.neo4j.kernel.impl.store.StoreId;
 import org.neo4j.kernel.security.URLAccessValidationError;
+import org.neo4j.temporal.TimePoint;
 
 public abstract class DatabaseRule extends ExternalResource implements GraphDatabaseAPI
 {
@@ -477,4 +479,10 @@ public abstract class DatabaseRule extends ExternalResource implements GraphData
     {
         return database.bidirectionalTraversalDescription();
     }
+
+    @Override
+    public GraphSnapshot snapshotAt( TimePoint time )
+    {
+        return database.snapshotAt( time );
+    }
 }
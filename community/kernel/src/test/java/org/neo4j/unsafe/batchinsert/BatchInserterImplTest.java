@@ -24,20 +24,31 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.factory.GraphDatabaseFactory;
 import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.kernel.DefaultFileSystemAbstraction;
 import org.neo4j.kernel.StoreLockException;
 import org.neo4j.kernel.StoreLocker;
 import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.temporal.TimePoint;
 import org.neo4j.test.ReflectionUtil;
 import org.neo4j.test.TargetDirectory;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.neo4j.graphdb.DynamicRelationshipType.withName;
+import static org.neo4j.helpers.collection.IteratorUtil.asSet;
 import static org.neo4j.helpers.collection.MapUtil.stringMap;
 
 public class BatchInserterImplTest
@@ -97,4 +108,112 @@ public class BatchInserterImplTest
             lock.release();
         }
     }
+
+    @Test
+    public void shouldWriteTemporalPropertySeriesOnShutdown() throws Exception
+    {
+        // GIVEN
+        File storeDir = testDirectory.graphDbDir();
+        BatchInserter inserter = BatchInserters.inserter( storeDir.getAbsolutePath() );
+        long second = inserter.createNode( Collections.<String,Object>emptyMap() );
+        long first = inserter.createNode( Collections.<String,Object>emptyMap() );
+
+        // WHEN values are set out of order
+        inserter.setNodeTemporalPropertySeries( first, "speed", new long[]{10, 20}, new int[]{5, 6} );
+        inserter.setNodeTemporalPropertySeries( second, "speed", new long[]{0, 50}, new int[]{7, 8} );
+        inserter.setNodeTemporalPropertySeries( first, "speed", new long[]{0}, new int[]{4} );
+        inserter.shutdown();
+
+        // THEN
+        GraphDatabaseService db = new GraphDatabaseFactory().newEmbeddedDatabase( storeDir );
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node node = db.getNodeById( first );
+            assertEquals( 4, node.getTemporalProperty( "speed", new TimePoint( 9 ) ) );
+            assertEquals( 5, node.getTemporalProperty( "speed", new TimePoint( 10 ) ) );
+            assertEquals( 6, node.getTemporalProperty( "speed", new TimePoint( 1000 ) ) );
+            assertEquals( 8, db.getNodeById( second ).getTemporalProperty( "speed", new TimePoint( 50 ) ) );
+            tx.success();
+        }
+        finally
+        {
+            db.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldMarkTemporalPropertySeriesSoThatTheyCanBeSeenAndRemoved() throws Exception
+    {
+        // GIVEN
+        File storeDir = testDirectory.graphDbDir();
+        BatchInserter inserter = BatchInserters.inserter( storeDir.getAbsolutePath() );
+        long node = inserter.createNode( Collections.<String,Object>singletonMap( "name", "a" ) );
+        long other = inserter.createNode( Collections.<String,Object>emptyMap() );
+        long relationship = inserter.createRelationship( node, other, withName( "ROAD" ),
+                Collections.<String,Object>emptyMap() );
+
+        // WHEN
+        inserter.setNodeTemporalPropertySeries( node, "speed", new long[]{0, 10}, new int[]{1, 2} );
+        inserter.setRelationshipTemporalPropertySeries( relationship, "load", new long[]{0}, new double[]{0.5} );
+
+        // THEN
+        assertTrue( inserter.nodeHasProperty( node, "speed" ) );
+        assertTrue( inserter.relationshipHasProperty( relationship, "load" ) );
+        inserter.shutdown();
+        GraphDatabaseService db = new GraphDatabaseFactory().newEmbeddedDatabase( storeDir );
+        try
+        {
+            try ( Transaction tx = db.beginTx() )
+            {
+                assertTrue( db.getNodeById( node ).hasProperty( "speed" ) );
+                assertEquals( asSet( "name", "speed" ), asSet( db.getNodeById( node ).getPropertyKeys() ) );
+                assertTrue( db.getRelationshipById( relationship ).hasProperty( "load" ) );
+                db.getNodeById( node ).removeTemporalProperty( "speed" );
+                db.getRelationshipById( relationship ).removeTemporalProperty( "load" );
+                tx.success();
+            }
+            try ( Transaction tx = db.beginTx() )
+            {
+                assertFalse( db.getNodeById( node ).hasProperty( "speed" ) );
+                assertEquals( asSet( "name" ), asSet( db.getNodeById( node ).getPropertyKeys() ) );
+                assertFalse( db.getRelationshipById( relationship ).hasProperty( "load" ) );
+                tx.success();
+            }
+        }
+        finally
+        {
+            db.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotCreateTemporalStoresWithoutTemporalProperties() throws Exception
+    {
+        // GIVEN
+        File storeDir = testDirectory.graphDbDir();
+        BatchInserter inserter = BatchInserters.inserter( storeDir.getAbsolutePath() );
+        inserter.createNode( Collections.<String,Object>emptyMap() );
+
+        // WHEN
+        inserter.shutdown();
+
+        // THEN
+        assertFalse( new File( storeDir, "temporal.node.properties" ).exists() );
+        assertFalse( new File( storeDir, "temporal.relationship.properties" ).exists() );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldRejectTemporalPropertySeriesWithUnorderedTimes() throws Exception
+    {
+        BatchInserter inserter = BatchInserters.inserter( testDirectory.graphDbDir().getAbsolutePath() );
+        try
+        {
+            long node = inserter.createNode( Collections.<String,Object>emptyMap() );
+            inserter.setNodeTemporalPropertySeries( node, "speed", new long[]{10, 5}, new long[]{1, 2} );
+        }
+        finally
+        {
+            inserter.shutdown();
+        }
+    }
 }
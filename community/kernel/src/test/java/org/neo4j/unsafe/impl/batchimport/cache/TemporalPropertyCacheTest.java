@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.unsafe.impl.batchimport.cache;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TemporalPropertyCacheTest
+{
+    private static final int CHUNK_SIZE = 100;
+
+    @Test
+    public void shouldSortByPropertyThenEntityThenStartTime() throws Exception
+    {
+        // GIVEN
+        try ( TemporalPropertyCache cache = new TemporalPropertyCache( NumberArrayFactory.AUTO, CHUNK_SIZE ) )
+        {
+            cache.add( 5, 2, 10, 19, 0, bytes( 1 ) );
+            cache.add( 3, 2, 0, 9, 0, bytes( 2 ) );
+            cache.add( 5, 1, 20, TemporalPropertyCache.NOW, 1, bytes( 3, 4, 5 ) );
+            cache.add( 5, 2, 0, 9, 0, bytes( 4 ) );
+
+            // WHEN
+            cache.sort();
+
+            // THEN
+            assertEntry( cache, 0, 5, 1, 20, TemporalPropertyCache.NOW, 1, bytes( 3, 4, 5 ) );
+            assertEntry( cache, 1, 3, 2, 0, 9, 0, bytes( 2 ) );
+            assertEntry( cache, 2, 5, 2, 0, 9, 0, bytes( 4 ) );
+            assertEntry( cache, 3, 5, 2, 10, 19, 0, bytes( 1 ) );
+        }
+    }
+
+    @Test
+    public void shouldKeepAddedOrderOfValuesWithSameKey() throws Exception
+    {
+        // GIVEN
+        try ( TemporalPropertyCache cache = new TemporalPropertyCache( NumberArrayFactory.AUTO, CHUNK_SIZE ) )
+        {
+            for ( int i = 0; i < 50; i++ )
+            {
+                cache.add( 1, 1, 0, 9, 0, bytes( i ) );
+            }
+
+            // WHEN
+            cache.sort();
+
+            // THEN
+            for ( int i = 0; i < 50; i++ )
+            {
+                assertArrayEquals( bytes( i ), cache.value( i ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldSortManyValuesSpanningMultipleChunks() throws Exception
+    {
+        // GIVEN
+        Random random = new Random();
+        int count = CHUNK_SIZE * 25;
+        try ( TemporalPropertyCache cache = new TemporalPropertyCache( NumberArrayFactory.AUTO, CHUNK_SIZE ) )
+        {
+            for ( int i = 0; i < count; i++ )
+            {
+                long entityId = random.nextInt( 100 );
+                long start = random.nextInt( 1_000 );
+                cache.add( entityId, random.nextInt( 5 ), start, start + 1, 0, bytes( (int) entityId, i % 100 ) );
+            }
+
+            // WHEN
+            cache.sort();
+
+            // THEN
+            assertEquals( count, cache.size() );
+            for ( int rank = 1; rank < count; rank++ )
+            {
+                int property = cache.propertyId( rank ) - cache.propertyId( rank - 1 );
+                long entity = cache.entityId( rank ) - cache.entityId( rank - 1 );
+                long start = cache.start( rank ) - cache.start( rank - 1 );
+                assertTrue( property > 0 || property == 0 && (entity > 0 || entity == 0 && start >= 0) );
+                assertEquals( cache.entityId( rank ), cache.value( rank )[0] );
+            }
+        }
+    }
+
+    private static void assertEntry( TemporalPropertyCache cache, long rank, long entityId, int propertyId,
+            long start, long end, int valueType, byte[] value )
+    {
+        assertEquals( entityId, cache.entityId( rank ) );
+        assertEquals( propertyId, cache.propertyId( rank ) );
+        assertEquals( start, cache.start( rank ) );
+        assertEquals( end, cache.end( rank ) );
+        assertEquals( valueType, cache.valueType( rank ) );
+        assertArrayEquals( value, cache.value( rank ) );
+    }
+
+    private static byte[] bytes( int... values )
+    {
+        byte[] bytes = new byte[values.length];
+        for ( int i = 0; i < values.length; i++ )
+        {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
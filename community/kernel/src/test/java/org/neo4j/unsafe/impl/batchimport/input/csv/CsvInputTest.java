@@ -46,6 +46,7 @@ import org.neo4j.unsafe.impl.batchimport.input.InputEntity;
 import org.neo4j.unsafe.impl.batchimport.input.InputException;
 import org.neo4j.unsafe.impl.batchimport.input.InputNode;
 import org.neo4j.unsafe.impl.batchimport.input.InputRelationship;
+import org.neo4j.unsafe.impl.batchimport.input.InputTemporalProperty;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertArrayEquals;
@@ -117,6 +118,36 @@ public class CsvInputTest
         assertRelationship( relationships.next(), "node2", "node10", "HACKS", properties( "since", 987654L ) );
     }
 
+    @Test
+    public void shouldProvideTemporalPropertiesFromCsvInput() throws Exception
+    {
+        // GIVEN
+        IdType idType = IdType.ACTUAL;
+        Iterable<DataFactory<InputTemporalProperty>> data = dataIterable( data(
+                "1,0,9,5\n" +
+                "1,10,,20" ) );
+        Input input = new CsvInput( null, null, null, null,
+                data,
+                header( entry( null, Type.ID, idType.extractor( extractors ) ),
+                        entry( null, Type.START_TIME, extractors.long_() ),
+                        entry( null, Type.END_TIME, extractors.long_() ),
+                        entry( "speed", Type.PROPERTY, extractors.int_() ) ), idType, COMMAS,
+                        silentBadCollector( 0 ) );
+
+        // WHEN/THEN
+        Iterator<InputTemporalProperty> temporalProperties = input.temporalProperties().iterator();
+        InputTemporalProperty first = temporalProperties.next();
+        assertEquals( 1L, first.id() );
+        assertEquals( 0L, first.start() );
+        assertEquals( 9L, first.end() );
+        assertArrayEquals( properties( "speed", 5 ), first.properties() );
+        InputTemporalProperty second = temporalProperties.next();
+        assertEquals( 10L, second.start() );
+        assertFalse( second.hasEnd() );
+        assertArrayEquals( properties( "speed", 20 ), second.properties() );
+        assertFalse( temporalProperties.hasNext() );
+    }
+
     @Test
     public void shouldCloseDataIteratorsInTheEnd() throws Exception
     {
@@ -21,8 +21,10 @@ package org.neo4j.com.storecopy;
 
 import org.neo4j.function.Supplier;
 import org.neo4j.graphdb.DependencyResolver;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.kernel.KernelHealth;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.BatchingTransactionRepresentationStoreApplier;
 import org.neo4j.kernel.impl.api.KernelTransactions;
 import org.neo4j.kernel.impl.api.LegacyIndexApplierLookup;
@@ -35,6 +37,7 @@ import org.neo4j.kernel.impl.index.IndexConfigStore;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.logging.LogService;
 import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
 import org.neo4j.kernel.impl.transaction.log.LogFile;
 import org.neo4j.kernel.impl.transaction.log.TransactionAppender;
 import org.neo4j.kernel.impl.transaction.log.rotation.LogRotation;
@@ -70,7 +73,9 @@ public class DefaultUnpackerDependencies implements TransactionCommittingRespons
                 // we only have a single thread applying updates as a slave anyway. But the thing
                 // is that it's hard to change a TransactionAppender depending on role, so we
                 // use a real one, or rather, whatever is available through the dependency resolver.
-                resolver.resolveDependency( IdOrderingQueue.class ) );
+                resolver.resolveDependency( IdOrderingQueue.class ),
+                resolver.resolveDependency( TemporalPropertyStoreAdapter.class ),
+                resolver.resolveDependency( Config.class ).get( GraphDatabaseSettings.temporal_apply_threads ) );
     }
 
     @Override
@@ -37,6 +37,7 @@ import org.neo4j.kernel.impl.transaction.log.checkpoint.SimpleTriggerInfo;
 import static org.neo4j.com.RequestContext.anonymous;
 import static org.neo4j.io.fs.FileUtils.getMostCanonicalFile;
 import static org.neo4j.io.fs.FileUtils.relativePath;
+import static org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter.storeFilePath;
 
 /**
  * Is able to feed store files in a consistent way to a {@link Response} to be picked up by a
@@ -157,7 +158,7 @@ public class StoreCopyServer
                     try ( StoreChannel fileChannel = fileSystem.open( file, "r" ) )
                     {
                         monitor.startStreamingStoreFile( file );
-                        writer.write( relativePath( storeDirectory, file ), fileChannel,
+                        writer.write( storeFilePath( relativePath( storeDirectory, file ) ), fileChannel,
                                 temporaryBuffer, file.length() > 0 );
                         monitor.finishStreamingStoreFile( file );
                     }
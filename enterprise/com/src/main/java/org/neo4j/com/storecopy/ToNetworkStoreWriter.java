@@ -51,7 +51,6 @@ public class ToNetworkStoreWriter implements StoreWriter
         targetBuffer.writeShort( chars.length );
         Protocol.writeChars( targetBuffer, chars );
         targetBuffer.writeByte( hasData ? 1 : 0 );
-        // TODO Make use of temporaryBuffer?
         BlockLogBuffer buffer = new BlockLogBuffer( targetBuffer, bufferMonitor );
         long totalWritten = 2 + chars.length*2 + 1;
         if ( hasData )
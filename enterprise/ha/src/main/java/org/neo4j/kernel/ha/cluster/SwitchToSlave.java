@@ -389,6 +389,7 @@ public class SwitchToSlave
             userLog.info( "Checking store consistency with master" );
             checkMyStoreIdAndMastersStoreId( storeId, masterUri );
             checkDataConsistencyWithMaster( masterUri, masterClient, storeId, txIdStore );
+            checkTemporalPropertyStores( txIdStore );
             userLog.info( "Store is consistent" );
         }
         catch ( StoreUnableToParticipateInClusterException upe )
@@ -423,6 +424,22 @@ public class SwitchToSlave
         }
     }
 
+    /**
+     * Stores copied before the temporal property files were part of store copies have all transactions but not the
+     * temporal properties of those, which pulling updates can not bring back. Their temporal property stores are
+     * created empty when the database starts, so they have not recorded a flush, unlike stores which existed
+     * before. Such a store has to be copied again.
+     */
+    private void checkTemporalPropertyStores( TransactionIdStore txIdStore )
+    {
+        if ( txIdStore.getLastCommittedTransactionId() > BASE_TX_ID &&
+             !neoDataSourceSupplier.get().getTemporalPropertyStore().hasRecordedFlushes() )
+        {
+            throw new StoreUnableToParticipateInClusterException( "The temporal property stores of this database " +
+                    "are missing, they were created empty although the database has committed transactions" );
+        }
+    }
+
     private void checkMyStoreIdAndMastersStoreId( StoreId myStoreId, URI masterUri )
     {
         ClusterMembers clusterMembers = resolver.resolveDependency( ClusterMembers.class );
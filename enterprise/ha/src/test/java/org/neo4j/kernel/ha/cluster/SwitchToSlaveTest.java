@@ -53,6 +53,7 @@ import org.neo4j.kernel.ha.DelegateInvocationHandler;
 import org.neo4j.kernel.ha.MasterClient214;
 import org.neo4j.kernel.ha.PullerFactory;
 import org.neo4j.kernel.ha.SlaveUpdatePuller;
+import org.neo4j.kernel.ha.StoreUnableToParticipateInClusterException;
 import org.neo4j.kernel.ha.UpdatePuller;
 import org.neo4j.kernel.ha.UpdatePullerScheduler;
 import org.neo4j.kernel.ha.cluster.member.ClusterMember;
@@ -68,6 +69,7 @@ import org.neo4j.kernel.impl.index.IndexConfigStore;
 import org.neo4j.kernel.impl.logging.NullLogService;
 import org.neo4j.kernel.impl.store.MismatchingStoreIdException;
 import org.neo4j.kernel.impl.store.StoreId;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
 import org.neo4j.kernel.impl.store.TransactionId;
 import org.neo4j.kernel.impl.transaction.TransactionCounters;
 import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
@@ -105,6 +107,7 @@ public class SwitchToSlaveTest
     private final MasterClient masterClient = mock( MasterClient.class );
     private final RequestContextFactory requestContextFactory = mock( RequestContextFactory.class );
     private final StoreId storeId = new StoreId( 42, 42, 42, 42 );
+    private final NeoStoreDataSource dataSource = mock( NeoStoreDataSource.class );
 
     @Test
     public void shouldRestartServicesIfCopyStoreFails() throws Throwable
@@ -205,6 +208,37 @@ public class SwitchToSlaveTest
         verify( switchToSlave ).stopServicesAndHandleBranchedStore( any( BranchedDataPolicy.class ) );
     }
 
+    @Test
+    public void shouldHandleBranchedStoreWhenTemporalPropertyStoresAreMissing() throws Throwable
+    {
+        // Given
+        SwitchToSlave switchToSlave = newSwitchToSlaveSpy();
+        URI masterUri = new URI( "cluster://localhost?serverId=1" );
+
+        TemporalPropertyStoreAdapter temporalPropertyStore = mock( TemporalPropertyStoreAdapter.class );
+        when( temporalPropertyStore.hasRecordedFlushes() ).thenReturn( false );
+        when( dataSource.getTemporalPropertyStore() ).thenReturn( temporalPropertyStore );
+
+        TransactionIdStore transactionIdStore = mock( TransactionIdStore.class );
+        when( transactionIdStore.getLastCommittedTransaction() ).thenReturn( new TransactionId( 42, 42, 42 ) );
+        when( transactionIdStore.getLastCommittedTransactionId() ).thenReturn( 42L );
+
+        // When
+        try
+        {
+            switchToSlave.checkDataConsistency( masterClient, transactionIdStore, storeId, masterUri );
+            fail( "Should have thrown " + StoreUnableToParticipateInClusterException.class.getSimpleName() +
+                  " exception" );
+        }
+        catch ( StoreUnableToParticipateInClusterException e )
+        {
+            // good we got the expected exception
+        }
+
+        // Then
+        verify( switchToSlave ).stopServicesAndHandleBranchedStore( any( BranchedDataPolicy.class ) );
+    }
+
     @Test
     public void shouldReturnNullIfWhenFailingToPullingUpdatesFromMaster() throws Throwable
     {
@@ -294,7 +328,6 @@ public class SwitchToSlaveTest
                 mock( StoreLockerLifecycleAdapter.class )
                 );
 
-        NeoStoreDataSource dataSource = mock( NeoStoreDataSource.class );
         when( dataSource.getStoreId() ).thenReturn( storeId );
 
         TransactionCounters transactionCounters = mock( TransactionCounters.class );
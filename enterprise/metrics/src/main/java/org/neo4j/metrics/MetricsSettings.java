@@ -81,6 +81,9 @@ public class MetricsSettings
     @Description( "Enable reporting metrics about HA cluster info." )
     public static Setting<Boolean> neoClusterEnabled = setting(
             "metrics.neo4j.cluster.enabled", Settings.BOOLEAN, neoEnabled );
+    @Description( "Enable reporting metrics about the removal of temporal property values past their retention." )
+    public static Setting<Boolean> neoTemporalRetentionEnabled = setting(
+            "metrics.neo4j.temporal_retention.enabled", Settings.BOOLEAN, neoEnabled );
 
     @Description( "Enable reporting metrics about the duration of garbage collections" )
     public static Setting<Boolean> jvmGcEnabled = setting( "metrics.jvm.gc.enabled", Settings.BOOLEAN, neoEnabled );
@@ -68,6 +68,7 @@ public class Neo4jMetricsFactory implements Factory<Lifecycle>
         final NetworkMetrics networkMetrics = new NetworkMetrics( config, monitors, registry );
         final JvmMetrics jvmMetrics = new JvmMetrics( config, registry );
         final ClusterMetrics clusterMetrics = new ClusterMetrics( config, monitors, registry );
+        final TemporalRetentionMetrics temporalRetentionMetrics = new TemporalRetentionMetrics( config, monitors, registry );
         return new LifecycleAdapter()
         {
             @Override
@@ -76,6 +77,7 @@ public class Neo4jMetricsFactory implements Factory<Lifecycle>
                 dbMetrics.start();
                 networkMetrics.start();
                 clusterMetrics.start();
+                temporalRetentionMetrics.start();
                 jvmMetrics.start();
             }
 
@@ -85,6 +87,7 @@ public class Neo4jMetricsFactory implements Factory<Lifecycle>
                 dbMetrics.stop();
                 networkMetrics.stop();
                 clusterMetrics.stop();
+                temporalRetentionMetrics.stop();
                 jvmMetrics.stop();
             }
         };
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.metrics.source;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import java.io.IOException;
+
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.annotations.Documented;
+import org.neo4j.kernel.impl.store.TemporalRetention;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.kernel.monitoring.Monitors;
+import org.neo4j.metrics.MetricsSettings;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+@Documented( ".Temporal Retention Metrics" )
+public class TemporalRetentionMetrics extends LifecycleAdapter
+{
+    private static final String NAME_PREFIX = "neo4j.temporal_retention";
+    @Documented( "The estimated amount of bytes of temporal property values removed for being past their retention. " +
+                 "Their disk space is given back when the temporal store merges the files holding them" )
+    public static final String EXPIRED_VALUE_BYTES = name( NAME_PREFIX, "expired_value_bytes" );
+    @Documented( "The total number of times the values of an entity have been removed from a temporal property for " +
+                 "being past their retention" )
+    public static final String EXPIRED_ENTITIES = name( NAME_PREFIX, "expired_entities" );
+
+    private final Config config;
+    private final Monitors monitors;
+    private final MetricRegistry registry;
+    private final Counter expiredValueBytes = new Counter();
+    private final Counter expiredEntities = new Counter();
+    private final TemporalRetention.Monitor listener = new TemporalRetention.Monitor()
+    {
+        @Override
+        public void expired( int propertyKeyId, long entities, long bytes )
+        {
+            expiredEntities.inc( entities );
+            expiredValueBytes.inc( bytes );
+        }
+    };
+
+    public TemporalRetentionMetrics( Config config, Monitors monitors, MetricRegistry registry )
+    {
+        this.config = config;
+        this.monitors = monitors;
+        this.registry = registry;
+    }
+
+    @Override
+    public void start() throws Throwable
+    {
+        if ( config.get( MetricsSettings.neoTemporalRetentionEnabled ) )
+        {
+            monitors.addMonitorListener( listener );
+
+            registry.register( EXPIRED_VALUE_BYTES, new Gauge<Long>()
+            {
+                @Override
+                public Long getValue()
+                {
+                    return expiredValueBytes.getCount();
+                }
+            } );
+
+            registry.register( EXPIRED_ENTITIES, new Gauge<Long>()
+            {
+                @Override
+                public Long getValue()
+                {
+                    return expiredEntities.getCount();
+                }
+            } );
+        }
+    }
+
+    @Override
+    public void stop() throws IOException
+    {
+        if ( config.get( MetricsSettings.neoTemporalRetentionEnabled ) )
+        {
+            registry.remove( EXPIRED_VALUE_BYTES );
+            registry.remove( EXPIRED_ENTITIES );
+
+            monitors.removeMonitorListener( listener );
+        }
+    }
+}
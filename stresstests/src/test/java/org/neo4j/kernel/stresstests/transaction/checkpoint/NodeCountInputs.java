@@ -30,6 +30,8 @@ import org.neo4j.unsafe.impl.batchimport.input.Collectors;
 import org.neo4j.unsafe.impl.batchimport.input.Input;
 import org.neo4j.unsafe.impl.batchimport.input.InputNode;
 import org.neo4j.unsafe.impl.batchimport.input.InputRelationship;
+import org.neo4j.unsafe.impl.batchimport.input.InputTemporalProperty;
+import org.neo4j.unsafe.impl.batchimport.input.Inputs;
 
 public class NodeCountInputs implements Input
 {
@@ -107,6 +109,12 @@ public class NodeCountInputs implements Input
         };
     }
 
+    @Override
+    public InputIterable<InputTemporalProperty> temporalProperties()
+    {
+        return Inputs.empty();
+    }
+
     @Override
     public IdMapper idMapper()
     {
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.io.PrintStream;
 
 import org.neo4j.graphdb.DependencyResolver;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.helpers.Args;
 import org.neo4j.helpers.ArrayUtil;
 import org.neo4j.helpers.Provider;
@@ -34,6 +35,7 @@ import org.neo4j.kernel.GraphDatabaseAPI;
 import org.neo4j.kernel.KernelHealth;
 import org.neo4j.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.BatchingTransactionRepresentationStoreApplier;
 import org.neo4j.kernel.impl.api.LegacyIndexApplierLookup;
 import org.neo4j.kernel.impl.api.TransactionRepresentationCommitProcess;
@@ -44,6 +46,7 @@ import org.neo4j.kernel.impl.index.IndexConfigStore;
 import org.neo4j.kernel.impl.locking.LockGroup;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.pagecache.StandalonePageCacheFactory;
+import org.neo4j.kernel.impl.store.TemporalPropertyStoreAdapter;
 import org.neo4j.kernel.impl.transaction.CommittedTransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.log.IOCursor;
 import org.neo4j.kernel.impl.transaction.log.LogicalTransactionStore;
@@ -117,7 +120,9 @@ public class ApplyTransactionsCommand extends ArgsCommand
                 resolver.resolveDependency( LegacyIndexApplierLookup.class ),
                 resolver.resolveDependency( IndexConfigStore.class ),
                 resolver.resolveDependency( KernelHealth.class ),
-                resolver.resolveDependency( IdOrderingQueue.class ) );
+                resolver.resolveDependency( IdOrderingQueue.class ),
+                resolver.resolveDependency( TemporalPropertyStoreAdapter.class ),
+                resolver.resolveDependency( Config.class ).get( GraphDatabaseSettings.temporal_apply_threads ) );
         TransactionRepresentationCommitProcess commitProcess =
                 new TransactionRepresentationCommitProcess(
                         resolver.resolveDependency( TransactionAppender.class ),